@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation adds a case-insensitive index to a String field. Queries using
+ * {@code equalTo()}, {@code in()} or {@code beginsWith()} with {@code Case.INSENSITIVE} on the field then look up the
+ * lower-cased value in the index instead of checking the field of every object. {@link Index} only speeds up
+ * case-sensitive queries.
+ * <p>
+ * The index is updated when a write transaction is committed, so it is only used by queries which are created
+ * outside of write transactions. Query results which are re-evaluated inside a write transaction don't include
+ * uncommitted changes to the field. The index takes additional space in the Realm file and makes commits which change
+ * the field slower.
+ * <p>
+ * Adding or removing the annotation requires a migration, see {@code RealmObjectSchema.addCaseInsensitiveIndex()}.
+ * Case-insensitive indexes are not supported in synchronized Realms.
+ * <p>
+ * NOTICE: Only String fields can have a case-insensitive index.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface CaseInsensitiveIndex {
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation adds a full-text index to a String field, so it can be searched for words with
+ * {@code RealmQuery.matches()} without checking the field of every object. The index maps each word of the field
+ * values to the objects containing it and is updated when a write transaction is committed.
+ * <p>
+ * Words are made of letters and digits and are compared ignoring case. The index takes additional space in the Realm
+ * file and makes commits which change the field slower.
+ * <p>
+ * Adding or removing the annotation requires a migration, see {@code RealmObjectSchema.addFullTextIndex()}.
+ * Full-text indexes are not supported in synchronized Realms.
+ * <p>
+ * NOTICE: Only String fields can have a full-text index.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface FullText {
+}
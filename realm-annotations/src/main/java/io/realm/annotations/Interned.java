@@ -0,0 +1,42 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation makes Realm cache the decoded values of a String field. Reading a value that is in the cache
+ * returns the same String instance without decoding it again, which makes repeated reads of fields with few distinct
+ * values, like a status or a country code, cheaper. The cache is kept in memory and is bounded by {@link #maxSize()};
+ * the least recently used values are evicted first. Values longer than 64 bytes in UTF-8 are never cached.
+ * <p>
+ * The annotation doesn't change the Realm file, so it can be added or removed without a migration.
+ * <p>
+ * NOTICE: Only String fields can be interned.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface Interned {
+
+    /**
+     * The maximum number of values kept in the cache.
+     */
+    int maxSize() default 128;
+}
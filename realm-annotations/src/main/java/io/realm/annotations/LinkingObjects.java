@@ -0,0 +1,46 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation defines an inverse relationship. The annotated field contains all objects which link to the object
+ * through the given field. For example, a {@code RealmResults<Person>} field annotated with
+ * {@code LinkingObjects("children")} in a {@code Person} class with a {@code RealmList<Person> children} field contains
+ * the parents of each person.
+ * <p>
+ * The field isn't stored in the Realm file. The objects are found through the backlinks the Realm keeps for every
+ * link, so no objects have to be checked and the results are updated like any other {@code RealmResults}. The field
+ * can also be used in link queries, e.g. {@code realm.where(Person.class).equalTo("parents.name", "John")}.
+ * <p>
+ * The field must be a {@code RealmResults} of the class with the link field. The link field must refer to the class
+ * with the annotated field, either directly or through a {@code RealmList}. The annotated field is {@code null} for
+ * unmanaged objects and cannot be set.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface LinkingObjects {
+
+    /**
+     * The name of the link field in the class of the linking objects.
+     */
+    String value();
+}
@@ -18,8 +18,10 @@ package io.realm.processor;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.annotation.processing.ProcessingEnvironment;
@@ -37,8 +39,12 @@ import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 
+import io.realm.annotations.CaseInsensitiveIndex;
+import io.realm.annotations.FullText;
 import io.realm.annotations.Ignore;
 import io.realm.annotations.Index;
+import io.realm.annotations.Interned;
+import io.realm.annotations.LinkingObjects;
 import io.realm.annotations.PrimaryKey;
 import io.realm.annotations.Required;
 
@@ -54,7 +60,11 @@ public class ClassMetaData {
     private VariableElement primaryKey; // Reference to field used as primary key, if any.
     private List<VariableElement> fields = new ArrayList<VariableElement>(); // List of all fields in the class except those @Ignored.
     private List<VariableElement> indexedFields = new ArrayList<VariableElement>(); // list of all fields marked @Index.
+    private List<VariableElement> fullTextFields = new ArrayList<VariableElement>(); // list of all fields marked @FullText.
+    private List<VariableElement> caseInsensitiveIndexedFields = new ArrayList<VariableElement>(); // list of all fields marked @CaseInsensitiveIndex.
+    private List<VariableElement> linkingObjectsFields = new ArrayList<VariableElement>(); // list of all fields marked @LinkingObjects, they are not in fields.
     private Set<VariableElement> nullableFields = new HashSet<VariableElement>(); // Set of fields which can be nullable
+    private Map<VariableElement, Integer> internedFields = new HashMap<VariableElement, Integer>(); // fields marked @Interned and their cache size.
     private boolean containsToString;
     private boolean containsEquals;
     private boolean containsHashCode;
@@ -229,6 +239,15 @@ public class ClassMetaData {
                     continue;
                 }
 
+                if (variableElement.getAnnotation(LinkingObjects.class) != null) {
+                    // The field isn't persisted, its objects are found through the backlinks of the source field.
+                    if (!checkLinkingObjectsField(variableElement)) {
+                        return false;
+                    }
+                    linkingObjectsFields.add(variableElement);
+                    continue;
+                }
+
                 if (variableElement.getAnnotation(Index.class) != null) {
                     // The field has the @Index annotation. It's only valid for column types:
                     // STRING, DATE, INTEGER, BOOLEAN
@@ -245,6 +264,38 @@ public class ClassMetaData {
                     }
                 }
 
+                if (variableElement.getAnnotation(FullText.class) != null) {
+                    // The field has the @FullText annotation. It's only valid for String fields.
+                    if (!Utils.isString(variableElement)) {
+                        Utils.error("@FullText is not applicable to this field " + element + ".");
+                        return false;
+                    }
+                    fullTextFields.add(variableElement);
+                }
+
+                if (variableElement.getAnnotation(CaseInsensitiveIndex.class) != null) {
+                    // The field has the @CaseInsensitiveIndex annotation. It's only valid for String fields.
+                    if (!Utils.isString(variableElement)) {
+                        Utils.error("@CaseInsensitiveIndex is not applicable to this field " + element + ".");
+                        return false;
+                    }
+                    caseInsensitiveIndexedFields.add(variableElement);
+                }
+
+                Interned interned = variableElement.getAnnotation(Interned.class);
+                if (interned != null) {
+                    // The field has the @Interned annotation. It's only valid for String fields.
+                    if (!Utils.isString(variableElement)) {
+                        Utils.error("@Interned is not applicable to this field " + element + ".");
+                        return false;
+                    }
+                    if (interned.maxSize() <= 0) {
+                        Utils.error("@Interned maxSize must be positive for field " + element + ".");
+                        return false;
+                    }
+                    internedFields.put(variableElement, interned.maxSize());
+                }
+
                 if (variableElement.getAnnotation(Required.class) == null) {
                     // The field doesn't have the @Required annotation.
                     // Without @Required annotation, boxed types/RealmObject/Date/String/bytes should be added to
@@ -311,6 +362,56 @@ public class ClassMetaData {
         return true;
     }
 
+    private boolean checkLinkingObjectsField(VariableElement field) {
+        String sourceFieldName = field.getAnnotation(LinkingObjects.class).value();
+        if (!Utils.isRealmResults(field) || Utils.getGenericTypeQualifiedName(field) == null) {
+            Utils.error("Fields annotated with @LinkingObjects must be RealmResults of a Realm model class.", field);
+            return false;
+        }
+        if (field.getModifiers().contains(Modifier.FINAL)) {
+            Utils.error("Final fields are not allowed. Class: " + className + ", Field: " +
+                    field.getSimpleName().toString());
+            return false;
+        }
+        if (field.getAnnotation(Index.class) != null || field.getAnnotation(PrimaryKey.class) != null ||
+                field.getAnnotation(Required.class) != null || field.getAnnotation(FullText.class) != null ||
+                field.getAnnotation(CaseInsensitiveIndex.class) != null ||
+                field.getAnnotation(Interned.class) != null) {
+            Utils.error("@LinkingObjects cannot be combined with other field annotations.", field);
+            return false;
+        }
+
+        TypeElement sourceClass = elements.getTypeElement(Utils.getGenericTypeQualifiedName(field));
+        if (sourceClass == null || !Utils.isImplementingMarkerInterface(sourceClass)) {
+            Utils.error("Fields annotated with @LinkingObjects must be RealmResults of a Realm model class.", field);
+            return false;
+        }
+        VariableElement sourceField = null;
+        for (Element element : sourceClass.getEnclosedElements()) {
+            if (element.getKind().equals(ElementKind.FIELD) && element.getSimpleName().contentEquals(sourceFieldName)
+                    && !element.getModifiers().contains(Modifier.STATIC)
+                    && element.getAnnotation(Ignore.class) == null) {
+                sourceField = (VariableElement) element;
+            }
+        }
+        if (sourceField == null) {
+            Utils.error(String.format("@LinkingObjects field '%s' refers to field '%s' which does not exist in %s.",
+                    field.getSimpleName(), sourceFieldName, sourceClass.getSimpleName()), field);
+            return false;
+        }
+        // The source field must link to this class, either directly or through a RealmList.
+        String targetClassName = classType.getQualifiedName().toString();
+        boolean linksToThisClass = Utils.isRealmList(sourceField)
+                ? targetClassName.equals(Utils.getGenericTypeQualifiedName(sourceField))
+                : targetClassName.equals(Utils.getFieldTypeQualifiedName(sourceField));
+        if (!linksToThisClass) {
+            Utils.error(String.format("@LinkingObjects field '%s' refers to field '%s' of %s which does not link to %s.",
+                    field.getSimpleName(), sourceFieldName, sourceClass.getSimpleName(), className), field);
+            return false;
+        }
+        return true;
+    }
+
     public String getSimpleClassName() {
         return className;
     }
@@ -352,6 +453,25 @@ public class ClassMetaData {
         return indexedFields;
     }
 
+    public List<VariableElement> getFullTextFields() {
+        return fullTextFields;
+    }
+
+    public List<VariableElement> getCaseInsensitiveIndexedFields() {
+        return caseInsensitiveIndexedFields;
+    }
+
+    public List<VariableElement> getLinkingObjectsFields() {
+        return linkingObjectsFields;
+    }
+
+    /**
+     * Returns the name of the field in the class of the linking objects whose backlinks a linking objects field uses.
+     */
+    public String getLinkingObjectsSourceFieldName(VariableElement field) {
+        return field.getAnnotation(LinkingObjects.class).value();
+    }
+
     public boolean hasPrimaryKey() {
         return primaryKey != null;
     }
@@ -383,6 +503,26 @@ public class ClassMetaData {
         return indexedFields.contains(variableElement);
     }
 
+    /**
+     * Checks if a VariableElement is interned.
+     *
+     * @param variableElement the element/field
+     * @return {@code true} if a VariableElement has the {@code @Interned} annotation, {@code false} otherwise.
+     */
+    public boolean isInterned(VariableElement variableElement) {
+        return internedFields.containsKey(variableElement);
+    }
+
+    /**
+     * Returns the size of the cache of an interned field.
+     *
+     * @param variableElement the element/field
+     * @return the maximum number of cached values.
+     */
+    public int getInternCacheSize(VariableElement variableElement) {
+        return internedFields.get(variableElement);
+    }
+
     /**
      * Checks if a VariableElement is a primary key.
      *
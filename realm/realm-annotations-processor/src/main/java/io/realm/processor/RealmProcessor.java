@@ -115,8 +115,12 @@ import io.realm.annotations.RealmClass;
  */
 @SupportedAnnotationTypes({
         "io.realm.annotations.RealmClass",
+        "io.realm.annotations.CaseInsensitiveIndex",
+        "io.realm.annotations.FullText",
         "io.realm.annotations.Ignore",
         "io.realm.annotations.Index",
+        "io.realm.annotations.Interned",
+        "io.realm.annotations.LinkingObjects",
         "io.realm.annotations.PrimaryKey",
         "io.realm.annotations.RealmModule",
         "io.realm.annotations.Required"
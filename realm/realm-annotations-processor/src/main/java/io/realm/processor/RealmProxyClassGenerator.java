@@ -69,12 +69,15 @@ public class RealmProxyClassGenerator {
         imports.add("io.realm.RealmObjectSchema");
         imports.add("io.realm.RealmSchema");
         imports.add("io.realm.exceptions.RealmMigrationNeededException");
+        imports.add("io.realm.internal.CaseInsensitiveIndex");
         imports.add("io.realm.internal.ColumnInfo");
+        imports.add("io.realm.internal.FullTextIndex");
         imports.add("io.realm.internal.RealmObjectProxy");
         imports.add("io.realm.internal.Row");
         imports.add("io.realm.internal.Table");
         imports.add("io.realm.internal.TableOrView");
         imports.add("io.realm.internal.SharedRealm");
+        imports.add("io.realm.internal.StringInternCache");
         imports.add("io.realm.internal.LinkView");
         imports.add("io.realm.internal.android.JsonUtils");
         imports.add("io.realm.log.RealmLog");
@@ -149,6 +152,13 @@ public class RealmProxyClassGenerator {
             writer.emitField("long", columnIndexVarName(variableElement),
                     EnumSet.of(Modifier.PUBLIC));
         }
+        // The caches hold decoded values, not column indices, so they are shared by all copies of the ColumnInfo.
+        for (VariableElement variableElement : metadata.getFields()) {
+            if (metadata.isInterned(variableElement)) {
+                writer.emitField("StringInternCache", internCacheVarName(variableElement),
+                        EnumSet.of(Modifier.PUBLIC, Modifier.FINAL));
+            }
+        }
         writer.emitEmptyLine();
 
         // constructor
@@ -163,9 +173,24 @@ public class RealmProxyClassGenerator {
             writer.emitStatement("this.%s = getValidColumnIndex(path, table, \"%s\", \"%s\")",
                     columnIndexVarName, simpleClassName, columnName);
             writer.emitStatement("indicesMap.put(\"%s\", this.%s)", columnName, columnIndexVarName);
+            if (metadata.isInterned(variableElement)) {
+                writer.emitStatement("this.%s = new StringInternCache(%d)",
+                        internCacheVarName(variableElement), metadata.getInternCacheSize(variableElement));
+            }
         }
         writer.emitEmptyLine();
         writer.emitStatement("setIndicesMap(indicesMap)");
+        if (!metadata.getLinkingObjectsFields().isEmpty()) {
+            writer.emitEmptyLine();
+            writer.emitStatement("final Map<String, Backlink> backlinksMap = new HashMap<String, Backlink>(%s)",
+                    metadata.getLinkingObjectsFields().size());
+            for (VariableElement field : metadata.getLinkingObjectsFields()) {
+                writer.emitStatement("backlinksMap.put(\"%s\", new Backlink(%s.class, \"%s\"))",
+                        field.getSimpleName().toString(), Utils.getGenericTypeQualifiedName(field),
+                        metadata.getLinkingObjectsSourceFieldName(field));
+            }
+            writer.emitStatement("setBacklinksMap(backlinksMap)");
+        }
         writer.endConstructor();
         writer.emitEmptyLine();
 
@@ -213,6 +238,10 @@ public class RealmProxyClassGenerator {
                 writer.emitField("RealmList<" + genericType + ">", variableElement.getSimpleName().toString() + "RealmList", EnumSet.of(Modifier.PRIVATE));
             }
         }
+        for (VariableElement variableElement : metadata.getLinkingObjectsFields()) {
+            String genericType = Utils.getGenericTypeQualifiedName(variableElement);
+            writer.emitField("RealmResults<" + genericType + ">", variableElement.getSimpleName().toString() + "Backlinks", EnumSet.of(Modifier.PRIVATE));
+        }
 
         writer.emitField("List<String>", "FIELD_NAMES", EnumSet.of(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL));
         writer.beginInitializer(true);
@@ -268,9 +297,15 @@ public class RealmProxyClassGenerator {
                 } else {
                     castingBackType = fieldTypeCanonicalName;
                 }
-                writer.emitStatement(
-                        "return (%s) proxyState.getRow$realm().get%s(%s)",
-                        castingBackType, realmType, fieldIndexVariableReference(field));
+                if (metadata.isInterned(field)) {
+                    writer.emitStatement(
+                            "return (%s) proxyState.getRow$realm().getInternedString(%s, columnInfo.%s)",
+                            castingBackType, fieldIndexVariableReference(field), internCacheVarName(field));
+                } else {
+                    writer.emitStatement(
+                            "return (%s) proxyState.getRow$realm().get%s(%s)",
+                            castingBackType, realmType, fieldIndexVariableReference(field));
+                }
                 writer.endMethod();
                 writer.emitEmptyLine();
 
@@ -460,6 +495,43 @@ public class RealmProxyClassGenerator {
             }
             writer.emitEmptyLine();
         }
+
+        for (final VariableElement field : metadata.getLinkingObjectsFields()) {
+            /**
+             * Linking objects
+             */
+            final String fieldName = field.getSimpleName().toString();
+            final String fieldTypeCanonicalName = field.asType().toString();
+            final String sourceFieldName = metadata.getLinkingObjectsSourceFieldName(field);
+            final String genericType = Utils.getGenericTypeQualifiedName(field);
+
+            // Getter
+            writer.beginMethod(fieldTypeCanonicalName, metadata.getGetter(fieldName), EnumSet.of(Modifier.PUBLIC));
+            emitCodeForInjectingObjectContext(writer);
+            writer.emitStatement("proxyState.getRealm$realm().checkIfValid()");
+            writer.emitSingleLineComment("use the cached value if available");
+            writer.beginControlFlow("if (" + fieldName + "Backlinks == null)");
+                writer.emitStatement(fieldName + "Backlinks = RealmResults.createBacklinkResults(proxyState.getRealm$realm(), proxyState.getRow$realm(), %s.class, \"%s\")",
+                        genericType, sourceFieldName);
+            writer.endControlFlow();
+            writer.emitStatement("return " + fieldName + "Backlinks");
+            writer.endMethod();
+            writer.emitEmptyLine();
+
+            // Setter
+            writer.beginMethod("void", metadata.getSetter(fieldName), EnumSet.of(Modifier.PUBLIC), fieldTypeCanonicalName, "value");
+            emitCodeForInjectingObjectContext(writer);
+            writer.beginControlFlow("if (proxyState.isUnderConstruction())");
+                writer.emitSingleLineComment("default values of linking objects are ignored.");
+                writer.emitStatement("return");
+            writer.endControlFlow();
+            writer.emitEmptyLine();
+            writer.emitStatement("proxyState.getRealm$realm().checkIfValid()");
+            writer.emitStatement("throw new io.realm.exceptions.RealmException(\"Linking objects field '%s' cannot be changed, it contains the objects linking through '%s.%s'.\")",
+                    fieldName, Utils.getGenericTypeSimpleName(field), sourceFieldName);
+            writer.endMethod();
+            writer.emitEmptyLine();
+        }
     }
 
     private void emitCodeForInjectingObjectContext(JavaWriter writer) throws IOException {
@@ -616,6 +688,16 @@ public class RealmProxyClassGenerator {
             writer.emitStatement("table.addSearchIndex(table.getColumnIndex(\"%s\"))", fieldName);
         }
 
+        for (VariableElement field : metadata.getFullTextFields()) {
+            String fieldName = field.getSimpleName().toString();
+            writer.emitStatement("FullTextIndex.add(table, table.getColumnIndex(\"%s\"))", fieldName);
+        }
+
+        for (VariableElement field : metadata.getCaseInsensitiveIndexedFields()) {
+            String fieldName = field.getSimpleName().toString();
+            writer.emitStatement("CaseInsensitiveIndex.add(table, table.getColumnIndex(\"%s\"))", fieldName);
+        }
+
         if (metadata.hasPrimaryKey()) {
             String fieldName = metadata.getPrimaryKey().getSimpleName().toString();
             writer.emitStatement("table.setPrimaryKey(\"%s\")", fieldName);
@@ -753,6 +835,30 @@ public class RealmProxyClassGenerator {
                     writer.endControlFlow();
                 }
 
+                // Validate @FullText
+                if (metadata.getFullTextFields().contains(field)) {
+                    writer.beginControlFlow("if (sharedRealm.isSyncRealm())");
+                    writer.emitStatement("throw new IllegalStateException(\"Field '%s' has a full-text index, which is not supported by synchronized Realms. " +
+                            "Remove @FullText.\")", fieldName);
+                    writer.endControlFlow();
+                    writer.beginControlFlow("if (!FullTextIndex.has(table, table.getColumnIndex(\"%s\")))", fieldName);
+                    writer.emitStatement("throw new RealmMigrationNeededException(sharedRealm.getPath(), \"Full-text index not defined for field '%s' in existing Realm file. " +
+                            "Either remove @FullText or migrate using RealmObjectSchema.addFullTextIndex().\")", fieldName);
+                    writer.endControlFlow();
+                }
+
+                // Validate @CaseInsensitiveIndex
+                if (metadata.getCaseInsensitiveIndexedFields().contains(field)) {
+                    writer.beginControlFlow("if (sharedRealm.isSyncRealm())");
+                    writer.emitStatement("throw new IllegalStateException(\"Field '%s' has a case-insensitive index, which is not supported by synchronized Realms. " +
+                            "Remove @CaseInsensitiveIndex.\")", fieldName);
+                    writer.endControlFlow();
+                    writer.beginControlFlow("if (!CaseInsensitiveIndex.has(table, table.getColumnIndex(\"%s\")))", fieldName);
+                    writer.emitStatement("throw new RealmMigrationNeededException(sharedRealm.getPath(), \"Case-insensitive index not defined for field '%s' in existing Realm file. " +
+                            "Either remove @CaseInsensitiveIndex or migrate using RealmObjectSchema.addCaseInsensitiveIndex().\")", fieldName);
+                    writer.endControlFlow();
+                }
+
             } else if (Utils.isRealmModel(field)) { // Links
                 writer.beginControlFlow("if (!columnTypes.containsKey(\"%s\"))", fieldName);
                 writer.emitStatement("throw new RealmMigrationNeededException(sharedRealm.getPath(), \"Missing field '%s' in existing Realm file. " +
@@ -1917,6 +2023,10 @@ public class RealmProxyClassGenerator {
         return variableElement.getSimpleName().toString() + "Index";
     }
 
+    private String internCacheVarName(VariableElement variableElement) {
+        return variableElement.getSimpleName().toString() + "InternCache";
+    }
+
     private String fieldIndexVariableReference(VariableElement variableElement) {
         return "columnInfo." + columnIndexVarName(variableElement);
     }
@@ -22,6 +22,7 @@ public class Utils {
     public static Types typeUtils;
     private static Messager messager;
     private static DeclaredType realmList;
+    private static DeclaredType realmResults;
     private static DeclaredType markerInterface;
     private static TypeMirror realmModel;
 
@@ -30,6 +31,8 @@ public class Utils {
         messager = env.getMessager();
         realmList = typeUtils.getDeclaredType(env.getElementUtils().getTypeElement("io.realm.RealmList"),
                 typeUtils.getWildcardType(null, null));
+        realmResults = typeUtils.getDeclaredType(env.getElementUtils().getTypeElement("io.realm.RealmResults"),
+                typeUtils.getWildcardType(null, null));
         realmModel = env.getElementUtils().getTypeElement("io.realm.RealmModel").asType();
         markerInterface = env.getTypeUtils().getDeclaredType(env.getElementUtils().getTypeElement("io.realm.RealmModel"));
     }
@@ -148,6 +151,13 @@ public class Utils {
         return typeUtils.isAssignable(field.asType(), realmList);
     }
 
+    /**
+     * @return {@code true} if a given field type is {@code RealmResults}, {@code false} otherwise.
+     */
+    public static boolean isRealmResults(VariableElement field) {
+        return typeUtils.isAssignable(field.asType(), realmResults);
+    }
+
     /**
      * @return {@code true} if a given field type is {@code RealmModel}, {@code false} otherwise.
      */
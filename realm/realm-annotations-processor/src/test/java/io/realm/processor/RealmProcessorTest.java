@@ -299,6 +299,83 @@ public class RealmProcessorTest {
         }
     }
 
+    // Supported "Interned" annotation types
+    @Test
+    public void compileInternedTypes() throws IOException {
+        TestRealmObjectFileObject javaFileObject =
+                TestRealmObjectFileObject.getSingleFieldInstance("ValidInternedType", "Interned", "String", "testField");
+        ASSERT.about(javaSource())
+                .that(javaFileObject)
+                .processedWith(new RealmProcessor())
+                .compilesWithoutError();
+    }
+
+    // Unsupported "Interned" annotation types
+    @Test
+    public void compileInvalidInternedTypes() throws IOException {
+        final String[] invalidInternedFieldTypes = {"int", "long", "java.util.Date", "byte[]", "Simple", "RealmList"};
+
+        for (String fieldType : invalidInternedFieldTypes) {
+            TestRealmObjectFileObject javaFileObject = TestRealmObjectFileObject.getSingleFieldInstance(
+                    "InvalidInternedType", "Interned", fieldType, "testField");
+            ASSERT.about(javaSource())
+                    .that(javaFileObject)
+                    .processedWith(new RealmProcessor())
+                    .failsToCompile();
+        }
+    }
+
+    // Supported "FullText" annotation types
+    @Test
+    public void compileFullTextTypes() throws IOException {
+        TestRealmObjectFileObject javaFileObject =
+                TestRealmObjectFileObject.getSingleFieldInstance("ValidFullTextType", "FullText", "String", "testField");
+        ASSERT.about(javaSource())
+                .that(javaFileObject)
+                .processedWith(new RealmProcessor())
+                .compilesWithoutError();
+    }
+
+    // Unsupported "FullText" annotation types
+    @Test
+    public void compileInvalidFullTextTypes() throws IOException {
+        final String[] invalidFullTextFieldTypes = {"int", "long", "java.util.Date", "byte[]", "Simple", "RealmList"};
+
+        for (String fieldType : invalidFullTextFieldTypes) {
+            TestRealmObjectFileObject javaFileObject = TestRealmObjectFileObject.getSingleFieldInstance(
+                    "InvalidFullTextType", "FullText", fieldType, "testField");
+            ASSERT.about(javaSource())
+                    .that(javaFileObject)
+                    .processedWith(new RealmProcessor())
+                    .failsToCompile();
+        }
+    }
+
+    @Test
+    public void compileCaseInsensitiveIndexTypes() throws IOException {
+        TestRealmObjectFileObject javaFileObject = TestRealmObjectFileObject.getSingleFieldInstance(
+                "ValidCaseInsensitiveIndexType", "CaseInsensitiveIndex", "String", "testField");
+        ASSERT.about(javaSource())
+                .that(javaFileObject)
+                .processedWith(new RealmProcessor())
+                .compilesWithoutError();
+    }
+
+    // Unsupported "CaseInsensitiveIndex" annotation types
+    @Test
+    public void compileInvalidCaseInsensitiveIndexTypes() throws IOException {
+        final String[] invalidFieldTypes = {"int", "long", "java.util.Date", "byte[]", "Simple", "RealmList"};
+
+        for (String fieldType : invalidFieldTypes) {
+            TestRealmObjectFileObject javaFileObject = TestRealmObjectFileObject.getSingleFieldInstance(
+                    "InvalidCaseInsensitiveIndexType", "CaseInsensitiveIndex", fieldType, "testField");
+            ASSERT.about(javaSource())
+                    .that(javaFileObject)
+                    .processedWith(new RealmProcessor())
+                    .failsToCompile();
+        }
+    }
+
     // Supported "PrimaryKey" annotation types
     @Test
     public void compilePrimaryKeyTypes() throws IOException {
@@ -460,4 +537,33 @@ public class RealmProcessorTest {
                 .processedWith(new RealmProcessor())
                 .failsToCompile();
     }
+
+    @Test
+    public void compileLinkingObjects() {
+        ASSERT.about(javaSources())
+                .that(Arrays.asList(JavaFileObjects.forResource("some/test/BacklinksSource.java"),
+                        JavaFileObjects.forResource("some/test/BacklinksTarget.java")))
+                .processedWith(new RealmProcessor())
+                .compilesWithoutError();
+    }
+
+    @Test
+    public void compileLinkingObjectsNotLinkingToClass() {
+        ASSERT.about(javaSources())
+                .that(Arrays.asList(JavaFileObjects.forResource("some/test/BacklinksSource.java"),
+                        JavaFileObjects.forResource("some/test/BacklinksTarget.java"),
+                        JavaFileObjects.forResource("some/test/InvalidBacklinksTarget.java")))
+                .processedWith(new RealmProcessor())
+                .failsToCompile();
+    }
+
+    @Test
+    public void compileLinkingObjectsNotRealmResults() {
+        ASSERT.about(javaSources())
+                .that(Arrays.asList(JavaFileObjects.forResource("some/test/BacklinksSource.java"),
+                        JavaFileObjects.forResource("some/test/BacklinksTarget.java"),
+                        JavaFileObjects.forResource("some/test/InvalidLinkingObjectsType.java")))
+                .processedWith(new RealmProcessor())
+                .failsToCompile();
+    }
 }
@@ -8,11 +8,14 @@ import android.util.JsonToken;
 import io.realm.RealmObjectSchema;
 import io.realm.RealmSchema;
 import io.realm.exceptions.RealmMigrationNeededException;
+import io.realm.internal.CaseInsensitiveIndex;
 import io.realm.internal.ColumnInfo;
+import io.realm.internal.FullTextIndex;
 import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.Row;
 import io.realm.internal.SharedRealm;
+import io.realm.internal.StringInternCache;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 import io.realm.internal.android.JsonUtils;
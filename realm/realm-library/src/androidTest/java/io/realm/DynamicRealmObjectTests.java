@@ -1091,4 +1091,108 @@ public class DynamicRealmObjectTests {
             assertEquals("Illegal Argument: Field not found: nonExisting", e.getMessage());
         }
     }
+
+    @Test
+    public void fieldKey_getters() {
+        RealmObjectSchema schema = dynamicRealm.getSchema().get(AllJavaTypes.CLASS_NAME);
+        assertEquals("str", dObjDynamic.getString(schema.fieldKey(AllJavaTypes.FIELD_STRING)));
+        assertEquals(1, dObjDynamic.getShort(schema.fieldKey(AllJavaTypes.FIELD_SHORT)));
+        assertEquals(1, dObjDynamic.getInt(schema.fieldKey(AllJavaTypes.FIELD_INT)));
+        assertEquals(1, dObjDynamic.getLong(schema.fieldKey(AllJavaTypes.FIELD_LONG)));
+        assertEquals(4, dObjDynamic.getByte(schema.fieldKey(AllJavaTypes.FIELD_BYTE)));
+        assertEquals(1.23f, dObjDynamic.getFloat(schema.fieldKey(AllJavaTypes.FIELD_FLOAT)), 0f);
+        assertEquals(1.234d, dObjDynamic.getDouble(schema.fieldKey(AllJavaTypes.FIELD_DOUBLE)), 0d);
+        assertArrayEquals(new byte[] {1, 2, 3}, dObjDynamic.getBlob(schema.fieldKey(AllJavaTypes.FIELD_BINARY)));
+        assertTrue(dObjDynamic.getBoolean(schema.fieldKey(AllJavaTypes.FIELD_BOOLEAN)));
+        assertEquals(new Date(1000), dObjDynamic.getDate(schema.fieldKey(AllJavaTypes.FIELD_DATE)));
+        assertFalse(dObjDynamic.isNull(schema.fieldKey(AllJavaTypes.FIELD_OBJECT)));
+    }
+
+    @Test
+    public void fieldKey_setters() {
+        RealmObjectSchema schema = dynamicRealm.getSchema().get(AllJavaTypes.CLASS_NAME);
+        FieldKey longKey = schema.fieldKey(AllJavaTypes.FIELD_LONG);
+        FieldKey stringKey = schema.fieldKey(AllJavaTypes.FIELD_STRING);
+        FieldKey dateKey = schema.fieldKey(AllJavaTypes.FIELD_DATE);
+
+        dynamicRealm.beginTransaction();
+        dObjDynamic.setLong(longKey, 42);
+        dObjDynamic.setString(stringKey, "foo");
+        dObjDynamic.setDate(dateKey, new Date(2000));
+        dynamicRealm.commitTransaction();
+
+        assertEquals(42, dObjDynamic.getLong(AllJavaTypes.FIELD_LONG));
+        assertEquals("foo", dObjDynamic.getString(AllJavaTypes.FIELD_STRING));
+        assertEquals(new Date(2000), dObjDynamic.getDate(AllJavaTypes.FIELD_DATE));
+    }
+
+    @Test
+    public void fieldKey_nonExistingFieldThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        dynamicRealm.getSchema().get(AllJavaTypes.CLASS_NAME).fieldKey("nonExisting");
+    }
+
+    @Test
+    public void fieldKey_wrongTypeThrows() {
+        FieldKey key = dynamicRealm.getSchema().get(AllJavaTypes.CLASS_NAME).fieldKey(AllJavaTypes.FIELD_STRING);
+        thrown.expect(IllegalArgumentException.class);
+        dObjDynamic.getLong(key);
+    }
+
+    @Test
+    public void fieldKey_otherClassThrows() {
+        dynamicRealm.beginTransaction();
+        DynamicRealmObject dog = dynamicRealm.createObject(Dog.CLASS_NAME);
+        dynamicRealm.commitTransaction();
+        FieldKey key = dynamicRealm.getSchema().get(AllJavaTypes.CLASS_NAME).fieldKey(AllJavaTypes.FIELD_STRING);
+
+        thrown.expect(IllegalArgumentException.class);
+        dog.getString(key);
+    }
+
+    @Test
+    public void fieldKey_otherRealmThrows() {
+        FieldKey key = realm.getSchema().get(AllJavaTypes.CLASS_NAME).fieldKey(AllJavaTypes.FIELD_STRING);
+        thrown.expect(IllegalArgumentException.class);
+        dObjDynamic.getString(key);
+    }
+
+    @Test
+    public void fieldKey_primaryKeySetterThrows() {
+        FieldKey key = dynamicRealm.getSchema().get(AllJavaTypes.CLASS_NAME).fieldKey(AllJavaTypes.FIELD_ID);
+        dynamicRealm.beginTransaction();
+        try {
+            dObjDynamic.setLong(key, 42);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        } finally {
+            dynamicRealm.cancelTransaction();
+        }
+    }
+
+    // Column metadata is cached, so removing or adding fields must not leave stale column indices behind.
+    @Test
+    public void schemaChange_cachedColumnsAreUpdated() {
+        RealmObjectSchema schema = dynamicRealm.getSchema().get(AllJavaTypes.CLASS_NAME);
+        FieldKey doubleKey = schema.fieldKey(AllJavaTypes.FIELD_DOUBLE);
+        assertEquals("str", dObjDynamic.getString(AllJavaTypes.FIELD_STRING));
+        assertEquals(1.234d, dObjDynamic.getDouble(doubleKey), 0d);
+
+        dynamicRealm.beginTransaction();
+        schema.removeField(AllJavaTypes.FIELD_STRING);
+        schema.addField("newField", String.class);
+        dObjDynamic.setString("newField", "new");
+        assertEquals("new", dObjDynamic.getString("newField"));
+        assertEquals(1.234d, dObjDynamic.getDouble(doubleKey), 0d);
+        assertEquals(1.234d, dObjDynamic.getDouble(AllJavaTypes.FIELD_DOUBLE), 0d);
+        try {
+            dObjDynamic.getString(AllJavaTypes.FIELD_STRING);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        dynamicRealm.cancelTransaction();
+
+        assertEquals("str", dObjDynamic.getString(AllJavaTypes.FIELD_STRING));
+        assertEquals(1.234d, dObjDynamic.getDouble(doubleKey), 0d);
+    }
 }
@@ -459,11 +459,9 @@ public class ManagedOrderedRealmCollectionTests extends CollectionTests {
         RealmQuery<Owner> query = realm.where(Owner.class);
         RealmResults<Owner> owners = query.findAll();
 
-        try {
-            owners.sort("cat.name");
-            fail("Sorting by child object properties should result in a IllegalArgumentException");
-        } catch (IllegalArgumentException ignore) {
-        }
+        RealmResults<Owner> sorted = owners.sort("cat.name");
+        assertEquals(1, sorted.size());
+        assertEquals("owner", sorted.first().getName());
     }
 
     @Test
@@ -19,6 +19,7 @@ package io.realm;
 import android.os.Handler;
 import android.os.HandlerThread;
 import android.os.Looper;
+import android.os.SystemClock;
 import android.support.test.annotation.UiThreadTest;
 import android.support.test.rule.UiThreadTestRule;
 import android.support.test.runner.AndroidJUnit4;
@@ -1360,4 +1361,53 @@ public class NotificationsTest {
         } catch (IllegalStateException ignored) {
         }
     }
+
+    private void commitAllTypesOnOtherThread(final RealmConfiguration config) {
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Realm realm = Realm.getInstance(config);
+                realm.beginTransaction();
+                realm.createObject(AllTypes.class);
+                realm.commitTransaction();
+                realm.close();
+            }
+        });
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void notificationInterval_delaysChangesFromOtherThreads() {
+        final long interval = 500;
+        final RealmConfiguration config = looperThread.createConfigurationBuilder()
+                .name("notification_interval.realm")
+                .notificationInterval(interval, TimeUnit.MILLISECONDS)
+                .build();
+        final Realm realm = Realm.getInstance(config);
+        final AtomicInteger changes = new AtomicInteger(0);
+        final long[] firstChangeUptime = new long[1];
+        realm.addChangeListener(new RealmChangeListener<Realm>() {
+            @Override
+            public void onChange(Realm element) {
+                if (changes.incrementAndGet() == 1) {
+                    firstChangeUptime[0] = SystemClock.uptimeMillis();
+                    commitAllTypesOnOtherThread(config);
+                    commitAllTypesOnOtherThread(config);
+                } else {
+                    // Both commits are delivered together once the interval has passed.
+                    assertTrue(SystemClock.uptimeMillis() - firstChangeUptime[0] >= interval / 2);
+                    assertEquals(3, realm.where(AllTypes.class).count());
+                    realm.close();
+                    looperThread.testComplete();
+                }
+            }
+        });
+        commitAllTypesOnOtherThread(config);
+    }
 }
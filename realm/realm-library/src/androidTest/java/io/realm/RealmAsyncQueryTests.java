@@ -38,7 +38,9 @@ import java.util.concurrent.atomic.AtomicInteger;
 import io.realm.entities.AllJavaTypes;
 import io.realm.entities.AllTypes;
 import io.realm.entities.AnnotationIndexTypes;
+import io.realm.entities.Cat;
 import io.realm.entities.Dog;
+import io.realm.entities.FullTextMessage;
 import io.realm.entities.NonLatinFieldNames;
 import io.realm.entities.Owner;
 import io.realm.instrumentation.MockActivityManager;
@@ -316,6 +318,154 @@ public class RealmAsyncQueryTests {
     // *** promises based async queries ***
     // ************************************
 
+    @Test
+    @RunTestInLooperThread
+    public void findAllSortedAsync_limit() throws Throwable {
+        final Realm realm = looperThread.realm;
+        populateTestRealm(realm, 10);
+        final RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                .offset(1).limit(3)
+                .findAllSortedAsync("columnLong", Sort.DESCENDING);
+
+        looperThread.keepStrongReference.add(results);
+        results.addChangeListener(new RealmChangeListener<RealmResults<AllTypes>>() {
+            @Override
+            public void onChange(RealmResults<AllTypes> object) {
+                assertEquals(3, results.size());
+                if (results.first().getColumnLong() == 8) {
+                    assertEquals(6, results.last().getColumnLong());
+                    // The limit and sort order must be kept when the query is re-run.
+                    realm.executeTransactionAsync(new Realm.Transaction() {
+                        @Override
+                        public void execute(Realm realm) {
+                            realm.createObject(AllTypes.class).setColumnLong(100);
+                        }
+                    });
+                } else {
+                    assertEquals(9, results.first().getColumnLong());
+                    assertEquals(7, results.last().getColumnLong());
+                    looperThread.testComplete();
+                }
+            }
+        });
+    }
+
+    // The values of in() are kept natively and must survive handing the query over to the background thread.
+    @Test
+    @RunTestInLooperThread
+    public void findAllAsync_in() throws Throwable {
+        final Realm realm = looperThread.realm;
+        populateTestRealm(realm, 10);
+        final RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                .in("columnLong", new Long[] {1L, 3L, 5L, 42L})
+                .findAllAsync();
+
+        looperThread.keepStrongReference.add(results);
+        results.addChangeListener(new RealmChangeListener<RealmResults<AllTypes>>() {
+            @Override
+            public void onChange(RealmResults<AllTypes> object) {
+                assertTrue(results.isLoaded());
+                assertEquals(3, results.size());
+                looperThread.testComplete();
+            }
+        });
+    }
+
+    // Conditions on lists are evaluated by core and must survive handing the query over to the background thread.
+    @Test
+    @RunTestInLooperThread
+    public void findAllAsync_listConditions() throws Throwable {
+        final Realm realm = looperThread.realm;
+        realm.beginTransaction();
+        for (int i = 0; i < 5; i++) {
+            Owner owner = realm.createObject(Owner.class);
+            owner.setName("Owner " + i);
+            for (int j = 0; j < i; j++) {
+                Dog dog = realm.createObject(Dog.class);
+                dog.setAge(j);
+                owner.getDogs().add(dog);
+            }
+        }
+        realm.commitTransaction();
+
+        // Owners 2, 3 and 4 have a dog older than 0, only owner 4 has a dog at the age of 3.
+        final RealmResults<Owner> results = realm.where(Owner.class)
+                .greaterThan("dogs.@sum.age", 0)
+                .noneMatch("dogs", realm.where(Dog.class).equalTo("age", 3))
+                .findAllAsync();
+
+        looperThread.keepStrongReference.add(results);
+        results.addChangeListener(new RealmChangeListener<RealmResults<Owner>>() {
+            @Override
+            public void onChange(RealmResults<Owner> object) {
+                assertTrue(results.isLoaded());
+                assertEquals(2, results.size());
+                looperThread.testComplete();
+            }
+        });
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void findAllSortedAsync_linkedObjectField() throws Throwable {
+        final Realm realm = looperThread.realm;
+        realm.beginTransaction();
+        for (int i = 0; i < 4; i++) {
+            Owner owner = realm.createObject(Owner.class);
+            owner.setName("Owner " + i);
+            Cat cat = realm.createObject(Cat.class);
+            cat.setName("Cat " + (3 - i));
+            owner.setCat(cat);
+        }
+        realm.commitTransaction();
+
+        final RealmResults<Owner> results = realm.where(Owner.class)
+                .findAllSortedAsync(new String[] {"cat.name", "name"}, new Sort[] {Sort.ASCENDING, Sort.ASCENDING});
+
+        looperThread.keepStrongReference.add(results);
+        results.addChangeListener(new RealmChangeListener<RealmResults<Owner>>() {
+            @Override
+            public void onChange(RealmResults<Owner> object) {
+                assertTrue(results.isLoaded());
+                assertEquals(4, results.size());
+                for (int i = 0; i < 4; i++) {
+                    assertEquals("Owner " + (3 - i), results.get(i).getName());
+                }
+                looperThread.testComplete();
+            }
+        });
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void findAllAsync_matchesRankedByRelevance() throws Throwable {
+        final Realm realm = looperThread.realm;
+        realm.beginTransaction();
+        for (String body : new String[] {"realm", "realm realm database", "database", "realm realm realm"}) {
+            FullTextMessage message = realm.createObject(FullTextMessage.class);
+            message.setTitle("title");
+            message.setBody(body);
+        }
+        realm.commitTransaction();
+
+        final RealmResults<FullTextMessage> results = realm.where(FullTextMessage.class)
+                .matches(FullTextMessage.FIELD_BODY, "realm")
+                .limit(2)
+                .findAllAsync();
+
+        looperThread.keepStrongReference.add(results);
+        results.addChangeListener(new RealmChangeListener<RealmResults<FullTextMessage>>() {
+            @Override
+            public void onChange(RealmResults<FullTextMessage> object) {
+                assertTrue(results.isLoaded());
+                assertEquals(2, results.size());
+                assertEquals("realm realm realm", results.get(0).getBody());
+                assertEquals("realm realm database", results.get(1).getBody());
+                looperThread.testComplete();
+            }
+        });
+    }
+
     // finding element [0-4] asynchronously then wait for the promise to be loaded.
     @Test
     @RunTestInLooperThread
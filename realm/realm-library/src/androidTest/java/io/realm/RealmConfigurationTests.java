@@ -32,6 +32,11 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import io.realm.entities.AllTypes;
 import io.realm.entities.AllTypesPrimaryKey;
@@ -920,6 +925,149 @@ public class RealmConfigurationTests {
         assertFalse(realmFile.exists());
     }
 
+    @Test
+    public void compressedAssetFile() {
+        RealmConfiguration configuration = new RealmConfiguration
+                .Builder(context)
+                .directory(configFactory.getRoot())
+                .modules(new AssetFileModule())
+                .compressedAssetFile("asset_file.realm.zz")
+                .build();
+        File realmFile = new File(configuration.getPath());
+        assertFalse(realmFile.exists());
+
+        realm = Realm.getInstance(configuration);
+        assertTrue(realmFile.exists());
+        assertEquals(10, realm.where(Owner.class).count());
+        assertEquals(10, realm.where(Cat.class).count());
+        // The temporary copy has been renamed.
+        assertFalse(new File(configuration.getPath() + ".asset_copy").exists());
+    }
+
+    @Test
+    public void compressedAssetFile_notCompressedThrows() {
+        RealmConfiguration configuration = new RealmConfiguration
+                .Builder(context)
+                .directory(configFactory.getRoot())
+                .modules(new AssetFileModule())
+                .compressedAssetFile("asset_file.realm")
+                .build();
+        try {
+            Realm.getInstance(configuration);
+            fail();
+        } catch (RealmFileException expected) {
+            assertEquals(RealmFileException.Kind.ACCESS_ERROR, expected.getKind());
+        }
+        assertFalse(new File(configuration.getPath()).exists());
+        assertFalse(new File(configuration.getPath() + ".asset_copy").exists());
+    }
+
+    @Test
+    public void assetFile_interruptedCopyThrows() {
+        RealmConfiguration configuration = new RealmConfiguration
+                .Builder(context)
+                .directory(configFactory.getRoot())
+                .modules(new AssetFileModule())
+                .assetFile("asset_file.realm")
+                .build();
+        Thread.currentThread().interrupt();
+        try {
+            Realm.getInstance(configuration);
+            fail();
+        } catch (RealmFileException expected) {
+            assertEquals(RealmFileException.Kind.ACCESS_ERROR, expected.getKind());
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+        // No empty Realm has been created in place of the asset file.
+        assertFalse(new File(configuration.getPath()).exists());
+        assertFalse(new File(configuration.getPath() + ".asset_copy").exists());
+
+        realm = Realm.getInstance(configuration);
+        assertEquals(10, realm.where(Owner.class).count());
+    }
+
+    @Test
+    public void prepareAsync_copiesAssetFile() throws InterruptedException {
+        final RealmConfiguration configuration = new RealmConfiguration
+                .Builder(context)
+                .directory(configFactory.getRoot())
+                .modules(new AssetFileModule())
+                .assetFile("asset_file.realm")
+                .build();
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicLong progress = new AtomicLong(0);
+        final AtomicBoolean success = new AtomicBoolean(false);
+        Realm.prepareAsync(configuration, new Realm.PrepareCallback() {
+            @Override
+            public void onProgress(long bytesRead, long totalBytes) {
+                assertTrue(bytesRead <= totalBytes);
+                progress.set(bytesRead);
+            }
+
+            @Override
+            public void onSuccess() {
+                success.set(true);
+                done.countDown();
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue(success.get());
+        assertTrue(progress.get() > 0);
+
+        realm = Realm.getInstance(configuration);
+        assertEquals(10, realm.where(Owner.class).count());
+    }
+
+    @Test
+    public void prepareAsync_missingAssetFileReportsError() throws InterruptedException {
+        RealmConfiguration configuration = new RealmConfiguration
+                .Builder(context)
+                .directory(configFactory.getRoot())
+                .assetFile("no_file")
+                .build();
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+        Realm.prepareAsync(configuration, new Realm.PrepareCallback() {
+            @Override
+            public void onProgress(long bytesRead, long totalBytes) {
+            }
+
+            @Override
+            public void onSuccess() {
+                done.countDown();
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                error.set(e);
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue(error.get() instanceof RealmFileException);
+        assertFalse(new File(configuration.getPath()).exists());
+    }
+
+    @Test
+    public void prepareAsync_nullArgumentsThrows() {
+        try {
+            Realm.prepareAsync(null, mock(Realm.PrepareCallback.class));
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            Realm.prepareAsync(configFactory.createConfiguration(), null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
     @Test
     public void assetFile_failsWhenDeleteRealmIfMigrationNeededConfigured() {
         Context context = InstrumentationRegistry.getInstrumentation().getContext();
@@ -959,4 +1107,75 @@ public class RealmConfigurationTests {
             realm.close();
         }
     }
+
+    @Test
+    public void notificationInterval_invalidArgumentsThrows() {
+        RealmConfiguration.Builder builder = new RealmConfiguration.Builder(context);
+        try {
+            builder.notificationInterval(-1, TimeUnit.MILLISECONDS);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            builder.notificationInterval(1, null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void notificationInterval() {
+        RealmConfiguration config = new RealmConfiguration.Builder(context)
+                .notificationInterval(2, TimeUnit.SECONDS)
+                .build();
+        assertEquals(2000, config.getNotificationIntervalMillis());
+        assertEquals(0, new RealmConfiguration.Builder(context).build().getNotificationIntervalMillis());
+    }
+
+    @Test
+    public void observedClasses() {
+        RealmConfiguration config = new RealmConfiguration.Builder(context)
+                .modules(new AnimalModule())
+                .observedClasses(Dog.class, Cat.class)
+                .build();
+        assertEquals(2, config.getObservedClasses().size());
+        assertTrue(config.getObservedClasses().contains(Dog.class));
+        assertTrue(config.getObservedClasses().contains(Cat.class));
+        assertTrue(new RealmConfiguration.Builder(context).build().getObservedClasses().isEmpty());
+    }
+
+    @Test
+    public void observedClasses_nullThrows() {
+        RealmConfiguration.Builder builder = new RealmConfiguration.Builder(context);
+        try {
+            builder.observedClasses(null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            builder.observedClasses(Dog.class, (Class<? extends RealmModel>) null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void observedClasses_classNotInSchemaThrows() {
+        RealmConfiguration.Builder builder = new RealmConfiguration.Builder(context)
+                .modules(new HumanModule())
+                .observedClasses(Dog.class);
+        try {
+            builder.build();
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void identityMap() {
+        RealmConfiguration config = new RealmConfiguration.Builder(context).identityMap().build();
+        assertTrue(config.isIdentityMapEnabled());
+        assertFalse(new RealmConfiguration.Builder(context).build().isIdentityMapEnabled());
+        assertNotEquals(new RealmConfiguration.Builder(context).build(), config);
+    }
 }
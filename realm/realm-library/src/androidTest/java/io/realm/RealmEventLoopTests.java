@@ -0,0 +1,342 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.realm.entities.AllTypes;
+import io.realm.entities.Dog;
+import io.realm.internal.SharedRealm;
+import io.realm.rule.TestRealmConfigurationFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(AndroidJUnit4.class)
+public class RealmEventLoopTests {
+    @Rule
+    public final TestRealmConfigurationFactory configFactory = new TestRealmConfigurationFactory();
+
+    private RealmConfiguration realmConfig;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        realmConfig = configFactory.createConfiguration();
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // Runs the task on a thread without a Looper and rethrows any failure.
+    private void runOnWorkerThread(Callable<Void> task) throws Throwable {
+        try {
+            executor.submit(task).get(30, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void commitOnOtherThread() throws InterruptedException {
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Realm realm = Realm.getInstance(realmConfig);
+                realm.beginTransaction();
+                realm.createObject(AllTypes.class);
+                realm.commitTransaction();
+                realm.close();
+            }
+        });
+        thread.start();
+        thread.join();
+    }
+
+    // Commits through a bare SharedRealm, which is all another process shares with this one.
+    private void commitWithoutRealmInstance() throws InterruptedException {
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                SharedRealm sharedRealm = SharedRealm.getInstance(realmConfig);
+                sharedRealm.beginTransaction();
+                sharedRealm.getTable("class_" + AllTypes.CLASS_NAME).addEmptyRow();
+                sharedRealm.commitTransaction();
+                sharedRealm.close();
+            }
+        });
+        thread.start();
+        thread.join();
+    }
+
+    @Test
+    public void prepare_bindsToCurrentThread() throws Throwable {
+        runOnWorkerThread(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                assertNull(RealmEventLoop.myEventLoop());
+                RealmEventLoop eventLoop = RealmEventLoop.prepare();
+                assertSame(eventLoop, RealmEventLoop.myEventLoop());
+                try {
+                    RealmEventLoop.prepare();
+                    fail();
+                } catch (IllegalStateException ignored) {
+                }
+
+                eventLoop.quit();
+                assertTrue(eventLoop.isQuit());
+                assertNull(RealmEventLoop.myEventLoop());
+                return null;
+            }
+        });
+    }
+
+    @Test
+    public void runPendingEvents_wrongThreadThrows() throws Throwable {
+        final RealmEventLoop[] eventLoop = new RealmEventLoop[1];
+        runOnWorkerThread(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                eventLoop[0] = RealmEventLoop.prepare();
+                return null;
+            }
+        });
+
+        try {
+            eventLoop[0].runPendingEvents();
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+        eventLoop[0].quit();
+    }
+
+    @Test
+    public void autoRefresh_isAvailable() throws Throwable {
+        runOnWorkerThread(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                Realm realm = Realm.getInstance(realmConfig);
+                assertFalse(realm.isAutoRefresh());
+                realm.close();
+
+                RealmEventLoop eventLoop = RealmEventLoop.prepare();
+                realm = Realm.getInstance(realmConfig);
+                assertTrue(realm.isAutoRefresh());
+                realm.close();
+                eventLoop.quit();
+                return null;
+            }
+        });
+    }
+
+    @Test
+    public void changeListener_commitFromOtherThread() throws Throwable {
+        runOnWorkerThread(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                RealmEventLoop eventLoop = RealmEventLoop.prepare();
+                Realm realm = Realm.getInstance(realmConfig);
+                final AtomicInteger changes = new AtomicInteger(0);
+                RealmResults<AllTypes> results = realm.where(AllTypes.class).findAll();
+                realm.addChangeListener(new RealmChangeListener<Realm>() {
+                    @Override
+                    public void onChange(Realm realm) {
+                        changes.incrementAndGet();
+                    }
+                });
+
+                commitOnOtherThread();
+                commitOnOtherThread();
+                assertEquals(0, changes.get());
+
+                // Both commits are coalesced into one change event.
+                assertEquals(1, eventLoop.awaitAndRunEvents(10, TimeUnit.SECONDS));
+                assertEquals(1, changes.get());
+                assertEquals(2, results.size());
+
+                realm.close();
+                eventLoop.quit();
+                return null;
+            }
+        });
+    }
+
+    @Test
+    public void changeListener_commitWithoutRealmInstance() throws Throwable {
+        runOnWorkerThread(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                RealmEventLoop eventLoop = RealmEventLoop.prepare();
+                Realm realm = Realm.getInstance(realmConfig);
+                final AtomicInteger changes = new AtomicInteger(0);
+                RealmResults<AllTypes> results = realm.where(AllTypes.class).findAll();
+                realm.addChangeListener(new RealmChangeListener<Realm>() {
+                    @Override
+                    public void onChange(Realm realm) {
+                        changes.incrementAndGet();
+                    }
+                });
+
+                commitWithoutRealmInstance();
+                assertEquals(1, eventLoop.awaitAndRunEvents(10, TimeUnit.SECONDS));
+                assertEquals(1, changes.get());
+                assertEquals(1, results.size());
+
+                realm.close();
+                eventLoop.quit();
+                return null;
+            }
+        });
+    }
+
+    @Test
+    public void findAllAsync() throws Throwable {
+        runOnWorkerThread(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                commitOnOtherThread();
+                RealmEventLoop eventLoop = RealmEventLoop.prepare();
+                Realm realm = Realm.getInstance(realmConfig);
+                RealmResults<AllTypes> results = realm.where(AllTypes.class).findAllAsync();
+                assertFalse(results.isLoaded());
+
+                while (!results.isLoaded()) {
+                    eventLoop.awaitAndRunEvents(10, TimeUnit.SECONDS);
+                }
+                assertEquals(1, results.size());
+
+                realm.close();
+                eventLoop.quit();
+                return null;
+            }
+        });
+    }
+
+    @Test
+    public void prepareWithExecutor_deliversChanges() throws Throwable {
+        final CountDownLatch changed = new CountDownLatch(1);
+        final Realm[] realm = new Realm[1];
+        runOnWorkerThread(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                RealmEventLoop.prepare(executor);
+                realm[0] = Realm.getInstance(realmConfig);
+                realm[0].addChangeListener(new RealmChangeListener<Realm>() {
+                    @Override
+                    public void onChange(Realm element) {
+                        assertEquals(1, element.where(AllTypes.class).count());
+                        changed.countDown();
+                    }
+                });
+                return null;
+            }
+        });
+
+        commitOnOtherThread();
+        assertTrue(changed.await(10, TimeUnit.SECONDS));
+
+        runOnWorkerThread(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                realm[0].close();
+                RealmEventLoop.myEventLoop().quit();
+                return null;
+            }
+        });
+    }
+
+    private void commitDogOnOtherThread() throws InterruptedException {
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Realm realm = Realm.getInstance(realmConfig);
+                realm.beginTransaction();
+                realm.createObject(Dog.class);
+                realm.commitTransaction();
+                realm.close();
+            }
+        });
+        thread.start();
+        thread.join();
+    }
+
+    @Test
+    public void observedClasses_onlyChangesToObservedClassesAreNotified() throws Throwable {
+        realmConfig = configFactory.createConfigurationBuilder()
+                .observedClasses(Dog.class)
+                .build();
+        runOnWorkerThread(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                RealmEventLoop eventLoop = RealmEventLoop.prepare();
+                Realm realm = Realm.getInstance(realmConfig);
+                final AtomicInteger changes = new AtomicInteger(0);
+                realm.addChangeListener(new RealmChangeListener<Realm>() {
+                    @Override
+                    public void onChange(Realm realm) {
+                        changes.incrementAndGet();
+                    }
+                });
+                final AtomicInteger resultsChanges = new AtomicInteger(0);
+                RealmResults<AllTypes> allTypes = realm.where(AllTypes.class).findAll();
+                allTypes.addChangeListener(new RealmChangeListener<RealmResults<AllTypes>>() {
+                    @Override
+                    public void onChange(RealmResults<AllTypes> results) {
+                        resultsChanges.incrementAndGet();
+                    }
+                });
+
+                commitOnOtherThread();
+                assertEquals(1, eventLoop.awaitAndRunEvents(10, TimeUnit.SECONDS));
+                assertEquals(0, changes.get());
+                assertEquals(0, resultsChanges.get());
+                // The Realm has been refreshed as usual, only the listeners have been skipped.
+                assertEquals(1, allTypes.size());
+                assertEquals(1, realm.where(AllTypes.class).count());
+
+                commitDogOnOtherThread();
+                assertEquals(1, eventLoop.awaitAndRunEvents(10, TimeUnit.SECONDS));
+                assertEquals(1, changes.get());
+                assertEquals(1, realm.where(Dog.class).count());
+
+                realm.close();
+                eventLoop.quit();
+                return null;
+            }
+        });
+    }
+}
@@ -1623,4 +1623,45 @@ public class RealmJsonTests {
         assertEquals(1, owners.get(1).getId());
         assertEquals("bar", owners.get(1).getName());
     }
+
+    @Test
+    public void createOrUpdateAllFromJson_streamPrimaryKeyLast() throws IOException {
+        String json = "[" +
+                "{ \"columnString\": \"Foo\", \"columnDouble\": 1.5, \"columnBoolean\": true," +
+                "  \"columnDate\": 1000, \"columnBoxedBoolean\": null," +
+                "  \"columnRealmObject\": { \"name\": \"Dog1\", \"id\": 1 }," +
+                "  \"columnRealmList\": [ { \"name\": \"Dog2\", \"id\": 2 }, { \"name\": \"Dog3\", \"id\": 3 } ]," +
+                "  \"columnLong\": 1 }," +
+                "{ \"columnString\": \"Bar\", \"columnLong\": 2 }," +
+                "{ \"columnString\": \"Baz\", \"columnLong\": 1 }" +
+                "]";
+        realm.beginTransaction();
+        realm.createOrUpdateAllFromJson(AllTypesPrimaryKey.class, TestHelper.stringToStream(json));
+        realm.commitTransaction();
+
+        assertEquals(2, realm.where(AllTypesPrimaryKey.class).count());
+        AllTypesPrimaryKey obj = realm.where(AllTypesPrimaryKey.class).equalTo("columnLong", 1).findFirst();
+        // The third object updated the first one.
+        assertEquals("Baz", obj.getColumnString());
+        assertEquals(1.5D, obj.getColumnDouble(), 0D);
+        assertTrue(obj.isColumnBoolean());
+        assertEquals(new Date(1000), obj.getColumnDate());
+        assertNull(obj.getColumnBoxedBoolean());
+        assertEquals("Dog1", obj.getColumnRealmObject().getName());
+        assertEquals(2, obj.getColumnRealmList().size());
+        assertEquals("Dog3", obj.getColumnRealmList().get(1).getName());
+        assertEquals("Bar", realm.where(AllTypesPrimaryKey.class).equalTo("columnLong", 2).findFirst().getColumnString());
+    }
+
+    @Test
+    public void createOrUpdateAllFromJson_streamNotAnArrayOfObjectsThrows() throws IOException {
+        realm.beginTransaction();
+        try {
+            realm.createOrUpdateAllFromJson(AllTypesPrimaryKey.class, TestHelper.stringToStream("[ 1, 2 ]"));
+            fail();
+        } catch (RealmException ignored) {
+        } finally {
+            realm.cancelTransaction();
+        }
+    }
 }
@@ -27,12 +27,17 @@ import org.junit.runner.RunWith;
 import java.util.Date;
 
 import io.realm.entities.AllTypes;
+import io.realm.entities.BacklinksSource;
+import io.realm.entities.BacklinksTarget;
 import io.realm.entities.Cat;
 import io.realm.entities.Dog;
 import io.realm.entities.Owner;
+import io.realm.exceptions.RealmException;
 import io.realm.rule.TestRealmConfigurationFactory;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 @RunWith(AndroidJUnit4.class)
@@ -558,4 +563,281 @@ public class RealmLinkTests {
         } catch (IllegalArgumentException ignored) {
         }
     }
+
+    // Adds "Kim" without dogs and "Ann" with a single dog without tail to "Tim" with Pluto and Fido.
+    private void populateOwnersForListConditions() {
+        testRealm.beginTransaction();
+        Owner kim = testRealm.createObject(Owner.class);
+        kim.setName("Kim");
+
+        Dog rex = testRealm.createObject(Dog.class);
+        rex.setName("Rex");
+        rex.setAge(2);
+        rex.setHeight(0.5f);
+        rex.setWeight(30.0);
+        rex.setHasTail(false);
+        Owner ann = testRealm.createObject(Owner.class);
+        ann.setName("Ann");
+        ann.getDogs().add(rex);
+        testRealm.commitTransaction();
+    }
+
+    private static void assertOwners(RealmResults<Owner> owners, String... names) {
+        assertEquals(names.length, owners.size());
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(names[i], owners.get(i).getName());
+        }
+    }
+
+    @Test
+    public void listAggregate_count() {
+        populateOwnersForListConditions();
+
+        assertOwners(testRealm.where(Owner.class).greaterThan("dogs.@count", 1).findAllSorted("name"), "Tim");
+        assertOwners(testRealm.where(Owner.class).equalTo("dogs.@count", 0).findAllSorted("name"), "Kim");
+        assertOwners(testRealm.where(Owner.class).lessThanOrEqualTo("dogs.@count", 1).findAllSorted("name"),
+                "Ann", "Kim");
+        assertOwners(testRealm.where(Owner.class).in("dogs.@count", new Long[] {0L, 2L}).findAllSorted("name"),
+                "Kim", "Tim");
+    }
+
+    @Test
+    public void listAggregate_count_followingLink() {
+        RealmResults<Dog> dogs = testRealm.where(Dog.class).equalTo("owner.dogs.@count", 2).findAll();
+        assertEquals(2, dogs.size());
+    }
+
+    @Test
+    public void listAggregate_sumMinMaxAverage() {
+        populateOwnersForListConditions();
+
+        // Tim's dogs are 5 and 10 years old, weigh 9.9 and 11.3 and are 1.2 and 0.7 high.
+        assertOwners(testRealm.where(Owner.class).greaterThan("dogs.@sum.age", 10).findAll(), "Tim");
+        assertOwners(testRealm.where(Owner.class).lessThan("dogs.@min.weight", 10.0).findAll(), "Tim");
+        assertOwners(testRealm.where(Owner.class).greaterThan("dogs.@max.height", 1.0f).findAll(), "Tim");
+        assertOwners(testRealm.where(Owner.class).equalTo("dogs.@avg.age", 7.5).findAll(), "Tim");
+        assertOwners(testRealm.where(Owner.class).lessThan("dogs.@avg.weight", 20.0).findAll(), "Tim");
+    }
+
+    @Test
+    public void listAggregate_invalidFieldNames() {
+        String[] fieldNames = {"dogs.@count.age", "name.@count", "cat.@count", "dogs.@sum", "dogs.@sum.name",
+                "dogs.@sum.birthday", "dogs.@median.age", "dogs.@sum.age.value", "@count"};
+        for (String fieldName : fieldNames) {
+            try {
+                testRealm.where(Owner.class).greaterThan(fieldName, 1);
+                fail(fieldName);
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+    }
+
+    @Test
+    public void listAggregate_typeMismatch() {
+        // The average is a double.
+        try {
+            testRealm.where(Owner.class).greaterThan("dogs.@avg.age", 1);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            testRealm.where(Owner.class).equalTo("dogs.@count", "2");
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            testRealm.where(Owner.class).isNull("dogs.@count");
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void anyMatch() {
+        populateOwnersForListConditions();
+
+        RealmResults<Owner> owners = testRealm.where(Owner.class)
+                .anyMatch(Owner.FIELD_DOGS, testRealm.where(Dog.class).greaterThan(Dog.FIELD_AGE, 8))
+                .findAll();
+        assertOwners(owners, "Tim");
+    }
+
+    @Test
+    public void allMatch() {
+        populateOwnersForListConditions();
+
+        RealmResults<Owner> owners = testRealm.where(Owner.class)
+                .allMatch(Owner.FIELD_DOGS, testRealm.where(Dog.class).equalTo("hasTail", true))
+                .findAllSorted(Owner.FIELD_NAME);
+        assertOwners(owners, "Kim", "Tim");
+
+        owners = testRealm.where(Owner.class)
+                .allMatch(Owner.FIELD_DOGS, testRealm.where(Dog.class).greaterThan(Dog.FIELD_AGE, 8))
+                .findAllSorted(Owner.FIELD_NAME);
+        assertOwners(owners, "Kim");
+    }
+
+    @Test
+    public void noneMatch() {
+        populateOwnersForListConditions();
+
+        RealmResults<Owner> owners = testRealm.where(Owner.class)
+                .noneMatch(Owner.FIELD_DOGS, testRealm.where(Dog.class).equalTo("hasTail", true))
+                .findAllSorted(Owner.FIELD_NAME);
+        assertOwners(owners, "Ann", "Kim");
+    }
+
+    @Test
+    public void listMatches_combinedWithOtherConditions() {
+        populateOwnersForListConditions();
+
+        RealmResults<Owner> owners = testRealm.where(Owner.class)
+                .not().anyMatch(Owner.FIELD_DOGS, testRealm.where(Dog.class).equalTo("hasTail", false))
+                .greaterThan("dogs.@count", 0)
+                .findAll();
+        assertOwners(owners, "Tim");
+    }
+
+    @Test
+    public void listMatches_invalidArguments() {
+        RealmQuery<Owner> query = testRealm.where(Owner.class);
+        try {
+            // Not a list
+            query.anyMatch(Owner.FIELD_CAT, testRealm.where(Cat.class));
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            // The condition is on another class
+            query.anyMatch(Owner.FIELD_DOGS, testRealm.where(Cat.class));
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            // The condition is restricted to some objects
+            query.anyMatch(Owner.FIELD_DOGS, testRealm.where(Dog.class).findAll().where());
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            query.anyMatch(Owner.FIELD_DOGS, null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    // Creates two sources linking to target "t1", one directly and one through its list, and one linking to "t2".
+    private BacklinksTarget populateBacklinks() {
+        testRealm.beginTransaction();
+        BacklinksTarget target1 = testRealm.createObject(BacklinksTarget.class);
+        target1.setId("t1");
+        BacklinksTarget target2 = testRealm.createObject(BacklinksTarget.class);
+        target2.setId("t2");
+
+        BacklinksSource source1 = testRealm.createObject(BacklinksSource.class);
+        source1.setName("s1");
+        source1.setChild(target1);
+        BacklinksSource source2 = testRealm.createObject(BacklinksSource.class);
+        source2.setName("s2");
+        source2.getChildren().add(target1);
+        source2.getChildren().add(target2);
+        testRealm.commitTransaction();
+        return target1;
+    }
+
+    @Test
+    public void linkingObjects() {
+        BacklinksTarget target = populateBacklinks();
+
+        assertEquals(1, target.getParents().size());
+        assertEquals("s1", target.getParents().first().getName());
+        assertEquals(1, target.getListParents().size());
+        assertEquals("s2", target.getListParents().first().getName());
+    }
+
+    @Test
+    public void linkingObjects_updatedWithLinks() {
+        BacklinksTarget target = populateBacklinks();
+        RealmResults<BacklinksSource> parents = target.getParents();
+        assertEquals(1, parents.size());
+
+        testRealm.beginTransaction();
+        BacklinksSource source = testRealm.createObject(BacklinksSource.class);
+        source.setName("s3");
+        source.setChild(target);
+        testRealm.commitTransaction();
+        assertEquals(2, parents.size());
+
+        testRealm.beginTransaction();
+        testRealm.where(BacklinksSource.class).equalTo(BacklinksSource.FIELD_NAME, "s1").findFirst().deleteFromRealm();
+        testRealm.commitTransaction();
+        assertEquals(1, parents.size());
+        assertEquals("s3", parents.first().getName());
+    }
+
+    @Test
+    public void linkingObjects_query() {
+        populateBacklinks();
+
+        RealmResults<BacklinksTarget> targets = testRealm.where(BacklinksTarget.class)
+                .equalTo(BacklinksTarget.FIELD_LIST_PARENTS + "." + BacklinksSource.FIELD_NAME, "s2").findAll();
+        assertEquals(2, targets.size());
+
+        targets = testRealm.where(BacklinksTarget.class)
+                .equalTo(BacklinksTarget.FIELD_PARENTS + "." + BacklinksSource.FIELD_NAME, "s1").findAll();
+        assertEquals(1, targets.size());
+        assertEquals("t1", targets.first().getId());
+
+        targets = testRealm.where(BacklinksTarget.class)
+                .equalTo(BacklinksTarget.FIELD_PARENTS + "." + BacklinksSource.FIELD_NAME, "s2").findAll();
+        assertEquals(0, targets.size());
+    }
+
+    @Test
+    public void linkingObjects_setterThrows() {
+        BacklinksTarget target = populateBacklinks();
+
+        testRealm.beginTransaction();
+        try {
+            target.setParents(target.getListParents());
+            fail();
+        } catch (RealmException ignored) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
+    @Test
+    public void linkingObjects_unmanaged() {
+        BacklinksTarget target = new BacklinksTarget();
+        assertNull(target.getParents());
+
+        testRealm.beginTransaction();
+        BacklinksTarget managedTarget = testRealm.copyToRealm(target);
+        testRealm.commitTransaction();
+        assertTrue(managedTarget.getParents().isEmpty());
+    }
+
+    @Test
+    public void linkingObjects_dynamic() {
+        populateBacklinks();
+        DynamicRealm dynamicRealm = DynamicRealm.getInstance(realmConfig);
+        try {
+            DynamicRealmObject target = dynamicRealm.where(BacklinksTarget.CLASS_NAME)
+                    .equalTo(BacklinksTarget.FIELD_ID, "t2").findFirst();
+            RealmResults<DynamicRealmObject> parents =
+                    target.getLinkingObjects(BacklinksSource.CLASS_NAME, BacklinksSource.FIELD_CHILDREN);
+            assertEquals(1, parents.size());
+            assertEquals("s2", parents.first().getString(BacklinksSource.FIELD_NAME));
+            assertEquals(0, target.getLinkingObjects(BacklinksSource.CLASS_NAME, BacklinksSource.FIELD_CHILD).size());
+
+            try {
+                target.getLinkingObjects(BacklinksSource.CLASS_NAME, BacklinksSource.FIELD_NAME);
+                fail();
+            } catch (IllegalArgumentException ignored) {
+            }
+        } finally {
+            dynamicRealm.close();
+        }
+    }
 }
@@ -10,8 +10,10 @@ import org.junit.runner.RunWith;
 import io.realm.log.LogLevel;
 import io.realm.log.Logger;
 import io.realm.log.RealmLog;
+import io.realm.log.RealmStructuredLogger;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertNull;
 import static junit.framework.Assert.assertTrue;
 
@@ -153,4 +155,128 @@ public class RealmLogTests {
         assertEquals(throwable, testLogger.throwable);
         assertTrue(testLogger.message.contains("RealmLogTests.java"));
     }
+
+    static class TestStructuredLogger implements RealmStructuredLogger {
+        int level;
+        String template;
+        Object[] args;
+        Throwable throwable;
+        int count;
+
+        @Override
+        public void log(int level, String tag, Throwable throwable, String template, Object[] args) {
+            this.level = level;
+            this.throwable = throwable;
+            this.template = template;
+            this.args = args;
+            count++;
+        }
+    }
+
+    @Test
+    public void isLoggable() {
+        int originalLevel = RealmLog.getLevel();
+        try {
+            RealmLog.setLevel(LogLevel.WARN);
+            assertFalse(RealmLog.isLoggable(LogLevel.TRACE));
+            assertFalse(RealmLog.isLoggable(LogLevel.INFO));
+            assertTrue(RealmLog.isLoggable(LogLevel.WARN));
+            assertTrue(RealmLog.isLoggable(LogLevel.FATAL));
+
+            RealmLog.setLevel(LogLevel.OFF);
+            assertFalse(RealmLog.isLoggable(LogLevel.FATAL));
+
+            RealmLog.setLevel(LogLevel.ALL);
+            assertTrue(RealmLog.isLoggable(LogLevel.TRACE));
+        } finally {
+            RealmLog.setLevel(originalLevel);
+        }
+    }
+
+    @Test
+    public void structuredLogger_receivesUnformattedEvents() {
+        int originalLevel = RealmLog.getLevel();
+        TestStructuredLogger structuredLogger = new TestStructuredLogger();
+        TestHelper.TestLogger testLogger = new TestHelper.TestLogger();
+        RealmLog.add(structuredLogger);
+        RealmLog.add(testLogger);
+        try {
+            RealmLog.setLevel(LogLevel.DEBUG);
+
+            RealmLog.debug("%s: %d", "count", 42);
+            assertEquals(LogLevel.DEBUG, structuredLogger.level);
+            assertEquals("%s: %d", structuredLogger.template);
+            assertEquals(2, structuredLogger.args.length);
+            assertEquals("count", structuredLogger.args[0]);
+            assertEquals(42, structuredLogger.args[1]);
+            // Native loggers still receive the formatted message.
+            assertEquals("count: 42", testLogger.message);
+
+            RealmLog.info("no args");
+            assertEquals("no args", structuredLogger.template);
+            assertEquals(0, structuredLogger.args.length);
+
+            Throwable throwable = new RuntimeException("Test exception.");
+            RealmLog.error(throwable);
+            assertEquals(throwable, structuredLogger.throwable);
+            assertNull(structuredLogger.template);
+        } finally {
+            RealmLog.remove(structuredLogger);
+            RealmLog.remove(testLogger);
+            RealmLog.setLevel(originalLevel);
+        }
+    }
+
+    @Test
+    public void structuredLogger_disabledLevelIsDropped() {
+        int originalLevel = RealmLog.getLevel();
+        TestStructuredLogger structuredLogger = new TestStructuredLogger();
+        RealmLog.add(structuredLogger);
+        try {
+            RealmLog.setLevel(LogLevel.WARN);
+            RealmLog.trace("trace %s", "arg");
+            RealmLog.debug("debug %s %s", "arg1", "arg2");
+            RealmLog.info("info %s %s %s", "arg1", "arg2", "arg3");
+            assertEquals(0, structuredLogger.count);
+
+            RealmLog.warn("warn %s", "arg");
+            assertEquals(1, structuredLogger.count);
+        } finally {
+            RealmLog.remove(structuredLogger);
+            RealmLog.setLevel(originalLevel);
+        }
+    }
+
+    @Test
+    public void structuredLogger_addRemove() {
+        TestStructuredLogger structuredLogger = new TestStructuredLogger();
+        RealmLog.add(structuredLogger);
+        // Adding the same logger twice is ignored.
+        RealmLog.add(structuredLogger);
+        RealmLog.fatal("TEST");
+        assertEquals(1, structuredLogger.count);
+
+        assertTrue(RealmLog.remove(structuredLogger));
+        assertFalse(RealmLog.remove(structuredLogger));
+        RealmLog.fatal("TEST_AGAIN");
+        assertEquals(1, structuredLogger.count);
+        assertEquals("TEST", structuredLogger.template);
+    }
+
+    @Test
+    public void clear_removesStructuredLoggers() {
+        TestStructuredLogger structuredLogger = new TestStructuredLogger();
+        RealmLog.add(structuredLogger);
+        RealmLog.clear();
+        RealmLog.fatal("TEST");
+        assertEquals(0, structuredLogger.count);
+
+        // Structured loggers still work without any native logger.
+        RealmLog.add(structuredLogger);
+        RealmLog.fatal("TEST %s", "arg");
+        assertEquals(1, structuredLogger.count);
+        RealmLog.remove(structuredLogger);
+
+        RealmLog.registerDefaultLogger();
+    }
 }
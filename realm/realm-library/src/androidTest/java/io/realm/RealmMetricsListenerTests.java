@@ -0,0 +1,174 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.realm.entities.AllTypes;
+import io.realm.rule.RunInLooperThread;
+import io.realm.rule.RunTestInLooperThread;
+import io.realm.rule.TestRealmConfigurationFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(AndroidJUnit4.class)
+public class RealmMetricsListenerTests {
+    @Rule
+    public final TestRealmConfigurationFactory configFactory = new TestRealmConfigurationFactory();
+    @Rule
+    public final RunInLooperThread looperThread = new RunInLooperThread();
+
+    private static class RecordingListener extends RealmMetricsListener {
+        final List<RealmMetricsListener.QueryType> queryTypes = new ArrayList<QueryType>();
+        final List<Long> resultSizes = new ArrayList<Long>();
+        final AtomicInteger commits = new AtomicInteger(0);
+        final AtomicInteger notifications = new AtomicInteger(0);
+
+        @Override
+        public void onQueryExecuted(String realmPath, String className, QueryType queryType, long resultSize,
+                                    long durationNanos) {
+            assertEquals(AllTypes.CLASS_NAME, className);
+            assertTrue(durationNanos >= 0);
+            queryTypes.add(queryType);
+            resultSizes.add(resultSize);
+        }
+
+        @Override
+        public void onTransactionCommitted(String realmPath, long durationNanos, long nativeMemoryBytes) {
+            assertTrue(durationNanos >= 0);
+            assertTrue(nativeMemoryBytes >= 0);
+            commits.incrementAndGet();
+        }
+
+        @Override
+        public void onListenersNotified(String realmPath, int resultsCount, long durationNanos) {
+            assertTrue(durationNanos >= 0);
+            notifications.incrementAndGet();
+        }
+    }
+
+    private RecordingListener metricsListener;
+    private Realm realm;
+
+    @Before
+    public void setUp() {
+        metricsListener = new RecordingListener();
+    }
+
+    @After
+    public void tearDown() {
+        if (realm != null) {
+            realm.close();
+        }
+    }
+
+    private void populate(Realm realm, int count) {
+        realm.beginTransaction();
+        for (int i = 0; i < count; i++) {
+            realm.createObject(AllTypes.class).setColumnLong(i);
+        }
+        realm.commitTransaction();
+    }
+
+    @Test
+    public void queries() {
+        realm = Realm.getInstance(configFactory.createConfigurationBuilder()
+                .metricsListener(metricsListener)
+                .build());
+        populate(realm, 10);
+
+        realm.where(AllTypes.class).findAll();
+        realm.where(AllTypes.class).lessThan(AllTypes.FIELD_LONG, 5).findAllSorted(AllTypes.FIELD_LONG);
+        realm.where(AllTypes.class).equalTo(AllTypes.FIELD_LONG, 3).findFirst();
+        realm.where(AllTypes.class).limit(2).count();
+
+        assertEquals(4, metricsListener.queryTypes.size());
+        assertEquals(RealmMetricsListener.QueryType.FIND_ALL, metricsListener.queryTypes.get(0));
+        assertEquals(RealmMetricsListener.QueryType.FIND_ALL_SORTED, metricsListener.queryTypes.get(1));
+        assertEquals(RealmMetricsListener.QueryType.FIND_FIRST, metricsListener.queryTypes.get(2));
+        assertEquals(RealmMetricsListener.QueryType.COUNT, metricsListener.queryTypes.get(3));
+        assertEquals(Long.valueOf(10), metricsListener.resultSizes.get(0));
+        assertEquals(Long.valueOf(5), metricsListener.resultSizes.get(1));
+        assertEquals(Long.valueOf(1), metricsListener.resultSizes.get(2));
+        assertEquals(Long.valueOf(2), metricsListener.resultSizes.get(3));
+    }
+
+    @Test
+    public void builder_nullListenerThrows() {
+        try {
+            configFactory.createConfigurationBuilder().metricsListener(null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void commits() {
+        realm = Realm.getInstance(configFactory.createConfigurationBuilder()
+                .metricsListener(metricsListener)
+                .build());
+        int commitsBefore = metricsListener.commits.get();
+        populate(realm, 1);
+        populate(realm, 1);
+        assertEquals(commitsBefore + 2, metricsListener.commits.get());
+    }
+
+    @Test
+    public void noListener() {
+        realm = Realm.getInstance(configFactory.createConfiguration());
+        populate(realm, 1);
+        assertEquals(1, realm.where(AllTypes.class).findAll().size());
+        assertEquals(0, metricsListener.queryTypes.size());
+        assertEquals(0, metricsListener.commits.get());
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void listenerNotifications() {
+        final Realm realm = Realm.getInstance(looperThread.createConfigurationBuilder()
+                .name("metrics.realm")
+                .metricsListener(metricsListener)
+                .build());
+        realm.addChangeListener(new RealmChangeListener<Realm>() {
+            @Override
+            public void onChange(Realm element) {
+                // The metrics are reported once all listeners have been called.
+                looperThread.postRunnable(new Runnable() {
+                    @Override
+                    public void run() {
+                        assertEquals(1, metricsListener.notifications.get());
+                        realm.close();
+                        looperThread.testComplete();
+                    }
+                });
+            }
+        });
+        populate(realm, 1);
+    }
+}
@@ -25,7 +25,10 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.Set;
 
 import io.realm.entities.AllJavaTypes;
@@ -671,6 +674,222 @@ public class RealmObjectSchemaTests {
         assertEquals("John", realm.where("Dog").findFirst().getObject("owner").getString("name"));
     }
 
+    private void createDogs(int count) {
+        for (int i = 0; i < count; i++) {
+            DynamicRealmObject dog = realm.createObject(DOG_SCHEMA.getClassName());
+            dog.setLong("age", i);
+            dog.setFloat("height", i);
+            dog.setDouble("weight", i);
+        }
+    }
+
+    @Test
+    public void transform_progress() {
+        createDogs(5000);
+        final List<Long> progress = new ArrayList<Long>();
+        DOG_SCHEMA.transform(new RealmObjectSchema.Function() {
+            @Override
+            public void apply(DynamicRealmObject obj) {
+            }
+        }, new RealmObjectSchema.ProgressListener() {
+            @Override
+            public void onProgress(long processedObjects, long totalObjects) {
+                assertEquals(5000, totalObjects);
+                progress.add(processedObjects);
+            }
+        });
+        assertEquals(Arrays.asList(4096L, 5000L), progress);
+    }
+
+    @Test
+    public void transformRows() {
+        createDogs(3);
+        final FieldKey age = DOG_SCHEMA.fieldKey("age");
+        final FieldKey name = DOG_SCHEMA.fieldKey("name");
+        final FieldKey birthday = DOG_SCHEMA.fieldKey("birthday");
+        DOG_SCHEMA.transformRows(new RealmObjectSchema.RowFunction() {
+            @Override
+            public void apply(DynamicRowCursor cursor) {
+                assertTrue(cursor.isNull(name));
+                assertNull(cursor.getDate(birthday));
+                cursor.setString(name, "Dog " + cursor.getPosition());
+                cursor.setLong(age, cursor.getLong(age) * 10);
+                cursor.setDate(birthday, new Date(cursor.getPosition()));
+            }
+        });
+
+        RealmResults<DynamicRealmObject> dogs = realm.where("Dog").findAllSorted("age");
+        assertEquals(3, dogs.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i * 10, dogs.get(i).getLong("age"));
+            assertEquals("Dog " + i, dogs.get(i).getString("name"));
+            assertEquals(new Date(i), dogs.get(i).getDate("birthday"));
+        }
+    }
+
+    @Test
+    public void transformRows_wrongTypeThrows() {
+        createDogs(1);
+        final FieldKey age = DOG_SCHEMA.fieldKey("age");
+        thrown.expect(IllegalArgumentException.class);
+        DOG_SCHEMA.transformRows(new RealmObjectSchema.RowFunction() {
+            @Override
+            public void apply(DynamicRowCursor cursor) {
+                cursor.getString(age);
+            }
+        });
+    }
+
+    @Test
+    public void transformRows_primaryKeySetterThrows() {
+        schema = realmSchema.get(AllJavaTypes.CLASS_NAME);
+        realm.createObject(AllJavaTypes.CLASS_NAME, 1L);
+        final FieldKey id = schema.fieldKey(AllJavaTypes.FIELD_ID);
+        thrown.expect(IllegalArgumentException.class);
+        schema.transformRows(new RealmObjectSchema.RowFunction() {
+            @Override
+            public void apply(DynamicRowCursor cursor) {
+                cursor.setLong(id, 2);
+            }
+        });
+    }
+
+    @Test
+    public void fillField() {
+        createDogs(3);
+        Date birthday = new Date(1000);
+        DOG_SCHEMA.fillField("name", "Fido")
+                .fillField("age", 7)
+                .fillField("height", 1.5f)
+                .fillField("weight", 2.5D)
+                .fillField("hasTail", true)
+                .fillField("birthday", birthday);
+
+        for (DynamicRealmObject dog : realm.where("Dog").findAll()) {
+            assertEquals("Fido", dog.getString("name"));
+            assertEquals(7, dog.getLong("age"));
+            assertEquals(1.5f, dog.getFloat("height"), 0f);
+            assertEquals(2.5D, dog.getDouble("weight"), 0D);
+            assertTrue(dog.getBoolean("hasTail"));
+            assertEquals(birthday, dog.getDate("birthday"));
+        }
+
+        DOG_SCHEMA.fillField("name", null);
+        assertEquals(3, realm.where("Dog").isNull("name").count());
+    }
+
+    @Test
+    public void fillField_wrongTypeThrows() {
+        createDogs(1);
+        thrown.expect(IllegalArgumentException.class);
+        DOG_SCHEMA.fillField("age", "seven");
+    }
+
+    @Test
+    public void fillField_nullInRequiredFieldThrows() {
+        createDogs(1);
+        thrown.expect(IllegalArgumentException.class);
+        DOG_SCHEMA.fillField("age", null);
+    }
+
+    @Test
+    public void fillField_primaryKeyThrows() {
+        schema = realmSchema.get(AllJavaTypes.CLASS_NAME);
+        thrown.expect(IllegalArgumentException.class);
+        schema.fillField(AllJavaTypes.FIELD_ID, 1L);
+    }
+
+    @Test
+    public void copyField() {
+        createDogs(3);
+        DOG_SCHEMA.addField("newAge", Long.class);
+        DOG_SCHEMA.copyField("age", "newAge");
+        assertEquals(3, realm.where("Dog").sum("newAge").intValue());
+        assertEquals(0, realm.where("Dog").isNull("newAge").count());
+    }
+
+    @Test
+    public void copyField_nullToRequiredFieldThrows() {
+        createDogs(1);
+        DOG_SCHEMA.addField("newAge", Long.class);
+        thrown.expect(IllegalArgumentException.class);
+        DOG_SCHEMA.copyField("newAge", "age");
+    }
+
+    @Test
+    public void copyField_differentTypesThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        DOG_SCHEMA.copyField("age", "weight");
+    }
+
+    @Test
+    public void mapLongField() {
+        createDogs(5000);
+        final List<Long> progress = new ArrayList<Long>();
+        DOG_SCHEMA.mapLongField("age", new RealmObjectSchema.LongFieldMapper() {
+            @Override
+            public void map(long[] values, int count) {
+                for (int i = 0; i < count; i++) {
+                    values[i] = values[i] * 2;
+                }
+            }
+        }, new RealmObjectSchema.ProgressListener() {
+            @Override
+            public void onProgress(long processedObjects, long totalObjects) {
+                progress.add(processedObjects);
+            }
+        });
+
+        assertEquals(Arrays.asList(4096L, 5000L), progress);
+        assertEquals(4999 * 5000, realm.where("Dog").sum("age").longValue());
+        assertEquals(9998, realm.where("Dog").max("age").longValue());
+    }
+
+    @Test
+    public void mapLongField_keepsNulls() {
+        createDogs(2);
+        DOG_SCHEMA.addField("newAge", Long.class);
+        realm.where("Dog").findFirst().setLong("newAge", 1);
+        DOG_SCHEMA.mapLongField("newAge", new RealmObjectSchema.LongFieldMapper() {
+            @Override
+            public void map(long[] values, int count) {
+                for (int i = 0; i < count; i++) {
+                    values[i] = values[i] + 1;
+                }
+            }
+        });
+
+        assertEquals(1, realm.where("Dog").isNull("newAge").count());
+        assertEquals(2, realm.where("Dog").sum("newAge").intValue());
+    }
+
+    @Test
+    public void mapLongField_wrongTypeThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        DOG_SCHEMA.mapLongField("weight", new RealmObjectSchema.LongFieldMapper() {
+            @Override
+            public void map(long[] values, int count) {
+            }
+        });
+    }
+
+    @Test
+    public void mapDoubleField() {
+        createDogs(3);
+        RealmObjectSchema.DoubleFieldMapper half = new RealmObjectSchema.DoubleFieldMapper() {
+            @Override
+            public void map(double[] values, int count) {
+                for (int i = 0; i < count; i++) {
+                    values[i] = values[i] / 2;
+                }
+            }
+        };
+        DOG_SCHEMA.mapDoubleField("height", half).mapDoubleField("weight", half);
+
+        assertEquals(1.5D, realm.where("Dog").sum("height").doubleValue(), 0D);
+        assertEquals(1.5D, realm.where("Dog").sum("weight").doubleValue(), 0D);
+    }
+
     @Test
     public void getFieldNames() {
         Set<String> fieldNames = DOG_SCHEMA.getFieldNames();
@@ -27,8 +27,13 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 
+import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.concurrent.Callable;
@@ -47,6 +52,7 @@ import io.realm.entities.ConflictingFieldName;
 import io.realm.entities.CustomMethods;
 import io.realm.entities.CyclicType;
 import io.realm.entities.Dog;
+import io.realm.entities.InternedStrings;
 import io.realm.entities.NullTypes;
 import io.realm.entities.StringAndInt;
 import io.realm.exceptions.RealmException;
@@ -62,7 +68,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -1839,4 +1847,306 @@ public class RealmObjectTests {
             assertNotNull(query);
         }
     }
+
+    @Test
+    public void freeze() throws ExecutionException, InterruptedException {
+        realm.beginTransaction();
+        AllTypes allTypes = realm.createObject(AllTypes.class);
+        allTypes.setColumnString("frozen");
+        realm.commitTransaction();
+
+        assertFalse(allTypes.isFrozen());
+        final AllTypes frozen = allTypes.freeze();
+        assertTrue(frozen.isFrozen());
+        assertTrue(RealmObject.isFrozen(frozen));
+
+        realm.beginTransaction();
+        allTypes.setColumnString("updated");
+        realm.commitTransaction();
+        assertEquals("frozen", frozen.getColumnString());
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<String> future = executorService.submit(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return frozen.getColumnString();
+            }
+        });
+        assertEquals("frozen", future.get());
+        executorService.shutdown();
+    }
+
+    @Test
+    public void freeze_dynamicObject() {
+        realm.beginTransaction();
+        realm.createObject(AllTypes.class).setColumnLong(42);
+        realm.commitTransaction();
+
+        DynamicRealm dynamicRealm = DynamicRealm.getInstance(realmConfig);
+        try {
+            DynamicRealmObject frozen = dynamicRealm.where(AllTypes.CLASS_NAME).findFirst().freeze();
+            assertTrue(frozen.isFrozen());
+            assertEquals(42, frozen.getLong(AllTypes.FIELD_LONG));
+        } finally {
+            dynamicRealm.close();
+        }
+    }
+
+    @Test
+    public void freeze_unmanagedObjectThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        new AllTypes().freeze();
+    }
+
+    @Test
+    public void freeze_addChangeListenerThrows() {
+        realm.beginTransaction();
+        AllTypes frozen = realm.createObject(AllTypes.class);
+        realm.commitTransaction();
+
+        frozen = frozen.freeze();
+        thrown.expect(IllegalStateException.class);
+        frozen.addChangeListener(new RealmChangeListener<AllTypes>() {
+            @Override
+            public void onChange(AllTypes element) {
+            }
+        });
+    }
+
+    @Test
+    public void freeze_release() {
+        realm.beginTransaction();
+        AllTypes allTypes = realm.createObject(AllTypes.class);
+        allTypes.setColumnLong(42);
+        realm.commitTransaction();
+
+        AllTypes frozen1 = allTypes.freeze();
+        AllTypes frozen2 = RealmObject.freeze(allTypes);
+        FrozenSnapshot snapshot = ((RealmObjectProxy) frozen1).realmGet$proxyState().getFrozenSnapshot$realm();
+
+        frozen1.release();
+        RealmObject.release(frozen1);
+        assertFalse(frozen1.isValid());
+        assertFalse(snapshot.isReleased());
+        assertEquals(42, frozen2.getColumnLong());
+        try {
+            frozen1.getColumnLong();
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+
+        RealmObject.release(frozen2);
+        assertTrue(snapshot.isReleased());
+        assertFalse(frozen2.isValid());
+    }
+
+    @Test
+    public void release_notFrozenThrows() {
+        realm.beginTransaction();
+        AllTypes allTypes = realm.createObject(AllTypes.class);
+        realm.commitTransaction();
+
+        thrown.expect(IllegalStateException.class);
+        allTypes.release();
+    }
+
+    private AllTypes createAllTypesWithBinary(byte[] data) {
+        realm.beginTransaction();
+        AllTypes allTypes = realm.createObject(AllTypes.class);
+        allTypes.setColumnBinary(data);
+        realm.commitTransaction();
+        return allTypes;
+    }
+
+    private static byte[] createBinary(int size) {
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+
+    @Test
+    public void getBinaryBuffer() {
+        byte[] data = createBinary(200 * 1024);
+        AllTypes allTypes = createAllTypesWithBinary(data);
+
+        ByteBuffer buffer = allTypes.getBinaryBuffer(AllTypes.FIELD_BINARY);
+        assertTrue(buffer.isDirect());
+        assertTrue(buffer.isReadOnly());
+        assertEquals(data.length, buffer.remaining());
+        byte[] copy = new byte[data.length];
+        buffer.get(copy);
+        assertArrayEquals(data, copy);
+    }
+
+    @Test
+    public void getBinaryBuffer_emptyAndNull() {
+        AllTypes allTypes = createAllTypesWithBinary(new byte[0]);
+        assertEquals(0, RealmObject.getBinaryBuffer(allTypes, AllTypes.FIELD_BINARY).remaining());
+
+        realm.beginTransaction();
+        NullTypes nullTypes = realm.createObject(NullTypes.class, 1);
+        realm.commitTransaction();
+        assertNull(RealmObject.getBinaryBuffer(nullTypes, NullTypes.FIELD_BYTES_NULL));
+    }
+
+    @Test
+    public void getBinaryBuffer_illegalArgumentsThrows() {
+        AllTypes allTypes = createAllTypesWithBinary(new byte[1]);
+        try {
+            RealmObject.getBinaryBuffer(new AllTypes(), AllTypes.FIELD_BINARY);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            allTypes.getBinaryBuffer(AllTypes.FIELD_STRING);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            allTypes.getBinaryBuffer("unknownField");
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void openBinaryInputStream_readsInChunks() throws IOException {
+        byte[] data = createBinary(100 * 1000 + 7);
+        AllTypes allTypes = createAllTypesWithBinary(data);
+
+        InputStream stream = allTypes.openBinaryInputStream(AllTypes.FIELD_BINARY);
+        assertEquals(data.length, stream.available());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] chunk = new byte[4096];
+        int bytesRead;
+        while ((bytesRead = stream.read(chunk)) != -1) {
+            output.write(chunk, 0, bytesRead);
+        }
+        stream.close();
+        assertArrayEquals(data, output.toByteArray());
+    }
+
+    @Test
+    public void openBinaryInputStream_objectDeletedThrows() throws IOException {
+        AllTypes allTypes = createAllTypesWithBinary(createBinary(10));
+        InputStream stream = allTypes.openBinaryInputStream(AllTypes.FIELD_BINARY);
+        assertEquals(0, stream.read());
+
+        realm.beginTransaction();
+        allTypes.deleteFromRealm();
+        realm.commitTransaction();
+        try {
+            stream.read();
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
+    @Test
+    public void openBinaryOutputStream() throws IOException {
+        byte[] data = createBinary(300 * 1024);
+        AllTypes allTypes = createAllTypesWithBinary(new byte[0]);
+
+        realm.beginTransaction();
+        OutputStream stream = allTypes.openBinaryOutputStream(AllTypes.FIELD_BINARY);
+        for (int offset = 0; offset < data.length; offset += 1000) {
+            stream.write(data, offset, Math.min(1000, data.length - offset));
+        }
+        // The value is only replaced when the stream is closed.
+        assertEquals(0, allTypes.getColumnBinary().length);
+        stream.close();
+        realm.commitTransaction();
+
+        assertArrayEquals(data, allTypes.getColumnBinary());
+    }
+
+    @Test
+    public void openBinaryOutputStream_notInTransactionThrows() {
+        AllTypes allTypes = createAllTypesWithBinary(new byte[0]);
+        try {
+            allTypes.openBinaryOutputStream(AllTypes.FIELD_BINARY);
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
+    @Test
+    public void openBinaryOutputStream_closeOutsideTransactionKeepsData() throws IOException {
+        byte[] data = createBinary(1000);
+        AllTypes allTypes = createAllTypesWithBinary(new byte[0]);
+
+        realm.beginTransaction();
+        OutputStream stream = allTypes.openBinaryOutputStream(AllTypes.FIELD_BINARY);
+        for (byte b : data) {
+            stream.write(b);
+        }
+        realm.commitTransaction();
+        try {
+            stream.close();
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+
+        // The failed close() didn't discard the stream, so it can still be written once in a transaction again.
+        realm.beginTransaction();
+        stream.close();
+        realm.commitTransaction();
+        assertArrayEquals(data, allTypes.getColumnBinary());
+    }
+
+    private InternedStrings createInternedStrings(String status) {
+        realm.beginTransaction();
+        InternedStrings object = realm.createObject(InternedStrings.class);
+        object.setStatus(status);
+        object.setName(status);
+        realm.commitTransaction();
+        return object;
+    }
+
+    @Test
+    public void internedString_repeatedValuesAreSameInstance() {
+        InternedStrings first = createInternedStrings("active");
+        InternedStrings second = createInternedStrings("active");
+
+        assertEquals("active", first.getStatus());
+        assertSame(first.getStatus(), second.getStatus());
+        // Fields without @Interned are decoded on every read.
+        assertEquals(first.getName(), second.getName());
+        assertNotSame(first.getName(), second.getName());
+    }
+
+    @Test
+    public void internedString_nullAndLongValues() {
+        assertNull(createInternedStrings(null).getStatus());
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 65; i++) {
+            builder.append('x');
+        }
+        String longValue = builder.toString();
+        InternedStrings first = createInternedStrings(longValue);
+        InternedStrings second = createInternedStrings(longValue);
+        assertEquals(longValue, first.getStatus());
+        assertNotSame(first.getStatus(), second.getStatus());
+    }
+
+    @Test
+    public void internedString_leastRecentlyUsedValueIsEvicted() {
+        InternedStrings a = createInternedStrings("a");
+        InternedStrings b = createInternedStrings("b");
+        InternedStrings c = createInternedStrings("c");
+
+        String firstA = a.getStatus();
+        String firstB = b.getStatus();
+        // Reading "a" again makes "b" the least recently used value.
+        assertSame(firstA, a.getStatus());
+        c.getStatus();
+
+        assertSame(firstA, a.getStatus());
+        String secondB = b.getStatus();
+        assertEquals(firstB, secondB);
+        assertNotSame(firstB, secondB);
+    }
 }
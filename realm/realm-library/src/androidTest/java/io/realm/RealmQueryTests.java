@@ -40,8 +40,10 @@ import io.realm.entities.AllJavaTypes;
 import io.realm.entities.AllTypes;
 import io.realm.entities.AnnotationIndexTypes;
 import io.realm.entities.Cat;
+import io.realm.entities.CaseInsensitiveUser;
 import io.realm.entities.CatOwner;
 import io.realm.entities.Dog;
+import io.realm.entities.FullTextMessage;
 import io.realm.entities.NoPrimaryKeyNullTypes;
 import io.realm.entities.NonLatinFieldNames;
 import io.realm.entities.NullTypes;
@@ -73,6 +75,8 @@ public class RealmQueryTests {
 
     protected final static int TEST_DATA_SIZE = 10;
     protected final static int TEST_NO_PRIMARY_KEY_NULL_TYPES_SIZE = 200;
+    // Large enough for several workers in parallel queries.
+    private final static int PARALLEL_DATA_SIZE = 40000;
 
     private final static long DECADE_MILLIS = 10 * TimeUnit.DAYS.toMillis(365);
 
@@ -790,6 +794,47 @@ public class RealmQueryTests {
         assertEquals(130, resultList.size());
     }
 
+    @Test
+    public void in_largeLongSet() {
+        populateTestRealm(realm, 200);
+        // Every other value matches an object.
+        Long[] values = new Long[10000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (i % 2 == 0) ? i / 2 : -i;
+        }
+        assertEquals(200, realm.where(AllTypes.class).in(AllTypes.FIELD_LONG, values).count());
+        assertEquals(0, realm.where(AllTypes.class).not().in(AllTypes.FIELD_LONG, values).count());
+        assertEquals(1, realm.where(AllTypes.class)
+                .equalTo(AllTypes.FIELD_LONG, 11).or().in(AllTypes.FIELD_LONG, new Long[] {-1L, -2L}).count());
+    }
+
+    @Test
+    public void in_largeStringSet() {
+        populateTestRealm(realm, 200);
+        String[] values = new String[5000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = "test data " + (i * 2);
+        }
+        assertEquals(100, realm.where(AllTypes.class).in(AllTypes.FIELD_STRING, values).count());
+        assertEquals(100, realm.where(AllTypes.class).not().in(AllTypes.FIELD_STRING, values).count());
+    }
+
+    @Test
+    public void in_linkedField() {
+        realm.beginTransaction();
+        for (int i = 0; i < 10; i++) {
+            Dog dog = realm.createObject(Dog.class);
+            dog.setAge(i);
+            realm.createObject(AllTypes.class).setColumnRealmObject(dog);
+        }
+        realm.commitTransaction();
+
+        // Fields of linked objects are still queried with a group of equalTo() conditions.
+        RealmResults<AllTypes> resultList = realm.where(AllTypes.class)
+                .in(AllTypes.FIELD_REALMOBJECT + "." + Dog.FIELD_AGE, new Long[] {1L, 2L, 3L, 42L}).findAll();
+        assertEquals(3, resultList.size());
+    }
+
     @Test
     public void notEqualTo() {
         final int TEST_OBJECTS_COUNT = 200;
@@ -2570,41 +2615,129 @@ public class RealmQueryTests {
         }
     }
 
+    // Owners named "Owner 0" to "Owner 3" with the cats "Cat 3" to "Cat 0", "Owner 4" has no cat.
+    private void populateOwnersWithCats() {
+        realm.beginTransaction();
+        for (int i = 0; i < 5; i++) {
+            Owner owner = realm.createObject(Owner.class);
+            owner.setName("Owner " + i);
+            if (i < 4) {
+                Cat cat = realm.createObject(Cat.class);
+                cat.setName("Cat " + (3 - i));
+                cat.setAge((3 - i) / 2);
+                owner.setCat(cat);
+            }
+        }
+        realm.commitTransaction();
+    }
+
+    private static void assertOwnerNames(RealmResults<Owner> owners, String... names) {
+        assertEquals(names.length, owners.size());
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(names[i], owners.get(i).getName());
+        }
+    }
+
+    @Test
+    public void findAllSorted_onLinkedObjectField() {
+        populateOwnersWithCats();
+
+        // Owners without a cat are sorted as if the name of the cat was null.
+        RealmResults<Owner> owners = realm.where(Owner.class).findAllSorted(Owner.FIELD_CAT + "." + Cat.FIELD_NAME);
+        assertOwnerNames(owners, "Owner 4", "Owner 3", "Owner 2", "Owner 1", "Owner 0");
+
+        owners = realm.where(Owner.class).findAllSorted(Owner.FIELD_CAT + "." + Cat.FIELD_NAME, Sort.DESCENDING);
+        assertOwnerNames(owners, "Owner 0", "Owner 1", "Owner 2", "Owner 3", "Owner 4");
+    }
+
+    @Test
+    public void findAllSorted_multipleFieldsWithLinkedObjectField() {
+        populateOwnersWithCats();
+
+        RealmResults<Owner> owners = realm.where(Owner.class).findAllSorted(
+                new String[] {Owner.FIELD_CAT + "." + Cat.FIELD_AGE, Owner.FIELD_NAME},
+                new Sort[] {Sort.DESCENDING, Sort.DESCENDING});
+        assertOwnerNames(owners, "Owner 1", "Owner 0", "Owner 3", "Owner 2", "Owner 4");
+    }
+
+    @Test
+    public void findAllSorted_limitedOnLinkedObjectField() {
+        populateOwnersWithCats();
+
+        RealmResults<Owner> owners = realm.where(Owner.class).offset(1).limit(2)
+                .findAllSorted(Owner.FIELD_CAT + "." + Cat.FIELD_NAME);
+        assertOwnerNames(owners, "Owner 3", "Owner 2");
+    }
+
+    @Test
+    public void findAllSorted_followingMultipleLinks() {
+        realm.beginTransaction();
+        for (int i = 0; i < 3; i++) {
+            Dog dog = realm.createObject(Dog.class);
+            dog.setName("Dog " + i);
+            Owner owner = realm.createObject(Owner.class);
+            owner.setName("Owner " + i);
+            Cat cat = realm.createObject(Cat.class);
+            cat.setAge(2 - i);
+            owner.setCat(cat);
+            dog.setOwner(owner);
+        }
+        realm.commitTransaction();
+
+        RealmResults<Dog> dogs = realm.where(Dog.class).findAllSorted("owner.cat.age");
+        assertEquals(3, dogs.size());
+        assertEquals("Dog 2", dogs.get(0).getName());
+        assertEquals("Dog 1", dogs.get(1).getName());
+        assertEquals("Dog 0", dogs.get(2).getName());
+    }
+
+    @Test
+    public void findAllSorted_throughListThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Sorting is only supported over links to single objects: ");
+        realm.where(AllJavaTypes.class).findAllSorted(AllJavaTypes.FIELD_LIST + "." + AllJavaTypes.FIELD_LONG);
+    }
+
+    @Test
+    public void findAllSortedAsync_throughListThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Sorting is only supported over links to single objects: ");
+        realm.where(AllJavaTypes.class).findAllSortedAsync(
+                AllJavaTypes.FIELD_LIST + "." + AllJavaTypes.FIELD_LONG);
+    }
+
     @Test
-    public void findAllSorted_onSubObjectFieldThrows() {
+    public void findAllSorted_listThroughListThrows() {
         thrown.expect(IllegalArgumentException.class);
-        thrown.expectMessage("Sorting using child object fields is not supported: ");
-        realm.where(AllTypes.class).findAllSorted(AllJavaTypes.FIELD_OBJECT + "." + AllJavaTypes.FIELD_BOOLEAN);
+        thrown.expectMessage("Sorting is only supported over links to single objects: ");
+        String[] fieldNames = new String[] {AllJavaTypes.FIELD_STRING,
+                AllJavaTypes.FIELD_OBJECT + "." + AllJavaTypes.FIELD_LIST + "." + AllJavaTypes.FIELD_LONG};
+        Sort[] sorts = new Sort[] {Sort.ASCENDING, Sort.ASCENDING};
+        realm.where(AllJavaTypes.class).findAllSorted(fieldNames, sorts);
     }
 
     @Test
-    public void findAllSortedAsync_onSubObjectFieldThrows() {
+    public void findAllSortedAsync_listThroughListThrows() {
         thrown.expect(IllegalArgumentException.class);
-        thrown.expectMessage("Sorting using child object fields is not supported: ");
-        realm.where(AllTypes.class).findAllSortedAsync(
-                AllJavaTypes.FIELD_OBJECT + "." + AllJavaTypes.FIELD_BOOLEAN);
+        thrown.expectMessage("Sorting is only supported over links to single objects: ");
+        String[] fieldNames = new String[] {AllJavaTypes.FIELD_STRING,
+                AllJavaTypes.FIELD_OBJECT + "." + AllJavaTypes.FIELD_LIST + "." + AllJavaTypes.FIELD_LONG};
+        Sort[] sorts = new Sort[] {Sort.ASCENDING, Sort.ASCENDING};
+        realm.where(AllJavaTypes.class).findAllSortedAsync(fieldNames, sorts);
     }
 
     @Test
-    public void findAllSorted_listOnSubObjectFieldThrows() {
+    public void findAllSorted_onLinkedObjectThrows() {
         thrown.expect(IllegalArgumentException.class);
-        thrown.expectMessage("Sorting using child object fields is not supported: ");
-        String[] fieldNames = new String[1];
-        fieldNames[0] = AllJavaTypes.FIELD_OBJECT + "." + AllJavaTypes.FIELD_BOOLEAN;
-        Sort[] sorts = new Sort[1];
-        sorts[0] = Sort.ASCENDING;
-        realm.where(AllTypes.class).findAllSorted(fieldNames, sorts);
+        realm.where(AllJavaTypes.class).findAllSorted(AllJavaTypes.FIELD_OBJECT + "." + AllJavaTypes.FIELD_OBJECT);
     }
 
     @Test
-    public void findAllSortedAsync_listOnSubObjectFieldThrows() {
+    public void findAllSorted_onObjectThrows() {
         thrown.expect(IllegalArgumentException.class);
-        thrown.expectMessage("Sorting using child object fields is not supported: ");
-        String[] fieldNames = new String[1];
-        fieldNames[0] = AllJavaTypes.FIELD_OBJECT + "." + AllJavaTypes.FIELD_BOOLEAN;
-        Sort[] sorts = new Sort[1];
-        sorts[0] = Sort.ASCENDING;
-        realm.where(AllTypes.class).findAllSortedAsync(fieldNames, sorts);
+        realm.where(AllJavaTypes.class).findAllSorted(
+                new String[] {AllJavaTypes.FIELD_OBJECT, AllJavaTypes.FIELD_LONG},
+                new Sort[] {Sort.ASCENDING, Sort.ASCENDING});
     }
 
     // RealmQuery.distinct(): requires indexing, and type = boolean, integer, date, string
@@ -3123,4 +3256,410 @@ public class RealmQueryTests {
         } catch (IllegalArgumentException ignored) {
         }
     }
+
+    private void populateForParallelQueries() {
+        realm.beginTransaction();
+        for (int i = 0; i < PARALLEL_DATA_SIZE; i++) {
+            AllTypes allTypes = realm.createObject(AllTypes.class);
+            allTypes.setColumnLong(i % 1000);
+            allTypes.setColumnBoolean(i % 3 == 0);
+            allTypes.setColumnString("data " + (i % 777));
+        }
+        realm.commitTransaction();
+    }
+
+    private static void assertSameRows(RealmResults<AllTypes> expected, RealmResults<AllTypes> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    @Test
+    public void parallel_findAll() {
+        populateForParallelQueries();
+
+        RealmResults<AllTypes> expected = realm.where(AllTypes.class)
+                .lessThan(AllTypes.FIELD_LONG, 500).findAll();
+        RealmResults<AllTypes> actual = realm.where(AllTypes.class)
+                .lessThan(AllTypes.FIELD_LONG, 500).parallel(4).findAll();
+        assertSameRows(expected, actual);
+    }
+
+    @Test
+    public void parallel_findAllSorted() {
+        populateForParallelQueries();
+
+        RealmResults<AllTypes> expected = realm.where(AllTypes.class)
+                .equalTo(AllTypes.FIELD_BOOLEAN, false)
+                .findAllSorted(AllTypes.FIELD_STRING, Sort.DESCENDING);
+        RealmResults<AllTypes> actual = realm.where(AllTypes.class)
+                .equalTo(AllTypes.FIELD_BOOLEAN, false).parallel(4)
+                .findAllSorted(AllTypes.FIELD_STRING, Sort.DESCENDING);
+        assertSameRows(expected, actual);
+    }
+
+    @Test
+    public void parallel_findAllSorted_multipleFields() {
+        populateForParallelQueries();
+
+        String[] fieldNames = {AllTypes.FIELD_BOOLEAN, AllTypes.FIELD_LONG};
+        Sort[] sortOrders = {Sort.ASCENDING, Sort.DESCENDING};
+        RealmResults<AllTypes> expected = realm.where(AllTypes.class).findAllSorted(fieldNames, sortOrders);
+        RealmResults<AllTypes> actual = realm.where(AllTypes.class).parallel(3).findAllSorted(fieldNames, sortOrders);
+        assertSameRows(expected, actual);
+    }
+
+    @Test
+    public void parallel_resultsAreUpdatedAfterCommit() {
+        populateForParallelQueries();
+
+        RealmResults<AllTypes> results = realm.where(AllTypes.class).equalTo(AllTypes.FIELD_LONG, 1)
+                .parallel(4).findAllSorted(AllTypes.FIELD_STRING);
+        assertEquals(PARALLEL_DATA_SIZE / 1000, results.size());
+
+        realm.beginTransaction();
+        realm.createObject(AllTypes.class).setColumnLong(1);
+        realm.commitTransaction();
+        assertEquals(PARALLEL_DATA_SIZE / 1000 + 1, results.size());
+        assertEquals("", results.first().getColumnString());
+    }
+
+    @Test
+    public void parallel_insideTransaction() {
+        populateForParallelQueries();
+
+        realm.beginTransaction();
+        realm.createObject(AllTypes.class).setColumnLong(-1);
+        // Inside a write transaction the query runs on the calling thread, so it sees uncommitted objects.
+        assertEquals(1, realm.where(AllTypes.class).equalTo(AllTypes.FIELD_LONG, -1).parallel(4).findAll().size());
+        realm.cancelTransaction();
+    }
+
+    @Test
+    public void parallel_invalidWorkersThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        realm.where(AllTypes.class).parallel(0);
+    }
+
+    @Test
+    public void limit_findAll() {
+        populateTestRealm(realm, 200);
+
+        RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                .greaterThanOrEqualTo(AllTypes.FIELD_LONG, 100).limit(10).findAll();
+        assertEquals(10, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(100 + i, results.get(i).getColumnLong());
+        }
+    }
+
+    @Test
+    public void offset_findAll() {
+        populateTestRealm(realm, 200);
+
+        RealmResults<AllTypes> results = realm.where(AllTypes.class).offset(190).findAll();
+        assertEquals(10, results.size());
+        assertEquals(190, results.first().getColumnLong());
+
+        assertEquals(0, realm.where(AllTypes.class).offset(500).findAll().size());
+    }
+
+    @Test
+    public void limit_findAllSorted() {
+        populateTestRealm(realm, 200);
+
+        RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                .offset(5).limit(10).findAllSorted(AllTypes.FIELD_LONG, Sort.DESCENDING);
+        assertEquals(10, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(194 - i, results.get(i).getColumnLong());
+        }
+    }
+
+    @Test
+    public void limit_findAllSorted_multipleFields() {
+        populateTestRealm(realm, 200);
+
+        String[] fieldNames = {AllTypes.FIELD_BOOLEAN, AllTypes.FIELD_LONG};
+        Sort[] sortOrders = {Sort.DESCENDING, Sort.ASCENDING};
+        RealmResults<AllTypes> expected = realm.where(AllTypes.class).findAllSorted(fieldNames, sortOrders);
+        RealmResults<AllTypes> actual = realm.where(AllTypes.class).offset(60).limit(20)
+                .findAllSorted(fieldNames, sortOrders);
+        assertEquals(20, actual.size());
+        for (int i = 0; i < actual.size(); i++) {
+            assertEquals(expected.get(60 + i), actual.get(i));
+        }
+    }
+
+    @Test
+    public void limit_resultsAreUpdatedAfterCommit() {
+        populateTestRealm(realm, 200);
+
+        RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                .limit(3).findAllSorted(AllTypes.FIELD_LONG, Sort.DESCENDING);
+        assertEquals(199, results.first().getColumnLong());
+
+        realm.beginTransaction();
+        realm.createObject(AllTypes.class).setColumnLong(1000);
+        realm.commitTransaction();
+        assertEquals(3, results.size());
+        assertEquals(1000, results.get(0).getColumnLong());
+        assertEquals(199, results.get(1).getColumnLong());
+        assertEquals(198, results.get(2).getColumnLong());
+    }
+
+    @Test
+    public void offset_resultsAreUpdatedAfterCommit() {
+        populateTestRealm(realm, 200);
+
+        RealmResults<AllTypes> results = realm.where(AllTypes.class).offset(195).findAll();
+        assertEquals(5, results.size());
+
+        realm.beginTransaction();
+        realm.where(AllTypes.class).equalTo(AllTypes.FIELD_LONG, 0).findFirst().deleteFromRealm();
+        realm.commitTransaction();
+        assertEquals(4, results.size());
+    }
+
+    @Test
+    public void limit_count() {
+        populateTestRealm(realm, 200);
+
+        assertEquals(10, realm.where(AllTypes.class).limit(10).count());
+        assertEquals(5, realm.where(AllTypes.class).offset(195).limit(10).count());
+        assertEquals(0, realm.where(AllTypes.class).offset(300).count());
+    }
+
+    @Test
+    public void limit_negativeThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        realm.where(AllTypes.class).limit(-1);
+    }
+
+    @Test
+    public void offset_negativeThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        realm.where(AllTypes.class).offset(-1);
+    }
+
+    private void populateFullTextMessages(Realm realm, String... bodies) {
+        realm.beginTransaction();
+        for (String body : bodies) {
+            FullTextMessage message = realm.createObject(FullTextMessage.class);
+            message.setTitle("title");
+            message.setBody(body);
+        }
+        realm.commitTransaction();
+    }
+
+    @Test
+    public void matches_prefixesOfAllWords() {
+        populateFullTextMessages(realm,
+                "The quick brown fox",
+                "A QUICK red fox",
+                "The lazy dog",
+                null);
+
+        assertEquals(2, realm.where(FullTextMessage.class).matches(FullTextMessage.FIELD_BODY, "fox").count());
+        assertEquals(2, realm.where(FullTextMessage.class).matches(FullTextMessage.FIELD_BODY, "Qui").count());
+        assertEquals(1, realm.where(FullTextMessage.class).matches(FullTextMessage.FIELD_BODY, "qu, bro").count());
+        assertEquals(0, realm.where(FullTextMessage.class).matches(FullTextMessage.FIELD_BODY, "quick dog").count());
+        assertEquals(1, realm.where(FullTextMessage.class)
+                .matches(FullTextMessage.FIELD_BODY, "the")
+                .contains(FullTextMessage.FIELD_BODY, "dog")
+                .count());
+    }
+
+    @Test
+    public void matches_rankedByRelevance() {
+        populateFullTextMessages(realm,
+                "realm",
+                "realm realm database",
+                "database database",
+                "realm realm realm");
+
+        RealmResults<FullTextMessage> results = realm.where(FullTextMessage.class)
+                .matches(FullTextMessage.FIELD_BODY, "realm").findAll();
+        assertEquals(3, results.size());
+        assertEquals("realm realm realm", results.get(0).getBody());
+        assertEquals("realm realm database", results.get(1).getBody());
+        assertEquals("realm", results.get(2).getBody());
+
+        // Limits apply to the ranked results.
+        results = realm.where(FullTextMessage.class)
+                .matches(FullTextMessage.FIELD_BODY, "realm").limit(1).findAll();
+        assertEquals(1, results.size());
+        assertEquals("realm realm realm", results.first().getBody());
+
+        // An explicit sort order replaces the ranking.
+        results = realm.where(FullTextMessage.class)
+                .matches(FullTextMessage.FIELD_BODY, "realm").findAllSorted(FullTextMessage.FIELD_BODY);
+        assertEquals("realm", results.get(0).getBody());
+    }
+
+    @Test
+    public void matches_indexUpdatedOnCommit() {
+        populateFullTextMessages(realm, "first message", "second message");
+        RealmResults<FullTextMessage> results = realm.where(FullTextMessage.class)
+                .matches(FullTextMessage.FIELD_BODY, "message").findAll();
+        assertEquals(2, results.size());
+
+        realm.beginTransaction();
+        realm.where(FullTextMessage.class).equalTo(FullTextMessage.FIELD_BODY, "first message").findFirst()
+                .setBody("first note");
+        realm.commitTransaction();
+        assertEquals(1, results.size());
+        assertEquals(1, realm.where(FullTextMessage.class).matches(FullTextMessage.FIELD_BODY, "note").count());
+
+        realm.beginTransaction();
+        realm.where(FullTextMessage.class).findAll().deleteAllFromRealm();
+        realm.commitTransaction();
+        assertEquals(0, results.size());
+        assertEquals(0, realm.where(FullTextMessage.class).matches(FullTextMessage.FIELD_BODY, "note").count());
+    }
+
+    @Test
+    public void matches_indexFollowsObjectsMovedByDelete() {
+        populateFullTextMessages(realm, "alpha", "beta", "gamma");
+
+        // Deleting the first object moves the last one into its row in the same transaction.
+        realm.beginTransaction();
+        realm.where(FullTextMessage.class).equalTo(FullTextMessage.FIELD_BODY, "alpha").findFirst()
+                .deleteFromRealm();
+        realm.where(FullTextMessage.class).equalTo(FullTextMessage.FIELD_BODY, "gamma").findFirst()
+                .setBody("delta");
+        realm.createObject(FullTextMessage.class).setBody("epsilon");
+        realm.commitTransaction();
+
+        assertEquals(0, realm.where(FullTextMessage.class).matches(FullTextMessage.FIELD_BODY, "alpha").count());
+        assertEquals(0, realm.where(FullTextMessage.class).matches(FullTextMessage.FIELD_BODY, "gamma").count());
+        assertEquals("beta", realm.where(FullTextMessage.class)
+                .matches(FullTextMessage.FIELD_BODY, "beta").findFirst().getBody());
+        assertEquals("delta", realm.where(FullTextMessage.class)
+                .matches(FullTextMessage.FIELD_BODY, "delta").findFirst().getBody());
+        assertEquals("epsilon", realm.where(FullTextMessage.class)
+                .matches(FullTextMessage.FIELD_BODY, "epsilon").findFirst().getBody());
+    }
+
+    @Test
+    public void matches_fieldWithoutFullTextIndexThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        realm.where(FullTextMessage.class).matches(FullTextMessage.FIELD_TITLE, "title");
+    }
+
+    @Test
+    public void matches_noWordsThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        realm.where(FullTextMessage.class).matches(FullTextMessage.FIELD_BODY, " ,.").findAll();
+    }
+
+    @Test
+    public void matches_nullThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        realm.where(FullTextMessage.class).matches(FullTextMessage.FIELD_BODY, null);
+    }
+
+    private void populateCaseInsensitiveUsers(Realm realm) {
+        realm.beginTransaction();
+        String[] emails = {"John@Example.com", "jane@example.com", "JANE@EXAMPLE.ORG", "Ærø@example.com", null};
+        for (String email : emails) {
+            CaseInsensitiveUser user = realm.createObject(CaseInsensitiveUser.class);
+            user.setEmail(email);
+            user.setName("name");
+        }
+        realm.commitTransaction();
+    }
+
+    @Test
+    public void caseInsensitiveIndex_equalTo() {
+        populateCaseInsensitiveUsers(realm);
+
+        RealmQuery<CaseInsensitiveUser> query = realm.where(CaseInsensitiveUser.class);
+        assertEquals(1, query.equalTo(CaseInsensitiveUser.FIELD_EMAIL, "john@EXAMPLE.com", Case.INSENSITIVE).count());
+        assertEquals(1, realm.where(CaseInsensitiveUser.class)
+                .equalTo(CaseInsensitiveUser.FIELD_EMAIL, "æRØ@example.com", Case.INSENSITIVE).count());
+        assertEquals(0, realm.where(CaseInsensitiveUser.class)
+                .equalTo(CaseInsensitiveUser.FIELD_EMAIL, "john@example", Case.INSENSITIVE).count());
+        assertEquals(0, realm.where(CaseInsensitiveUser.class)
+                .equalTo(CaseInsensitiveUser.FIELD_EMAIL, "john@example.com").count());
+        assertEquals(1, realm.where(CaseInsensitiveUser.class)
+                .equalTo(CaseInsensitiveUser.FIELD_EMAIL, (String) null, Case.INSENSITIVE).count());
+        assertEquals(4, realm.where(CaseInsensitiveUser.class)
+                .not().equalTo(CaseInsensitiveUser.FIELD_EMAIL, "JOHN@example.com", Case.INSENSITIVE).count());
+    }
+
+    @Test
+    public void caseInsensitiveIndex_in() {
+        populateCaseInsensitiveUsers(realm);
+
+        String[] emails = {"JOHN@example.com", "Jane@Example.Org", "nobody@example.com"};
+        assertEquals(2, realm.where(CaseInsensitiveUser.class)
+                .in(CaseInsensitiveUser.FIELD_EMAIL, emails, Case.INSENSITIVE).count());
+    }
+
+    @Test
+    public void caseInsensitiveIndex_beginsWith() {
+        populateCaseInsensitiveUsers(realm);
+
+        assertEquals(2, realm.where(CaseInsensitiveUser.class)
+                .beginsWith(CaseInsensitiveUser.FIELD_EMAIL, "JA", Case.INSENSITIVE).count());
+        assertEquals(0, realm.where(CaseInsensitiveUser.class)
+                .beginsWith(CaseInsensitiveUser.FIELD_EMAIL, "example", Case.INSENSITIVE).count());
+    }
+
+    @Test
+    public void caseInsensitiveIndex_writeTransaction() {
+        populateCaseInsensitiveUsers(realm);
+        RealmResults<CaseInsensitiveUser> results = realm.where(CaseInsensitiveUser.class)
+                .equalTo(CaseInsensitiveUser.FIELD_EMAIL, "JOE@EXAMPLE.COM", Case.INSENSITIVE).findAll();
+        assertEquals(0, results.size());
+
+        realm.beginTransaction();
+        realm.where(CaseInsensitiveUser.class)
+                .equalTo(CaseInsensitiveUser.FIELD_EMAIL, "john@example.com", Case.INSENSITIVE).findFirst()
+                .setEmail("Joe@example.com");
+        // Queries created in the transaction see the uncommitted change.
+        assertEquals(1, realm.where(CaseInsensitiveUser.class)
+                .equalTo(CaseInsensitiveUser.FIELD_EMAIL, "joe@EXAMPLE.com", Case.INSENSITIVE).count());
+        assertEquals(0, realm.where(CaseInsensitiveUser.class)
+                .equalTo(CaseInsensitiveUser.FIELD_EMAIL, "john@example.com", Case.INSENSITIVE).count());
+        realm.commitTransaction();
+
+        assertEquals(1, results.size());
+        assertEquals("Joe@example.com", results.first().getEmail());
+        assertEquals(0, realm.where(CaseInsensitiveUser.class)
+                .equalTo(CaseInsensitiveUser.FIELD_EMAIL, "john@example.com", Case.INSENSITIVE).count());
+
+        realm.beginTransaction();
+        results.deleteAllFromRealm();
+        realm.commitTransaction();
+        assertEquals(0, realm.where(CaseInsensitiveUser.class)
+                .equalTo(CaseInsensitiveUser.FIELD_EMAIL, "joe@example.com", Case.INSENSITIVE).count());
+        assertEquals(4, realm.where(CaseInsensitiveUser.class).count());
+    }
+
+    @Test
+    public void caseInsensitiveIndex_queryCreatedBeforeWriteTransaction() {
+        populateCaseInsensitiveUsers(realm);
+        RealmQuery<CaseInsensitiveUser> joe = realm.where(CaseInsensitiveUser.class)
+                .equalTo(CaseInsensitiveUser.FIELD_EMAIL, "JOE@EXAMPLE.COM", Case.INSENSITIVE);
+        RealmQuery<CaseInsensitiveUser> jane = realm.where(CaseInsensitiveUser.class)
+                .beginsWith(CaseInsensitiveUser.FIELD_EMAIL, "JANE@", Case.INSENSITIVE);
+        assertEquals(0, joe.count());
+        assertEquals(2, jane.count());
+
+        realm.beginTransaction();
+        CaseInsensitiveUser user = realm.createObject(CaseInsensitiveUser.class);
+        user.setEmail("joe@Example.com");
+        realm.where(CaseInsensitiveUser.class).equalTo(CaseInsensitiveUser.FIELD_EMAIL, "jane@example.com")
+                .findFirst().deleteFromRealm();
+        // The index only has the changes once they are committed, the queries still see them.
+        assertEquals(1, joe.count());
+        assertEquals(1, jane.count());
+        realm.cancelTransaction();
+
+        assertEquals(0, joe.count());
+        assertEquals(2, jane.count());
+    }
 }
@@ -31,8 +31,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import io.realm.entities.AllJavaTypes;
 import io.realm.entities.AllTypes;
@@ -44,6 +46,7 @@ import io.realm.entities.NonLatinFieldNames;
 import io.realm.entities.Owner;
 import io.realm.entities.RandomPrimaryKey;
 import io.realm.entities.StringOnly;
+import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.Table;
 import io.realm.rule.RunInLooperThread;
 import io.realm.rule.RunTestInLooperThread;
@@ -52,6 +55,7 @@ import io.realm.rule.TestRealmConfigurationFactory;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -1115,4 +1119,196 @@ public class RealmResultsTests extends CollectionTests {
         assertEquals(1, obj.getFieldList().size());
         assertEquals(fieldListIntValue, obj.getFieldList().first().getFieldInt());
     }
+
+    @Test
+    public void freeze() {
+        assertFalse(collection.isFrozen());
+        RealmResults<AllTypes> frozen = collection.freeze();
+        assertTrue(frozen.isFrozen());
+        assertTrue(frozen.isValid());
+        assertEquals(TEST_DATA_SIZE, frozen.size());
+        assertEquals(0, frozen.first().getColumnLong());
+        assertEquals(TEST_DATA_SIZE - 1, frozen.last().getColumnLong());
+        assertTrue(frozen.first().isFrozen());
+    }
+
+    @Test
+    public void freeze_isNotUpdatedByLaterCommits() {
+        RealmResults<AllTypes> frozen = collection.freeze();
+
+        realm.beginTransaction();
+        collection.first().setColumnString("updated");
+        realm.delete(AllTypes.class);
+        realm.commitTransaction();
+
+        assertEquals(0, collection.size());
+        assertEquals(TEST_DATA_SIZE, frozen.size());
+        assertEquals("test data 0", frozen.first().getColumnString());
+    }
+
+    @Test
+    public void freeze_readFromOtherThread() throws InterruptedException {
+        final RealmResults<AllTypes> frozen = collection.freeze();
+        final CountDownLatch threadDone = new CountDownLatch(1);
+        final AtomicReference<String> error = new AtomicReference<String>();
+
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    if (frozen.size() != TEST_DATA_SIZE) {
+                        error.set("Wrong size: " + frozen.size());
+                    } else if (frozen.get(10).getColumnLong() != 10) {
+                        error.set("Wrong value: " + frozen.get(10).getColumnLong());
+                    }
+                } catch (Throwable t) {
+                    error.set(t.toString());
+                } finally {
+                    threadDone.countDown();
+                }
+            }
+        }).start();
+
+        TestHelper.awaitOrFail(threadDone);
+        assertNull(error.get());
+    }
+
+    @Test
+    public void freeze_sameVersionReusesSnapshot() {
+        RealmResults<AllTypes> frozen1 = collection.freeze();
+        RealmResults<AllTypes> frozen2 = realm.where(AllTypes.class).findAll().freeze();
+        assertSame(((RealmObjectProxy) frozen1.first()).realmGet$proxyState().getFrozenSnapshot$realm(),
+                ((RealmObjectProxy) frozen2.first()).realmGet$proxyState().getFrozenSnapshot$realm());
+        assertSame(frozen1, frozen1.freeze());
+    }
+
+    @Test
+    public void freeze_unsupportedMethods() {
+        RealmResults<AllTypes> frozen = collection.freeze();
+        try {
+            frozen.where();
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+        try {
+            frozen.sum(AllTypes.FIELD_LONG);
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+        try {
+            frozen.deleteAllFromRealm();
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
+    @Test
+    public void freeze_release() {
+        RealmResults<AllTypes> frozen1 = collection.freeze();
+        RealmResults<AllTypes> frozen2 = collection.freeze();
+        AllTypes object = frozen1.first();
+        FrozenSnapshot snapshot = ((RealmObjectProxy) object).realmGet$proxyState().getFrozenSnapshot$realm();
+
+        frozen1.release();
+        frozen1.release();
+        assertFalse(frozen1.isValid());
+        assertFalse(object.isValid());
+        assertFalse(snapshot.isReleased());
+        assertTrue(frozen2.isValid());
+        assertEquals(0, frozen2.first().getColumnLong());
+        try {
+            frozen1.get(0);
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+
+        frozen2.release();
+        assertTrue(snapshot.isReleased());
+
+        // A released snapshot is not shared with results frozen later.
+        RealmResults<AllTypes> frozen3 = collection.freeze();
+        assertEquals(TEST_DATA_SIZE, frozen3.size());
+        assertEquals(0, frozen3.first().getColumnLong());
+        frozen3.release();
+    }
+
+    @Test
+    public void freeze_releaseClosesRealmOfOtherThreadOnNextAccess() throws InterruptedException {
+        final RealmResults<AllTypes> frozen = collection.freeze();
+        final CountDownLatch threadReady = new CountDownLatch(1);
+        final CountDownLatch released = new CountDownLatch(1);
+        final CountDownLatch threadDone = new CountDownLatch(1);
+        final BaseRealm[] otherRealm = new BaseRealm[1];
+        final AtomicReference<Throwable> accessError = new AtomicReference<Throwable>();
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                AllTypes object = frozen.get(0);
+                object.getColumnLong();
+                otherRealm[0] = ((RealmObjectProxy) object).realmGet$proxyState().getRealm$realm();
+                threadReady.countDown();
+                TestHelper.awaitOrFail(released);
+                try {
+                    object.getColumnLong();
+                } catch (IllegalStateException e) {
+                    accessError.set(e);
+                }
+                threadDone.countDown();
+            }
+        }).start();
+        TestHelper.awaitOrFail(threadReady);
+
+        frozen.release();
+        // The Realm of the other thread might still be in use, only that thread can close it.
+        assertFalse(otherRealm[0].isClosed());
+        released.countDown();
+        TestHelper.awaitOrFail(threadDone);
+
+        assertTrue(accessError.get() instanceof IllegalStateException);
+        assertTrue(otherRealm[0].isClosed());
+    }
+
+    @Test
+    public void freeze_deleteRealmThrowsUntilReleased() {
+        RealmConfiguration config = realm.getConfiguration();
+        RealmResults<AllTypes> frozen = collection.freeze();
+        realm.close();
+        realm = null;
+
+        try {
+            Realm.deleteRealm(config);
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+
+        frozen.release();
+        assertTrue(Realm.deleteRealm(config));
+    }
+
+    @Test
+    public void freeze_contains() {
+        RealmResults<AllTypes> sorted = realm.where(AllTypes.class)
+                .greaterThanOrEqualTo(AllTypes.FIELD_LONG, TEST_DATA_SIZE / 2)
+                .findAllSorted(AllTypes.FIELD_LONG, Sort.DESCENDING);
+        RealmResults<AllTypes> frozen = sorted.freeze();
+        RealmResults<AllTypes> all = collection.freeze();
+        for (AllTypes object : all) {
+            assertEquals(object.getColumnLong() >= TEST_DATA_SIZE / 2, frozen.contains(object));
+        }
+        frozen.release();
+        all.release();
+    }
+
+    @Test
+    public void release_notFrozenThrows() {
+        thrown.expect(IllegalStateException.class);
+        collection.release();
+    }
+
+    @Test
+    public void freeze_insideTransactionThrows() {
+        realm.beginTransaction();
+        thrown.expect(IllegalStateException.class);
+        collection.freeze();
+    }
 }
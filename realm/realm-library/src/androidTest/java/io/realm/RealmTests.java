@@ -54,6 +54,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -111,6 +112,7 @@ import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -1030,6 +1032,164 @@ public class RealmTests {
         assertTrue(before >= after);
     }
 
+    @Test
+    public void compactOnLaunch_shouldCompact() throws IOException {
+        final AtomicLong totalBytes = new AtomicLong(-1);
+        final AtomicLong usedBytes = new AtomicLong(-1);
+        RealmConfiguration realmConfig = configFactory.createConfigurationBuilder()
+                .name("compact.realm")
+                .compactOnLaunch(new CompactOnLaunchCallback() {
+                    @Override
+                    public boolean shouldCompact(long total, long used) {
+                        totalBytes.set(total);
+                        usedBytes.set(used);
+                        return true;
+                    }
+                })
+                .build();
+        Realm realm = Realm.getInstance(realmConfig);
+        // The file doesn't exist before the first instance is opened.
+        assertEquals(-1, totalBytes.get());
+        populateTestRealm(realm, 1000);
+        realm.beginTransaction();
+        realm.deleteAll();
+        realm.commitTransaction();
+        realm.close();
+        long before = new File(realmConfig.getPath()).length();
+
+        realm = Realm.getInstance(realmConfig);
+        assertTrue(totalBytes.get() > 0);
+        assertTrue(usedBytes.get() > 0);
+        assertTrue(usedBytes.get() <= totalBytes.get());
+        assertTrue(new File(realmConfig.getPath()).length() < before);
+        assertTrue(realm.isEmpty());
+        realm.close();
+    }
+
+    @Test
+    public void compactOnLaunch_onlyCalledForFirstInstance() throws InterruptedException {
+        final AtomicLong calls = new AtomicLong(0);
+        final RealmConfiguration realmConfig = configFactory.createConfigurationBuilder()
+                .name("compact.realm")
+                .compactOnLaunch(new CompactOnLaunchCallback() {
+                    @Override
+                    public boolean shouldCompact(long totalBytes, long usedBytes) {
+                        calls.incrementAndGet();
+                        return true;
+                    }
+                })
+                .build();
+        Realm.getInstance(realmConfig).close();
+        Realm realm = Realm.getInstance(realmConfig);
+        assertEquals(1, calls.get());
+
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Realm.getInstance(realmConfig).close();
+            }
+        });
+        thread.start();
+        thread.join();
+        DynamicRealm.getInstance(realmConfig).close();
+        assertEquals(1, calls.get());
+        realm.close();
+    }
+
+    @Test
+    public void compactOnLaunch_encryptedRealm() {
+        RealmConfiguration realmConfig = configFactory.createConfigurationBuilder()
+                .name("enc.realm")
+                .encryptionKey(TestHelper.getRandomKey())
+                .compactOnLaunch(new CompactOnLaunchCallback() {
+                    @Override
+                    public boolean shouldCompact(long totalBytes, long usedBytes) {
+                        return true;
+                    }
+                })
+                .build();
+        Realm realm = Realm.getInstance(realmConfig);
+        populateTestRealm(realm, 100);
+        realm.close();
+
+        realm = Realm.getInstance(realmConfig);
+        assertEquals(100, realm.where(AllTypes.class).count());
+        realm.close();
+    }
+
+    @Test
+    public void compactOnLaunch_nullThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        configFactory.createConfigurationBuilder().compactOnLaunch(null);
+    }
+
+    @Test
+    public void defaultCompactOnLaunchCallback() {
+        final long MB = 1024 * 1024;
+        DefaultCompactOnLaunchCallback callback = new DefaultCompactOnLaunchCallback();
+        assertTrue(callback.shouldCompact(200 * MB, 50 * MB));
+        assertFalse(callback.shouldCompact(200 * MB, 150 * MB));
+        assertFalse(callback.shouldCompact(50 * MB, 1 * MB));
+
+        callback = new DefaultCompactOnLaunchCallback(0, 0.9);
+        assertTrue(callback.shouldCompact(10, 8));
+        assertFalse(callback.shouldCompact(10, 10));
+    }
+
+    @Test
+    public void compactRealmAsync_waitsForInstancesToClose() throws InterruptedException {
+        final RealmConfiguration configuration = realm.getConfiguration();
+        populateTestRealm(realm, 100);
+        final CountDownLatch compacted = new CountDownLatch(1);
+        final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+        final AtomicLong sizeAfter = new AtomicLong(-1);
+        Realm.compactRealmAsync(configuration, new Realm.CompactCallback() {
+            @Override
+            public void onSuccess(long before, long after) {
+                sizeAfter.set(after);
+                compacted.countDown();
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                error.set(e);
+                compacted.countDown();
+            }
+        });
+
+        // The compaction cannot happen while the Realm is open.
+        assertFalse(compacted.await(500, TimeUnit.MILLISECONDS));
+        realm.close();
+        realm = null;
+        TestHelper.awaitOrFail(compacted);
+
+        assertNull(error.get());
+        assertEquals(new File(configuration.getPath()).length(), sizeAfter.get());
+        realm = Realm.getInstance(configuration);
+        assertEquals(100, realm.where(AllTypes.class).count());
+    }
+
+    @Test
+    public void compactRealmAsync_cancel() throws InterruptedException {
+        final CountDownLatch called = new CountDownLatch(1);
+        RealmAsyncTask task = Realm.compactRealmAsync(realm.getConfiguration(), new Realm.CompactCallback() {
+            @Override
+            public void onSuccess(long sizeBefore, long sizeAfter) {
+                called.countDown();
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                called.countDown();
+            }
+        });
+        task.cancel();
+        assertTrue(task.isCancelled());
+        realm.close();
+        realm = null;
+        assertFalse(called.await(500, TimeUnit.MILLISECONDS));
+    }
+
     @Test
     public void copyToRealm_null() {
         realm.beginTransaction();
@@ -3846,4 +4006,75 @@ public class RealmTests {
         realmOnExternalStorage = Realm.getInstance(config);
         realmOnExternalStorage.close();
     }
+
+    private Realm openRealmWithIdentityMap() {
+        RealmConfiguration config = configFactory.createConfigurationBuilder()
+                .name("identity.realm")
+                .identityMap()
+                .build();
+        return Realm.getInstance(config);
+    }
+
+    @Test
+    public void identityMap_sameRowReturnsSameObject() {
+        Realm realm = openRealmWithIdentityMap();
+        try {
+            realm.beginTransaction();
+            Owner owner = realm.createObject(Owner.class);
+            owner.setName("owner");
+            owner.setCat(realm.createObject(Cat.class));
+            owner.getDogs().add(realm.createObject(Dog.class));
+            realm.commitTransaction();
+
+            RealmResults<Owner> owners = realm.where(Owner.class).findAll();
+            assertSame(owners.get(0), owners.get(0));
+            assertSame(owners.get(0), realm.where(Owner.class).findFirst());
+            assertSame(owners.get(0).getCat(), owners.get(0).getCat());
+            assertSame(owners.get(0).getDogs(), realm.where(Owner.class).findAll().first().getDogs());
+            assertSame(owners.get(0).getDogs().get(0), realm.where(Dog.class).findFirst());
+        } finally {
+            realm.close();
+        }
+    }
+
+    @Test
+    public void identityMap_disabledByDefault() {
+        realm.beginTransaction();
+        realm.createObject(Owner.class);
+        realm.commitTransaction();
+
+        RealmResults<Owner> owners = realm.where(Owner.class).findAll();
+        assertNotSame(owners.get(0), owners.get(0));
+    }
+
+    @Test
+    public void identityMap_rowMovedByDelete() {
+        Realm realm = openRealmWithIdentityMap();
+        try {
+            realm.beginTransaction();
+            for (int i = 0; i < 3; i++) {
+                realm.createObject(Owner.class).setName("Owner " + i);
+            }
+            realm.commitTransaction();
+
+            RealmResults<Owner> owners = realm.where(Owner.class).findAll();
+            Owner first = owners.get(0);
+            Owner last = owners.get(2);
+
+            // Deleting the first object moves the last one into its row.
+            realm.beginTransaction();
+            first.deleteFromRealm();
+            realm.commitTransaction();
+
+            assertFalse(first.isValid());
+            Owner moved = realm.where(Owner.class).equalTo("name", "Owner 2").findFirst();
+            assertEquals("Owner 2", last.getName());
+            assertEquals("Owner 2", moved.getName());
+            assertSame(moved, realm.where(Owner.class).equalTo("name", "Owner 2").findFirst());
+            Owner second = realm.where(Owner.class).equalTo("name", "Owner 1").findFirst();
+            assertEquals("Owner 1", second.getName());
+        } finally {
+            realm.close();
+        }
+    }
 }
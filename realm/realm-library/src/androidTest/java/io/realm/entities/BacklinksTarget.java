@@ -0,0 +1,61 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.entities;
+
+import io.realm.RealmObject;
+import io.realm.RealmResults;
+import io.realm.annotations.LinkingObjects;
+
+public class BacklinksTarget extends RealmObject {
+
+    public static final String CLASS_NAME = "BacklinksTarget";
+    public static final String FIELD_ID = "id";
+    public static final String FIELD_PARENTS = "parents";
+    public static final String FIELD_LIST_PARENTS = "listParents";
+
+    private String id;
+
+    @LinkingObjects(BacklinksSource.FIELD_CHILD)
+    private RealmResults<BacklinksSource> parents;
+
+    @LinkingObjects(BacklinksSource.FIELD_CHILDREN)
+    private RealmResults<BacklinksSource> listParents;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public RealmResults<BacklinksSource> getParents() {
+        return parents;
+    }
+
+    public void setParents(RealmResults<BacklinksSource> parents) {
+        this.parents = parents;
+    }
+
+    public RealmResults<BacklinksSource> getListParents() {
+        return listParents;
+    }
+
+    public void setListParents(RealmResults<BacklinksSource> listParents) {
+        this.listParents = listParents;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.realm.internal.network.AsyncExponentialBackoffTask;
+import io.realm.internal.network.AuthenticateResponse;
+import io.realm.internal.network.ExponentialBackoffTask;
+import io.realm.util.MockAuthenticationServer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(AndroidJUnit4.class)
+public class ExponentialBackoffTaskTests {
+
+    private ExecutorService executor;
+    private MockAuthenticationServer authServer;
+    private URL authUrl;
+
+    @Before
+    public void setUp() throws MalformedURLException {
+        executor = Executors.newSingleThreadExecutor();
+        authServer = new MockAuthenticationServer();
+        authUrl = new URL("http://objectserver.realm.io/auth");
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private ExponentialBackoffTask<AuthenticateResponse> newLoginTask(final CountDownLatch done,
+                                                                      final AtomicReference<AuthenticateResponse> result) {
+        return newLoginTask(done, result, new CountDownLatch(1));
+    }
+
+    // failed is counted down each time an attempt fails.
+    private ExponentialBackoffTask<AuthenticateResponse> newLoginTask(final CountDownLatch done,
+                                                                      final AtomicReference<AuthenticateResponse> result,
+                                                                      final CountDownLatch failed) {
+        return new ExponentialBackoffTask<AuthenticateResponse>() {
+            @Override
+            protected AuthenticateResponse execute() {
+                return authServer.loginUser(SyncCredentials.facebook("foo"), authUrl);
+            }
+
+            @Override
+            protected boolean shouldAbortTask(AuthenticateResponse response) {
+                boolean abort = super.shouldAbortTask(response);
+                failed.countDown();
+                return abort;
+            }
+
+            @Override
+            protected void onSuccess(AuthenticateResponse response) {
+                result.set(response);
+                done.countDown();
+            }
+
+            @Override
+            protected void onError(AuthenticateResponse response) {
+                result.set(response);
+                done.countDown();
+            }
+        };
+    }
+
+    @Test
+    public void retriesIOExceptions() {
+        authServer.failWithIOException(2);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<AuthenticateResponse> result = new AtomicReference<AuthenticateResponse>();
+
+        newLoginTask(done, result).start(executor);
+
+        TestHelper.awaitOrFail(done);
+        assertTrue(result.get().isValid());
+        assertEquals(3, authServer.getUserRequestCount());
+    }
+
+    @Test
+    public void retriesDoNotBlockTheExecutor() {
+        authServer.failWithIOException(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<AuthenticateResponse> result = new AtomicReference<AuthenticateResponse>();
+        CountDownLatch failed = new CountDownLatch(1);
+        newLoginTask(done, result, failed).start(executor);
+        TestHelper.awaitOrFail(failed);
+
+        // The only executor thread is free while the failed task waits for its next attempt, so another task runs
+        // before the retry.
+        final CountDownLatch otherTaskRan = new CountDownLatch(1);
+        final AtomicLong doneCountWhenOtherTaskRan = new AtomicLong(-1);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                doneCountWhenOtherTaskRan.set(done.getCount());
+                otherTaskRan.countDown();
+            }
+        });
+        TestHelper.awaitOrFail(otherTaskRan);
+        assertEquals(1, doneCountWhenOtherTaskRan.get());
+
+        TestHelper.awaitOrFail(done);
+        assertTrue(result.get().isValid());
+        assertEquals(2, authServer.getUserRequestCount());
+    }
+
+    @Test
+    public void async_retriesResponsesDeliveredOnOtherThreads() {
+        authServer.failWithIOException(2);
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicReference<AuthenticateResponse> result = new AtomicReference<AuthenticateResponse>();
+        new AsyncExponentialBackoffTask<AuthenticateResponse>() {
+            @Override
+            protected void execute(final ResponseCallback<AuthenticateResponse> callback) {
+                new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onResponse(authServer.loginUser(SyncCredentials.facebook("foo"), authUrl));
+                    }
+                }).start();
+            }
+
+            @Override
+            protected void onSuccess(AuthenticateResponse response) {
+                result.set(response);
+                done.countDown();
+            }
+
+            @Override
+            protected void onError(AuthenticateResponse response) {
+                result.set(response);
+                done.countDown();
+            }
+        }.start(executor);
+
+        TestHelper.awaitOrFail(done);
+        assertTrue(result.get().isValid());
+        assertEquals(3, authServer.getUserRequestCount());
+    }
+
+    @Test
+    public void cancel_stopsRetries() throws InterruptedException {
+        authServer.failWithIOException(Integer.MAX_VALUE);
+        final CountDownLatch failed = new CountDownLatch(1);
+        final CountDownLatch retried = new CountDownLatch(1);
+        final AtomicInteger attempts = new AtomicInteger(0);
+        ExponentialBackoffTask<AuthenticateResponse> task = new ExponentialBackoffTask<AuthenticateResponse>() {
+            @Override
+            protected AuthenticateResponse execute() {
+                if (attempts.incrementAndGet() > 1) {
+                    retried.countDown();
+                }
+                return authServer.loginUser(SyncCredentials.facebook("foo"), authUrl);
+            }
+
+            @Override
+            protected boolean shouldAbortTask(AuthenticateResponse response) {
+                failed.countDown();
+                return super.shouldAbortTask(response);
+            }
+
+            @Override
+            protected void onSuccess(AuthenticateResponse response) {
+            }
+
+            @Override
+            protected void onError(AuthenticateResponse response) {
+            }
+        };
+
+        RealmAsyncTask asyncTask = task.start(executor);
+        TestHelper.awaitOrFail(failed);
+        asyncTask.cancel();
+        assertTrue(asyncTask.isCancelled());
+
+        // Without cancelling, the second attempt would be made within 0.5 seconds.
+        assertFalse(retried.await(2, TimeUnit.SECONDS));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    public void start_twiceThrows() {
+        ExponentialBackoffTask<AuthenticateResponse> task = newLoginTask(new CountDownLatch(1),
+                new AtomicReference<AuthenticateResponse>());
+        task.start(executor);
+        try {
+            task.start(executor);
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+    }
+}
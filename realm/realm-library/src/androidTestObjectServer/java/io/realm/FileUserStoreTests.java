@@ -0,0 +1,216 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URI;
+import java.net.URISyntaxException;
+
+import io.realm.internal.objectserver.ObjectServerUser;
+import io.realm.internal.objectserver.Token;
+import io.realm.util.SyncTestUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class FileUserStoreTests {
+
+    private File file;
+
+    @Before
+    public void setUp() {
+        file = new File(InstrumentationRegistry.getTargetContext().getFilesDir(), "test_users.bin");
+        file.delete();
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void constructor_nullThrows() {
+        try {
+            new FileUserStore(null);
+        } catch (IllegalArgumentException ignored) {
+            return;
+        }
+        throw new AssertionError("IllegalArgumentException expected.");
+    }
+
+    @Test
+    public void put_get() {
+        UserStore store = new FileUserStore(file);
+        SyncUser user = SyncTestUtils.createTestUser();
+
+        assertNull(store.put(UserStore.CURRENT_USER_KEY, user));
+        // Users are cached, so no deserialization is needed.
+        assertSame(user, store.get(UserStore.CURRENT_USER_KEY));
+        assertEquals(user, new FileUserStore(file).get(UserStore.CURRENT_USER_KEY));
+    }
+
+    @Test
+    public void put_returnsPreviousUser() {
+        UserStore store = new FileUserStore(file);
+        SyncUser user1 = SyncTestUtils.createTestUser(Long.MIN_VALUE);
+        SyncUser user2 = SyncTestUtils.createTestUser(Long.MAX_VALUE);
+
+        store.put(UserStore.CURRENT_USER_KEY, user1);
+        assertSame(user1, store.put(UserStore.CURRENT_USER_KEY, user2));
+        assertEquals(user2, new FileUserStore(file).get(UserStore.CURRENT_USER_KEY));
+    }
+
+    @Test
+    public void put_savesChangedAccessTokens() throws URISyntaxException {
+        UserStore store = new FileUserStore(file);
+        SyncUser user = SyncTestUtils.createTestUser();
+        store.put(UserStore.CURRENT_USER_KEY, user);
+        long sizeBefore = file.length();
+
+        URI realmUrl = new URI("realm://objectserver.realm.io/default");
+        Token accessToken = new Token("new-token", "JohnDoe", "/default", Long.MAX_VALUE, null);
+        user.getSyncUser().addRealm(realmUrl,
+                new ObjectServerUser.AccessDescription(accessToken, "/data/data/myapp/files/default", false));
+        store.put(UserStore.CURRENT_USER_KEY, user);
+
+        SyncUser savedUser = new FileUserStore(file).get(UserStore.CURRENT_USER_KEY);
+        assertEquals("new-token", savedUser.getSyncUser().getAccessToken(realmUrl).value());
+        assertEquals(user, savedUser);
+        // Only the changed access token was appended, not the entire user.
+        long appended = file.length() - sizeBefore;
+        assertTrue(appended > 0 && appended < sizeBefore);
+    }
+
+    @Test
+    public void put_unchangedUserWritesNothing() {
+        UserStore store = new FileUserStore(file);
+        SyncUser user = SyncTestUtils.createTestUser();
+        store.put(UserStore.CURRENT_USER_KEY, user);
+        long size = file.length();
+
+        store.put(UserStore.CURRENT_USER_KEY, user);
+        assertEquals(size, file.length());
+    }
+
+    // Access tokens added manually have no identity.
+    @Test
+    public void put_twice_userWithManualAccessToken() throws URISyntaxException {
+        UserStore store = new FileUserStore(file);
+        SyncUser user = SyncTestUtils.createTestUser();
+        user.getSyncUser().addRealm(new URI("realm://objectserver.realm.io/default"), "manual-token",
+                "/data/data/myapp/files/default", false);
+        store.put(UserStore.CURRENT_USER_KEY, user);
+        long size = file.length();
+
+        store.put(UserStore.CURRENT_USER_KEY, user);
+        assertEquals(size, file.length());
+        assertEquals(user, new FileUserStore(file).get(UserStore.CURRENT_USER_KEY));
+    }
+
+    @Test
+    public void remove() {
+        UserStore store = new FileUserStore(file);
+        SyncUser user = SyncTestUtils.createTestUser();
+        store.put(UserStore.CURRENT_USER_KEY, user);
+
+        assertSame(user, store.remove(UserStore.CURRENT_USER_KEY));
+        assertNull(store.get(UserStore.CURRENT_USER_KEY));
+        assertNull(store.remove(UserStore.CURRENT_USER_KEY));
+        assertNull(new FileUserStore(file).get(UserStore.CURRENT_USER_KEY));
+    }
+
+    @Test
+    public void allUsers_clear() {
+        UserStore store = new FileUserStore(file);
+        store.put("user1", SyncTestUtils.createTestUser());
+        store.put("user2", SyncTestUtils.createTestUser());
+        assertEquals(2, store.allUsers().size());
+        assertEquals(2, new FileUserStore(file).allUsers().size());
+
+        store.clear();
+        assertTrue(store.allUsers().isEmpty());
+        assertTrue(new FileUserStore(file).allUsers().isEmpty());
+    }
+
+    @Test
+    public void manyUpdates_fileIsCompacted() throws URISyntaxException {
+        UserStore store = new FileUserStore(file);
+        SyncUser user = SyncTestUtils.createTestUser();
+        store.put(UserStore.CURRENT_USER_KEY, user);
+        long initialSize = file.length();
+
+        URI realmUrl = new URI("realm://objectserver.realm.io/default");
+        for (int i = 0; i < 1000; i++) {
+            Token accessToken = new Token("token-" + i, "JohnDoe", "/default", Long.MAX_VALUE, null);
+            user.getSyncUser().addRealm(realmUrl,
+                    new ObjectServerUser.AccessDescription(accessToken, "/data/data/myapp/files/default", false));
+            store.put(UserStore.CURRENT_USER_KEY, user);
+        }
+
+        assertTrue(file.length() < initialSize * 100);
+        SyncUser savedUser = new FileUserStore(file).get(UserStore.CURRENT_USER_KEY);
+        assertEquals("token-999", savedUser.getSyncUser().getAccessToken(realmUrl).value());
+    }
+
+    // A record cut off by a process crash is skipped, all records before it are still loaded.
+    @Test
+    public void incompleteRecord_isSkipped() throws IOException, URISyntaxException {
+        UserStore store = new FileUserStore(file);
+        SyncUser user = SyncTestUtils.createTestUser();
+        store.put(UserStore.CURRENT_USER_KEY, user);
+        long validSize = file.length();
+        store.put("other", SyncTestUtils.createTestUser());
+
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.setLength(validSize + 10);
+        raf.close();
+
+        FileUserStore reopened = new FileUserStore(file);
+        assertEquals(user, reopened.get(UserStore.CURRENT_USER_KEY));
+        assertNull(reopened.get("other"));
+
+        // The damaged record has been removed, so new records can be read again.
+        reopened.put("other", SyncTestUtils.createTestUser());
+        assertEquals(2, new FileUserStore(file).allUsers().size());
+    }
+
+    @Test
+    public void unknownFormat_isIgnored() throws IOException {
+        FileOutputStream out = new FileOutputStream(file);
+        out.write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9});
+        out.close();
+
+        UserStore store = new FileUserStore(file);
+        assertTrue(store.allUsers().isEmpty());
+        store.put(UserStore.CURRENT_USER_KEY, SyncTestUtils.createTestUser());
+        assertEquals(1, new FileUserStore(file).allUsers().size());
+    }
+}
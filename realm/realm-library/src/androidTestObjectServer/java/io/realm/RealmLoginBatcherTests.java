@@ -0,0 +1,144 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import io.realm.internal.network.AuthenticateResponse;
+import io.realm.internal.network.RealmLoginBatcher;
+import io.realm.internal.objectserver.Token;
+import io.realm.util.MockAuthenticationServer;
+import io.realm.util.SyncTestUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class RealmLoginBatcherTests {
+
+    private MockAuthenticationServer authServer;
+    private RealmLoginBatcher batcher;
+    private Token userToken;
+    private URL authUrl;
+
+    @Before
+    public void setUp() throws Exception {
+        authServer = new MockAuthenticationServer();
+        batcher = new RealmLoginBatcher();
+        userToken = SyncTestUtils.createTestUser().getSyncUser().getUserToken();
+        authUrl = new URL("http://objectserver.realm.io/auth");
+    }
+
+    @Test
+    public void singleRequest() throws URISyntaxException {
+        URI realmUrl = new URI("realm://objectserver.realm.io/JohnDoe/default");
+        CountDownLatch done = new CountDownLatch(1);
+        List<AuthenticateResponse> responses = new ArrayList<AuthenticateResponse>();
+        startLogin(realmUrl, responses, done);
+        TestHelper.awaitOrFail(done);
+
+        synchronized (responses) {
+            assertEquals(1, responses.size());
+            assertTrue(responses.get(0).isValid());
+            assertEquals("/JohnDoe/default", responses.get(0).getAccessToken().path());
+        }
+        assertEquals(1, authServer.getRealmLoginRequests().size());
+    }
+
+    @Test
+    public void concurrentRequestsAreSentRightAway() throws Exception {
+        final int REALMS = 5;
+        final CountDownLatch allDone = new CountDownLatch(REALMS + 1);
+        final List<AuthenticateResponse> responses = new ArrayList<AuthenticateResponse>();
+
+        // The first request is held back by the server, the others don't wait for it.
+        authServer.block();
+        startLogin(new URI("realm://objectserver.realm.io/JohnDoe/first"), responses, allDone);
+        authServer.awaitRequest();
+        for (int i = 0; i < REALMS; i++) {
+            startLogin(new URI("realm://objectserver.realm.io/JohnDoe/realm" + i), responses, allDone);
+        }
+        List<Collection<URI>> requests = authServer.getRealmLoginRequests();
+        assertEquals(REALMS + 1, requests.size());
+        for (Collection<URI> request : requests) {
+            assertEquals(1, request.size());
+        }
+        assertEquals(REALMS + 1, allDone.getCount());
+        authServer.unblock();
+        TestHelper.awaitOrFail(allDone);
+
+        synchronized (responses) {
+            assertEquals(REALMS + 1, responses.size());
+            for (AuthenticateResponse response : responses) {
+                assertTrue(response.isValid());
+            }
+        }
+    }
+
+    @Test
+    public void concurrentRequestsForTheSameRealmShareOneRequest() throws Exception {
+        final int REQUESTS = 3;
+        final CountDownLatch allDone = new CountDownLatch(REQUESTS);
+        final List<AuthenticateResponse> responses = new ArrayList<AuthenticateResponse>();
+        URI realmUrl = new URI("realm://objectserver.realm.io/JohnDoe/default");
+
+        authServer.block();
+        for (int i = 0; i < REQUESTS; i++) {
+            startLogin(realmUrl, responses, allDone);
+        }
+        authServer.unblock();
+        TestHelper.awaitOrFail(allDone);
+
+        assertEquals(1, authServer.getRealmLoginRequests().size());
+        synchronized (responses) {
+            assertEquals(REQUESTS, responses.size());
+            for (AuthenticateResponse response : responses) {
+                assertTrue(response.isValid());
+            }
+        }
+
+        // Requests made after the response has been received are sent again.
+        CountDownLatch done = new CountDownLatch(1);
+        startLogin(realmUrl, responses, done);
+        TestHelper.awaitOrFail(done);
+        assertEquals(2, authServer.getRealmLoginRequests().size());
+    }
+
+    private void startLogin(URI realmUrl, final List<AuthenticateResponse> responses, final CountDownLatch done) {
+        batcher.loginToRealm(authServer, userToken, realmUrl, authUrl, new RealmLoginBatcher.Callback() {
+            @Override
+            public void onResponse(AuthenticateResponse response) {
+                synchronized (responses) {
+                    responses.add(response);
+                }
+                done.countDown();
+            }
+        });
+    }
+}
@@ -24,6 +24,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.util.Collection;
 
 import io.realm.android.SharedPrefsUserStore;
@@ -81,6 +83,23 @@ public class UserTests {
         assertNull(SyncUser.currentUser());
     }
 
+    // New access tokens of the current user are saved, so they can be used right away after a restart.
+    @Test
+    public void currentUser_savesNewAccessTokens() throws URISyntaxException {
+        UserStore userStore = new SharedPrefsUserStore(InstrumentationRegistry.getContext());
+        SyncManager.setUserStore(userStore);
+        SyncUser user = SyncTestUtils.createTestUser(Long.MAX_VALUE);
+        userStore.put(UserStore.CURRENT_USER_KEY, user);
+
+        URI realmUrl = new URI("realm://objectserver.realm.io/JohnDoe/refreshed");
+        user.getSyncUser().addRealm(realmUrl, "new-token", "/data/data/myapp/files/refreshed", false);
+
+        // Read the user back from storage instead of the cache.
+        SyncUser savedUser = new SharedPrefsUserStore(InstrumentationRegistry.getContext())
+                .get(UserStore.CURRENT_USER_KEY);
+        assertEquals("new-token", savedUser.getSyncUser().getAccessToken(realmUrl).value());
+    }
+
     // `all()` returns an empty list if no users are logged in
     @Test
     public void all_empty() {
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal.objectserver;
+
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import io.realm.SyncConfiguration;
+import io.realm.SyncUser;
+import io.realm.TestHelper;
+import io.realm.rule.TestRealmConfigurationFactory;
+import io.realm.util.MockAuthenticationServer;
+import io.realm.util.SyncTestUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class AccessTokenRefresherTests {
+
+    private static final String REALM_URL_A = "realm://objectserver.realm.io/JohnDoe/a";
+    private static final String REALM_URL_B = "realm://objectserver.realm.io/JohnDoe/b";
+    private static final long MIN_REFRESH_DELAY_MS = 200;
+
+    @Rule
+    public final TestRealmConfigurationFactory configFactory = new TestRealmConfigurationFactory();
+
+    private SyncUser user;
+    private ObjectServerUser syncUser;
+
+    @Before
+    public void setUp() {
+        user = SyncTestUtils.createTestUser();
+        syncUser = user.getSyncUser();
+    }
+
+    // Tokens expiring within the batch window are refreshed together and saved once.
+    @Test
+    public void register_refreshesDueTokensInOneBatch() {
+        MockAuthenticationServer authServer = new MockAuthenticationServer();
+        AccessTokenRefresher refresher = new AccessTokenRefresher(syncUser, authServer, MIN_REFRESH_DELAY_MS);
+        long expiresMs = System.currentTimeMillis() + AccessTokenRefresher.REFRESH_MARGIN_MS / 2;
+        ObjectServerSession sessionA = createSession(REALM_URL_A, expiresMs);
+        ObjectServerSession sessionB = createSession(REALM_URL_B, expiresMs + AccessTokenRefresher.BATCH_WINDOW_MS / 2);
+
+        final CountDownLatch saved = new CountDownLatch(1);
+        syncUser.setTokenListener(new ObjectServerUser.TokenListener() {
+            @Override
+            public void onTokensChanged(ObjectServerUser user) {
+                saved.countDown();
+            }
+        });
+        refresher.register(sessionA);
+        refresher.register(sessionB);
+        TestHelper.awaitOrFail(saved);
+
+        List<Collection<URI>> requests = authServer.getRealmLoginRequests();
+        assertEquals(1, requests.size());
+        assertEquals(2, requests.get(0).size());
+        assertEquals(SyncTestUtils.REALM_TOKEN, syncUser.getAccessToken(sessionA.getServerUrl()).value());
+        assertEquals(SyncTestUtils.REALM_TOKEN, syncUser.getAccessToken(sessionB.getServerUrl()).value());
+    }
+
+    // Tokens which are due again right after being refreshed must not be refreshed in a busy loop.
+    @Test
+    public void refresh_shortLivedTokensWaitMinimumDelay() {
+        final List<Long> requestTimes = new ArrayList<Long>();
+        final CountDownLatch twoRequests = new CountDownLatch(2);
+        MockAuthenticationServer authServer = new MockAuthenticationServer() {
+            @Override
+            public void loginToRealms(Token userToken, Collection<URI> serverUrls, URL authenticationUrl,
+                                      LoginCallback callback) {
+                synchronized (requestTimes) {
+                    requestTimes.add(System.nanoTime());
+                }
+                twoRequests.countDown();
+                super.loginToRealms(userToken, serverUrls, authenticationUrl, callback);
+            }
+        };
+        authServer.setAccessTokenExpiry(System.currentTimeMillis());
+        AccessTokenRefresher refresher = new AccessTokenRefresher(syncUser, authServer, MIN_REFRESH_DELAY_MS);
+        ObjectServerSession session = createSession(REALM_URL_A, System.currentTimeMillis());
+
+        refresher.register(session);
+        TestHelper.awaitOrFail(twoRequests);
+        refresher.unregister(session);
+
+        synchronized (requestTimes) {
+            long elapsedMs = (requestTimes.get(1) - requestTimes.get(0)) / 1000000;
+            assertTrue("Refreshed again after " + elapsedMs + " ms", elapsedMs >= MIN_REFRESH_DELAY_MS);
+        }
+    }
+
+    // Creates a session which isn't bound. Only its token is refreshed then, not the token of the native session.
+    private ObjectServerSession createSession(String url, long accessTokenExpiresMs) {
+        SyncConfiguration config = new SyncConfiguration.Builder(user, url).build();
+        Token accessToken = new Token("old-token", "JohnDoe", config.getServerUrl().getPath(), accessTokenExpiresMs,
+                new Token.Permission[] {Token.Permission.DOWNLOAD, Token.Permission.UPLOAD});
+        syncUser.addRealm(config.getServerUrl(),
+                new ObjectServerUser.AccessDescription(accessToken, config.getPath(), false));
+        return new ObjectServerSession(config, null, syncUser, config.getSyncPolicy(), config.getErrorHandler());
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.util;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.realm.ErrorCode;
+import io.realm.ObjectServerError;
+import io.realm.SyncCredentials;
+import io.realm.SyncUser;
+import io.realm.TestHelper;
+import io.realm.internal.network.AuthenticateResponse;
+import io.realm.internal.network.AuthenticationServer;
+import io.realm.internal.network.LogoutResponse;
+import io.realm.internal.objectserver.Token;
+
+/**
+ * Local {@link AuthenticationServer} which answers all requests without any network access.
+ * <p>
+ * The first {@link #failWithIOException(int)} requests fail with an {@link ErrorCode#IO_EXCEPTION}, and requests can
+ * be held back using {@link #block()} to test how concurrent requests are handled. All requests are recorded.
+ */
+public class MockAuthenticationServer implements AuthenticationServer {
+
+    private final AtomicInteger failuresLeft = new AtomicInteger(0);
+    private final List<Collection<URI>> realmLoginRequests = Collections.synchronizedList(new ArrayList<Collection<URI>>());
+    private final AtomicInteger userRequests = new AtomicInteger(0);
+    private volatile CountDownLatch blocker = new CountDownLatch(0);
+    private volatile CountDownLatch requestStarted = new CountDownLatch(1);
+    private volatile long accessTokenExpiresMs = Long.MAX_VALUE;
+
+    /**
+     * Lets the next {@code count} requests fail with an {@link ErrorCode#IO_EXCEPTION}.
+     */
+    public MockAuthenticationServer failWithIOException(int count) {
+        failuresLeft.set(count);
+        return this;
+    }
+
+    /**
+     * Sets when the access tokens returned from now on expire. They never expire by default.
+     */
+    public MockAuthenticationServer setAccessTokenExpiry(long expiresMs) {
+        accessTokenExpiresMs = expiresMs;
+        return this;
+    }
+
+    /**
+     * Blocks all requests until {@link #unblock()} is called.
+     */
+    public void block() {
+        requestStarted = new CountDownLatch(1);
+        blocker = new CountDownLatch(1);
+    }
+
+    public void unblock() {
+        blocker.countDown();
+    }
+
+    /**
+     * Waits until a request has reached the server after {@link #block()} was called.
+     */
+    public void awaitRequest() {
+        TestHelper.awaitOrFail(requestStarted);
+    }
+
+    /**
+     * Returns the Realm URLs of each {@code loginToRealm} or {@code loginToRealms} request, in the order received.
+     */
+    public List<Collection<URI>> getRealmLoginRequests() {
+        synchronized (realmLoginRequests) {
+            return new ArrayList<Collection<URI>>(realmLoginRequests);
+        }
+    }
+
+    public int getUserRequestCount() {
+        return userRequests.get();
+    }
+
+    @Override
+    public AuthenticateResponse loginUser(SyncCredentials credentials, URL authenticationUrl) {
+        userRequests.incrementAndGet();
+        AuthenticateResponse error = receiveRequest();
+        return (error != null) ? error : SyncTestUtils.createLoginResponse(Long.MAX_VALUE);
+    }
+
+    @Override
+    public AuthenticateResponse loginToRealm(Token userToken, URI serverUrl, URL authenticationUrl) {
+        realmLoginRequests.add(Collections.singletonList(serverUrl));
+        AuthenticateResponse error = receiveRequest();
+        return (error != null) ? error : createRealmLoginResponse(serverUrl);
+    }
+
+    @Override
+    public void loginToRealms(Token userToken, final Collection<URI> serverUrls, URL authenticationUrl,
+                              final LoginCallback callback) {
+        realmLoginRequests.add(new ArrayList<URI>(serverUrls));
+        // Answered on a thread of its own like the OkHttp implementation, so a blocked request doesn't block the caller.
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                AuthenticateResponse error = receiveRequest();
+                Map<URI, AuthenticateResponse> responses = new HashMap<URI, AuthenticateResponse>();
+                for (URI serverUrl : serverUrls) {
+                    responses.put(serverUrl, (error != null) ? error : createRealmLoginResponse(serverUrl));
+                }
+                callback.onResponses(responses);
+            }
+        }).start();
+    }
+
+    @Override
+    public AuthenticateResponse refreshUser(Token userToken, URL authenticationUrl) {
+        userRequests.incrementAndGet();
+        AuthenticateResponse error = receiveRequest();
+        return (error != null) ? error : SyncTestUtils.createRefreshResponse();
+    }
+
+    @Override
+    public LogoutResponse logout(SyncUser user, URL authenticationUrl) {
+        throw new UnsupportedOperationException("Not yet implemented");
+    }
+
+    // Returns an error response if the request should fail, null otherwise.
+    private AuthenticateResponse receiveRequest() {
+        requestStarted.countDown();
+        try {
+            blocker.await();
+        } catch (InterruptedException e) {
+            return AuthenticateResponse.from(new ObjectServerError(ErrorCode.IO_EXCEPTION, e));
+        }
+        if (failuresLeft.getAndDecrement() > 0) {
+            return AuthenticateResponse.from(new ObjectServerError(ErrorCode.IO_EXCEPTION, "Mock network error"));
+        }
+        return null;
+    }
+
+    private AuthenticateResponse createRealmLoginResponse(URI serverUrl) {
+        Token accessToken = new Token(SyncTestUtils.REALM_TOKEN, "JohnDoe", serverUrl.getPath(), accessTokenExpiresMs,
+                new Token.Permission[] {Token.Permission.DOWNLOAD, Token.Permission.UPLOAD});
+        try {
+            JSONObject response = new JSONObject();
+            response.put("access_token", accessToken.toJson());
+            return AuthenticateResponse.from(response.toString());
+        } catch (JSONException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -73,6 +73,16 @@ public class RealmBenchmarks {
         }
     }
 
+    // Opens a new file each time, so the tables of all model classes in the default module are created.
+    @Benchmark
+    public void coldCreateSchemaAndClose(long reps) {
+        for (long i = 0; i < reps; i++) {
+            Realm.deleteRealm(coldConfig);
+            Realm realm = Realm.getInstance(coldConfig);
+            realm.close();
+        }
+    }
+
     @Benchmark
     public void emptyTransaction(long reps) {
         for (long i = 0; i < reps; i++) {
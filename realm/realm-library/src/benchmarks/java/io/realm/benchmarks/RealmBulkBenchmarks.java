@@ -0,0 +1,126 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.realm.benchmarks;
+
+import android.support.test.InstrumentationRegistry;
+
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import dk.ilios.spanner.AfterExperiment;
+import dk.ilios.spanner.BeforeExperiment;
+import dk.ilios.spanner.Benchmark;
+import dk.ilios.spanner.BenchmarkConfiguration;
+import dk.ilios.spanner.Param;
+import dk.ilios.spanner.SpannerConfig;
+import dk.ilios.spanner.junit.SpannerRunner;
+import io.realm.Realm;
+import io.realm.RealmConfiguration;
+import io.realm.RealmResults;
+import io.realm.benchmarks.config.BenchmarkConfig;
+import io.realm.entities.AllTypes;
+
+@RunWith(SpannerRunner.class)
+public class RealmBulkBenchmarks {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int dataSize;
+
+    @BenchmarkConfiguration
+    public SpannerConfig configuration = BenchmarkConfig.getConfiguration(this.getClass().getCanonicalName());
+
+    private Realm realm;
+    private RealmResults<AllTypes> results;
+    private List<AllTypes> unmanagedObjects;
+
+    @BeforeExperiment
+    public void before() {
+        Realm.init(InstrumentationRegistry.getTargetContext());
+        RealmConfiguration config = new RealmConfiguration.Builder().build();
+        Realm.deleteRealm(config);
+        realm = Realm.getInstance(config);
+        unmanagedObjects = new ArrayList<AllTypes>(dataSize);
+        for (int i = 0; i < dataSize; i++) {
+            AllTypes obj = new AllTypes();
+            obj.setColumnLong(i);
+            obj.setColumnBoolean(i % 2 == 0);
+            obj.setColumnString("Foo " + i);
+            obj.setColumnDouble(i + 1.234D);
+            unmanagedObjects.add(obj);
+        }
+        realm.beginTransaction();
+        realm.insert(unmanagedObjects);
+        realm.commitTransaction();
+        results = realm.where(AllTypes.class).findAll();
+    }
+
+    @AfterExperiment
+    public void after() {
+        realm.close();
+    }
+
+    // Writes are rolled back, so every repetition starts from the same Realm.
+    @Benchmark
+    public void createObjects(long reps) {
+        for (long i = 0; i < reps; i++) {
+            realm.beginTransaction();
+            for (int j = 0; j < dataSize; j++) {
+                AllTypes obj = realm.createObject(AllTypes.class);
+                obj.setColumnLong(j);
+                obj.setColumnBoolean(j % 2 == 0);
+                obj.setColumnString("Foo " + j);
+                obj.setColumnDouble(j + 1.234D);
+            }
+            realm.cancelTransaction();
+        }
+    }
+
+    @Benchmark
+    public void insert(long reps) {
+        for (long i = 0; i < reps; i++) {
+            realm.beginTransaction();
+            realm.insert(unmanagedObjects);
+            realm.cancelTransaction();
+        }
+    }
+
+    @Benchmark
+    public void copyToRealm(long reps) {
+        for (long i = 0; i < reps; i++) {
+            realm.beginTransaction();
+            List<AllTypes> copies = realm.copyToRealm(unmanagedObjects);
+            realm.cancelTransaction();
+        }
+    }
+
+    @Benchmark
+    public void copyFromRealm(long reps) {
+        for (long i = 0; i < reps; i++) {
+            List<AllTypes> copies = realm.copyFromRealm(results);
+        }
+    }
+
+    @Benchmark
+    public void iterate(long reps) {
+        for (long i = 0; i < reps; i++) {
+            for (AllTypes obj : results) {
+                long value = obj.getColumnLong();
+            }
+        }
+    }
+}
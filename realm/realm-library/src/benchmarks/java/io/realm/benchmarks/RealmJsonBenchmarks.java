@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.realm.benchmarks;
+
+import android.support.test.InstrumentationRegistry;
+
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+import dk.ilios.spanner.AfterExperiment;
+import dk.ilios.spanner.BeforeExperiment;
+import dk.ilios.spanner.Benchmark;
+import dk.ilios.spanner.BenchmarkConfiguration;
+import dk.ilios.spanner.Param;
+import dk.ilios.spanner.SpannerConfig;
+import dk.ilios.spanner.junit.SpannerRunner;
+import io.realm.Realm;
+import io.realm.RealmConfiguration;
+import io.realm.benchmarks.config.BenchmarkConfig;
+import io.realm.entities.AllTypes;
+
+@RunWith(SpannerRunner.class)
+public class RealmJsonBenchmarks {
+
+    // 1M objects would need more than 100 MB for the JSON document alone, which doesn't fit the heap of most devices.
+    @Param({"1000", "10000", "100000"})
+    public int dataSize;
+
+    @BenchmarkConfiguration
+    public SpannerConfig configuration = BenchmarkConfig.getConfiguration(this.getClass().getCanonicalName());
+
+    private Realm realm;
+    private String json;
+    private byte[] jsonBytes;
+
+    @BeforeExperiment
+    public void before() {
+        Realm.init(InstrumentationRegistry.getTargetContext());
+        RealmConfiguration config = new RealmConfiguration.Builder().build();
+        Realm.deleteRealm(config);
+        realm = Realm.getInstance(config);
+
+        StringBuilder sb = new StringBuilder(dataSize * 100);
+        sb.append('[');
+        for (int i = 0; i < dataSize; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"").append(AllTypes.FIELD_STRING).append("\":\"Foo ").append(i)
+                    .append("\",\"").append(AllTypes.FIELD_LONG).append("\":").append(i)
+                    .append(",\"").append(AllTypes.FIELD_DOUBLE).append("\":").append(i + 1.234D)
+                    .append(",\"").append(AllTypes.FIELD_BOOLEAN).append("\":").append(i % 2 == 0)
+                    .append('}');
+        }
+        sb.append(']');
+        json = sb.toString();
+        jsonBytes = json.getBytes(Charset.forName("UTF-8"));
+    }
+
+    @AfterExperiment
+    public void after() {
+        realm.close();
+    }
+
+    @Benchmark
+    public void createAllFromJsonString(long reps) {
+        for (long i = 0; i < reps; i++) {
+            realm.beginTransaction();
+            realm.createAllFromJson(AllTypes.class, json);
+            realm.cancelTransaction();
+        }
+    }
+
+    @Benchmark
+    public void createAllFromJsonStream(long reps) throws IOException {
+        for (long i = 0; i < reps; i++) {
+            InputStream in = new ByteArrayInputStream(jsonBytes);
+            realm.beginTransaction();
+            realm.createAllFromJson(AllTypes.class, in);
+            realm.cancelTransaction();
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.realm.benchmarks;
+
+import android.support.test.InstrumentationRegistry;
+
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import dk.ilios.spanner.AfterExperiment;
+import dk.ilios.spanner.BeforeExperiment;
+import dk.ilios.spanner.Benchmark;
+import dk.ilios.spanner.BenchmarkConfiguration;
+import dk.ilios.spanner.Param;
+import dk.ilios.spanner.SpannerConfig;
+import dk.ilios.spanner.junit.SpannerRunner;
+import io.realm.Realm;
+import io.realm.RealmChangeListener;
+import io.realm.RealmConfiguration;
+import io.realm.RealmEventLoop;
+import io.realm.RealmResults;
+import io.realm.benchmarks.config.BenchmarkConfig;
+import io.realm.entities.AllTypes;
+
+/**
+ * Benchmarks for the async query and notification paths. Benchmarks don't run on a Looper thread, so events are
+ * delivered through a {@link RealmEventLoop}.
+ */
+@RunWith(SpannerRunner.class)
+public class RealmNotificationBenchmarks {
+
+    private static final int LISTENER_COUNT = 100;
+    private static final long EVENT_TIMEOUT_SECONDS = 60;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int dataSize;
+
+    @BenchmarkConfiguration
+    public SpannerConfig configuration = BenchmarkConfig.getConfiguration(this.getClass().getCanonicalName());
+
+    private RealmEventLoop eventLoop;
+    private Realm realm;
+    private AllTypes writeObject;
+    private final List<RealmResults<AllTypes>> listenedResults = new ArrayList<RealmResults<AllTypes>>();
+    private boolean realmChanged;
+
+    @BeforeExperiment
+    public void before() {
+        Realm.init(InstrumentationRegistry.getTargetContext());
+        RealmConfiguration config = new RealmConfiguration.Builder().build();
+        Realm.deleteRealm(config);
+        eventLoop = RealmEventLoop.prepare();
+        realm = Realm.getInstance(config);
+        realm.beginTransaction();
+        for (int i = 0; i < dataSize; i++) {
+            AllTypes obj = realm.createObject(AllTypes.class);
+            obj.setColumnLong(i);
+            obj.setColumnBoolean(i % 2 == 0);
+            obj.setColumnString("Foo " + i);
+            obj.setColumnDouble(i + 1.234D);
+        }
+        writeObject = realm.createObject(AllTypes.class);
+        realm.commitTransaction();
+    }
+
+    @AfterExperiment
+    public void after() {
+        listenedResults.clear();
+        realm.close();
+        eventLoop.quit();
+    }
+
+    private void awaitEvents() {
+        try {
+            eventLoop.awaitAndRunEvents(EVENT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Benchmark
+    public void asyncQueryRoundTrip(long reps) {
+        for (long i = 0; i < reps; i++) {
+            RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                    .equalTo(AllTypes.FIELD_BOOLEAN, true).findAllAsync();
+            while (!results.isLoaded()) {
+                awaitEvents();
+            }
+        }
+    }
+
+    // Measures a local commit followed by the delivery of the change to LISTENER_COUNT RealmResults listeners.
+    @Benchmark
+    public void notificationFanOut(long reps) {
+        RealmChangeListener<RealmResults<AllTypes>> resultsListener = new RealmChangeListener<RealmResults<AllTypes>>() {
+            @Override
+            public void onChange(RealmResults<AllTypes> element) {
+            }
+        };
+        for (int i = 0; i < LISTENER_COUNT; i++) {
+            RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                    .greaterThan(AllTypes.FIELD_LONG, i).findAll();
+            results.addChangeListener(resultsListener);
+            listenedResults.add(results);
+        }
+        // The Realm listener is called after all RealmResults listeners.
+        RealmChangeListener<Realm> realmListener = new RealmChangeListener<Realm>() {
+            @Override
+            public void onChange(Realm element) {
+                realmChanged = true;
+            }
+        };
+        realm.addChangeListener(realmListener);
+
+        for (long i = 0; i < reps; i++) {
+            realmChanged = false;
+            realm.beginTransaction();
+            writeObject.setColumnLong(i);
+            realm.commitTransaction();
+            while (!realmChanged) {
+                awaitEvents();
+            }
+        }
+
+        realm.removeChangeListener(realmListener);
+        for (RealmResults<AllTypes> results : listenedResults) {
+            results.removeChangeListeners();
+        }
+        listenedResults.clear();
+    }
+}
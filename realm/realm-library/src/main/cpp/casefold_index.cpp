@@ -0,0 +1,146 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include "casefold_index.hpp"
+
+#include <algorithm>
+
+#include <realm/unicode.hpp>
+
+using namespace realm;
+using namespace realm::_impl;
+
+std::string casefold::fold(StringData value)
+{
+    util::Optional<std::string> lower = case_map(value, false);
+    if (lower) {
+        return std::move(*lower);
+    }
+    // case_map() fails on invalid UTF-8, then only ASCII letters are folded.
+    std::string folded(value.data(), value.size());
+    for (char& c : folded) {
+        if (c >= 'A' && c <= 'Z') {
+            c = static_cast<char>(c + ('a' - 'A'));
+        }
+    }
+    return folded;
+}
+
+IndexChanges casefold::collect_changes(const Group& group, const Table& objects, size_t col, const Table& keys)
+{
+    return collect_index_changes(group, objects, col, {IndexLink(&keys, keys_col_object)});
+}
+
+void casefold::update(Table& objects, size_t col, Table& keys, const IndexChanges& changes)
+{
+    // Entries of deleted objects, core has nulled their links.
+    std::vector<size_t> unlinked_keys;
+    if (changes.all) {
+        for (size_t key = 0; key < keys.size(); ++key) {
+            if (keys.is_null_link(keys_col_object, key)) {
+                unlinked_keys.push_back(key);
+            }
+        }
+    }
+    else {
+        for (size_t key : changes.unlinked[0]) {
+            if (key < keys.size() && keys.is_null_link(keys_col_object, key)) {
+                unlinked_keys.push_back(key);
+            }
+        }
+    }
+    remove_rows(keys, std::move(unlinked_keys));
+
+    auto update_row = [&](size_t row) {
+        StringData value = objects.get_string(col, row);
+        int64_t hash = hash_value(value);
+        size_t key = realm::npos;
+        if (objects.get_backlink_count(row, keys, keys_col_object) != 0) {
+            key = objects.get_backlink(row, keys, keys_col_object, 0);
+            if (keys.get_int(keys_col_hash, key) == hash) {
+                return;
+            }
+        }
+        // Folded before the keys table is written to, which may remap the memory the value points to.
+        bool is_null = value.is_null();
+        std::string folded = is_null ? std::string() : fold(value);
+        if (key == realm::npos) {
+            key = keys.add_empty_row();
+            keys.set_link(keys_col_object, key, row);
+        }
+        keys.set_int(keys_col_hash, key, hash);
+        keys.set_string(keys_col_key, key, is_null ? StringData() : StringData(folded));
+    };
+    const size_t object_count = objects.size();
+    if (changes.all) {
+        for (size_t row = 0; row < object_count; ++row) {
+            update_row(row);
+        }
+    }
+    else {
+        for (size_t row : changes.objects) {
+            if (row < object_count) {
+                update_row(row);
+            }
+        }
+    }
+}
+
+std::vector<size_t> casefold::find(const Table& objects, size_t col, const Table& keys, StringData folded_value,
+                                   bool prefix, const IndexChanges& changes)
+{
+    auto matches = [&](size_t row) {
+        StringData value = objects.get_string(col, row);
+        if (value.is_null()) {
+            return false;
+        }
+        std::string folded = fold(value);
+        return prefix ? StringData(folded).begins_with(folded_value) : StringData(folded) == folded_value;
+    };
+
+    std::vector<size_t> rows;
+    if (changes.all) {
+        for (size_t row = 0; row < objects.size(); ++row) {
+            if (matches(row)) {
+                rows.push_back(row);
+            }
+        }
+        return rows;
+    }
+
+    // Equality uses the search index of the keys, prefixes are compared byte-wise without folding each value again.
+    TableView matching_keys = prefix ? keys.where().begins_with(keys_col_key, folded_value).find_all()
+                                     : keys.where().equal(keys_col_key, folded_value).find_all();
+    rows.reserve(matching_keys.size());
+    for (size_t i = 0; i < matching_keys.size(); ++i) {
+        size_t key = matching_keys.get_source_ndx(i);
+        // Keys of objects deleted in the current write transaction have a nulled link.
+        if (keys.is_null_link(keys_col_object, key)) {
+            continue;
+        }
+        size_t row = keys.get_link(keys_col_object, key);
+        if (!std::binary_search(changes.objects.begin(), changes.objects.end(), row)) {
+            rows.push_back(row);
+        }
+    }
+    for (size_t row : changes.objects) {
+        if (row < objects.size() && matches(row)) {
+            rows.push_back(row);
+        }
+    }
+    std::sort(rows.begin(), rows.end());
+    return rows;
+}
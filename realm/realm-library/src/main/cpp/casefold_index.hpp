@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef CASEFOLD_INDEX_HPP
+#define CASEFOLD_INDEX_HPP
+
+#include <string>
+#include <vector>
+
+#include <realm.hpp>
+
+#include "index_changes.hpp"
+
+namespace realm {
+
+namespace _impl {
+
+// A case-insensitive index of a String column, see io.realm.internal.CaseInsensitiveIndex for how its table is set
+// up.
+//
+// The keys table has one row per indexed object with the case-folded value in a column with a search index, so
+// case-insensitive lookups become exact lookups of the folded value. Like the documents table of a full-text index, it
+// also stores a hash of the original value. An update only looks at the objects changed by the write transaction and
+// only folds the values which really changed, see index_changes.hpp.
+namespace casefold {
+
+// Columns of the keys table.
+static const size_t keys_col_object = 0;
+static const size_t keys_col_hash = 1;
+static const size_t keys_col_key = 2;
+
+// Returns the lower-cased value. Characters which core can't map, and all characters of invalid UTF-8, are kept.
+std::string fold(StringData value);
+
+// Brings the index up to date with the changes of the current write transaction, see collect_index_changes(). Only
+// the changed objects are looked at, and those whose value is the same as before only cost a hash of the value.
+void update(Table& objects, size_t col, Table& keys, const IndexChanges& changes);
+
+// Returns the changes update() has to look at.
+IndexChanges collect_changes(const Group& group, const Table& objects, size_t col, const Table& keys);
+
+// Finds the objects whose folded value is equal to, or starts with, the folded value. The rows are in increasing
+// order. In a write transaction the index doesn't include the changes yet, so the changes returned by
+// collect_changes() have to be passed. The objects among them are checked by folding their current value, the others
+// are looked up in the index. Outside of write transactions the changes are empty.
+std::vector<size_t> find(const Table& objects, size_t col, const Table& keys, StringData folded_value, bool prefix,
+                         const IndexChanges& changes);
+
+} // namespace casefold
+
+} // namespace _impl
+
+} // namespace realm
+
+#endif // CASEFOLD_INDEX_HPP
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include "fulltext_index.hpp"
+
+#include <algorithm>
+#include <cmath>
+#include <map>
+#include <unordered_map>
+
+#include <realm/unicode.hpp>
+
+using namespace realm;
+using namespace realm::_impl;
+
+namespace {
+
+// Core can't sort by relevance. The ranked rows are put into a copy of the view, which only changes its own rows, and
+// the copy is then assigned to the view. The query of the view is kept, so it can be synced and ranked again.
+class RankedView : public TableView {
+public:
+    RankedView(const TableView& view, const std::vector<size_t>& rows)
+        : TableView(view)
+    {
+        m_row_indexes.clear();
+        for (size_t row : rows) {
+            m_row_indexes.add(row);
+        }
+    }
+};
+
+bool is_token_byte(unsigned char c)
+{
+    return c >= 0x80 || (c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+}
+
+// Adds a posting for each distinct token with the number of its occurrences.
+void add_postings(Table& terms, Table& postings, size_t row, const std::vector<std::string>& tokens)
+{
+    std::map<std::string, int64_t> counts;
+    for (const std::string& token : tokens) {
+        ++counts[token];
+    }
+    for (const auto& entry : counts) {
+        size_t term = terms.find_first_string(fulltext::terms_col_token, entry.first);
+        if (term == not_found) {
+            term = terms.add_empty_row();
+            terms.set_string(fulltext::terms_col_token, term, entry.first);
+        }
+        size_t posting = postings.add_empty_row();
+        postings.set_link(fulltext::postings_col_term, posting, term);
+        postings.set_link(fulltext::postings_col_object, posting, row);
+        postings.set_int(fulltext::postings_col_count, posting, entry.second);
+    }
+}
+
+// Removes the postings of the object, which are found through its backlinks. Their terms are added to
+// `emptied_terms`, as they may not have any postings left.
+void remove_postings(const Table& objects, Table& postings, size_t row, std::vector<size_t>& emptied_terms)
+{
+    std::vector<size_t> rows;
+    const size_t count = objects.get_backlink_count(row, postings, fulltext::postings_col_object);
+    for (size_t i = 0; i < count; ++i) {
+        size_t posting = objects.get_backlink(row, postings, fulltext::postings_col_object, i);
+        rows.push_back(posting);
+        emptied_terms.push_back(postings.get_link(fulltext::postings_col_term, posting));
+    }
+    remove_rows(postings, std::move(rows));
+}
+
+} // anonymous namespace
+
+std::vector<std::string> fulltext::tokenize(StringData value)
+{
+    std::vector<std::string> tokens;
+    if (value.is_null() || value.size() == 0) {
+        return tokens;
+    }
+    // case_map() fails on invalid UTF-8, then only ASCII letters are folded below.
+    util::Optional<std::string> lower = case_map(value, false);
+    std::string folded = lower ? std::move(*lower) : std::string(value.data(), value.size());
+
+    std::string token;
+    bool truncated = false;
+    for (char c : folded) {
+        unsigned char byte = static_cast<unsigned char>(c);
+        if (!is_token_byte(byte)) {
+            if (!token.empty()) {
+                tokens.push_back(std::move(token));
+                token.clear();
+            }
+            truncated = false;
+            continue;
+        }
+        // A byte which doesn't continue a UTF-8 sequence starts a new character. Once the token is full, the
+        // following characters are dropped as a whole.
+        if ((byte & 0xC0) != 0x80 && token.size() >= max_token_size) {
+            truncated = true;
+        }
+        if (!truncated) {
+            token.push_back((byte >= 'A' && byte <= 'Z') ? static_cast<char>(byte + ('a' - 'A')) : c);
+        }
+    }
+    if (!token.empty()) {
+        tokens.push_back(std::move(token));
+    }
+    return tokens;
+}
+
+IndexChanges fulltext::collect_changes(const Group& group, const Table& objects, size_t col, const Table& postings,
+                                      const Table& docs)
+{
+    return collect_index_changes(group, objects, col,
+                                 {IndexLink(&postings, postings_col_object), IndexLink(&docs, docs_col_object)});
+}
+
+void fulltext::update(Table& objects, size_t col, Table& postings, Table& docs, const IndexChanges& changes)
+{
+    TableRef terms = postings.get_link_target(postings_col_term);
+    // Terms which lost postings, they are removed at the end if they have none left. Until then only terms are added,
+    // so the indices stay valid.
+    std::vector<size_t> emptied_terms;
+
+    // Entries of deleted objects, core has nulled their links.
+    std::vector<size_t> unlinked_postings;
+    std::vector<size_t> unlinked_docs;
+    if (changes.all) {
+        for (size_t posting = 0; posting < postings.size(); ++posting) {
+            if (postings.is_null_link(postings_col_object, posting)) {
+                unlinked_postings.push_back(posting);
+            }
+        }
+        for (size_t doc = 0; doc < docs.size(); ++doc) {
+            if (docs.is_null_link(docs_col_object, doc)) {
+                unlinked_docs.push_back(doc);
+            }
+        }
+    }
+    else {
+        for (size_t posting : changes.unlinked[0]) {
+            if (posting < postings.size() && postings.is_null_link(postings_col_object, posting)) {
+                unlinked_postings.push_back(posting);
+            }
+        }
+        for (size_t doc : changes.unlinked[1]) {
+            if (doc < docs.size() && docs.is_null_link(docs_col_object, doc)) {
+                unlinked_docs.push_back(doc);
+            }
+        }
+    }
+    for (size_t posting : unlinked_postings) {
+        emptied_terms.push_back(postings.get_link(postings_col_term, posting));
+    }
+    remove_rows(postings, std::move(unlinked_postings));
+    remove_rows(docs, std::move(unlinked_docs));
+
+    auto update_row = [&](size_t row) {
+        int64_t hash = hash_value(objects.get_string(col, row));
+        size_t doc;
+        if (objects.get_backlink_count(row, docs, docs_col_object) != 0) {
+            doc = objects.get_backlink(row, docs, docs_col_object, 0);
+            if (docs.get_int(docs_col_hash, doc) == hash) {
+                return;
+            }
+            remove_postings(objects, postings, row, emptied_terms);
+        }
+        else {
+            doc = docs.add_empty_row();
+            docs.set_link(docs_col_object, doc, row);
+        }
+        add_postings(*terms, postings, row, tokenize(objects.get_string(col, row)));
+        docs.set_int(docs_col_hash, doc, hash);
+    };
+    const size_t object_count = objects.size();
+    if (changes.all) {
+        for (size_t row = 0; row < object_count; ++row) {
+            update_row(row);
+        }
+    }
+    else {
+        for (size_t row : changes.objects) {
+            if (row < object_count) {
+                update_row(row);
+            }
+        }
+    }
+
+    std::vector<size_t> empty_terms;
+    for (size_t term : emptied_terms) {
+        if (term < terms->size() && terms->get_backlink_count(term, postings, postings_col_term) == 0) {
+            empty_terms.push_back(term);
+        }
+    }
+    remove_rows(*terms, std::move(empty_terms));
+}
+
+std::vector<fulltext::Match> fulltext::search(const Table& postings, const std::vector<std::string>& prefixes,
+                                              size_t object_count)
+{
+    ConstTableRef terms = postings.get_link_target(postings_col_term);
+    std::unordered_map<size_t, double> scores;
+    for (size_t i = 0; i < prefixes.size(); ++i) {
+        std::unordered_map<size_t, double> prefix_scores;
+        // Only the vocabulary is scanned, which is much smaller than the indexed values.
+        TableView matching_terms = terms->where().begins_with(terms_col_token, prefixes[i]).find_all();
+        for (size_t j = 0; j < matching_terms.size(); ++j) {
+            size_t term = matching_terms.get_source_ndx(j);
+            // One posting per object, so their number is the document frequency.
+            const size_t posting_count = terms->get_backlink_count(term, postings, postings_col_term);
+            if (posting_count == 0) {
+                continue;
+            }
+            double idf = std::log(1.0 + static_cast<double>(object_count) / posting_count);
+            for (size_t k = 0; k < posting_count; ++k) {
+                size_t posting = terms->get_backlink(term, postings, postings_col_term, k);
+                // Postings of objects deleted in the current write transaction are only removed when it's committed.
+                if (postings.is_null_link(postings_col_object, posting)) {
+                    continue;
+                }
+                prefix_scores[postings.get_link(postings_col_object, posting)] +=
+                    postings.get_int(postings_col_count, posting) * idf;
+            }
+        }
+
+        // All prefixes have to match.
+        if (i == 0) {
+            scores = std::move(prefix_scores);
+        }
+        else {
+            for (auto it = scores.begin(); it != scores.end();) {
+                auto found = prefix_scores.find(it->first);
+                if (found == prefix_scores.end()) {
+                    it = scores.erase(it);
+                }
+                else {
+                    it->second += found->second;
+                    ++it;
+                }
+            }
+        }
+        if (scores.empty()) {
+            break;
+        }
+    }
+
+    std::vector<Match> matches(scores.begin(), scores.end());
+    std::sort(matches.begin(), matches.end());
+    return matches;
+}
+
+void fulltext::rank_view(TableView& view, const Table& postings, const std::vector<std::string>& prefixes,
+                         size_t offset, size_t limit)
+{
+    const size_t size = view.size();
+    std::vector<Match> matches = search(postings, prefixes, view.get_parent().size());
+    std::vector<Match> rows;
+    rows.reserve(size);
+    for (size_t i = 0; i < size; ++i) {
+        size_t row = view.get_source_ndx(i);
+        // Rows only found through other conditions of the query, e.g. in an or() group, are ranked last.
+        auto it = std::lower_bound(matches.begin(), matches.end(), Match(row, 0.0),
+                                   [](const Match& a, const Match& b) { return a.first < b.first; });
+        rows.emplace_back(row, (it != matches.end() && it->first == row) ? it->second : 0.0);
+    }
+    std::stable_sort(rows.begin(), rows.end(),
+                     [](const Match& a, const Match& b) { return a.second > b.second; });
+
+    const size_t first = std::min(offset, size);
+    const size_t last = (limit < size - first) ? first + limit : size;
+    std::vector<size_t> ranked;
+    ranked.reserve(last - first);
+    for (size_t i = first; i < last; ++i) {
+        ranked.push_back(rows[i].first);
+    }
+    view = RankedView(view, ranked);
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef FULLTEXT_INDEX_HPP
+#define FULLTEXT_INDEX_HPP
+
+#include <string>
+#include <utility>
+#include <vector>
+
+#include <realm.hpp>
+
+#include "index_changes.hpp"
+
+namespace realm {
+
+namespace _impl {
+
+// A full-text index of a String column, see io.realm.internal.FullTextIndex for how its tables are set up.
+//
+// The terms table has one row per distinct token of the indexed column. The postings table has one row per token and
+// object containing it, which links to both and holds the number of occurrences. The postings of a term and those of
+// an object are both found through backlinks, so a single posting is added or removed without scanning a list. Core
+// keeps the links correct when objects are moved and nulls the links to deleted objects.
+//
+// The documents table has one row per indexed object. It stores a hash of the indexed value, so an update only has to
+// tokenize the values that really changed.
+namespace fulltext {
+
+// Columns of the terms table.
+static const size_t terms_col_token = 0;
+
+// Columns of the postings table.
+static const size_t postings_col_term = 0;
+static const size_t postings_col_object = 1;
+static const size_t postings_col_count = 2;
+
+// Columns of the documents table.
+static const size_t docs_col_object = 0;
+static const size_t docs_col_hash = 1;
+
+// Longer tokens are cut off at a character boundary.
+static const size_t max_token_size = 64;
+
+// Splits the value into lower-cased tokens. Letters and digits form tokens, everything else separates them. All
+// non-ASCII characters are treated as letters.
+std::vector<std::string> tokenize(StringData value);
+
+// Brings the index up to date with the changes of the current write transaction, see collect_index_changes(). Only
+// the changed objects are looked at, and those whose value is the same as before only cost a hash of the value.
+void update(Table& objects, size_t col, Table& postings, Table& docs, const IndexChanges& changes);
+
+// Returns the changes update() has to look at.
+IndexChanges collect_changes(const Group& group, const Table& objects, size_t col, const Table& postings,
+                             const Table& docs);
+
+// A matching object and its relevance.
+typedef std::pair<size_t, double> Match;
+
+// Finds the objects which have a token starting with each of the prefixes. The relevance of an object is the sum of
+// the term frequencies of the matching tokens, each weighted by the inverse document frequency of the token. The
+// matches are ordered by object row index.
+std::vector<Match> search(const Table& postings, const std::vector<std::string>& prefixes, size_t object_count);
+
+// Orders the rows of the view by descending relevance for the prefixes and keeps `limit` rows starting at `offset`.
+// Rows with the same relevance keep their order. The view must be in sync.
+void rank_view(TableView& view, const Table& postings, const std::vector<std::string>& prefixes, size_t offset,
+               size_t limit);
+
+} // namespace fulltext
+
+} // namespace _impl
+
+} // namespace realm
+
+#endif // FULLTEXT_INDEX_HPP
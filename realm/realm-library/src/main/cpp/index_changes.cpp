@@ -0,0 +1,400 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include "index_changes.hpp"
+
+#include <algorithm>
+#include <functional>
+#include <set>
+
+#include <realm/impl/input_stream.hpp>
+#include <realm/impl/transact_log.hpp>
+#include <realm/replication.hpp>
+
+using namespace realm;
+using namespace realm::_impl;
+
+namespace {
+
+// Marked rows of a table which follow their row when rows are inserted, erased or swapped by later instructions.
+class RowMarks {
+public:
+    void mark(size_t row)
+    {
+        m_rows.insert(row);
+    }
+
+    void mark(size_t row, size_t count)
+    {
+        for (size_t i = 0; i < count; ++i) {
+            m_rows.insert(row + i);
+        }
+    }
+
+    // Returns false if the rows can't be followed.
+    bool insert(size_t row, size_t count, size_t prior_size, bool unordered)
+    {
+        if (row == prior_size) {
+            return true;
+        }
+        if (unordered) {
+            return false;
+        }
+        shift(row, count, true);
+        return true;
+    }
+
+    // Returns false if the rows can't be followed.
+    bool erase(size_t row, size_t count, size_t prior_size, bool unordered)
+    {
+        if (unordered) {
+            if (count != 1) {
+                return false;
+            }
+            // move_last_over()
+            m_rows.erase(row);
+            size_t last = prior_size - 1;
+            if (last != row && m_rows.erase(last) != 0) {
+                m_rows.insert(row);
+            }
+            return true;
+        }
+        m_rows.erase(m_rows.lower_bound(row), m_rows.lower_bound(row + count));
+        shift(row + count, count, false);
+        return true;
+    }
+
+    void swap(size_t row_1, size_t row_2)
+    {
+        bool marked_1 = m_rows.erase(row_1) != 0;
+        bool marked_2 = m_rows.erase(row_2) != 0;
+        if (marked_1) {
+            m_rows.insert(row_2);
+        }
+        if (marked_2) {
+            m_rows.insert(row_1);
+        }
+    }
+
+    std::vector<size_t> rows() const
+    {
+        return std::vector<size_t>(m_rows.begin(), m_rows.end());
+    }
+
+private:
+    // Moves the marks of all rows from the given one on up or down by count.
+    void shift(size_t from, size_t count, bool up)
+    {
+        std::set<size_t> shifted(m_rows.begin(), m_rows.lower_bound(from));
+        for (auto it = m_rows.lower_bound(from); it != m_rows.end(); ++it) {
+            shifted.insert(up ? *it + count : *it - count);
+        }
+        m_rows.swap(shifted);
+    }
+
+    std::set<size_t> m_rows;
+};
+
+// Replays the transaction log and marks the rows of the object table whose value was set and the rows of the link
+// tables whose link was nulled. Everything that would move the tracked tables or columns makes all rows changed.
+class ChangeCollector : public NullInstructionObserver {
+public:
+    ChangeCollector(size_t objects_ndx, size_t col, std::vector<std::pair<size_t, size_t>> links)
+        : m_objects_ndx(objects_ndx)
+        , m_col(col)
+        , m_links(std::move(links))
+        , m_link_marks(m_links.size())
+    {
+    }
+
+    IndexChanges get_changes() const
+    {
+        IndexChanges changes;
+        changes.all = m_all;
+        if (!m_all) {
+            changes.objects = m_object_marks.rows();
+            for (const RowMarks& marks : m_link_marks) {
+                changes.unlinked.push_back(marks.rows());
+            }
+        }
+        return changes;
+    }
+
+    void set_all()
+    {
+        m_all = true;
+    }
+
+    bool insert_group_level_table(size_t table_ndx, size_t prior_num_tables, StringData)
+    {
+        if (table_ndx != prior_num_tables) {
+            m_all = true;
+        }
+        return true;
+    }
+
+    bool erase_group_level_table(size_t, size_t)
+    {
+        m_all = true;
+        return true;
+    }
+
+    bool move_group_level_table(size_t, size_t)
+    {
+        m_all = true;
+        return true;
+    }
+
+    bool select_table(size_t group_level_ndx, int levels, const size_t*)
+    {
+        m_selected = none;
+        if (levels != 0) {
+            return true;
+        }
+        if (group_level_ndx == m_objects_ndx) {
+            m_selected = objects;
+            return true;
+        }
+        for (size_t i = 0; i < m_links.size(); ++i) {
+            if (m_links[i].first == group_level_ndx) {
+                m_selected = i;
+            }
+        }
+        return true;
+    }
+
+    bool insert_empty_rows(size_t row_ndx, size_t num_rows, size_t prior_num_rows, bool unordered)
+    {
+        return for_selected([&](RowMarks& marks) {
+            if (!marks.insert(row_ndx, num_rows, prior_num_rows, unordered)) {
+                m_all = true;
+            }
+            if (m_selected == objects) {
+                marks.mark(row_ndx, num_rows);
+            }
+        });
+    }
+
+    bool add_row_with_key(size_t row_ndx, size_t prior_num_rows, size_t, int64_t)
+    {
+        return insert_empty_rows(row_ndx, 1, prior_num_rows, false);
+    }
+
+    bool erase_rows(size_t row_ndx, size_t num_rows, size_t prior_num_rows, bool unordered)
+    {
+        return for_selected([&](RowMarks& marks) {
+            if (!marks.erase(row_ndx, num_rows, prior_num_rows, unordered)) {
+                m_all = true;
+            }
+        });
+    }
+
+    bool swap_rows(size_t row_ndx_1, size_t row_ndx_2)
+    {
+        return for_selected([&](RowMarks& marks) {
+            marks.swap(row_ndx_1, row_ndx_2);
+        });
+    }
+
+    bool move_row(size_t, size_t)
+    {
+        return for_selected([&](RowMarks&) {
+            m_all = true;
+        });
+    }
+
+    bool merge_rows(size_t, size_t new_row_ndx)
+    {
+        if (m_selected == objects) {
+            m_object_marks.mark(new_row_ndx);
+        }
+        return true;
+    }
+
+    bool clear_table(size_t)
+    {
+        return for_selected([&](RowMarks&) {
+            m_all = true;
+        });
+    }
+
+    bool set_string(size_t col_ndx, size_t row_ndx, StringData, Instruction, size_t)
+    {
+        return mark_value(col_ndx, row_ndx);
+    }
+
+    bool set_string_unique(size_t col_ndx, size_t row_ndx, size_t, StringData)
+    {
+        return mark_value(col_ndx, row_ndx);
+    }
+
+    bool set_null(size_t col_ndx, size_t row_ndx, Instruction, size_t)
+    {
+        mark_value(col_ndx, row_ndx);
+        return mark_unlinked(col_ndx, row_ndx);
+    }
+
+    bool insert_substring(size_t col_ndx, size_t row_ndx, size_t, StringData)
+    {
+        return mark_value(col_ndx, row_ndx);
+    }
+
+    bool erase_substring(size_t col_ndx, size_t row_ndx, size_t, size_t)
+    {
+        return mark_value(col_ndx, row_ndx);
+    }
+
+    bool set_link(size_t col_ndx, size_t row_ndx, size_t target_row_ndx, size_t, Instruction)
+    {
+        if (target_row_ndx == realm::npos) {
+            mark_unlinked(col_ndx, row_ndx);
+        }
+        return true;
+    }
+
+    bool nullify_link(size_t col_ndx, size_t row_ndx, size_t)
+    {
+        return mark_unlinked(col_ndx, row_ndx);
+    }
+
+    bool insert_column(size_t, DataType, StringData, bool)
+    {
+        return change_columns();
+    }
+
+    bool insert_link_column(size_t, DataType, StringData, size_t, size_t)
+    {
+        return change_columns();
+    }
+
+    bool erase_column(size_t)
+    {
+        return change_columns();
+    }
+
+    bool erase_link_column(size_t, size_t, size_t)
+    {
+        return change_columns();
+    }
+
+    bool move_column(size_t, size_t)
+    {
+        return change_columns();
+    }
+
+private:
+    static const size_t none = size_t(-1);
+    static const size_t objects = size_t(-2);
+
+    bool for_selected(const std::function<void(RowMarks&)>& handler)
+    {
+        if (m_selected == objects) {
+            handler(m_object_marks);
+        }
+        else if (m_selected != none) {
+            handler(m_link_marks[m_selected]);
+        }
+        return true;
+    }
+
+    bool mark_value(size_t col_ndx, size_t row_ndx)
+    {
+        if (m_selected == objects && col_ndx == m_col) {
+            m_object_marks.mark(row_ndx);
+        }
+        return true;
+    }
+
+    bool mark_unlinked(size_t col_ndx, size_t row_ndx)
+    {
+        if (m_selected != none && m_selected != objects && col_ndx == m_links[m_selected].second) {
+            m_link_marks[m_selected].mark(row_ndx);
+        }
+        return true;
+    }
+
+    bool change_columns()
+    {
+        if (m_selected != none) {
+            m_all = true;
+        }
+        return true;
+    }
+
+    const size_t m_objects_ndx;
+    const size_t m_col;
+    const std::vector<std::pair<size_t, size_t>> m_links;
+    size_t m_selected = none;
+    bool m_all = false;
+    RowMarks m_object_marks;
+    std::vector<RowMarks> m_link_marks;
+};
+
+} // anonymous namespace
+
+int64_t _impl::hash_value(StringData value)
+{
+    if (value.is_null()) {
+        return 0;
+    }
+    // FNV-1a, 0 is reserved for null.
+    uint64_t hash = 14695981039346656037ULL;
+    const char* data = value.data();
+    for (size_t i = 0; i < value.size(); ++i) {
+        hash = (hash ^ static_cast<unsigned char>(data[i])) * 1099511628211ULL;
+    }
+    return (hash == 0) ? 1 : static_cast<int64_t>(hash);
+}
+
+IndexChanges _impl::collect_index_changes(const Group& group, const Table& objects, size_t col,
+                                          const std::vector<IndexLink>& links)
+{
+    std::vector<std::pair<size_t, size_t>> link_ndxs;
+    for (const IndexLink& link : links) {
+        link_ndxs.emplace_back(link.first->get_index_in_group(), link.second);
+    }
+    ChangeCollector collector(objects.get_index_in_group(), col, std::move(link_ndxs));
+
+    // Only histories which keep the changes of the current transaction in memory can be replayed, everything has to
+    // be checked otherwise.
+    auto history = dynamic_cast<TrivialReplication*>(GroupFriend::get_replication(group));
+    if (!history) {
+        collector.set_all();
+        return collector.get_changes();
+    }
+    BinaryData log = history->get_uncommitted_changes();
+    SimpleInputStream in(log.data(), log.size());
+    try {
+        TransactLogParser parser;
+        parser.parse(in, collector);
+    }
+    catch (const TransactLogParser::BadTransactLog&) {
+        collector.set_all();
+    }
+    return collector.get_changes();
+}
+
+void _impl::remove_rows(Table& table, std::vector<size_t> rows)
+{
+    // Removed from the end, so the rows moved by move_last_over() aren't among the ones still to be removed.
+    std::sort(rows.begin(), rows.end(), std::greater<size_t>());
+    rows.erase(std::unique(rows.begin(), rows.end()), rows.end());
+    for (size_t row : rows) {
+        if (row < table.size()) {
+            table.move_last_over(row);
+        }
+    }
+}
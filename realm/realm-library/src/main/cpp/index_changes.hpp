@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef INDEX_CHANGES_HPP
+#define INDEX_CHANGES_HPP
+
+#include <utility>
+#include <vector>
+
+#include <realm.hpp>
+
+namespace realm {
+
+namespace _impl {
+
+// Helpers shared by the indexes which are kept in tables of their own and brought up to date when a write transaction
+// is committed, see fulltext_index.hpp.
+
+// The hash of a value which the indexes store for each object, so an update can tell if the value of a changed row
+// differs from the indexed one. 0 is reserved for null.
+int64_t hash_value(StringData value);
+
+// The rows an index of a String column has to look at to catch up with the current write transaction.
+struct IndexChanges {
+    // The changes couldn't be followed, e.g. because tables or columns were inserted or moved, so all rows have to be
+    // checked.
+    bool all = false;
+
+    // The rows of the object table which were added or had their value set, in increasing order.
+    std::vector<size_t> objects;
+
+    // For each link column passed to collect_index_changes(), the rows whose link was nulled because the object they
+    // pointed to was deleted, in increasing order.
+    std::vector<std::vector<size_t>> unlinked;
+};
+
+// The table and column of a link from a table of the index to the object table.
+typedef std::pair<const Table*, size_t> IndexLink;
+
+// Reads the changes to the column and the links from the transaction log of the current write transaction. The cost
+// only depends on the size of the transaction, not on the size of the tables. The row indices are the ones at the end
+// of the transaction, rows moved by later deletions keep their mark.
+IndexChanges collect_index_changes(const Group& group, const Table& objects, size_t col,
+                                   const std::vector<IndexLink>& links);
+
+// Removes the rows with move_last_over(). The rows may be unsorted and contain duplicates.
+void remove_rows(Table& table, std::vector<size_t> rows);
+
+} // namespace _impl
+
+} // namespace realm
+
+#endif // INDEX_CHANGES_HPP
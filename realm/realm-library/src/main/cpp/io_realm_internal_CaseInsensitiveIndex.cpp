@@ -0,0 +1,54 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include "io_realm_internal_CaseInsensitiveIndex.h"
+#include "casefold_index.hpp"
+#include "shared_realm.hpp"
+#include "util.hpp"
+
+using namespace realm;
+
+JNIEXPORT void JNICALL Java_io_realm_internal_CaseInsensitiveIndex_nativeUpdate
+  (JNIEnv* env, jclass, jlong nativeSharedRealmPtr, jlong nativeTablePtr, jlong columnIndex,
+   jlong nativeKeysTablePtr)
+{
+    TR_ENTER_PTR(nativeTablePtr)
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_String)) {
+        return;
+    }
+    try {
+        auto shared_realm = *(reinterpret_cast<SharedRealm*>(nativeSharedRealmPtr));
+        Table& objects = *TBL(nativeTablePtr);
+        Table& keys = *TBL(nativeKeysTablePtr);
+        _impl::IndexChanges changes = _impl::casefold::collect_changes(shared_realm->read_group(), objects,
+                                                                      S(columnIndex), keys);
+        _impl::casefold::update(objects, S(columnIndex), keys, changes);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_CaseInsensitiveIndex_nativeUpdateAll
+  (JNIEnv* env, jclass, jlong nativeTablePtr, jlong columnIndex, jlong nativeKeysTablePtr)
+{
+    TR_ENTER_PTR(nativeTablePtr)
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_String)) {
+        return;
+    }
+    try {
+        _impl::IndexChanges changes;
+        changes.all = true;
+        _impl::casefold::update(*TBL(nativeTablePtr), S(columnIndex), *TBL(nativeKeysTablePtr), changes);
+    } CATCH_STD()
+}
@@ -119,6 +119,16 @@ JNIEXPORT jstring JNICALL Java_io_realm_internal_CheckedRow_nativeGetString
     return Java_io_realm_internal_UncheckedRow_nativeGetString(env, obj, nativeRowPtr, columnIndex);
 }
 
+JNIEXPORT jstring JNICALL Java_io_realm_internal_CheckedRow_nativeGetInternedString
+  (JNIEnv* env, jobject obj, jlong nativeRowPtr, jlong columnIndex, jlong nativeCachePtr)
+{
+    if (!ROW_AND_COL_INDEX_AND_TYPE_VALID(env, ROW(nativeRowPtr), columnIndex, type_String))
+        return 0;
+
+    return Java_io_realm_internal_UncheckedRow_nativeGetInternedString(env, obj, nativeRowPtr, columnIndex,
+                                                                       nativeCachePtr);
+}
+
 JNIEXPORT jbyteArray JNICALL Java_io_realm_internal_CheckedRow_nativeGetByteArray
   (JNIEnv* env, jobject obj, jlong nativeRowPtr, jlong columnIndex)
 {
@@ -128,6 +138,35 @@ JNIEXPORT jbyteArray JNICALL Java_io_realm_internal_CheckedRow_nativeGetByteArra
     return Java_io_realm_internal_UncheckedRow_nativeGetByteArray(env, obj, nativeRowPtr, columnIndex);
 }
 
+JNIEXPORT jobject JNICALL Java_io_realm_internal_CheckedRow_nativeGetByteBuffer
+  (JNIEnv* env, jobject obj, jlong nativeRowPtr, jlong columnIndex)
+{
+    if (!ROW_AND_COL_INDEX_AND_TYPE_VALID(env, ROW(nativeRowPtr), columnIndex, type_Binary))
+        return 0;
+
+    return Java_io_realm_internal_UncheckedRow_nativeGetByteBuffer(env, obj, nativeRowPtr, columnIndex);
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_CheckedRow_nativeGetBinarySize
+  (JNIEnv* env, jobject obj, jlong nativeRowPtr, jlong columnIndex)
+{
+    if (!ROW_AND_COL_INDEX_AND_TYPE_VALID(env, ROW(nativeRowPtr), columnIndex, type_Binary))
+        return 0;
+
+    return Java_io_realm_internal_UncheckedRow_nativeGetBinarySize(env, obj, nativeRowPtr, columnIndex);
+}
+
+JNIEXPORT jint JNICALL Java_io_realm_internal_CheckedRow_nativeReadBinary
+  (JNIEnv* env, jobject obj, jlong nativeRowPtr, jlong columnIndex, jlong position, jbyteArray buffer, jint offset,
+   jint length)
+{
+    if (!ROW_AND_COL_INDEX_AND_TYPE_VALID(env, ROW(nativeRowPtr), columnIndex, type_Binary))
+        return 0;
+
+    return Java_io_realm_internal_UncheckedRow_nativeReadBinary(env, obj, nativeRowPtr, columnIndex, position,
+                                                                buffer, offset, length);
+}
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_CheckedRow_nativeGetLink
   (JNIEnv* env, jobject obj, jlong nativeRowPtr, jlong columnIndex)
 {
@@ -218,6 +257,16 @@ JNIEXPORT void JNICALL Java_io_realm_internal_CheckedRow_nativeSetByteArray
     Java_io_realm_internal_UncheckedRow_nativeSetByteArray(env, obj, nativeRowPtr, columnIndex, value);
 }
 
+JNIEXPORT void JNICALL Java_io_realm_internal_CheckedRow_nativeSetByteBuffer
+  (JNIEnv* env, jobject obj, jlong nativeRowPtr, jlong columnIndex, jobject buffer, jint position, jint length)
+{
+    if (!ROW_AND_COL_INDEX_AND_TYPE_VALID(env, ROW(nativeRowPtr), columnIndex, type_Binary))
+        return;
+
+    Java_io_realm_internal_UncheckedRow_nativeSetByteBuffer(env, obj, nativeRowPtr, columnIndex, buffer, position,
+                                                            length);
+}
+
 JNIEXPORT void JNICALL Java_io_realm_internal_CheckedRow_nativeSetLink
   (JNIEnv* env, jobject obj, jlong nativeRowPtr, jlong columnIndex, jlong value)
 {
@@ -226,6 +226,31 @@ Java_io_realm_internal_SharedRealm_nativeRefresh__JJJ(JNIEnv *env, jclass, jlong
     } CATCH_STD()
 }
 
+JNIEXPORT void JNICALL
+Java_io_realm_internal_SharedRealm_nativeBeginReadAt(JNIEnv *env, jclass, jlong shared_realm_ptr, jlong version,
+        jlong index)
+{
+    TR_ENTER_PTR(shared_realm_ptr)
+
+    auto shared_realm = *(reinterpret_cast<SharedRealm*>(shared_realm_ptr));
+    SharedGroup::VersionID version_id(static_cast<SharedGroup::version_type>(version),
+                                     static_cast<uint32_t>(index));
+    try {
+        if (shared_realm->is_in_transaction()) {
+            ThrowException(env, IllegalState, "Cannot move to another version inside of a transaction.");
+            return;
+        }
+        // Make sure the read transaction has been started before ending it.
+        shared_realm->read_group();
+        using rf = realm::_impl::RealmFriend;
+        auto& shared_group = rf::get_shared_group(*shared_realm);
+        // Unlike advance_read, this can move the SharedGroup to an older version as long as another reader is still
+        // holding that version. SharedGroup::BadVersion will be thrown otherwise.
+        shared_group.end_read();
+        shared_group.begin_read(version_id);
+    } CATCH_STD()
+}
+
 JNIEXPORT jlongArray JNICALL
 Java_io_realm_internal_SharedRealm_nativeGetVersionID(JNIEnv *env, jclass, jlong shared_realm_ptr)
 {
@@ -414,6 +439,34 @@ Java_io_realm_internal_SharedRealm_nativeCompact(JNIEnv *env, jclass, jlong shar
     return JNI_FALSE;
 }
 
+JNIEXPORT jlongArray JNICALL
+Java_io_realm_internal_SharedRealm_nativeGetFileSpace(JNIEnv *env, jclass, jlong shared_realm_ptr)
+{
+    TR_ENTER_PTR(shared_realm_ptr);
+
+    auto shared_realm = *(reinterpret_cast<SharedRealm*>(shared_realm_ptr));
+    try {
+        using rf = realm::_impl::RealmFriend;
+        size_t free_space = 0;
+        size_t used_space = 0;
+        // get_stats() reads the free lists of the current version, which needs a live read transaction. No write is
+        // needed to bring them up to date.
+        shared_realm->read_group();
+        rf::get_shared_group(*shared_realm).get_stats(free_space, used_space);
+
+        jlong values[2] = {static_cast<jlong>(free_space + used_space), static_cast<jlong>(used_space)};
+        jlongArray result = env->NewLongArray(2);
+        if (!result) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory to return file space.");
+            return NULL;
+        }
+        env->SetLongArrayRegion(result, 0, 2, values);
+        return result;
+    } CATCH_STD()
+
+    return NULL;
+}
+
 JNIEXPORT jlong JNICALL
 Java_io_realm_internal_SharedRealm_nativeGetSnapshotVersion(JNIEnv *env, jclass, jlong sharedRealmPtr)
 {
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include "io_realm_internal_StringInternCache.h"
+#include "string_intern_cache.hpp"
+#include "util.hpp"
+
+using namespace realm;
+using namespace realm::_impl;
+
+jstring StringInternCache::get(JNIEnv* env, StringData value)
+{
+    if (value.is_null()) {
+        return NULL;
+    }
+    if (value.size() > max_value_size) {
+        return to_jstring(env, value);
+    }
+
+    std::string key(value.data(), value.size());
+    std::lock_guard<std::mutex> lock(m_mutex);
+    auto it = m_index.find(key);
+    if (it != m_index.end()) {
+        m_lru.splice(m_lru.begin(), m_lru, it->second);
+        return static_cast<jstring>(env->NewLocalRef(it->second->second));
+    }
+
+    jstring local_ref = to_jstring(env, value);
+    if (local_ref == NULL) {
+        return NULL;
+    }
+    jstring global_ref = static_cast<jstring>(env->NewGlobalRef(local_ref));
+    if (global_ref == NULL) {
+        // Out of global references, return the value without caching it.
+        return local_ref;
+    }
+    m_lru.emplace_front(key, global_ref);
+    m_index.emplace(std::move(key), m_lru.begin());
+    if (m_lru.size() > m_max_entries) {
+        env->DeleteGlobalRef(m_lru.back().second);
+        m_index.erase(m_lru.back().first);
+        m_lru.pop_back();
+    }
+    return local_ref;
+}
+
+void StringInternCache::clear(JNIEnv* env)
+{
+    std::lock_guard<std::mutex> lock(m_mutex);
+    for (auto& entry : m_lru) {
+        env->DeleteGlobalRef(entry.second);
+    }
+    m_lru.clear();
+    m_index.clear();
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_StringInternCache_nativeCreate
+  (JNIEnv* env, jclass, jint maxEntries)
+{
+    TR_ENTER()
+    try {
+        return reinterpret_cast<jlong>(new StringInternCache(S(maxEntries)));
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_StringInternCache_nativeClose
+  (JNIEnv* env, jclass, jlong nativeCachePtr)
+{
+    TR_ENTER_PTR(nativeCachePtr)
+    StringInternCache* cache = reinterpret_cast<StringInternCache*>(nativeCachePtr);
+    cache->clear(env);
+    delete cache;
+}
@@ -15,6 +15,7 @@
  */
 
 #include <sstream>
+#include <vector>
 
 #include "util.hpp"
 #include "io_realm_internal_Table.h"
@@ -789,6 +790,311 @@ Java_io_realm_internal_Table_nativeSetNullUnique(JNIEnv *env, jclass, jlong nati
 }
 
 
+//--------------------- Bulk column methods:
+
+// The bulk methods below are used by migrations which rewrite whole columns. They are validated on the Java side
+// (see Table.checkBulkRange()) and only check the column type here, like the single cell setters.
+
+static inline bool is_floating_point_column(JNIEnv* env, Table* table, jlong columnIndex)
+{
+    DataType type = table->get_column_type(S(columnIndex));
+    if (type != type_Float && type != type_Double) {
+        ThrowException(env, IllegalArgument, "ColumnType invalid: expected type_Float or type_Double");
+        return false;
+    }
+    return true;
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetLongValues(
+    JNIEnv* env, jclass, jlong nativeTablePtr, jlong columnIndex, jlong startRow, jlongArray values,
+    jbooleanArray nulls, jint count)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, table, columnIndex, type_Int))
+        return;
+    try {
+        const size_t col = S(columnIndex);
+        const bool nullable = table->is_nullable(col);
+        std::vector<jlong> value_buffer(count);
+        std::vector<jboolean> null_buffer(count, JNI_FALSE);
+        for (jint i = 0; i < count; ++i) {
+            const size_t row = S(startRow) + i;
+            if (nullable && table->is_null(col, row)) {
+                null_buffer[i] = JNI_TRUE;
+                value_buffer[i] = 0;
+            }
+            else {
+                value_buffer[i] = table->get_int(col, row);
+            }
+        }
+        env->SetLongArrayRegion(values, 0, count, value_buffer.data());
+        env->SetBooleanArrayRegion(nulls, 0, count, null_buffer.data());
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetLongValues(
+    JNIEnv* env, jclass, jlong nativeTablePtr, jlong columnIndex, jlong startRow, jlongArray values,
+    jbooleanArray nulls, jint count)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, table, columnIndex, type_Int))
+        return;
+    try {
+        const size_t col = S(columnIndex);
+        std::vector<jlong> value_buffer(count);
+        std::vector<jboolean> null_buffer(count);
+        env->GetLongArrayRegion(values, 0, count, value_buffer.data());
+        env->GetBooleanArrayRegion(nulls, 0, count, null_buffer.data());
+        for (jint i = 0; i < count; ++i) {
+            // Null cells are left untouched.
+            if (!null_buffer[i]) {
+                table->set_int(col, S(startRow) + i, value_buffer[i]);
+            }
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetDoubleValues(
+    JNIEnv* env, jclass, jlong nativeTablePtr, jlong columnIndex, jlong startRow, jdoubleArray values,
+    jbooleanArray nulls, jint count)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_VALID(env, table, columnIndex) || !is_floating_point_column(env, table, columnIndex))
+        return;
+    try {
+        const size_t col = S(columnIndex);
+        const bool nullable = table->is_nullable(col);
+        const bool is_float = table->get_column_type(col) == type_Float;
+        std::vector<jdouble> value_buffer(count);
+        std::vector<jboolean> null_buffer(count, JNI_FALSE);
+        for (jint i = 0; i < count; ++i) {
+            const size_t row = S(startRow) + i;
+            if (nullable && table->is_null(col, row)) {
+                null_buffer[i] = JNI_TRUE;
+                value_buffer[i] = 0;
+            }
+            else {
+                value_buffer[i] = is_float ? table->get_float(col, row) : table->get_double(col, row);
+            }
+        }
+        env->SetDoubleArrayRegion(values, 0, count, value_buffer.data());
+        env->SetBooleanArrayRegion(nulls, 0, count, null_buffer.data());
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDoubleValues(
+    JNIEnv* env, jclass, jlong nativeTablePtr, jlong columnIndex, jlong startRow, jdoubleArray values,
+    jbooleanArray nulls, jint count)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_VALID(env, table, columnIndex) || !is_floating_point_column(env, table, columnIndex))
+        return;
+    try {
+        const size_t col = S(columnIndex);
+        const bool is_float = table->get_column_type(col) == type_Float;
+        std::vector<jdouble> value_buffer(count);
+        std::vector<jboolean> null_buffer(count);
+        env->GetDoubleArrayRegion(values, 0, count, value_buffer.data());
+        env->GetBooleanArrayRegion(nulls, 0, count, null_buffer.data());
+        for (jint i = 0; i < count; ++i) {
+            if (null_buffer[i]) {
+                continue;
+            }
+            if (is_float) {
+                table->set_float(col, S(startRow) + i, static_cast<float>(value_buffer[i]));
+            }
+            else {
+                table->set_double(col, S(startRow) + i, value_buffer[i]);
+            }
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeFillLong(
+    JNIEnv* env, jclass, jlong nativeTablePtr, jlong columnIndex, jlong value)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, table, columnIndex, type_Int))
+        return;
+    try {
+        const size_t size = table->size();
+        for (size_t row = 0; row < size; ++row) {
+            table->set_int(S(columnIndex), row, value);
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeFillBoolean(
+    JNIEnv* env, jclass, jlong nativeTablePtr, jlong columnIndex, jboolean value)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, table, columnIndex, type_Bool))
+        return;
+    try {
+        const size_t size = table->size();
+        for (size_t row = 0; row < size; ++row) {
+            table->set_bool(S(columnIndex), row, B(value));
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeFillFloat(
+    JNIEnv* env, jclass, jlong nativeTablePtr, jlong columnIndex, jfloat value)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, table, columnIndex, type_Float))
+        return;
+    try {
+        const size_t size = table->size();
+        for (size_t row = 0; row < size; ++row) {
+            table->set_float(S(columnIndex), row, value);
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeFillDouble(
+    JNIEnv* env, jclass, jlong nativeTablePtr, jlong columnIndex, jdouble value)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, table, columnIndex, type_Double))
+        return;
+    try {
+        const size_t size = table->size();
+        for (size_t row = 0; row < size; ++row) {
+            table->set_double(S(columnIndex), row, value);
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeFillString(
+    JNIEnv* env, jclass, jlong nativeTablePtr, jlong columnIndex, jstring value)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, table, columnIndex, type_String))
+        return;
+    try {
+        JStringAccessor value2(env, value); // throws
+        const size_t size = table->size();
+        for (size_t row = 0; row < size; ++row) {
+            table->set_string(S(columnIndex), row, value2);
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeFillTimestamp(
+    JNIEnv* env, jclass, jlong nativeTablePtr, jlong columnIndex, jlong timestampValue)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, table, columnIndex, type_Timestamp))
+        return;
+    try {
+        const Timestamp timestamp = from_milliseconds(timestampValue);
+        const size_t size = table->size();
+        for (size_t row = 0; row < size; ++row) {
+            table->set_timestamp(S(columnIndex), row, timestamp);
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeFillByteArray(
+    JNIEnv* env, jclass, jlong nativeTablePtr, jlong columnIndex, jbyteArray dataArray)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, table, columnIndex, type_Binary))
+        return;
+    try {
+        JniByteArray byteAccessor(env, dataArray);
+        const BinaryData data = byteAccessor;
+        const size_t size = table->size();
+        for (size_t row = 0; row < size; ++row) {
+            table->set_binary(S(columnIndex), row, data);
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeFillNull(
+    JNIEnv* env, jclass, jlong nativeTablePtr, jlong columnIndex)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_NULLABLE(env, table, columnIndex))
+        return;
+    try {
+        const size_t size = table->size();
+        for (size_t row = 0; row < size; ++row) {
+            table->set_null(S(columnIndex), row);
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeCopyColumn(
+    JNIEnv* env, jclass, jlong nativeTablePtr, jlong sourceColumnIndex, jlong targetColumnIndex)
+{
+    Table* table = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_VALID(env, table, sourceColumnIndex) ||
+            !TBL_AND_COL_INDEX_VALID(env, table, targetColumnIndex))
+        return;
+    try {
+        const size_t source = S(sourceColumnIndex);
+        const size_t target = S(targetColumnIndex);
+        const DataType type = table->get_column_type(source);
+        if (type != table->get_column_type(target)) {
+            ThrowException(env, IllegalArgument, "Source and target fields must have the same type.");
+            return;
+        }
+        const size_t size = table->size();
+        const bool source_nullable = table->is_nullable(source);
+        // Check for nulls upfront, so a failing copy doesn't leave the column half-written.
+        if (source_nullable && !table->is_nullable(target)) {
+            for (size_t row = 0; row < size; ++row) {
+                if (table->is_null(source, row)) {
+                    ThrowException(env, IllegalArgument, "Cannot copy null values to a required field.");
+                    return;
+                }
+            }
+        }
+
+        for (size_t row = 0; row < size; ++row) {
+            if (source_nullable && table->is_null(source, row)) {
+                table->set_null(target, row);
+                continue;
+            }
+            switch (type) {
+                case type_Int:
+                    table->set_int(target, row, table->get_int(source, row));
+                    break;
+                case type_Bool:
+                    table->set_bool(target, row, table->get_bool(source, row));
+                    break;
+                case type_Float:
+                    table->set_float(target, row, table->get_float(source, row));
+                    break;
+                case type_Double:
+                    table->set_double(target, row, table->get_double(source, row));
+                    break;
+                case type_Timestamp:
+                    table->set_timestamp(target, row, table->get_timestamp(source, row));
+                    break;
+                case type_String: {
+                    // Copy the value first. Writing to the target column may remap the file, invalidating the
+                    // memory the source StringData points to.
+                    const std::string value(table->get_string(source, row));
+                    table->set_string(target, row, StringData(value));
+                    break;
+                }
+                case type_Binary: {
+                    const BinaryData binary = table->get_binary(source, row);
+                    const std::string value(binary.data(), binary.size());
+                    table->set_binary(target, row, BinaryData(value.data(), value.size()));
+                    break;
+                }
+                default:
+                    ThrowException(env, IllegalArgument, "Only fields of primitive types can be copied.");
+                    return;
+            }
+        }
+    } CATCH_STD()
+}
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetRowPtr
   (JNIEnv* env, jobject, jlong nativeTablePtr, jlong index)
 {
@@ -1314,6 +1620,27 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetDistinctView(
 }
 
 
+JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetBacklinkView(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong rowIndex, jlong nativeSrcTablePtr, jlong srcColumnIndex)
+{
+    Table* pTable = TBL(nativeTablePtr);
+    Table* pSrcTable = TBL(nativeSrcTablePtr);
+    if (!ROW_INDEX_VALID(env, pTable, rowIndex) || !TBL_AND_COL_INDEX_VALID(env, pSrcTable, srcColumnIndex)) {
+        return 0;
+    }
+    DataType type = pSrcTable->get_column_type(S(srcColumnIndex));
+    if ((type != type_Link && type != type_LinkList) ||
+            pSrcTable->get_link_target(S(srcColumnIndex)).get() != pTable) {
+        ThrowException(env, IllegalArgument, "The column does not link to the table.");
+        return 0;
+    }
+    try {
+        TableView* pTableView = new TableView(pTable->get_backlink_view(S(rowIndex), pSrcTable, S(srcColumnIndex)));
+        return reinterpret_cast<jlong>(pTableView);
+    } CATCH_STD()
+    return 0;
+}
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetSortedViewMulti(
    JNIEnv *env, jobject, jlong nativeTablePtr, jlongArray columnIndices, jbooleanArray ascending)
 {
@@ -14,14 +14,29 @@
  * limitations under the License.
  */
 
+#include <algorithm>
+#include <functional>
+#include <limits>
+#include <memory>
+#include <queue>
+#include <thread>
+#include <unordered_set>
+
 #include <realm.hpp>
 #include <realm/group_shared.hpp>
+#include <realm/query_expression.hpp>
+#include <realm/unicode.hpp>
 #include <shared_realm.hpp>
 #include <object_store.hpp>
 #include "util.hpp"
+#include "casefold_index.hpp"
+#include "fulltext_index.hpp"
+#include "table_view_limit.hpp"
 #include "io_realm_internal_TableQuery.h"
 
 using namespace realm;
+using realm::_impl::find_top_rows;
+using realm::_impl::RowComparator;
 
 #if 1
 #define QUERY_COL_TYPE_VALID(env, jPtr, col, type)  query_col_type_valid(env, jPtr, col, type)
@@ -65,26 +80,47 @@ JNIEXPORT jstring JNICALL Java_io_realm_internal_TableQuery_nativeValidateQuery
 
 // helper functions
 
-// Return TableRef used for build link queries
-static TableRef getTableForLinkQuery(jlong nativeQueryPtr, JniLongArray& indicesArray) {
+// In the column indices of a link query, a step through a linking objects field is given as two elements: the
+// complement (~) of the link column index in the linking table followed by the native pointer of that table.
+
+// Return TableRef used for build link queries, following the first link_element_count elements
+static TableRef getTableForLinkQuery(jlong nativeQueryPtr, JniLongArray& indicesArray, jsize link_element_count) {
     TableRef table_ref = Q(nativeQueryPtr)->get_table();
-    jsize link_element_count = indicesArray.len() - 1;
     for (int i = 0; i < link_element_count; i++) {
-        table_ref->link(size_t(indicesArray[i]));
+        if (indicesArray[i] < 0) {
+            table_ref->backlink(*TBL(indicesArray[i + 1]), size_t(~indicesArray[i]));
+            i++;
+        }
+        else {
+            table_ref->link(size_t(indicesArray[i]));
+        }
     }
     return table_ref;
 }
 
-// Return TableRef point to original table or the link table
-static TableRef getTableByArray(jlong nativeQueryPtr, JniLongArray& indicesArray) {
+static TableRef getTableForLinkQuery(jlong nativeQueryPtr, JniLongArray& indicesArray) {
+    return getTableForLinkQuery(nativeQueryPtr, indicesArray, indicesArray.len() - 1);
+}
+
+// Return TableRef point to original table or the link table, following the first link_element_count elements
+static TableRef getTableByArray(jlong nativeQueryPtr, JniLongArray& indicesArray, jsize link_element_count) {
     TableRef table_ref = Q(nativeQueryPtr)->get_table();
-    jsize link_element_count = indicesArray.len() - 1;
     for (int i = 0; i < link_element_count; i++) {
-        table_ref = table_ref->get_link_target(size_t(indicesArray[i]));
+        if (indicesArray[i] < 0) {
+            table_ref = TBL(indicesArray[i + 1])->get_table_ref();
+            i++;
+        }
+        else {
+            table_ref = table_ref->get_link_target(size_t(indicesArray[i]));
+        }
     }
     return table_ref;
 }
 
+static TableRef getTableByArray(jlong nativeQueryPtr, JniLongArray& indicesArray) {
+    return getTableByArray(nativeQueryPtr, indicesArray, indicesArray.len() - 1);
+}
+
 static jlong findAllWithHandover(JNIEnv* env, jlong bgSharedRealmPtr, std::unique_ptr<Query> query, jlong start, jlong end, jlong limit)
 {
     TR_ENTER()
@@ -103,6 +139,175 @@ static jlong findAllWithHandover(JNIEnv* env, jlong bgSharedRealmPtr, std::uniqu
     return reinterpret_cast<jlong>(handover.release());
 }
 
+// Matches the rows another query finds from `offset` up to `offset + limit`, see find_top_rows(). Being part of the
+// query of a view, it is run again by core whenever the view is synced. The rows are only searched again if the table
+// has changed since, which includes changes of the tables it links to.
+class FoundRowsExpression : public Expression {
+public:
+    FoundRowsExpression(const Query& query, std::vector<std::vector<size_t>> columns, std::vector<bool> ascendings,
+                        size_t offset, size_t limit)
+        : m_table(query.get_table().get())
+        , m_query(new Query(query))
+        , m_columns(std::move(columns))
+        , m_ascendings(std::move(ascendings))
+        , m_offset(offset)
+        , m_limit(limit)
+    {
+    }
+
+    size_t find_first(size_t start, size_t end) const override
+    {
+        const uint_fast64_t table_version = m_table->get_version_counter();
+        if (!m_rows_valid || table_version != m_rows_table_version) {
+            m_rows = find_top_rows(*m_query, m_columns, m_ascendings, m_offset, m_limit);
+            std::sort(m_rows.begin(), m_rows.end());
+            m_rows_table_version = table_version;
+            m_rows_valid = true;
+        }
+        auto it = std::lower_bound(m_rows.begin(), m_rows.end(), start);
+        return (it != m_rows.end() && *it < end) ? *it : not_found;
+    }
+
+    void set_base_table(const Table* table) override
+    {
+        m_table = table;
+    }
+
+    void verify_column() const override
+    {
+        // The sort keys are checked by ReadSortColumns() before the expression is created.
+    }
+
+    const Table* get_base_table() const override
+    {
+        return m_table;
+    }
+
+    std::unique_ptr<Expression> clone(QueryNodeHandoverPatches* patches) const override
+    {
+        return std::unique_ptr<Expression>(new FoundRowsExpression(*this, patches));
+    }
+
+    void apply_handover_patch(QueryNodeHandoverPatches&, Group& group) override
+    {
+        m_table_ref = Table::create_from_and_consume_patch(m_table_patch, group);
+        m_table = m_table_ref.get();
+        m_query->apply_and_consume_patch(m_query_patch, group);
+    }
+
+private:
+    FoundRowsExpression(const FoundRowsExpression& other, QueryNodeHandoverPatches* patches)
+        : m_table(other.m_table)
+        , m_columns(other.m_columns)
+        , m_ascendings(other.m_ascendings)
+        , m_offset(other.m_offset)
+        , m_limit(other.m_limit)
+    {
+        if (patches) {
+            // The table and the query are resolved again by the SharedGroup the view is handed over to.
+            Table::generate_patch(m_table, m_table_patch);
+            m_query = other.m_query->clone_for_handover(m_query_patch, ConstSourcePayload::Copy);
+            m_table = nullptr;
+        }
+        else {
+            m_query.reset(new Query(*other.m_query));
+            m_rows = other.m_rows;
+            m_rows_table_version = other.m_rows_table_version;
+            m_rows_valid = other.m_rows_valid;
+        }
+    }
+
+    const Table* m_table;
+    TableRef m_table_ref;
+    std::unique_ptr<TableHandoverPatch> m_table_patch;
+    // The query without the limit.
+    std::unique_ptr<Query> m_query;
+    std::unique_ptr<QueryHandoverPatch> m_query_patch;
+    std::vector<std::vector<size_t>> m_columns;
+    std::vector<bool> m_ascendings;
+    size_t m_offset;
+    size_t m_limit;
+
+    // The matching rows in increasing order, found at the given version of the table.
+    mutable std::vector<size_t> m_rows;
+    mutable uint_fast64_t m_rows_table_version = 0;
+    mutable bool m_rows_valid = false;
+};
+
+// Finds `limit` rows starting at `offset`. Core would apply its limit before sorting, so the rows are picked by a
+// FoundRowsExpression and only they are sorted by core. Unsorted queries without an offset use the limit of core, which
+// stops searching once enough rows have been found.
+static TableView find_all_limited(Query& query, size_t offset, size_t limit,
+                                  const std::vector<std::vector<size_t>>& columns, const std::vector<bool>& ascendings)
+{
+    if (columns.empty() && offset == 0) {
+        return query.find_all(0, size_t(-1), limit);
+    }
+    TableRef table = query.get_table();
+    Query limited = table->where();
+    limited.and_query(Query(std::unique_ptr<Expression>(
+        new FoundRowsExpression(query, columns, ascendings, offset, limit))));
+    TableView tableView(limited.find_all());
+    if (!columns.empty()) {
+        tableView.sort(SortDescriptor(*table, columns, ascendings));
+    }
+    return tableView;
+}
+
+static jlong findAllLimitedWithHandover(JNIEnv* env, jlong bgSharedRealmPtr, std::unique_ptr<Query> query,
+                                        jlong offset, jlong limit, jlongArray columnIndices, jbooleanArray ascending)
+{
+    TableRef table = query->get_table();
+    if (!QUERY_VALID(env, query.get())) {
+        return 0;
+    }
+    std::vector<std::vector<size_t>> columns;
+    std::vector<bool> ascendings;
+    if (!ReadSortColumns(env, *table, columnIndices, ascending, columns, ascendings)) {
+        return 0;
+    }
+    TableView tableView(find_all_limited(*query, S(offset), S(limit), columns, ascendings));
+
+    // handover the result
+    auto sharedRealm = *(reinterpret_cast<SharedRealm*>(bgSharedRealmPtr));
+    using rf = realm::_impl::RealmFriend;
+    auto handover = rf::get_shared_group(*sharedRealm).export_for_handover(tableView, MutableSourcePayload::Move);
+    return reinterpret_cast<jlong>(handover.release());
+}
+
+// Finds all matches and orders them by relevance for the full-text search, see fulltext::rank_view().
+static TableView find_all_ranked(JNIEnv* env, Query& query, const Table& postings, jstring terms, jlong offset,
+                                 jlong limit)
+{
+    JStringAccessor accessor(env, terms); // throws
+    TableView tableView(query.find_all());
+    _impl::fulltext::rank_view(tableView, postings, _impl::fulltext::tokenize(StringData(accessor)), S(offset),
+                               S(limit));
+    return tableView;
+}
+
+// The rows are ranked by the worker, so the caller thread only has to import the view.
+static jlong findAllRankedWithHandover(JNIEnv* env, jlong bgSharedRealmPtr, std::unique_ptr<Query> query,
+                                       jstring postingsTableName, jstring terms, jlong offset, jlong limit)
+{
+    if (!QUERY_VALID(env, query.get())) {
+        return 0;
+    }
+    auto sharedRealm = *(reinterpret_cast<SharedRealm*>(bgSharedRealmPtr));
+    JStringAccessor table_name(env, postingsTableName); // throws
+    TableRef postings = sharedRealm->read_group().get_table(StringData(table_name));
+    if (!postings) {
+        ThrowException(env, IllegalState, "The full-text index has been removed.");
+        return 0;
+    }
+    TableView tableView(find_all_ranked(env, *query, *postings, terms, offset, limit));
+
+    // handover the result
+    using rf = realm::_impl::RealmFriend;
+    auto handover = rf::get_shared_group(*sharedRealm).export_for_handover(tableView, MutableSourcePayload::Move);
+    return reinterpret_cast<jlong>(handover.release());
+}
+
 static jlong getDistinctViewWithHandover
         (JNIEnv *env, jlong bgSharedRealmPtr, std::unique_ptr<Query> query, jlong columnIndex)
 {
@@ -175,23 +380,14 @@ static jlong findAllSortedWithHandover
 static jlong findAllMultiSortedWithHandover
         (JNIEnv *env, jlong bgSharedRealmPtr, std::unique_ptr<Query> query, jlong start, jlong end, jlong limit, jlongArray columnIndices, jbooleanArray ascending)
 {
-    JniLongArray long_arr(env, columnIndices);
-    JniBooleanArray bool_arr(env, ascending);
-    jsize arr_len = long_arr.len();
-    jsize asc_len = bool_arr.len();
-
-    if (arr_len == 0) {
+    if (columnIndices == NULL || env->GetArrayLength(columnIndices) == 0) {
         ThrowException(env, IllegalArgument, "You must provide at least one field name.");
         return 0;
     }
-    if (asc_len == 0) {
+    if (ascending == NULL || env->GetArrayLength(ascending) == 0) {
         ThrowException(env, IllegalArgument, "You must provide at least one sort order.");
         return 0;
     }
-    if (arr_len != asc_len) {
-        ThrowException(env, IllegalArgument, "Number of fields and sort orders do not match.");
-        return 0;
-    }
 
     TableRef table = query->get_table();
 
@@ -199,33 +395,17 @@ static jlong findAllMultiSortedWithHandover
         return 0;
     }
 
-    // run the query
-    TableView tableView( query->find_all(S(start), S(end), S(limit)) );
-
-    // sorting the results
+    // sort keys can follow links, so they are read before the query runs
     std::vector<std::vector<size_t>> indices;
     std::vector<bool> ascendings;
-    for (int i = 0; i < arr_len; ++i) {
-        if (!COL_INDEX_VALID(env, &tableView, long_arr[i])) {
-            return -1;
-        }
-        int colType = tableView.get_column_type( S(long_arr[i]) );
-        switch (colType) {
-            case type_Bool:
-            case type_Int:
-            case type_Float:
-            case type_Double:
-            case type_String:
-            case type_Timestamp:
-                indices.push_back(std::vector<size_t> { S(long_arr[i]) });
-                ascendings.push_back( B(bool_arr[i]) );
-                break;
-            default:
-                ThrowException(env, IllegalArgument, ERR_SORT_NOT_SUPPORTED);
-                return 0;
-        }
+    if (!ReadSortColumns(env, *table, columnIndices, ascending, indices, ascendings)) {
+        return 0;
     }
 
+    // run the query
+    TableView tableView( query->find_all(S(start), S(end), S(limit)) );
+
+    // sorting the results
     tableView.sort(SortDescriptor(*table, indices, ascendings));
 
     // handover the result
@@ -266,6 +446,100 @@ Query numeric_link_lessequal(TableRef tbl, jlong columnIndex, javatype value) {
 }
 
 
+// List aggregates, see TableQuery.LIST_AGGREGATE_COUNT. "list.@count" ends with the count marker, the other markers
+// are followed by the column of the objects in the list.
+static constexpr jlong list_aggregate_count = std::numeric_limits<jlong>::min();
+static constexpr jlong list_aggregate_sum = list_aggregate_count + 1;
+static constexpr jlong list_aggregate_min = list_aggregate_count + 2;
+static constexpr jlong list_aggregate_max = list_aggregate_count + 3;
+static constexpr jlong list_aggregate_average = list_aggregate_count + 4;
+
+// Returns the marker of the list aggregate compared by the condition, or 0 if there is none.
+static jlong getListAggregate(JniLongArray& arr) {
+    jsize arr_len = arr.len();
+    if (arr_len >= 2 && arr[arr_len - 1] == list_aggregate_count) {
+        return list_aggregate_count;
+    }
+    if (arr_len >= 3 && arr[arr_len - 2] > list_aggregate_count && arr[arr_len - 2] <= list_aggregate_average) {
+        return arr[arr_len - 2];
+    }
+    return 0;
+}
+
+struct CompareEqual {
+    template <class L, class R> Query operator()(L& left, R right) const { return left == right; }
+};
+struct CompareNotEqual {
+    template <class L, class R> Query operator()(L& left, R right) const { return left != right; }
+};
+struct CompareGreater {
+    template <class L, class R> Query operator()(L& left, R right) const { return left > right; }
+};
+struct CompareGreaterEqual {
+    template <class L, class R> Query operator()(L& left, R right) const { return left >= right; }
+};
+struct CompareLess {
+    template <class L, class R> Query operator()(L& left, R right) const { return left < right; }
+};
+struct CompareLessEqual {
+    template <class L, class R> Query operator()(L& left, R right) const { return left <= right; }
+};
+
+template <typename Compare, typename SubColumn, typename cpptype>
+static Query list_subcolumn_compare(SubColumn column, jlong aggregate, cpptype value) {
+    Compare compare;
+    switch (aggregate) {
+        case list_aggregate_sum: {
+            auto sum = column.sum();
+            return compare(sum, value);
+        }
+        case list_aggregate_min: {
+            auto min = column.min();
+            return compare(min, value);
+        }
+        case list_aggregate_max: {
+            auto max = column.max();
+            return compare(max, value);
+        }
+        default: {
+            auto average = column.average();
+            return compare(average, value);
+        }
+    }
+}
+
+// Compares an aggregate of the objects in a list, e.g. "items.@sum.price", which is evaluated by core for each row.
+template <typename Compare, typename cpptype>
+static Query list_aggregate_query(jlong nativeQueryPtr, JniLongArray& arr, cpptype value) {
+    jsize arr_len = arr.len();
+    jlong aggregate = getListAggregate(arr);
+    jsize list_index = (aggregate == list_aggregate_count) ? arr_len - 2 : arr_len - 3;
+    size_t list_col = S(arr[list_index]);
+    TableRef list_table = getTableByArray(nativeQueryPtr, arr, list_index);
+    if (list_table->get_column_type(list_col) != type_LinkList) {
+        throw std::invalid_argument("List aggregates can only be applied to a RealmList.");
+    }
+    TableRef target_table = list_table->get_link_target(list_col);
+
+    auto list = getTableForLinkQuery(nativeQueryPtr, arr, list_index)->column<LinkList>(list_col);
+    if (aggregate == list_aggregate_count) {
+        auto count = list.count();
+        return Compare()(count, value);
+    }
+    size_t col = S(arr[arr_len - 1]);
+    switch (target_table->get_column_type(col)) {
+        case type_Int:
+            return list_subcolumn_compare<Compare>(list.column<Int>(col), aggregate, value);
+        case type_Float:
+            return list_subcolumn_compare<Compare>(list.column<Float>(col), aggregate, value);
+        case type_Double:
+            return list_subcolumn_compare<Compare>(list.column<Double>(col), aggregate, value);
+        default:
+            throw std::invalid_argument("List aggregates only work on integer, float and double fields.");
+    }
+}
+
+
 // Integer
 
 JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeEqual__J_3JJ(
@@ -280,6 +554,9 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeEqual__J_3JJ(
             }
             Q(nativeQueryPtr)->equal(S(arr[0]), static_cast<int64_t>(value));
         }
+        else if (getListAggregate(arr) != 0) {
+            Q(nativeQueryPtr)->and_query(list_aggregate_query<CompareEqual>(nativeQueryPtr, arr, static_cast<int64_t>(value)));
+        }
         else {
             TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
             Q(nativeQueryPtr)->and_query(numeric_link_equal<Int, int64_t, jlong>(table_ref, arr[arr_len-1], value));
@@ -299,6 +576,9 @@ JNIEXPORT void JNICALL JNICALL Java_io_realm_internal_TableQuery_nativeNotEqual_
             }
             Q(nativeQueryPtr)->not_equal(S(arr[0]), static_cast<int64_t>(value));
         }
+        else if (getListAggregate(arr) != 0) {
+            Q(nativeQueryPtr)->and_query(list_aggregate_query<CompareNotEqual>(nativeQueryPtr, arr, static_cast<int64_t>(value)));
+        }
         else {
             TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
             Q(nativeQueryPtr)->and_query(numeric_link_notequal<Int, int64_t, jlong>(table_ref, arr[arr_len-1], value));
@@ -318,6 +598,9 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeGreater__J_3JJ(
             }
             Q(nativeQueryPtr)->greater(S(arr[0]), static_cast<int64_t>(value));
         }
+        else if (getListAggregate(arr) != 0) {
+            Q(nativeQueryPtr)->and_query(list_aggregate_query<CompareGreater>(nativeQueryPtr, arr, static_cast<int64_t>(value)));
+        }
         else {
             TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
             Q(nativeQueryPtr)->and_query(numeric_link_greater<Int, int64_t, jlong>(table_ref, arr[arr_len-1], value));
@@ -337,6 +620,9 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeGreaterEqual__J_3
             }
             Q(nativeQueryPtr)->greater_equal(S(arr[0]), static_cast<int64_t>(value));
         }
+        else if (getListAggregate(arr) != 0) {
+            Q(nativeQueryPtr)->and_query(list_aggregate_query<CompareGreaterEqual>(nativeQueryPtr, arr, static_cast<int64_t>(value)));
+        }
         else {
             TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
             Q(nativeQueryPtr)->and_query(numeric_link_greaterequal<Int, int64_t, jlong>(table_ref, arr[arr_len-1], value));
@@ -356,6 +642,9 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeLess__J_3JJ(
             }
             Q(nativeQueryPtr)->less(S(arr[0]), static_cast<int64_t>(value));
         }
+        else if (getListAggregate(arr) != 0) {
+            Q(nativeQueryPtr)->and_query(list_aggregate_query<CompareLess>(nativeQueryPtr, arr, static_cast<int64_t>(value)));
+        }
         else {
             TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
             Q(nativeQueryPtr)->and_query(numeric_link_less<Int, int64_t, jlong>(table_ref, arr[arr_len-1], value));
@@ -375,6 +664,9 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeLessEqual__J_3JJ(
             }
             Q(nativeQueryPtr)->less_equal(S(arr[0]), static_cast<int64_t>(value));
         }
+        else if (getListAggregate(arr) != 0) {
+            Q(nativeQueryPtr)->and_query(list_aggregate_query<CompareLessEqual>(nativeQueryPtr, arr, static_cast<int64_t>(value)));
+        }
         else {
             TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
             Q(nativeQueryPtr)->and_query(numeric_link_lessequal<Int, int64_t, jlong>(table_ref, arr[arr_len-1], value));
@@ -414,6 +706,9 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeEqual__J_3JF(
             }
             Q(nativeQueryPtr)->equal(S(arr[0]), static_cast<float>(value));
         }
+        else if (getListAggregate(arr) != 0) {
+            Q(nativeQueryPtr)->and_query(list_aggregate_query<CompareEqual>(nativeQueryPtr, arr, static_cast<float>(value)));
+        }
         else {
             TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
             Q(nativeQueryPtr)->and_query(numeric_link_equal<Float, float, jfloat>(table_ref, arr[arr_len-1], value));
@@ -433,6 +728,9 @@ JNIEXPORT void JNICALL JNICALL Java_io_realm_internal_TableQuery_nativeNotEqual_
             }
             Q(nativeQueryPtr)->not_equal(S(arr[0]), static_cast<float>(value));
         }
+        else if (getListAggregate(arr) != 0) {
+            Q(nativeQueryPtr)->and_query(list_aggregate_query<CompareNotEqual>(nativeQueryPtr, arr, static_cast<float>(value)));
+        }
         else {
             TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
             Q(nativeQueryPtr)->and_query(numeric_link_notequal<Float, float, jfloat>(table_ref, arr[arr_len-1], value));
@@ -452,6 +750,9 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeGreater__J_3JF(
             }
             Q(nativeQueryPtr)->greater(S(arr[0]), static_cast<float>(value));
         }
+        else if (getListAggregate(arr) != 0) {
+            Q(nativeQueryPtr)->and_query(list_aggregate_query<CompareGreater>(nativeQueryPtr, arr, static_cast<float>(value)));
+        }
         else {
             TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
             Q(nativeQueryPtr)->and_query(numeric_link_greater<Float, float, jfloat>(table_ref, arr[arr_len-1], value));
@@ -471,6 +772,9 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeGreaterEqual__J_3
             }
             Q(nativeQueryPtr)->greater_equal(S(arr[0]), static_cast<float>(value));
         }
+        else if (getListAggregate(arr) != 0) {
+            Q(nativeQueryPtr)->and_query(list_aggregate_query<CompareGreaterEqual>(nativeQueryPtr, arr, static_cast<float>(value)));
+        }
         else {
             TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
             Q(nativeQueryPtr)->and_query(numeric_link_greaterequal<Float, float, jfloat>(table_ref, arr[arr_len-1], value));
@@ -490,6 +794,9 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeLess__J_3JF(
             }
             Q(nativeQueryPtr)->less(S(arr[0]), static_cast<float>(value));
         }
+        else if (getListAggregate(arr) != 0) {
+            Q(nativeQueryPtr)->and_query(list_aggregate_query<CompareLess>(nativeQueryPtr, arr, static_cast<float>(value)));
+        }
         else {
             TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
             Q(nativeQueryPtr)->and_query(numeric_link_less<Float, float, jfloat>(table_ref, arr[arr_len-1], value));
@@ -509,6 +816,9 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeLessEqual__J_3JF(
             }
             Q(nativeQueryPtr)->less_equal(S(arr[0]), static_cast<float>(value));
         }
+        else if (getListAggregate(arr) != 0) {
+            Q(nativeQueryPtr)->and_query(list_aggregate_query<CompareLessEqual>(nativeQueryPtr, arr, static_cast<float>(value)));
+        }
         else {
             TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
             Q(nativeQueryPtr)->and_query(numeric_link_lessequal<Float, float, jfloat>(table_ref, arr[arr_len-1], value));
@@ -549,6 +859,9 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeEqual__J_3JD(
             }
             Q(nativeQueryPtr)->equal(S(arr[0]), static_cast<double>(value));
         }
+        else if (getListAggregate(arr) != 0) {
+            Q(nativeQueryPtr)->and_query(list_aggregate_query<CompareEqual>(nativeQueryPtr, arr, static_cast<double>(value)));
+        }
         else {
             TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
             Q(nativeQueryPtr)->and_query(numeric_link_equal<Double, double, jdouble>(table_ref, arr[arr_len-1], value));
@@ -568,6 +881,9 @@ JNIEXPORT void JNICALL JNICALL Java_io_realm_internal_TableQuery_nativeNotEqual_
             }
             Q(nativeQueryPtr)->not_equal(S(arr[0]), static_cast<double>(value));
         }
+        else if (getListAggregate(arr) != 0) {
+            Q(nativeQueryPtr)->and_query(list_aggregate_query<CompareNotEqual>(nativeQueryPtr, arr, static_cast<double>(value)));
+        }
         else {
             TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
             Q(nativeQueryPtr)->and_query(numeric_link_notequal<Double, double, jdouble>(table_ref, arr[arr_len-1], value));
@@ -587,6 +903,9 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeGreater__J_3JD(
             }
             Q(nativeQueryPtr)->greater(S(arr[0]), static_cast<double>(value));
         }
+        else if (getListAggregate(arr) != 0) {
+            Q(nativeQueryPtr)->and_query(list_aggregate_query<CompareGreater>(nativeQueryPtr, arr, static_cast<double>(value)));
+        }
         else {
             TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
             Q(nativeQueryPtr)->and_query(numeric_link_greater<Double, double, jdouble>(table_ref, arr[arr_len-1], value));
@@ -606,6 +925,9 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeGreaterEqual__J_3
             }
             Q(nativeQueryPtr)->greater_equal(S(arr[0]), static_cast<double>(value));
         }
+        else if (getListAggregate(arr) != 0) {
+            Q(nativeQueryPtr)->and_query(list_aggregate_query<CompareGreaterEqual>(nativeQueryPtr, arr, static_cast<double>(value)));
+        }
         else {
             TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
             Q(nativeQueryPtr)->and_query(numeric_link_greaterequal<Double, double, jdouble>(table_ref, arr[arr_len-1], value));
@@ -625,6 +947,9 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeLess__J_3JD(
             }
             Q(nativeQueryPtr)->less(S(arr[0]), static_cast<double>(value));
         }
+        else if (getListAggregate(arr) != 0) {
+            Q(nativeQueryPtr)->and_query(list_aggregate_query<CompareLess>(nativeQueryPtr, arr, static_cast<double>(value)));
+        }
         else {
             TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
             Q(nativeQueryPtr)->and_query(numeric_link_less<Double, double, jdouble>(table_ref, arr[arr_len-1], value));
@@ -644,6 +969,9 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeLessEqual__J_3JD(
             }
             Q(nativeQueryPtr)->less_equal(S(arr[0]), static_cast<double>(value));
         }
+        else if (getListAggregate(arr) != 0) {
+            Q(nativeQueryPtr)->and_query(list_aggregate_query<CompareLessEqual>(nativeQueryPtr, arr, static_cast<double>(value)));
+        }
         else {
             TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
             Q(nativeQueryPtr)->and_query(numeric_link_lessequal<Double, double, jdouble>(table_ref, arr[arr_len-1], value));
@@ -922,6 +1250,407 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeContains(
     TableQuery_StringPredicate(env, nativeQueryPtr, columnIndexes, value, caseSensitive, StringContains);
 }
 
+// In
+
+// Hashes the bytes of a string, so StringData can be used as key of an unordered_set.
+struct StringDataHash {
+    size_t operator()(StringData value) const noexcept
+    {
+        // FNV-1a
+        uint64_t hash = 14695981039346656037ULL;
+        const char* data = value.data();
+        for (size_t i = 0; i < value.size(); ++i) {
+            hash = (hash ^ static_cast<unsigned char>(data[i])) * 1099511628211ULL;
+        }
+        return static_cast<size_t>(hash);
+    }
+};
+
+struct TimestampHash {
+    size_t operator()(const Timestamp& value) const noexcept
+    {
+        return std::hash<int64_t>()(value.get_seconds()) * 31 + std::hash<int32_t>()(value.get_nanoseconds());
+    }
+};
+
+template <class T> struct InSetTraits;
+
+template <> struct InSetTraits<int64_t> {
+    using Hash = std::hash<int64_t>;
+    static const DataType type = type_Int;
+    static int64_t get(const Table& table, size_t col, size_t row) { return table.get_int(col, row); }
+};
+
+template <> struct InSetTraits<StringData> {
+    using Hash = StringDataHash;
+    static const DataType type = type_String;
+    static StringData get(const Table& table, size_t col, size_t row) { return table.get_string(col, row); }
+};
+
+template <> struct InSetTraits<Timestamp> {
+    using Hash = TimestampHash;
+    static const DataType type = type_Timestamp;
+    static Timestamp get(const Table& table, size_t col, size_t row) { return table.get_timestamp(col, row); }
+};
+
+// The values of an in() predicate. They are immutable once built, so all copies of a query can share them.
+template <class T>
+struct InSetValues {
+    std::unordered_set<T, typename InSetTraits<T>::Hash> values;
+    // Owns the string data referenced by the StringData values.
+    std::vector<std::string> storage;
+    bool match_null = false;
+};
+
+// Matches rows whose value is contained in a hash set. Each row costs a single lookup, no matter how many values are
+// searched for, instead of one comparison per value with a group of equal() conditions.
+template <class T>
+class InSetExpression : public Expression {
+public:
+    InSetExpression(const Table* table, size_t col, std::shared_ptr<const InSetValues<T>> values)
+        : m_table(table)
+        , m_col(col)
+        , m_values(std::move(values))
+    {
+    }
+
+    size_t find_first(size_t start, size_t end) const override
+    {
+        const Table& table = *m_table;
+        const bool nullable = table.is_nullable(m_col);
+        const InSetValues<T>& set = *m_values;
+        for (size_t row = start; row < end; ++row) {
+            if (nullable && table.is_null(m_col, row)) {
+                if (set.match_null) {
+                    return row;
+                }
+                continue;
+            }
+            if (set.values.count(InSetTraits<T>::get(table, m_col, row)) != 0) {
+                return row;
+            }
+        }
+        return not_found;
+    }
+
+    void set_base_table(const Table* table) override
+    {
+        m_table = table;
+    }
+
+    // The column may have been removed or moved by a schema change since the query was built, e.g. in a query which
+    // was handed over to another SharedGroup.
+    void verify_column() const override
+    {
+        if (m_col >= m_table->get_column_count()) {
+            throw LogicError(LogicError::column_index_out_of_range);
+        }
+        if (m_table->get_column_type(m_col) != InSetTraits<T>::type) {
+            throw LogicError(LogicError::type_mismatch);
+        }
+    }
+
+    const Table* get_base_table() const override
+    {
+        return m_table;
+    }
+
+    std::unique_ptr<Expression> clone(QueryNodeHandoverPatches* patches) const override
+    {
+        return std::unique_ptr<Expression>(new InSetExpression<T>(*this, patches));
+    }
+
+    void apply_handover_patch(QueryNodeHandoverPatches&, Group& group) override
+    {
+        m_table_ref = Table::create_from_and_consume_patch(m_table_patch, group);
+        m_table = m_table_ref.get();
+    }
+
+private:
+    InSetExpression(const InSetExpression<T>& other, QueryNodeHandoverPatches* patches)
+        : m_table(other.m_table)
+        , m_col(other.m_col)
+        , m_values(other.m_values)
+    {
+        if (patches) {
+            // The query is handed over to another SharedGroup, the table is resolved again on the other side.
+            Table::generate_patch(m_table, m_table_patch);
+            m_table = nullptr;
+        }
+    }
+
+    const Table* m_table;
+    TableRef m_table_ref;
+    std::unique_ptr<TableHandoverPatch> m_table_patch;
+    size_t m_col;
+    std::shared_ptr<const InSetValues<T>> m_values;
+};
+
+template <class T>
+static void and_in_set(jlong nativeQueryPtr, jlong columnIndex, std::shared_ptr<const InSetValues<T>> values)
+{
+    Query* query = Q(nativeQueryPtr);
+    const Table* table = query->get_table().get();
+    // Grouped, so a preceding not() negates the whole predicate like it did for the group of equal() conditions.
+    query->group();
+    query->and_query(Query(std::unique_ptr<Expression>(new InSetExpression<T>(table, S(columnIndex), std::move(values)))));
+    query->end_group();
+}
+
+static bool in_set_column_valid(JNIEnv* env, jlong nativeQueryPtr, jlong columnIndex, DataType type, bool matchNull)
+{
+    if (!QUERY_COL_TYPE_VALID(env, nativeQueryPtr, columnIndex, type)) {
+        return false;
+    }
+    // Keeps the behaviour of equalTo(null), which is only allowed on nullable fields.
+    return !matchNull || TBL_AND_COL_NULLABLE(env, Q(nativeQueryPtr)->get_table().get(), columnIndex);
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeInLong(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlong columnIndex, jlongArray values, jboolean matchNull)
+{
+    try {
+        if (!in_set_column_valid(env, nativeQueryPtr, columnIndex, type_Int, matchNull)) {
+            return;
+        }
+        JniLongArray arr(env, values);
+        auto set = std::make_shared<InSetValues<int64_t>>();
+        set->values.reserve(S(arr.len()));
+        for (jsize i = 0; i < arr.len(); ++i) {
+            set->values.insert(static_cast<int64_t>(arr[i]));
+        }
+        set->match_null = matchNull;
+        and_in_set<int64_t>(nativeQueryPtr, columnIndex, std::move(set));
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeInTimestamp(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlong columnIndex, jlongArray values, jboolean matchNull)
+{
+    try {
+        if (!in_set_column_valid(env, nativeQueryPtr, columnIndex, type_Timestamp, matchNull)) {
+            return;
+        }
+        JniLongArray arr(env, values);
+        auto set = std::make_shared<InSetValues<Timestamp>>();
+        set->values.reserve(S(arr.len()));
+        for (jsize i = 0; i < arr.len(); ++i) {
+            set->values.insert(from_milliseconds(arr[i]));
+        }
+        set->match_null = matchNull;
+        and_in_set<Timestamp>(nativeQueryPtr, columnIndex, std::move(set));
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeInString(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlong columnIndex, jobjectArray values)
+{
+    try {
+        jsize len = env->GetArrayLength(values);
+        auto set = std::make_shared<InSetValues<StringData>>();
+        // Reserved up front, the StringData values point into the strings.
+        set->storage.reserve(S(len));
+        for (jsize i = 0; i < len; ++i) {
+            jstring value = static_cast<jstring>(env->GetObjectArrayElement(values, i));
+            if (value == NULL) {
+                set->match_null = true;
+                continue;
+            }
+            JStringAccessor accessor(env, value); // throws
+            std::string str = accessor;
+            set->storage.push_back(std::move(str));
+            env->DeleteLocalRef(value);
+        }
+        if (!in_set_column_valid(env, nativeQueryPtr, columnIndex, type_String, set->match_null)) {
+            return;
+        }
+        set->values.reserve(set->storage.size());
+        for (const std::string& value : set->storage) {
+            set->values.insert(StringData(value));
+        }
+        and_in_set<StringData>(nativeQueryPtr, columnIndex, std::move(set));
+    } CATCH_STD()
+}
+
+// Index lookups
+
+// Matches the rows which are looked up in the tables of an index instead of checking the column of each row. The
+// matching rows are looked up once and kept until the index table or the table changes, so each row only costs a
+// binary search.
+class IndexLookupExpression : public Expression {
+public:
+    // Returns the matching rows of the table in increasing order. The group is passed if the Realm of the query is in
+    // a write transaction, the index doesn't include its changes yet then.
+    typedef std::function<std::vector<size_t>(const Table& table, const Table& index, const Group* write_group)>
+        Lookup;
+
+    IndexLookupExpression(const Table* table, TableRef index, Lookup lookup, const SharedRealm& realm)
+        : m_table(table)
+        , m_index(std::move(index))
+        , m_lookup(std::move(lookup))
+        , m_realm(realm)
+    {
+    }
+
+    size_t find_first(size_t start, size_t end) const override
+    {
+        const Group* write_group = nullptr;
+        SharedRealm realm = m_realm.lock();
+        if (realm && realm->is_in_transaction()) {
+            write_group = &realm->read_group();
+        }
+        const uint_fast64_t index_version = m_index->get_version_counter();
+        const uint_fast64_t table_version = m_table->get_version_counter();
+        if (!m_rows_valid || index_version != m_rows_index_version || table_version != m_rows_table_version ||
+            (write_group != nullptr) != m_rows_in_write) {
+            m_rows = m_lookup(*m_table, *m_index, write_group);
+            m_rows_index_version = index_version;
+            m_rows_table_version = table_version;
+            m_rows_in_write = write_group != nullptr;
+            m_rows_valid = true;
+        }
+        auto it = std::lower_bound(m_rows.begin(), m_rows.end(), start);
+        return (it != m_rows.end() && *it < end) ? *it : not_found;
+    }
+
+    void set_base_table(const Table* table) override
+    {
+        m_table = table;
+    }
+
+    void verify_column() const override
+    {
+    }
+
+    const Table* get_base_table() const override
+    {
+        return m_table;
+    }
+
+    std::unique_ptr<Expression> clone(QueryNodeHandoverPatches* patches) const override
+    {
+        return std::unique_ptr<Expression>(new IndexLookupExpression(*this, patches));
+    }
+
+    void apply_handover_patch(QueryNodeHandoverPatches&, Group& group) override
+    {
+        m_table_ref = Table::create_from_and_consume_patch(m_table_patch, group);
+        m_table = m_table_ref.get();
+        m_index = Table::create_from_and_consume_patch(m_index_patch, group);
+    }
+
+private:
+    IndexLookupExpression(const IndexLookupExpression& other, QueryNodeHandoverPatches* patches)
+        : m_table(other.m_table)
+        , m_index(other.m_index)
+        , m_lookup(other.m_lookup)
+    {
+        if (patches) {
+            // Both tables are resolved again by the SharedGroup the query is handed over to. It is read only, so
+            // the Realm isn't needed any more.
+            Table::generate_patch(m_table, m_table_patch);
+            Table::generate_patch(m_index.get(), m_index_patch);
+            m_table = nullptr;
+            m_index.reset();
+        }
+        else {
+            m_realm = other.m_realm;
+            m_rows = other.m_rows;
+            m_rows_index_version = other.m_rows_index_version;
+            m_rows_table_version = other.m_rows_table_version;
+            m_rows_in_write = other.m_rows_in_write;
+            m_rows_valid = other.m_rows_valid;
+        }
+    }
+
+    const Table* m_table;
+    TableRef m_table_ref;
+    std::unique_ptr<TableHandoverPatch> m_table_patch;
+    TableRef m_index;
+    std::unique_ptr<TableHandoverPatch> m_index_patch;
+    Lookup m_lookup;
+    // Tells if the lookup has to include the changes of a write transaction, empty if the query is never written in.
+    std::weak_ptr<Realm> m_realm;
+
+    // The matching rows in increasing order, found at the given versions of the index table and the table.
+    mutable std::vector<size_t> m_rows;
+    mutable uint_fast64_t m_rows_index_version = 0;
+    mutable uint_fast64_t m_rows_table_version = 0;
+    mutable bool m_rows_in_write = false;
+    mutable bool m_rows_valid = false;
+};
+
+static void and_index_lookup(jlong nativeQueryPtr, jlong nativeIndexTablePtr, IndexLookupExpression::Lookup lookup,
+                             const SharedRealm& realm = SharedRealm())
+{
+    Query* query = Q(nativeQueryPtr);
+    const Table* table = query->get_table().get();
+    TableRef index_table = TBL(nativeIndexTablePtr)->get_table_ref();
+    // Grouped, so a preceding not() negates the whole predicate.
+    query->group();
+    query->and_query(Query(std::unique_ptr<Expression>(
+        new IndexLookupExpression(table, std::move(index_table), std::move(lookup), realm))));
+    query->end_group();
+}
+
+// Returns the tokens of the search terms, or throws if there are none.
+static std::vector<std::string> read_fulltext_prefixes(JNIEnv* env, jstring terms)
+{
+    JStringAccessor accessor(env, terms); // throws
+    std::vector<std::string> prefixes = _impl::fulltext::tokenize(StringData(accessor));
+    if (prefixes.empty()) {
+        throw std::invalid_argument("No words to search for in: '" + std::string(accessor) + "'");
+    }
+    return prefixes;
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeMatches(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlong columnIndex, jlong nativePostingsTablePtr, jstring terms)
+{
+    try {
+        if (!QUERY_COL_TYPE_VALID(env, nativeQueryPtr, columnIndex, type_String)) {
+            return;
+        }
+        auto prefixes = std::make_shared<const std::vector<std::string>>(read_fulltext_prefixes(env, terms));
+        // Every change of the index changes the postings table, so its version tells when to search again.
+        and_index_lookup(nativeQueryPtr, nativePostingsTablePtr, [prefixes](const Table& table,
+                                                                           const Table& postings, const Group*) {
+            std::vector<size_t> rows;
+            for (const auto& match : _impl::fulltext::search(postings, *prefixes, table.size())) {
+                rows.push_back(match.first);
+            }
+            return rows;
+        });
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeCaseInsensitiveIndexLookup(
+    JNIEnv* env, jobject, jlong nativeSharedRealmPtr, jlong nativeQueryPtr, jlong columnIndex, jlong nativeKeysTablePtr,
+    jstring value, jboolean prefix)
+{
+    try {
+        if (!QUERY_COL_TYPE_VALID(env, nativeQueryPtr, columnIndex, type_String)) {
+            return;
+        }
+        JStringAccessor accessor(env, value); // throws
+        auto key = std::make_shared<const std::string>(_impl::casefold::fold(StringData(accessor)));
+        bool is_prefix = prefix ? true : false;
+        size_t col = S(columnIndex);
+        auto shared_realm = *(reinterpret_cast<SharedRealm*>(nativeSharedRealmPtr));
+        and_index_lookup(nativeQueryPtr, nativeKeysTablePtr, [key, is_prefix, col](const Table& table,
+                                                                                  const Table& keys,
+                                                                                  const Group* write_group) {
+            // Changes of the current write transaction are checked against the values, the index only has them once
+            // the transaction is committed.
+            _impl::IndexChanges changes;
+            if (write_group) {
+                changes = _impl::casefold::collect_changes(*write_group, table, col, keys);
+            }
+            return _impl::casefold::find(table, col, keys, StringData(*key), is_prefix, changes);
+        }, shared_realm);
+    } CATCH_STD()
+}
+
 // Binary
 
 enum BinaryPredicate {
@@ -1149,6 +1878,72 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAll(
     return -1;
 }
 
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllLimited(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlong offset, jlong limit, jlongArray columnIndices,
+    jbooleanArray ascending)
+{
+    TR_ENTER()
+    Query* query = Q(nativeQueryPtr);
+    if (!QUERY_VALID(env, query)) {
+        return -1;
+    }
+    try {
+        std::vector<std::vector<size_t>> columns;
+        std::vector<bool> ascendings;
+        if (!ReadSortColumns(env, *query->get_table(), columnIndices, ascending, columns, ascendings)) {
+            return -1;
+        }
+        TableView* tableView = new TableView(find_all_limited(*query, S(offset), S(limit), columns, ascendings));
+        return reinterpret_cast<jlong>(tableView);
+    } CATCH_STD()
+    return -1;
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllRanked(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlong nativePostingsTablePtr, jstring terms, jlong offset,
+    jlong limit)
+{
+    TR_ENTER()
+    Query* query = Q(nativeQueryPtr);
+    if (!QUERY_VALID(env, query)) {
+        return -1;
+    }
+    try {
+        TableView* tableView = new TableView(find_all_ranked(env, *query, *TBL(nativePostingsTablePtr), terms,
+                                                             offset, limit));
+        return reinterpret_cast<jlong>(tableView);
+    } CATCH_STD()
+    return -1;
+}
+
+// queryPtr would be owned and released by this function
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllRankedWithHandover
+  (JNIEnv* env, jclass, jlong bgSharedRealmPtr, jlong queryPtr, jstring postingsTableName, jstring terms,
+   jlong offset, jlong limit)
+{
+    TR_ENTER()
+    try {
+        std::unique_ptr<Query> query = handoverQueryToWorker(bgSharedRealmPtr, queryPtr, true); // throws
+        return findAllRankedWithHandover(env, bgSharedRealmPtr, std::move(query), postingsTableName, terms, offset,
+                                         limit);
+    } CATCH_STD()
+    return 0;
+}
+
+// queryPtr would be owned and released by this function
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllLimitedWithHandover
+  (JNIEnv* env, jclass, jlong bgSharedRealmPtr, jlong queryPtr, jlong offset, jlong limit, jlongArray columnIndices,
+   jbooleanArray ascending)
+{
+    TR_ENTER()
+    try {
+        std::unique_ptr<Query> query = handoverQueryToWorker(bgSharedRealmPtr, queryPtr, true); // throws
+        return findAllLimitedWithHandover(env, bgSharedRealmPtr, std::move(query), offset, limit, columnIndices,
+                                          ascending);
+    } CATCH_STD()
+    return 0;
+}
+
 // queryPtr would be owned and released by this function
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllWithHandover
   (JNIEnv* env, jclass, jlong bgSharedRealmPtr, jlong queryPtr, jlong start, jlong end, jlong limit)
@@ -1163,8 +1958,182 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllWithHando
 
 
 
+// Partitions smaller than this are not worth a thread of their own.
+static const size_t PARALLEL_MIN_ROWS_PER_WORKER = 10000;
+
+// The view of a parallel search. It starts out as an empty view of the query, and gets the merged rows of the workers
+// together with the range and sort order the view would have if the caller had searched and sorted it itself, so it
+// syncs like such a view once it gets out of date.
+class ParallelView : public TableView {
+public:
+    ParallelView(TableView empty_view, const std::vector<size_t>& rows, SortDescriptor sort)
+        : TableView(std::move(empty_view))
+    {
+        m_end = size_t(-1);
+        m_sorting_predicate = std::move(sort);
+        for (size_t row : rows) {
+            m_row_indexes.add(row);
+        }
+    }
+};
+
+// Runs on a worker thread. Accessors can't be shared between threads, so the worker opens a Realm of its own, reads
+// at the version of the caller and imports the query from its handover. Returns the matching rows of the partition
+// [start, end), sorted by the sort keys.
+static std::vector<size_t> find_partition(const Realm::Config& config,
+                                          std::unique_ptr<SharedGroup::Handover<Query>> handover, size_t start,
+                                          size_t end, const std::vector<std::vector<size_t>>& columns,
+                                          const std::vector<bool>& ascendings)
+{
+    SharedRealm shared_realm = Realm::get_shared_realm(config);
+    using rf = realm::_impl::RealmFriend;
+    rf::read_group_to(*shared_realm, handover->version);
+    std::unique_ptr<Query> query = rf::get_shared_group(*shared_realm).import_from_handover(std::move(handover));
+
+    TableView tableView(query->find_all(start, end));
+    std::vector<size_t> rows;
+    rows.reserve(tableView.size());
+    for (size_t i = 0; i < tableView.size(); ++i) {
+        rows.push_back(tableView.get_source_ndx(i));
+    }
+    if (!columns.empty()) {
+        RowComparator comparator(*query->get_table(), columns, ascendings);
+        std::stable_sort(rows.begin(), rows.end(), [&comparator](size_t row1, size_t row2) {
+            return comparator.compare(row1, row2) < 0;
+        });
+    }
+    return rows;
+}
+
+// Merges the sorted partitions. Ties are taken from the partition with the lower rows first, which keeps the merge as
+// stable as TableView::sort().
+static std::vector<size_t> merge_partitions(const Table& table, const std::vector<std::vector<size_t>>& partitions,
+                                            const std::vector<std::vector<size_t>>& columns,
+                                            const std::vector<bool>& ascendings)
+{
+    std::vector<size_t> rows;
+    size_t count = 0;
+    for (const auto& partition : partitions) {
+        count += partition.size();
+    }
+    rows.reserve(count);
+    if (columns.empty()) {
+        // Partitions cover increasing row ranges, so together they are in the order find_all() returns the rows.
+        for (const auto& partition : partitions) {
+            rows.insert(rows.end(), partition.begin(), partition.end());
+        }
+        return rows;
+    }
+
+    RowComparator comparator(table, columns, ascendings);
+    // The position in each partition, a heap entry is the index of a partition which isn't merged completely.
+    std::vector<size_t> positions(partitions.size(), 0);
+    auto after = [&](size_t partition1, size_t partition2) {
+        int result = comparator.compare(partitions[partition1][positions[partition1]],
+                                        partitions[partition2][positions[partition2]]);
+        return (result != 0) ? (result > 0) : (partition1 > partition2);
+    };
+    std::priority_queue<size_t, std::vector<size_t>, decltype(after)> heap(after);
+    for (size_t i = 0; i < partitions.size(); ++i) {
+        if (!partitions[i].empty()) {
+            heap.push(i);
+        }
+    }
+    while (!heap.empty()) {
+        size_t partition = heap.top();
+        heap.pop();
+        rows.push_back(partitions[partition][positions[partition]]);
+        if (++positions[partition] < partitions[partition].size()) {
+            heap.push(partition);
+        }
+    }
+    return rows;
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllParallel(
+    JNIEnv* env, jobject, jlong sharedRealmPtr, jlong nativeQueryPtr, jint workers, jlongArray columnIndices,
+    jbooleanArray ascending)
+{
+    TR_ENTER()
+    Query* query = Q(nativeQueryPtr);
+    TableRef table = query->get_table();
+    if (!QUERY_VALID(env, query)) {
+        return -1;
+    }
+    try {
+        std::vector<std::vector<size_t>> columns;
+        std::vector<bool> ascendings;
+        if (!ReadSortColumns(env, *table, columnIndices, ascending, columns, ascendings)) {
+            return -1;
+        }
+
+        size_t table_size = table->size();
+        size_t worker_count = std::min(size_t(workers), table_size / PARALLEL_MIN_ROWS_PER_WORKER);
+        if (sharedRealmPtr == 0 || worker_count <= 1) {
+            TableView* tableView = new TableView(query->find_all());
+            if (!columns.empty()) {
+                tableView->sort(SortDescriptor(*table, columns, ascendings));
+            }
+            return reinterpret_cast<jlong>(tableView);
+        }
+
+        // The handovers are exported on the caller thread, they all point at the version it is reading.
+        auto shared_realm = *(reinterpret_cast<SharedRealm*>(sharedRealmPtr));
+        using rf = realm::_impl::RealmFriend;
+        SharedGroup& shared_group = rf::get_shared_group(*shared_realm);
+        std::vector<std::unique_ptr<SharedGroup::Handover<Query>>> handovers;
+        for (size_t i = 0; i < worker_count; ++i) {
+            handovers.push_back(shared_group.export_for_handover(*query, ConstSourcePayload::Copy));
+        }
+        Realm::Config config = shared_realm->config();
+        // The workers only read at a pinned version. Their Realms must not be shared with other threads of the
+        // caller's Realm, nor check or update the schema.
+        config.cache = false;
+        config.schema = util::none;
+        config.automatic_change_notifications = false;
+
+        std::vector<std::vector<size_t>> partitions(worker_count);
+        std::vector<std::exception_ptr> errors(worker_count);
+        std::vector<std::thread> threads;
+        threads.reserve(worker_count);
+        try {
+            for (size_t i = 0; i < worker_count; ++i) {
+                size_t start = table_size * i / worker_count;
+                size_t end = table_size * (i + 1) / worker_count;
+                threads.emplace_back([&, i, start, end]() {
+                    try {
+                        partitions[i] = find_partition(config, std::move(handovers[i]), start, end, columns,
+                                                       ascendings);
+                    } catch (...) {
+                        errors[i] = std::current_exception();
+                    }
+                });
+            }
+        } catch (...) {
+            for (auto& thread : threads) {
+                thread.join();
+            }
+            throw;
+        }
+        for (auto& thread : threads) {
+            thread.join();
+        }
+        for (auto& error : errors) {
+            if (error) {
+                std::rethrow_exception(error);
+            }
+        }
+
+        std::vector<size_t> rows = merge_partitions(*table, partitions, columns, ascendings);
+        SortDescriptor sort = columns.empty() ? SortDescriptor() : SortDescriptor(*table, columns, ascendings);
+        return reinterpret_cast<jlong>(new ParallelView(query->find_all(0, 0), rows, std::move(sort)));
+    } CATCH_STD()
+    return -1;
+}
+
 // Should match the values in Java ArgumentsHolder class
-enum query_type {QUERY_TYPE_FIND_ALL = 0, QUERY_TYPE_DISTINCT = 4, QUERY_TYPE_FIND_ALL_SORTED = 1, QUERY_TYPE_FIND_ALL_MULTI_SORTED = 2};
+enum query_type {QUERY_TYPE_FIND_ALL = 0, QUERY_TYPE_DISTINCT = 4, QUERY_TYPE_FIND_ALL_SORTED = 1, QUERY_TYPE_FIND_ALL_MULTI_SORTED = 2,
+                 QUERY_TYPE_FIND_ALL_LIMITED = 5, QUERY_TYPE_FIND_ALL_RANKED = 6};
 
 // batch update of async queries
 JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeBatchUpdateQueries
@@ -1172,7 +2141,8 @@ JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeBatchUpdate
          jlongArray  handover_queries_array /*list of handover queries*/,
          jobjectArray  query_param_matrix /*type & params of the query to be updated*/,
          jobjectArray  multi_sorted_indices_matrix,
-         jobjectArray  multi_sorted_order_matrix)
+         jobjectArray  multi_sorted_order_matrix,
+         jobjectArray  rank_matrix /*postings table name & terms of ranked queries*/)
 {
     TR_ENTER()
     try {
@@ -1267,6 +2237,38 @@ JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeBatchUpdate
                                      column_order_array/*ascending orders*/);
                     break;
                 }
+                case QUERY_TYPE_FIND_ALL_LIMITED: {// nativeFindAllLimitedWithHandover
+                    JniLocalRef<jlongArray> column_indices_array(env, (jlongArray) env->GetObjectArrayElement(
+                            multi_sorted_indices_matrix, i));
+                    JniLocalRef<jbooleanArray> column_order_array(env, (jbooleanArray) env->GetObjectArrayElement(
+                            multi_sorted_order_matrix, i));
+                    exported_handover_tableview_array[i] =
+                            findAllLimitedWithHandover
+                                    (env,
+                                     bgSharedRealmPtr,
+                                     std::move(queries[i]),
+                                     query_param_array[1]/*offset*/,
+                                     query_param_array[2]/*limit*/,
+                                     column_indices_array/*columnIndices*/,
+                                     column_order_array/*ascending orders*/);
+                    break;
+                }
+                case QUERY_TYPE_FIND_ALL_RANKED: {// nativeFindAllRankedWithHandover
+                    JniLocalRef<jobjectArray> rank_array(env, (jobjectArray) env->GetObjectArrayElement(
+                            rank_matrix, i));
+                    JniLocalRef<jstring> table_name(env, (jstring) env->GetObjectArrayElement(rank_array, 0));
+                    JniLocalRef<jstring> terms(env, (jstring) env->GetObjectArrayElement(rank_array, 1));
+                    exported_handover_tableview_array[i] =
+                            findAllRankedWithHandover
+                                    (env,
+                                     bgSharedRealmPtr,
+                                     std::move(queries[i]),
+                                     table_name/*postingsTableName*/,
+                                     terms/*terms*/,
+                                     query_param_array[1]/*offset*/,
+                                     query_param_array[2]/*limit*/);
+                    break;
+                }
                 default:
                     ThrowException(env, FatalError, "Unknown type of query.");
                     return NULL;
@@ -1912,3 +2914,48 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIsEmpty
         }
     } CATCH_STD()
 }
+
+// Quantifiers of TableQuery.listMatches()
+static const jint list_match_any = 0;
+static const jint list_match_all = 1;
+static const jint list_match_none = 2;
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeListMatches
+    (JNIEnv* env, jobject, jlong nativeQueryPtr, jlongArray columnIndexes, jlong nativeSubqueryPtr, jint quantifier) {
+
+    JniLongArray arr(env, columnIndexes);
+    jsize arr_len = arr.len();
+    try {
+        TableRef list_table = getTableByArray(nativeQueryPtr, arr);
+        jlong list_col = arr[arr_len - 1];
+        if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, list_table.get(), list_col, type_LinkList)) {
+            return;
+        }
+        Query* pSubquery = Q(nativeSubqueryPtr);
+        if (pSubquery->get_table() != list_table->get_link_target(S(list_col))) {
+            ThrowException(env, IllegalArgument, "The subquery must be on the class of the objects in the list.");
+            return;
+        }
+
+        // The subquery is evaluated for the list of each row, core counts the matching objects.
+        TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
+        auto matches = table_ref->column<LinkList>(S(list_col), Query(*pSubquery)).count();
+        switch (quantifier) {
+            case list_match_any:
+                Q(nativeQueryPtr)->and_query(matches > 0);
+                break;
+            case list_match_none:
+                Q(nativeQueryPtr)->and_query(matches == 0);
+                break;
+            case list_match_all: {
+                // The link chain was consumed by the subquery column, it is built again for the size of the list.
+                auto size = getTableForLinkQuery(nativeQueryPtr, arr)->column<LinkList>(S(list_col)).count();
+                Q(nativeQueryPtr)->and_query(matches == size);
+                break;
+            }
+            default:
+                ThrowException(env, IllegalArgument, "Unknown quantifier.");
+                return;
+        }
+    } CATCH_STD()
+}
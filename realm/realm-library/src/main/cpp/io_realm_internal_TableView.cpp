@@ -16,6 +16,7 @@
 
 #include "util.hpp"
 #include "tablebase_tpl.hpp"
+#include "fulltext_index.hpp"
 #include "io_realm_internal_TableView.h"
 #include "realm/array.hpp"
 #include <ostream>
@@ -181,6 +182,30 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeGetSourceRowIndex
     return TV(nativeViewPtr)->get_source_ndx(S(rowIndex));   // noexcept
 }
 
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableView_nativeGetSourceRowIndices
+(JNIEnv *env, jobject, jlong nativeViewPtr)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return NULL;
+        TableView* tv = TV(nativeViewPtr);
+        size_t size = tv->size();
+        jlongArray indices = env->NewLongArray(static_cast<jsize>(size));
+        if (indices == NULL) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory to return the source row indices.");
+            return NULL;
+        }
+        std::vector<jlong> buffer(size);
+        for (size_t i = 0; i < size; ++i) {
+            // Detached rows are reported as not found.
+            buffer[i] = tv->is_row_attached(i) ? static_cast<jlong>(tv->get_source_ndx(i)) : to_jlong_or_not_found(-1);
+        }
+        env->SetLongArrayRegion(indices, 0, static_cast<jsize>(size), buffer.data());
+        return indices;
+    } CATCH_STD()
+    return NULL;
+}
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeGetColumnCount
   (JNIEnv *env, jobject, jlong nativeViewPtr)
 {
@@ -879,47 +904,20 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSortMulti(
         if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
             return;
 
-        JniLongArray long_arr(env, columnIndices);
-        JniBooleanArray bool_arr(env, ascending);
-        jsize arr_len = long_arr.len();
-        jsize asc_len = bool_arr.len();
-
-        if (arr_len == 0) {
+        if (columnIndices == NULL || env->GetArrayLength(columnIndices) == 0) {
             ThrowException(env, IllegalArgument, "You must provide at least one field name.");
             return;
         }
-        if (asc_len == 0) {
+        if (ascending == NULL || env->GetArrayLength(ascending) == 0) {
             ThrowException(env, IllegalArgument, "You must provide at least one sort order.");
             return;
         }
-        if (arr_len != asc_len) {
-            ThrowException(env, IllegalArgument, "Number of fields and sort orders do not match.");
-            return;
-        }
 
         TableView* tv = TV(nativeViewPtr);
         std::vector<std::vector<size_t>> indices;
         std::vector<bool> ascendings;
-
-        for (int i = 0; i < arr_len; ++i) {
-            if (!COL_INDEX_VALID(env, tv, long_arr[i])) {
-                return;
-            }
-            int colType = tv->get_column_type( S(long_arr[i]) );
-            switch (colType) {
-                case type_Bool:
-                case type_Int:
-                case type_Float:
-                case type_Double:
-                case type_String:
-                case type_Timestamp:
-                    indices.push_back(std::vector<size_t> { S(long_arr[i]) });
-                    ascendings.push_back( B(bool_arr[i]) );
-                    break;
-                default:
-                    ThrowException(env, IllegalArgument, "Sort is not supported on binary data, object references and RealmList.");
-                    return;
-            }
+        if (!ReadSortColumns(env, tv->get_parent(), columnIndices, ascending, indices, ascendings)) {
+            return;
         }
         tv->sort(SortDescriptor(tv->get_parent(), indices, ascendings));
     } CATCH_STD()
@@ -972,6 +970,33 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeSyncIfNeeded(
     return 0;
 }
 
+// Core can't order rows by relevance, so the ranking of full-text search results is applied again whenever the view
+// had to be synced.
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeSyncIfNeededRanked(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong nativePostingsTablePtr, jstring terms, jlong offset, jlong limit)
+{
+    TableView* tv = TV(nativeViewPtr);
+    if (tv == NULL) {
+        return 0;
+    }
+    if (!tv->is_attached()) {
+        ThrowException(env, IllegalState, "The Realm has been closed and is no longer accessible.");
+        return 0;
+    }
+    try {
+        bool was_in_sync = tv->is_in_sync();
+        jlong version = static_cast<jlong>(tv->sync_if_needed());
+        if (!was_in_sync) {
+            JStringAccessor accessor(env, terms); // throws
+            realm::_impl::fulltext::rank_view(*tv, *TBL(nativePostingsTablePtr),
+                                              realm::_impl::fulltext::tokenize(StringData(accessor)),
+                                              S(offset), S(limit));
+        }
+        return version;
+    } CATCH_STD()
+    return 0;
+}
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeFindBySourceNdx
         (JNIEnv *env, jobject, jlong nativeViewPtr, jlong sourceIndex)
 {
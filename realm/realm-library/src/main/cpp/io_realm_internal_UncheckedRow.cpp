@@ -14,7 +14,11 @@
  * limitations under the License.
  */
 
+#include <algorithm>
+#include <memory>
+
 #include "io_realm_internal_UncheckedRow.h"
+#include "string_intern_cache.hpp"
 #include "util.hpp"
 
 using namespace realm;
@@ -137,6 +141,20 @@ JNIEXPORT jstring JNICALL Java_io_realm_internal_UncheckedRow_nativeGetString
     return NULL;
 }
 
+JNIEXPORT jstring JNICALL Java_io_realm_internal_UncheckedRow_nativeGetInternedString
+  (JNIEnv* env, jobject, jlong nativeRowPtr, jlong columnIndex, jlong nativeCachePtr)
+{
+    TR_ENTER_PTR(nativeRowPtr)
+    if (!ROW_VALID(env, ROW(nativeRowPtr)))
+        return 0;
+
+    try {
+        StringData value = ROW(nativeRowPtr)->get_string( S(columnIndex) );
+        return reinterpret_cast<_impl::StringInternCache*>(nativeCachePtr)->get(env, value);
+    } CATCH_STD()
+    return NULL;
+}
+
 JNIEXPORT jbyteArray JNICALL Java_io_realm_internal_UncheckedRow_nativeGetByteArray
   (JNIEnv* env, jobject, jlong nativeRowPtr, jlong columnIndex)
 {
@@ -160,6 +178,63 @@ JNIEXPORT jbyteArray JNICALL Java_io_realm_internal_UncheckedRow_nativeGetByteAr
     }
 }
 
+JNIEXPORT jobject JNICALL Java_io_realm_internal_UncheckedRow_nativeGetByteBuffer
+  (JNIEnv* env, jobject, jlong nativeRowPtr, jlong columnIndex)
+{
+    TR_ENTER_PTR(nativeRowPtr)
+    if (!ROW_VALID(env, ROW(nativeRowPtr)))
+        return NULL;
+
+    try {
+        BinaryData bin = ROW(nativeRowPtr)->get_binary( S(columnIndex) );
+        if (bin.is_null()) {
+            return NULL;
+        }
+        // The buffer points directly into the mapped Realm file. NewDirectByteBuffer doesn't accept the null
+        // address an empty binary might have.
+        static char empty_binary = 0;
+        char* data = bin.size() == 0 ? &empty_binary : const_cast<char*>(bin.data());
+        return env->NewDirectByteBuffer(data, static_cast<jlong>(bin.size()));
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_UncheckedRow_nativeGetBinarySize
+  (JNIEnv* env, jobject, jlong nativeRowPtr, jlong columnIndex)
+{
+    TR_ENTER_PTR(nativeRowPtr)
+    if (!ROW_VALID(env, ROW(nativeRowPtr)))
+        return 0;
+
+    try {
+        BinaryData bin = ROW(nativeRowPtr)->get_binary( S(columnIndex) );
+        return bin.is_null() ? -1 : static_cast<jlong>(bin.size());
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jint JNICALL Java_io_realm_internal_UncheckedRow_nativeReadBinary
+  (JNIEnv* env, jobject, jlong nativeRowPtr, jlong columnIndex, jlong position, jbyteArray buffer, jint offset,
+   jint length)
+{
+    TR_ENTER_PTR(nativeRowPtr)
+    if (!ROW_VALID(env, ROW(nativeRowPtr)))
+        return 0;
+
+    try {
+        // The binary is looked up again for every chunk, so reading never touches memory of an older version.
+        BinaryData bin = ROW(nativeRowPtr)->get_binary( S(columnIndex) );
+        if (bin.is_null() || position < 0 || S(position) >= bin.size()) {
+            return -1;
+        }
+        size_t count = std::min(S(length), bin.size() - S(position));
+        env->SetByteArrayRegion(buffer, offset, static_cast<jsize>(count),
+                                reinterpret_cast<const jbyte*>(bin.data() + position));  // throws
+        return static_cast<jint>(count);
+    } CATCH_STD()
+    return 0;
+}
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_UncheckedRow_nativeGetLink
   (JNIEnv* env, jobject, jlong nativeRowPtr, jlong columnIndex)
 {
@@ -304,6 +379,28 @@ JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeSetByteArray
     }
 }
 
+JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeSetByteBuffer
+  (JNIEnv* env, jobject, jlong nativeRowPtr, jlong columnIndex, jobject buffer, jint position, jint length)
+{
+    TR_ENTER_PTR(nativeRowPtr)
+
+    if (!ROW_VALID(env, ROW(nativeRowPtr)))
+        return;
+
+    try {
+        char* data = static_cast<char*>(env->GetDirectBufferAddress(buffer));
+        if (!data) {
+            ThrowException(env, IllegalArgument, "ByteBuffer is invalid");
+            return;
+        }
+        // The buffer may be one returned by nativeGetByteBuffer() which points into the mapped Realm file. Writing the
+        // value can move or overwrite that memory while it is still being read, so the data is copied first.
+        std::unique_ptr<char[]> copy(new char[S(length)]);
+        std::copy(data + position, data + position + length, copy.get());
+        ROW(nativeRowPtr)->set_binary(S(columnIndex), BinaryData(copy.get(), S(length)));
+    } CATCH_STD()
+}
+
 JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeSetLink
   (JNIEnv* env, jobject, jlong nativeRowPtr, jlong columnIndex, jlong value)
 {
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef STRING_INTERN_CACHE_HPP
+#define STRING_INTERN_CACHE_HPP
+
+#include <jni.h>
+
+#include <list>
+#include <mutex>
+#include <string>
+#include <unordered_map>
+#include <utility>
+
+#include <realm.hpp>
+
+namespace realm {
+
+namespace _impl {
+
+// A bounded LRU map from the UTF-8 value of a String column to a global reference of the decoded Java String.
+// Reading a cached value returns the same String instance without transcoding it again. The cache is shared by all
+// Realm instances of a file, so it is guarded by a mutex.
+class StringInternCache {
+public:
+    // Longer values are unlikely to repeat and would make the cache expensive to hold.
+    static const size_t max_value_size = 64;
+
+    explicit StringInternCache(size_t max_entries)
+        : m_max_entries(max_entries)
+    {
+    }
+
+    // Returns a local reference to the String for the given value, decoding and caching it if needed.
+    jstring get(JNIEnv* env, StringData value);
+
+    // Deletes all global references. Must be called before the cache is destroyed.
+    void clear(JNIEnv* env);
+
+private:
+    typedef std::list<std::pair<std::string, jstring>> LruList;
+
+    const size_t m_max_entries;
+    std::mutex m_mutex;
+    // Most recently used values first.
+    LruList m_lru;
+    std::unordered_map<std::string, LruList::iterator> m_index;
+};
+
+} // namespace _impl
+
+} // namespace realm
+
+#endif // STRING_INTERN_CACHE_HPP
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef TABLE_VIEW_LIMIT_HPP
+#define TABLE_VIEW_LIMIT_HPP
+
+#include <algorithm>
+#include <vector>
+
+#include <realm.hpp>
+#include <realm/unicode.hpp>
+
+namespace realm {
+
+namespace _impl {
+
+// Compares two rows the same way TableView::sort() does, including nulls being sorted first. Each sort key is a path
+// of link columns which ends with the column to compare. A null link on the way is compared as a null value.
+class RowComparator {
+public:
+    RowComparator(const Table& table, const std::vector<std::vector<size_t>>& columns,
+                  const std::vector<bool>& ascendings)
+        : m_columns(columns), m_ascendings(ascendings)
+    {
+        m_tables.reserve(columns.size());
+        for (const std::vector<size_t>& path : columns) {
+            std::vector<const Table*> tables;
+            const Table* current = &table;
+            for (size_t i = 0; i < path.size(); ++i) {
+                tables.push_back(current);
+                if (i + 1 < path.size()) {
+                    current = current->get_link_target(path[i]).get();
+                }
+            }
+            m_tables.push_back(std::move(tables));
+        }
+    }
+
+    // Returns < 0, 0 or > 0 if row1 should be sorted before, together with or after row2.
+    int compare(size_t row1, size_t row2) const
+    {
+        for (size_t i = 0; i < m_columns.size(); ++i) {
+            int result = compare_key(i, row1, row2);
+            if (result != 0) {
+                return m_ascendings[i] ? result : -result;
+            }
+        }
+        return 0;
+    }
+
+private:
+    template <typename T>
+    static int compare_values(const T& value1, const T& value2)
+    {
+        return (value1 < value2) ? -1 : ((value2 < value1) ? 1 : 0);
+    }
+
+    // Follows the links of the key to the row holding the value. Returns false if one of the links is null.
+    bool resolve(size_t key, size_t& row) const
+    {
+        const std::vector<size_t>& path = m_columns[key];
+        const std::vector<const Table*>& tables = m_tables[key];
+        for (size_t i = 0; i + 1 < path.size(); ++i) {
+            if (tables[i]->is_null_link(path[i], row)) {
+                return false;
+            }
+            row = tables[i]->get_link(path[i], row);
+        }
+        return true;
+    }
+
+    int compare_key(size_t key, size_t row1, size_t row2) const
+    {
+        const Table& table = *m_tables[key].back();
+        size_t column = m_columns[key].back();
+        bool null1 = !resolve(key, row1) || table.is_null(column, row1);
+        bool null2 = !resolve(key, row2) || table.is_null(column, row2);
+        if (null1 || null2) {
+            return (null1 == null2) ? 0 : (null1 ? -1 : 1);
+        }
+        switch (table.get_column_type(column)) {
+            case type_Bool:
+                return compare_values(table.get_bool(column, row1), table.get_bool(column, row2));
+            case type_Int:
+                return compare_values(table.get_int(column, row1), table.get_int(column, row2));
+            case type_Float:
+                return compare_values(table.get_float(column, row1), table.get_float(column, row2));
+            case type_Double:
+                return compare_values(table.get_double(column, row1), table.get_double(column, row2));
+            case type_Timestamp:
+                return compare_values(table.get_timestamp(column, row1), table.get_timestamp(column, row2));
+            case type_String: {
+                StringData value1 = table.get_string(column, row1);
+                StringData value2 = table.get_string(column, row2);
+                if (value1 == value2) {
+                    return 0;
+                }
+                return utf8_compare(value1, value2) ? -1 : 1;
+            }
+            default:
+                REALM_UNREACHABLE();
+        }
+    }
+
+    const std::vector<std::vector<size_t>>& m_columns;
+    const std::vector<bool>& m_ascendings;
+    // The table of each column in the keys, the first one being the table of the sorted rows.
+    std::vector<std::vector<const Table*>> m_tables;
+};
+
+// Returns the rows of the query from `offset` up to `offset + limit` in the order TableView::sort() would give them
+// for the sort keys. Only the first offset + limit rows are kept in a heap while the matches are gone through, so the
+// cost grows with the number of matches times log(offset + limit) and no copy of all matches is sorted. Without sort
+// keys the rows are returned in the order they are found, and the search stops after offset + limit matches.
+inline std::vector<size_t> find_top_rows(Query& query, const std::vector<std::vector<size_t>>& columns,
+                                         const std::vector<bool>& ascendings, size_t offset, size_t limit)
+{
+    std::vector<size_t> rows;
+    if (limit == 0) {
+        return rows;
+    }
+    const size_t count = (limit < size_t(-1) - offset) ? offset + limit : size_t(-1);
+    if (columns.empty()) {
+        TableView matches = query.find_all(0, size_t(-1), count);
+        for (size_t i = offset; i < matches.size(); ++i) {
+            rows.push_back(matches.get_source_ndx(i));
+        }
+        return rows;
+    }
+
+    RowComparator comparator(*query.get_table(), columns, ascendings);
+    // Rows are found in increasing order, so ties are resolved by row index to keep the sort stable.
+    auto less = [&comparator](size_t row1, size_t row2) {
+        int result = comparator.compare(row1, row2);
+        return (result != 0) ? (result < 0) : (row1 < row2);
+    };
+    // A max-heap, so the last of the rows kept is the one replaced by a row sorted before it.
+    TableView matches = query.find_all();
+    for (size_t i = 0; i < matches.size(); ++i) {
+        size_t row = matches.get_source_ndx(i);
+        if (rows.size() < count) {
+            rows.push_back(row);
+            std::push_heap(rows.begin(), rows.end(), less);
+        }
+        else if (less(row, rows.front())) {
+            std::pop_heap(rows.begin(), rows.end(), less);
+            rows.back() = row;
+            std::push_heap(rows.begin(), rows.end(), less);
+        }
+    }
+    std::sort_heap(rows.begin(), rows.end(), less);
+    rows.erase(rows.begin(), rows.begin() + std::min(offset, rows.size()));
+    return rows;
+}
+
+} // namespace _impl
+
+} // namespace realm
+
+#endif // TABLE_VIEW_LIMIT_HPP
@@ -216,6 +216,62 @@ void ThrowNullValueException(JNIEnv* env, Table* table, size_t col_ndx) {
     ThrowException(env, IllegalArgument, ss.str());
 }
 
+bool ReadSortColumns(JNIEnv* env, const Table& table, jlongArray columnIndices, jbooleanArray ascending,
+                     std::vector<std::vector<size_t>>& columns, std::vector<bool>& ascendings)
+{
+    JniLongArray long_arr(env, columnIndices);
+    JniBooleanArray bool_arr(env, ascending);
+    std::vector<size_t> path;
+    const Table* current = &table;
+    for (jsize i = 0; i < long_arr.len(); ++i) {
+        jlong column = long_arr[i];
+        // Negative elements are linking objects fields or list aggregates in the column indices of queries. Neither
+        // has a single value to sort by.
+        if (column < 0) {
+            ThrowException(env, IllegalArgument, "Sorting is only supported over links to single objects.");
+            return false;
+        }
+        if (!COL_INDEX_VALID(env, current, column)) {
+            return false;
+        }
+        DataType type = current->get_column_type(S(column));
+        path.push_back(S(column));
+        // Links can't be sorted by themselves, so a link column is always a step to the linked object.
+        if (type == type_Link) {
+            current = current->get_link_target(S(column)).get();
+            continue;
+        }
+        switch (type) {
+            case type_Bool:
+            case type_Int:
+            case type_Float:
+            case type_Double:
+            case type_String:
+            case type_Timestamp:
+                break;
+            default:
+                ThrowException(env, IllegalArgument,
+                               "Sort is not supported on binary data, object references and RealmList.");
+                return false;
+        }
+        columns.push_back(std::move(path));
+        path.clear();
+        current = &table;
+    }
+    if (!path.empty()) {
+        ThrowException(env, IllegalArgument, "A link path to sort by must end with a field of the linked object.");
+        return false;
+    }
+    if (columns.size() != size_t(bool_arr.len())) {
+        ThrowException(env, IllegalArgument, "Number of fields and sort orders do not match.");
+        return false;
+    }
+    for (jsize i = 0; i < bool_arr.len(); ++i) {
+        ascendings.push_back(B(bool_arr[i]));
+    }
+    return true;
+}
+
 bool GetBinaryData(JNIEnv* env, jobject jByteBuffer, realm::BinaryData& bin)
 {
     const char* data = static_cast<char*>(env->GetDirectBufferAddress(jByteBuffer));
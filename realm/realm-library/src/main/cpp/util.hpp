@@ -636,6 +636,12 @@ private:
     jint                m_releaseMode;
 };
 
+// Reads the sort keys for `table`. A key is encoded like the column indices of a query condition: the indices of the link
+// columns to follow, followed by the column to sort by. Since link columns can't be sorted by themselves, each key ends
+// at the first column which isn't a link. Returns false if an exception has been thrown.
+bool ReadSortColumns(JNIEnv* env, const realm::Table& table, jlongArray columnIndices, jbooleanArray ascending,
+                     std::vector<std::vector<size_t>>& columns, std::vector<bool>& ascendings);
+
 // Wraps jobject and automatically calls DeleteLocalRef when this object is destroyed.
 // DeleteLocalRef is not necessary to be called in most cases since all local references will be cleaned up when the
 // program returns to Java from native. But if the LocaRef is created in a loop, consider to use this class to wrap it
@@ -19,6 +19,7 @@ package io.realm;
 import android.os.Handler;
 import android.os.Looper;
 import android.os.Message;
+import android.os.SystemClock;
 
 import io.realm.internal.HandlerControllerConstants;
 import io.realm.internal.RealmNotifier;
@@ -30,8 +31,14 @@ import io.realm.log.RealmLog;
  */
 class AndroidNotifier implements RealmNotifier {
     private Handler handler;
+    // Minimum time between two REALM_CHANGED messages, see RealmConfiguration.Builder#notificationInterval().
+    private final long notificationIntervalMillis;
+    // Uptime at which the last REALM_CHANGED message was scheduled to be delivered. Guarded by this, as changes can be
+    // reported from any thread.
+    private long lastChangeUptimeMillis = 0;
 
     public AndroidNotifier(HandlerController handlerController) {
+        notificationIntervalMillis = handlerController.realm.getConfiguration().getNotificationIntervalMillis();
         if (isAutoRefreshAvailable()) {
             handler = new Handler(handlerController);
         }
@@ -83,10 +90,27 @@ class AndroidNotifier implements RealmNotifier {
         // Note there is a race condition with handler.hasMessages() and handler.sendEmptyMessage()
         // as the target thread consumes messages at the same time. In this case it is not a problem as worst
         // case we end up with two REALM_CHANGED messages in the queue.
+        // With a notification interval the message is delayed until the interval has passed since the last one.
+        // Changes arriving in the meantime are covered by the pending message, as it refreshes to the latest version.
+        // Scheduling is serialized, so concurrent changes can neither both schedule a message within the interval nor
+        // lose an update of the last delivery time.
         boolean messageHandled = true;
-        if (!handler.hasMessages(HandlerControllerConstants.REALM_CHANGED) &&
-                !handler.hasMessages(HandlerControllerConstants.LOCAL_COMMIT)) {
-            messageHandled = handler.sendEmptyMessage(HandlerControllerConstants.REALM_CHANGED);
+        if (notificationIntervalMillis == 0) {
+            if (!handler.hasMessages(HandlerControllerConstants.REALM_CHANGED) &&
+                    !handler.hasMessages(HandlerControllerConstants.LOCAL_COMMIT)) {
+                messageHandled = handler.sendEmptyMessage(HandlerControllerConstants.REALM_CHANGED);
+            }
+        } else {
+            synchronized (this) {
+                if (!handler.hasMessages(HandlerControllerConstants.REALM_CHANGED) &&
+                        !handler.hasMessages(HandlerControllerConstants.LOCAL_COMMIT)) {
+                    long deliveryTime = Math.max(SystemClock.uptimeMillis(),
+                            lastChangeUptimeMillis + notificationIntervalMillis);
+                    messageHandled = handler.sendEmptyMessageAtTime(HandlerControllerConstants.REALM_CHANGED,
+                            deliveryTime);
+                    lastChangeUptimeMillis = deliveryTime;
+                }
+            }
         }
         if (!messageHandled) {
             RealmLog.warn("Cannot update Looper threads when the Looper has quit. Use realm.setAutoRefresh(false) " +
@@ -23,13 +23,18 @@ import android.os.Looper;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.lang.ref.WeakReference;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.realm.exceptions.RealmFileException;
 import io.realm.exceptions.RealmMigrationNeededException;
+import io.realm.internal.CaseInsensitiveIndex;
+import io.realm.internal.FullTextIndex;
 import io.realm.internal.InvalidRow;
+import io.realm.internal.ProxyIdentityMap;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.SharedRealm;
 import io.realm.internal.ColumnInfo;
@@ -37,9 +42,11 @@ import io.realm.internal.Row;
 import io.realm.internal.Table;
 import io.realm.internal.UncheckedRow;
 import io.realm.internal.Util;
+import io.realm.internal.async.BadVersionException;
 import io.realm.internal.async.RealmThreadPoolExecutor;
 import io.realm.log.RealmLog;
 import io.realm.internal.ObjectServerFacade;
+import io.realm.internal.RealmNotifier;
 import rx.Observable;
 
 /**
@@ -55,7 +62,7 @@ abstract class BaseRealm implements Closeable {
             "Realm access from incorrect thread. Realm instance can only be closed on the thread it was created.";
     private static final String INCORRECT_THREAD_MESSAGE =
             "Realm access from incorrect thread. Realm objects can only be accessed on the thread they were created.";
-    private static final String CLOSED_REALM_MESSAGE =
+    static final String CLOSED_REALM_MESSAGE =
             "This Realm instance has already been closed, making it unusable.";
     private static final String NOT_IN_TRANSACTION_MESSAGE =
             "Changing Realm data can only be done from inside a transaction.";
@@ -73,13 +80,25 @@ abstract class BaseRealm implements Closeable {
     RealmSchema schema;
     HandlerController handlerController;
 
+    // Only set for frozen Realms. It is a weak reference since the frozen Realm is kept alive by its thread while the
+    // snapshot must be collectable once no frozen object or RealmResults reference it any more.
+    private final WeakReference<FrozenSnapshot> frozenSnapshot;
+    // The last snapshot created from this Realm. Freezing several objects at the same version will share it.
+    private WeakReference<FrozenSnapshot> lastFrozenSnapshot;
+    // Versions of the classes with a full-text or case-insensitive index when the current write transaction began.
+    // Only their indexes need to be updated on commit.
+    private Map<String, Long> fullTextVersions;
+    private Map<String, Long> caseInsensitiveVersions;
+    // The objects returned for rows of this Realm, null if the identity map isn't enabled. Frozen Realms can be read
+    // from any thread and don't use it.
+    private final ProxyIdentityMap identityMap;
 
     protected BaseRealm(RealmConfiguration configuration) {
         this.threadId = Thread.currentThread().getId();
         this.configuration = configuration;
 
         this.handlerController = new HandlerController(this);
-        this.sharedRealm = SharedRealm.getInstance(configuration, new AndroidNotifier(this.handlerController),
+        this.sharedRealm = SharedRealm.getInstance(configuration, createNotifier(configuration),
                 !(this instanceof Realm) ? null :
                 new SharedRealm.SchemaVersionListener() {
                     @Override
@@ -88,22 +107,107 @@ abstract class BaseRealm implements Closeable {
                     }
                 });
         this.schema = new RealmSchema(this);
+        this.frozenSnapshot = null;
+        this.identityMap = configuration.isIdentityMapEnabled() ? new ProxyIdentityMap() : null;
 
         if (handlerController.isAutoRefreshAvailable()) {
             setAutoRefresh(true);
         }
     }
 
+    private RealmNotifier createNotifier(RealmConfiguration configuration) {
+        RealmEventLoop eventLoop = RealmEventLoop.myEventLoop();
+        if (eventLoop != null) {
+            return new EventLoopNotifier(handlerController, eventLoop, configuration);
+        }
+        return new AndroidNotifier(handlerController);
+    }
+
+    /**
+     * Creates a frozen Realm instance which is pinned at the version of the given snapshot. Frozen Realms never
+     * auto-refresh, cannot be written to and can be accessed from any thread.
+     *
+     * @param configuration the {@link RealmConfiguration} used to open the Realm.
+     * @param snapshot the snapshot this Realm belongs to.
+     * @throws IllegalStateException if the version of the snapshot is no longer available.
+     */
+    protected BaseRealm(RealmConfiguration configuration, FrozenSnapshot snapshot) {
+        this.threadId = Thread.currentThread().getId();
+        this.configuration = configuration;
+        this.frozenSnapshot = new WeakReference<FrozenSnapshot>(snapshot);
+        this.identityMap = null;
+
+        this.handlerController = new HandlerController(this);
+        this.sharedRealm = SharedRealm.getInstance(configuration);
+        try {
+            sharedRealm.beginReadAt(snapshot.getVersion());
+        } catch (BadVersionException e) {
+            sharedRealm.close();
+            throw new IllegalStateException("The frozen version " + snapshot.getVersion() + " is no longer available.",
+                    e);
+        }
+        this.schema = new RealmSchema(this);
+    }
+
+    /**
+     * Checks if this Realm is frozen. A frozen Realm and all objects and {@link RealmResults} obtained from it are
+     * pinned at one version, are immutable and can be read from any thread.
+     *
+     * @return {@code true} if this Realm is frozen, {@code false} otherwise.
+     * @see RealmResults#freeze()
+     * @see RealmObject#freeze(RealmModel)
+     */
+    public boolean isFrozen() {
+        return frozenSnapshot != null;
+    }
+
+    /**
+     * Returns a snapshot pinned at the current version of this Realm and adds a reference to it, which the caller has
+     * to release with {@link FrozenSnapshot#release()}. Snapshots are shared as long as the Realm has not moved to
+     * another version and they haven't been released.
+     */
+    FrozenSnapshot acquireFrozenSnapshot() {
+        checkIfValid();
+        if (frozenSnapshot != null) {
+            FrozenSnapshot snapshot = frozenSnapshot.get();
+            if (snapshot == null || !snapshot.acquire()) {
+                throw new IllegalStateException(CLOSED_REALM_MESSAGE);
+            }
+            return snapshot;
+        }
+        if (sharedRealm.isInTransaction()) {
+            throw new IllegalStateException("Objects cannot be frozen inside a write transaction.");
+        }
+
+        SharedRealm.VersionID version = sharedRealm.getVersionID();
+        FrozenSnapshot snapshot = (lastFrozenSnapshot != null) ? lastFrozenSnapshot.get() : null;
+        if (snapshot != null && snapshot.getVersion().equals(version) && snapshot.acquire()) {
+            return snapshot;
+        }
+        snapshot = FrozenSnapshot.create(this, version);
+        snapshot.acquire();
+        lastFrozenSnapshot = new WeakReference<FrozenSnapshot>(snapshot);
+        return snapshot;
+    }
+
+    // Marks objects created by a frozen Realm as frozen so they can be handed to other threads.
+    private void attachFrozenSnapshot(RealmObjectProxy proxy, String dynamicClassName, long rowIndex) {
+        FrozenSnapshot snapshot = frozenSnapshot.get();
+        if (snapshot != null) {
+            proxy.realmGet$proxyState().setFrozen$realm(snapshot, dynamicClassName, rowIndex);
+        }
+    }
+
     /**
      * Sets the auto-refresh status of the Realm instance.
      * <p>
      * Auto-refresh is a feature that enables automatic update of the current Realm instance and all its derived objects
      * (RealmResults and RealmObject instances) when a commit is performed on a Realm acting on the same file in
      * another thread. This feature is only available if the Realm instance lives on a {@link android.os.Looper} enabled
-     * thread.
+     * thread or on a thread with a {@link RealmEventLoop}.
      *
      * @param autoRefresh {@code true} will turn auto-refresh on, {@code false} will turn it off.
-     * @throws IllegalStateException if called from a non-Looper thread.
+     * @throws IllegalStateException if called from a non-Looper thread without a {@link RealmEventLoop}.
      */
     public void setAutoRefresh(boolean autoRefresh) {
         checkIfValid();
@@ -325,7 +429,12 @@ abstract class BaseRealm implements Closeable {
      */
     public void beginTransaction() {
         checkIfValid();
+        if (frozenSnapshot != null) {
+            throw new IllegalStateException("Frozen Realms cannot be modified.");
+        }
         sharedRealm.beginTransaction();
+        fullTextVersions = FullTextIndex.getClassVersions(sharedRealm);
+        caseInsensitiveVersions = CaseInsensitiveIndex.getClassVersions(sharedRealm);
     }
 
     /**
@@ -346,7 +455,17 @@ abstract class BaseRealm implements Closeable {
      */
     void commitTransaction(boolean notifyLocalThread) {
         checkIfValid();
+        RealmMetricsListener metricsListener = configuration.getMetricsListener();
+        long startNanos = (metricsListener != null) ? System.nanoTime() : 0;
+        FullTextIndex.update(sharedRealm, fullTextVersions);
+        fullTextVersions = null;
+        CaseInsensitiveIndex.update(sharedRealm, caseInsensitiveVersions);
+        caseInsensitiveVersions = null;
         sharedRealm.commitTransaction();
+        if (metricsListener != null) {
+            long durationNanos = System.nanoTime() - startNanos;
+            metricsListener.onTransactionCommitted(configuration.getPath(), durationNanos, Util.getNativeMemUsage());
+        }
         ObjectServerFacade.getFacade(configuration.isSyncConfiguration())
                 .notifyCommit(configuration, sharedRealm.getLastSnapshotVersion());
 
@@ -367,6 +486,8 @@ abstract class BaseRealm implements Closeable {
      */
     public void cancelTransaction() {
         checkIfValid();
+        fullTextVersions = null;
+        caseInsensitiveVersions = null;
         sharedRealm.cancelTransaction();
     }
 
@@ -378,8 +499,8 @@ abstract class BaseRealm implements Closeable {
             throw new IllegalStateException(BaseRealm.CLOSED_REALM_MESSAGE);
         }
 
-        // Check if we are in the right thread
-        if (threadId != Thread.currentThread().getId()) {
+        // Check if we are in the right thread. Frozen Realms can be read from any thread.
+        if (frozenSnapshot == null && threadId != Thread.currentThread().getId()) {
             throw new IllegalStateException(BaseRealm.INCORRECT_THREAD_MESSAGE);
         }
     }
@@ -458,6 +579,9 @@ abstract class BaseRealm implements Closeable {
      * Closes the Realm instances and all its resources without checking the {@link RealmCache}.
      */
     void doClose() {
+        if (identityMap != null) {
+            identityMap.clear();
+        }
         if (sharedRealm != null) {
             sharedRealm.close();
             sharedRealm = null;
@@ -474,7 +598,7 @@ abstract class BaseRealm implements Closeable {
      * @throws IllegalStateException if attempting to close from another thread.
      */
     public boolean isClosed() {
-        if (this.threadId != Thread.currentThread().getId()) {
+        if (frozenSnapshot == null && this.threadId != Thread.currentThread().getId()) {
             throw new IllegalStateException(INCORRECT_THREAD_MESSAGE);
         }
 
@@ -507,11 +631,24 @@ abstract class BaseRealm implements Closeable {
 
     <E extends RealmModel> E get(Class<E> clazz, long rowIndex, boolean acceptDefaultValue, List<String> excludeFields) {
         Table table = schema.getTable(clazz);
+        // Objects which are being created must be constructed anew, as their default values are set by the constructor.
+        if (identityMap != null && !acceptDefaultValue) {
+            E cached = identityMap.get(table, rowIndex, clazz);
+            if (cached != null) {
+                return cached;
+            }
+        }
         UncheckedRow row = table.getUncheckedRow(rowIndex);
         E result = configuration.getSchemaMediator().newInstance(clazz, this, row, schema.getColumnInfo(clazz),
                 acceptDefaultValue, excludeFields);
         RealmObjectProxy proxy = (RealmObjectProxy) result;
         proxy.realmGet$proxyState().setTableVersion$realm();
+        if (frozenSnapshot != null) {
+            attachFrozenSnapshot(proxy, null, rowIndex);
+        }
+        if (identityMap != null) {
+            identityMap.put(table, rowIndex, proxy);
+        }
         return result;
     }
 
@@ -521,6 +658,13 @@ abstract class BaseRealm implements Closeable {
         final boolean isDynamicRealmObject = dynamicClassName != null;
         final Table table = isDynamicRealmObject ? schema.getTable(dynamicClassName) : schema.getTable(clazz);
 
+        if (identityMap != null && rowIndex != Table.NO_MATCH) {
+            E cached = identityMap.get(table, rowIndex, clazz);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
         E result;
         if (isDynamicRealmObject) {
             @SuppressWarnings("unchecked")
@@ -536,6 +680,12 @@ abstract class BaseRealm implements Closeable {
         RealmObjectProxy proxy = (RealmObjectProxy) result;
         if (rowIndex != Table.NO_MATCH) {
             proxy.realmGet$proxyState().setTableVersion$realm();
+            if (frozenSnapshot != null) {
+                attachFrozenSnapshot(proxy, dynamicClassName, rowIndex);
+            }
+            if (identityMap != null) {
+                identityMap.put(table, rowIndex, proxy);
+            }
         }
 
         return result;
@@ -579,7 +729,6 @@ abstract class BaseRealm implements Closeable {
      * Compacts the Realm file defined by the given configuration.
      *
      * @param configuration configuration for the Realm to compact.
-     * @throws IllegalArgumentException if Realm is encrypted.
      * @return {@code true} if compaction succeeded, {@code false} otherwise.
      */
     static boolean compactRealm(final RealmConfiguration configuration) {
@@ -660,7 +809,8 @@ abstract class BaseRealm implements Closeable {
 
     @Override
     protected void finalize() throws Throwable {
-        if (sharedRealm != null && !sharedRealm.isClosed()) {
+        // Frozen Realms are closed by their snapshot.
+        if (frozenSnapshot == null && sharedRealm != null && !sharedRealm.isClosed()) {
             RealmLog.warn("Remember to call close() on all Realm instances. " +
                     "Realm %s is being finalized without being closed, " +
                     "this can lead to running out of native memory.", configuration.getPath()
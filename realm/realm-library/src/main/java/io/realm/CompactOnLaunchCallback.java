@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * This interface is used to determine if a Realm file should be compacted the first time the file is opened and
+ * before the instance is returned.
+ * <p>
+ * Note that compacting a file can take a while, so compacting should generally only be done as part of opening a
+ * Realm on a background thread.
+ *
+ * @see RealmConfiguration.Builder#compactOnLaunch(CompactOnLaunchCallback)
+ * @see DefaultCompactOnLaunchCallback
+ */
+public interface CompactOnLaunchCallback {
+
+    /**
+     * This method determines if the Realm file should be compacted before opened and returned to the user. It is
+     * only called when the Realm file isn't opened by any other instance in this process.
+     *
+     * @param totalBytes the total file size (data + free space).
+     * @param usedBytes the total bytes used by data in the file.
+     * @return {@code true} to indicate an attempt to compact the file should be made. {@code false} otherwise.
+     * Compaction is skipped if the file is opened by another process.
+     */
+    boolean shouldCompact(long totalBytes, long usedBytes);
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.Locale;
+
+/**
+ * The default implementation of {@link CompactOnLaunchCallback}. It compacts the Realm file when it is larger than
+ * a threshold size and less than a given ratio of the file is used by data.
+ * <p>
+ * By default files larger than 100 MB are compacted when less than 50% of the file is used.
+ */
+public class DefaultCompactOnLaunchCallback implements CompactOnLaunchCallback {
+
+    private static final long DEFAULT_THRESHOLD_SIZE = 100 * 1024 * 1024;
+    private static final double DEFAULT_USED_RATIO = 0.5;
+
+    private final long thresholdSize;
+    private final double usedRatio;
+
+    /**
+     * Creates a callback which compacts files larger than 100 MB when less than 50% of the file is used.
+     */
+    public DefaultCompactOnLaunchCallback() {
+        this(DEFAULT_THRESHOLD_SIZE, DEFAULT_USED_RATIO);
+    }
+
+    /**
+     * Creates a callback with custom thresholds.
+     *
+     * @param thresholdSize files of this size in bytes or smaller are never compacted.
+     * @param usedRatio files are compacted when the ratio of used bytes to the file size is below this value.
+     * @throws IllegalArgumentException if {@code thresholdSize} is negative or {@code usedRatio} is not between 0 and
+     * 1.
+     */
+    public DefaultCompactOnLaunchCallback(long thresholdSize, double usedRatio) {
+        if (thresholdSize < 0) {
+            throw new IllegalArgumentException("Threshold size must not be negative: " + thresholdSize);
+        }
+        if (!(usedRatio >= 0 && usedRatio <= 1)) {
+            throw new IllegalArgumentException("Used ratio must be between 0 and 1: " + usedRatio);
+        }
+        this.thresholdSize = thresholdSize;
+        this.usedRatio = usedRatio;
+    }
+
+    @Override
+    public boolean shouldCompact(long totalBytes, long usedBytes) {
+        return totalBytes > thresholdSize && (double) usedBytes / totalBytes < usedRatio;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        DefaultCompactOnLaunchCallback that = (DefaultCompactOnLaunchCallback) o;
+        return thresholdSize == that.thresholdSize && Double.compare(that.usedRatio, usedRatio) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        long ratioBits = Double.doubleToLongBits(usedRatio);
+        int result = (int) (thresholdSize ^ (thresholdSize >>> 32));
+        result = 31 * result + (int) (ratioBits ^ (ratioBits >>> 32));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "DefaultCompactOnLaunchCallback{thresholdSize: %d, usedRatio: %.2f}",
+                thresholdSize, usedRatio);
+    }
+}
@@ -50,6 +50,11 @@ public final class DynamicRealm extends BaseRealm {
         super(configuration);
     }
 
+    // Creates a frozen DynamicRealm pinned at the version of the given snapshot.
+    DynamicRealm(RealmConfiguration configuration, FrozenSnapshot snapshot) {
+        super(configuration, snapshot);
+    }
+
     /**
      * Realm static constructor that returns a dynamic variant of the Realm instance defined by provided
      * {@link io.realm.RealmConfiguration}. Dynamic Realms do not care about schemaVersion and schemas, so opening a
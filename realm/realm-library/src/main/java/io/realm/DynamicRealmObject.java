@@ -21,10 +21,12 @@ import java.util.Locale;
 
 import io.realm.exceptions.RealmException;
 import io.realm.internal.CheckedRow;
+import io.realm.internal.ColumnMetadata;
 import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.Row;
 import io.realm.internal.Table;
+import io.realm.internal.TableView;
 import io.realm.internal.UncheckedRow;
 import io.realm.internal.android.JsonUtils;
 
@@ -92,8 +94,9 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      */
     @SuppressWarnings("unchecked")
     public <E> E get(String fieldName) {
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
-        RealmFieldType type = proxyState.getRow$realm().getColumnType(columnIndex);
+        ColumnMetadata.Column column = getColumn(fieldName);
+        long columnIndex = column.index;
+        RealmFieldType type = column.type;
         switch (type) {
             case BOOLEAN: return (E) Boolean.valueOf(proxyState.getRow$realm().getBoolean(columnIndex));
             case INTEGER: return (E) Long.valueOf(proxyState.getRow$realm().getLong(columnIndex));
@@ -123,13 +126,22 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
      */
     public boolean getBoolean(String fieldName) {
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
-        try {
-            return proxyState.getRow$realm().getBoolean(columnIndex);
-        } catch (IllegalArgumentException e) {
-            checkFieldType(fieldName, columnIndex, RealmFieldType.BOOLEAN);
-            throw e;
-        }
+        long columnIndex = getColumnIndex(fieldName, RealmFieldType.BOOLEAN);
+        return proxyState.getRow$realm().getBoolean(columnIndex);
+    }
+
+    /**
+     * Returns the {@code boolean} value of the field identified by the given key.
+     *
+     * @param key the key of the field.
+     * @return the boolean value.
+     * @throws IllegalArgumentException if the key doesn't belong to the class of this object or the field doesn't
+     * have the expected type.
+     * @see #getBoolean(String)
+     */
+    public boolean getBoolean(FieldKey key) {
+        long columnIndex = getColumnIndex(key, RealmFieldType.BOOLEAN);
+        return proxyState.getRow$realm().getBoolean(columnIndex);
     }
 
     /**
@@ -147,6 +159,19 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
         return (int) getLong(fieldName);
     }
 
+    /**
+     * Returns the {@code int} value of the field identified by the given key.
+     *
+     * @param key the key of the field.
+     * @return the int value. Integer values exceeding {@code Integer.MAX_VALUE} will wrap.
+     * @throws IllegalArgumentException if the key doesn't belong to the class of this object or the field doesn't
+     * have the expected type.
+     * @see #getInt(String)
+     */
+    public int getInt(FieldKey key) {
+        return (int) getLong(key);
+    }
+
     /**
      * Returns the {@code short} value for a given field.
      * <p>
@@ -162,6 +187,19 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
         return (short) getLong(fieldName);
     }
 
+    /**
+     * Returns the {@code short} value of the field identified by the given key.
+     *
+     * @param key the key of the field.
+     * @return the short value. Integer values exceeding {@code Short.MAX_VALUE} will wrap.
+     * @throws IllegalArgumentException if the key doesn't belong to the class of this object or the field doesn't
+     * have the expected type.
+     * @see #getShort(String)
+     */
+    public short getShort(FieldKey key) {
+        return (short) getLong(key);
+    }
+
     /**
      * Returns the {@code long} value for a given field.
      * <p>
@@ -174,13 +212,22 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
      */
     public long getLong(String fieldName) {
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
-        try {
-            return proxyState.getRow$realm().getLong(columnIndex);
-        } catch (IllegalArgumentException e) {
-            checkFieldType(fieldName, columnIndex, RealmFieldType.INTEGER);
-            throw e;
-        }
+        long columnIndex = getColumnIndex(fieldName, RealmFieldType.INTEGER);
+        return proxyState.getRow$realm().getLong(columnIndex);
+    }
+
+    /**
+     * Returns the {@code long} value of the field identified by the given key.
+     *
+     * @param key the key of the field.
+     * @return the long value. Integer values exceeding {@code Long.MAX_VALUE} will wrap.
+     * @throws IllegalArgumentException if the key doesn't belong to the class of this object or the field doesn't
+     * have the expected type.
+     * @see #getLong(String)
+     */
+    public long getLong(FieldKey key) {
+        long columnIndex = getColumnIndex(key, RealmFieldType.INTEGER);
+        return proxyState.getRow$realm().getLong(columnIndex);
     }
 
     /**
@@ -198,6 +245,19 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
         return (byte) getLong(fieldName);
     }
 
+    /**
+     * Returns the {@code byte} value of the field identified by the given key.
+     *
+     * @param key the key of the field.
+     * @return the byte value.
+     * @throws IllegalArgumentException if the key doesn't belong to the class of this object or the field doesn't
+     * have the expected type.
+     * @see #getByte(String)
+     */
+    public byte getByte(FieldKey key) {
+        return (byte) getLong(key);
+    }
+
     /**
      * Returns the {@code float} value for a given field.
      * <p>
@@ -210,13 +270,22 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
      */
     public float getFloat(String fieldName) {
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
-        try {
-            return proxyState.getRow$realm().getFloat(columnIndex);
-        } catch (IllegalArgumentException e) {
-            checkFieldType(fieldName, columnIndex, RealmFieldType.FLOAT);
-            throw e;
-        }
+        long columnIndex = getColumnIndex(fieldName, RealmFieldType.FLOAT);
+        return proxyState.getRow$realm().getFloat(columnIndex);
+    }
+
+    /**
+     * Returns the {@code float} value of the field identified by the given key.
+     *
+     * @param key the key of the field.
+     * @return the float value.
+     * @throws IllegalArgumentException if the key doesn't belong to the class of this object or the field doesn't
+     * have the expected type.
+     * @see #getFloat(String)
+     */
+    public float getFloat(FieldKey key) {
+        long columnIndex = getColumnIndex(key, RealmFieldType.FLOAT);
+        return proxyState.getRow$realm().getFloat(columnIndex);
     }
 
     /**
@@ -231,13 +300,22 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
      */
     public double getDouble(String fieldName) {
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
-        try {
-            return proxyState.getRow$realm().getDouble(columnIndex);
-        } catch (IllegalArgumentException e) {
-            checkFieldType(fieldName, columnIndex, RealmFieldType.DOUBLE);
-            throw e;
-        }
+        long columnIndex = getColumnIndex(fieldName, RealmFieldType.DOUBLE);
+        return proxyState.getRow$realm().getDouble(columnIndex);
+    }
+
+    /**
+     * Returns the {@code double} value of the field identified by the given key.
+     *
+     * @param key the key of the field.
+     * @return the double value.
+     * @throws IllegalArgumentException if the key doesn't belong to the class of this object or the field doesn't
+     * have the expected type.
+     * @see #getDouble(String)
+     */
+    public double getDouble(FieldKey key) {
+        long columnIndex = getColumnIndex(key, RealmFieldType.DOUBLE);
+        return proxyState.getRow$realm().getDouble(columnIndex);
     }
 
     /**
@@ -248,13 +326,22 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      * @throws IllegalArgumentException if field name doesn't exist or it doesn't contain binary data.
      */
     public byte[] getBlob(String fieldName) {
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
-        try {
-            return proxyState.getRow$realm().getBinaryByteArray(columnIndex);
-        } catch (IllegalArgumentException e) {
-            checkFieldType(fieldName, columnIndex, RealmFieldType.BINARY);
-            throw e;
-        }
+        long columnIndex = getColumnIndex(fieldName, RealmFieldType.BINARY);
+        return proxyState.getRow$realm().getBinaryByteArray(columnIndex);
+    }
+
+    /**
+     * Returns the binary value of the field identified by the given key.
+     *
+     * @param key the key of the field.
+     * @return the byte[] value.
+     * @throws IllegalArgumentException if the key doesn't belong to the class of this object or the field doesn't
+     * have the expected type.
+     * @see #getBlob(String)
+     */
+    public byte[] getBlob(FieldKey key) {
+        long columnIndex = getColumnIndex(key, RealmFieldType.BINARY);
+        return proxyState.getRow$realm().getBinaryByteArray(columnIndex);
     }
 
     /**
@@ -265,13 +352,22 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      * @throws IllegalArgumentException if field name doesn't exist or it doesn't contain Strings.
      */
     public String getString(String fieldName) {
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
-        try {
-            return proxyState.getRow$realm().getString(columnIndex);
-        } catch (IllegalArgumentException e) {
-            checkFieldType(fieldName, columnIndex, RealmFieldType.STRING);
-            throw e;
-        }
+        long columnIndex = getColumnIndex(fieldName, RealmFieldType.STRING);
+        return proxyState.getRow$realm().getString(columnIndex);
+    }
+
+    /**
+     * Returns the {@code String} value of the field identified by the given key.
+     *
+     * @param key the key of the field.
+     * @return the String value.
+     * @throws IllegalArgumentException if the key doesn't belong to the class of this object or the field doesn't
+     * have the expected type.
+     * @see #getString(String)
+     */
+    public String getString(FieldKey key) {
+        long columnIndex = getColumnIndex(key, RealmFieldType.STRING);
+        return proxyState.getRow$realm().getString(columnIndex);
     }
 
     /**
@@ -282,8 +378,25 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      * @throws IllegalArgumentException if field name doesn't exist or it doesn't contain Dates.
      */
     public Date getDate(String fieldName) {
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
-        checkFieldType(fieldName, columnIndex, RealmFieldType.DATE);
+        long columnIndex = getColumnIndex(fieldName, RealmFieldType.DATE);
+        if (proxyState.getRow$realm().isNull(columnIndex)) {
+            return null;
+        } else {
+            return proxyState.getRow$realm().getDate(columnIndex);
+        }
+    }
+
+    /**
+     * Returns the {@code Date} value of the field identified by the given key.
+     *
+     * @param key the key of the field.
+     * @return the Date value.
+     * @throws IllegalArgumentException if the key doesn't belong to the class of this object or the field doesn't
+     * contain Dates.
+     * @see #getDate(String)
+     */
+    public Date getDate(FieldKey key) {
+        long columnIndex = getColumnIndex(key, RealmFieldType.DATE);
         if (proxyState.getRow$realm().isNull(columnIndex)) {
             return null;
         } else {
@@ -299,8 +412,7 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      * @throws IllegalArgumentException if field name doesn't exist or it doesn't contain links to other objects.
      */
     public DynamicRealmObject getObject(String fieldName) {
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
-        checkFieldType(fieldName, columnIndex, RealmFieldType.OBJECT);
+        long columnIndex = getColumnIndex(fieldName, RealmFieldType.OBJECT);
         if (proxyState.getRow$realm().isNullLink(columnIndex)) {
             return null;
         } else {
@@ -318,15 +430,37 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      * @throws IllegalArgumentException if field name doesn't exist or it doesn't contain a list of links.
      */
     public RealmList<DynamicRealmObject> getList(String fieldName) {
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
-        try {
-            LinkView linkView = proxyState.getRow$realm().getLinkList(columnIndex);
-            String className = RealmSchema.getSchemaForTable(linkView.getTargetTable());
-            return new RealmList<DynamicRealmObject>(className, linkView, proxyState.getRealm$realm());
-        } catch (IllegalArgumentException e) {
-            checkFieldType(fieldName, columnIndex, RealmFieldType.LIST);
-            throw e;
+        long columnIndex = getColumnIndex(fieldName, RealmFieldType.LIST);
+        LinkView linkView = proxyState.getRow$realm().getLinkList(columnIndex);
+        String className = RealmSchema.getSchemaForTable(linkView.getTargetTable());
+        return new RealmList<DynamicRealmObject>(className, linkView, proxyState.getRealm$realm());
+    }
+
+    /**
+     * Returns the objects of the given class which link to this object through the given field. This is the dynamic
+     * counterpart of a field annotated with {@link io.realm.annotations.LinkingObjects}.
+     *
+     * @param srcClassName the name of the class containing the link field.
+     * @param srcFieldName the name of the link field, which is either an object or a list field.
+     * @return the objects linking to this object.
+     * @throws IllegalArgumentException if the class or field doesn't exist or the field doesn't link to the class of
+     * this object.
+     */
+    public RealmResults<DynamicRealmObject> getLinkingObjects(String srcClassName, String srcFieldName) {
+        final BaseRealm realm = proxyState.getRealm$realm();
+        realm.checkIfValid();
+        final Row row = proxyState.getRow$realm();
+        if (!row.isAttached()) {
+            throw new IllegalStateException("Object is no longer valid to operate on. Was it deleted by another thread?");
         }
+        final Table srcTable = realm.schema.getTable(srcClassName);
+        final long srcColumnIndex = srcTable.getColumnIndex(srcFieldName);
+        if (srcColumnIndex == Table.NO_MATCH) {
+            throw new IllegalArgumentException(String.format("Field '%s' does not exist in class '%s'.",
+                    srcFieldName, srcClassName));
+        }
+        final TableView backlinks = row.getTable().getBacklinkView(row.getIndex(), srcTable, srcColumnIndex);
+        return RealmResults.createFromDynamicTableOrView(realm, backlinks, srcClassName);
     }
 
     /**
@@ -337,9 +471,24 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      * @throws IllegalArgumentException if field name doesn't exist.
      */
     public boolean isNull(String fieldName) {
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
-        RealmFieldType type = proxyState.getRow$realm().getColumnType(columnIndex);
-        switch (type) {
+        return isNull(getColumn(fieldName));
+    }
+
+    /**
+     * Checks if the value of the field identified by the given key is {@code null}.
+     *
+     * @param key the key of the field.
+     * @return {@code true} if field value is null, {@code false} otherwise.
+     * @throws IllegalArgumentException if the key doesn't belong to the class of this object.
+     * @see #isNull(String)
+     */
+    public boolean isNull(FieldKey key) {
+        return isNull(getColumn(key));
+    }
+
+    private boolean isNull(ColumnMetadata.Column column) {
+        long columnIndex = column.index;
+        switch (column.type) {
             case OBJECT:
                 return proxyState.getRow$realm().isNullLink(columnIndex);
             case BOOLEAN:
@@ -403,8 +552,7 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
         String strValue = isString ? (String) value : null;
 
         // Do implicit conversion if needed
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
-        RealmFieldType type = proxyState.getRow$realm().getColumnType(columnIndex);
+        RealmFieldType type = getColumn(fieldName).type;
         if (isString && type != RealmFieldType.STRING) {
             switch(type) {
                 case BOOLEAN: value = Boolean.parseBoolean(strValue); break;
@@ -468,7 +616,21 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      * @throws IllegalArgumentException if field name doesn't exist or field isn't a boolean field.
      */
     public void setBoolean(String fieldName, boolean value) {
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        long columnIndex = getColumn(fieldName).index;
+        proxyState.getRow$realm().setBoolean(columnIndex, value);
+    }
+
+    /**
+     * Sets the {@code boolean} value of the field identified by the given key.
+     *
+     * @param key the key of the field.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the key doesn't belong to the class of this object or the field doesn't
+     * have the expected type.
+     * @see #setBoolean(String, boolean)
+     */
+    public void setBoolean(FieldKey key, boolean value) {
+        long columnIndex = getColumn(key).index;
         proxyState.getRow$realm().setBoolean(columnIndex, value);
     }
 
@@ -481,9 +643,25 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      * @throws RealmException if the field is a {@link io.realm.annotations.PrimaryKey} field.
      */
     public void setShort(String fieldName, short value) {
-        checkIsPrimaryKey(fieldName);
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
-        proxyState.getRow$realm().setLong(columnIndex, value);
+        ColumnMetadata.Column column = getColumn(fieldName);
+        checkIsPrimaryKey(column);
+        proxyState.getRow$realm().setLong(column.index, value);
+    }
+
+    /**
+     * Sets the {@code short} value of the field identified by the given key.
+     *
+     * @param key the key of the field.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the key doesn't belong to the class of this object or the field doesn't
+     * have the expected type.
+     * @throws RealmException if the field is a {@link io.realm.annotations.PrimaryKey} field.
+     * @see #setShort(String, short)
+     */
+    public void setShort(FieldKey key, short value) {
+        ColumnMetadata.Column column = getColumn(key);
+        checkIsPrimaryKey(column);
+        proxyState.getRow$realm().setLong(column.index, value);
     }
 
     /**
@@ -495,9 +673,25 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      * @throws RealmException if the field is a {@link io.realm.annotations.PrimaryKey} field.
      */
     public void setInt(String fieldName, int value) {
-        checkIsPrimaryKey(fieldName);
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
-        proxyState.getRow$realm().setLong(columnIndex, value);
+        ColumnMetadata.Column column = getColumn(fieldName);
+        checkIsPrimaryKey(column);
+        proxyState.getRow$realm().setLong(column.index, value);
+    }
+
+    /**
+     * Sets the {@code int} value of the field identified by the given key.
+     *
+     * @param key the key of the field.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the key doesn't belong to the class of this object or the field doesn't
+     * have the expected type.
+     * @throws RealmException if the field is a {@link io.realm.annotations.PrimaryKey} field.
+     * @see #setInt(String, int)
+     */
+    public void setInt(FieldKey key, int value) {
+        ColumnMetadata.Column column = getColumn(key);
+        checkIsPrimaryKey(column);
+        proxyState.getRow$realm().setLong(column.index, value);
     }
 
     /**
@@ -509,9 +703,25 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      * @throws RealmException if the field is a {@link io.realm.annotations.PrimaryKey} field.
      */
     public void setLong(String fieldName, long value) {
-        checkIsPrimaryKey(fieldName);
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
-        proxyState.getRow$realm().setLong(columnIndex, value);
+        ColumnMetadata.Column column = getColumn(fieldName);
+        checkIsPrimaryKey(column);
+        proxyState.getRow$realm().setLong(column.index, value);
+    }
+
+    /**
+     * Sets the {@code long} value of the field identified by the given key.
+     *
+     * @param key the key of the field.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the key doesn't belong to the class of this object or the field doesn't
+     * have the expected type.
+     * @throws RealmException if the field is a {@link io.realm.annotations.PrimaryKey} field.
+     * @see #setLong(String, long)
+     */
+    public void setLong(FieldKey key, long value) {
+        ColumnMetadata.Column column = getColumn(key);
+        checkIsPrimaryKey(column);
+        proxyState.getRow$realm().setLong(column.index, value);
     }
 
     /**
@@ -523,9 +733,25 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      * @throws RealmException if the field is a {@link io.realm.annotations.PrimaryKey} field.
      */
     public void setByte(String fieldName, byte value) {
-        checkIsPrimaryKey(fieldName);
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
-        proxyState.getRow$realm().setLong(columnIndex, value);
+        ColumnMetadata.Column column = getColumn(fieldName);
+        checkIsPrimaryKey(column);
+        proxyState.getRow$realm().setLong(column.index, value);
+    }
+
+    /**
+     * Sets the {@code byte} value of the field identified by the given key.
+     *
+     * @param key the key of the field.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the key doesn't belong to the class of this object or the field doesn't
+     * have the expected type.
+     * @throws RealmException if the field is a {@link io.realm.annotations.PrimaryKey} field.
+     * @see #setByte(String, byte)
+     */
+    public void setByte(FieldKey key, byte value) {
+        ColumnMetadata.Column column = getColumn(key);
+        checkIsPrimaryKey(column);
+        proxyState.getRow$realm().setLong(column.index, value);
     }
 
     /**
@@ -536,7 +762,21 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      * @throws IllegalArgumentException if field name doesn't exist or field isn't a float field.
      */
     public void setFloat(String fieldName, float value) {
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        long columnIndex = getColumn(fieldName).index;
+        proxyState.getRow$realm().setFloat(columnIndex, value);
+    }
+
+    /**
+     * Sets the {@code float} value of the field identified by the given key.
+     *
+     * @param key the key of the field.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the key doesn't belong to the class of this object or the field doesn't
+     * have the expected type.
+     * @see #setFloat(String, float)
+     */
+    public void setFloat(FieldKey key, float value) {
+        long columnIndex = getColumn(key).index;
         proxyState.getRow$realm().setFloat(columnIndex, value);
     }
 
@@ -548,7 +788,21 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      * @throws IllegalArgumentException if field name doesn't exist or field isn't a double field.
      */
     public void setDouble(String fieldName, double value) {
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        long columnIndex = getColumn(fieldName).index;
+        proxyState.getRow$realm().setDouble(columnIndex, value);
+    }
+
+    /**
+     * Sets the {@code double} value of the field identified by the given key.
+     *
+     * @param key the key of the field.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the key doesn't belong to the class of this object or the field doesn't
+     * have the expected type.
+     * @see #setDouble(String, double)
+     */
+    public void setDouble(FieldKey key, double value) {
+        long columnIndex = getColumn(key).index;
         proxyState.getRow$realm().setDouble(columnIndex, value);
     }
 
@@ -561,9 +815,25 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      * @throws RealmException if the field is a {@link io.realm.annotations.PrimaryKey} field.
      */
     public void setString(String fieldName, String value) {
-        checkIsPrimaryKey(fieldName);
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
-        proxyState.getRow$realm().setString(columnIndex, value);
+        ColumnMetadata.Column column = getColumn(fieldName);
+        checkIsPrimaryKey(column);
+        proxyState.getRow$realm().setString(column.index, value);
+    }
+
+    /**
+     * Sets the {@code String} value of the field identified by the given key.
+     *
+     * @param key the key of the field.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the key doesn't belong to the class of this object or the field doesn't
+     * have the expected type.
+     * @throws RealmException if the field is a {@link io.realm.annotations.PrimaryKey} field.
+     * @see #setString(String, String)
+     */
+    public void setString(FieldKey key, String value) {
+        ColumnMetadata.Column column = getColumn(key);
+        checkIsPrimaryKey(column);
+        proxyState.getRow$realm().setString(column.index, value);
     }
 
     /**
@@ -574,7 +844,21 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      * @throws IllegalArgumentException if field name doesn't exist or field isn't a binary field.
      */
     public void setBlob(String fieldName, byte[] value) {
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        long columnIndex = getColumn(fieldName).index;
+        proxyState.getRow$realm().setBinaryByteArray(columnIndex, value);
+    }
+
+    /**
+     * Sets the binary value of the field identified by the given key.
+     *
+     * @param key the key of the field.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the key doesn't belong to the class of this object or the field doesn't
+     * have the expected type.
+     * @see #setBlob(String, byte[])
+     */
+    public void setBlob(FieldKey key, byte[] value) {
+        long columnIndex = getColumn(key).index;
         proxyState.getRow$realm().setBinaryByteArray(columnIndex, value);
     }
 
@@ -586,7 +870,24 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      * @throws IllegalArgumentException if field name doesn't exist or field isn't a Date field.
      */
     public void setDate(String fieldName, Date value) {
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        setDate(getColumn(fieldName), value);
+    }
+
+    /**
+     * Sets the {@code Date} value of the field identified by the given key.
+     *
+     * @param key the key of the field.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the key doesn't belong to the class of this object or the field isn't a
+     * Date field.
+     * @see #setDate(String, Date)
+     */
+    public void setDate(FieldKey key, Date value) {
+        setDate(getColumn(key), value);
+    }
+
+    private void setDate(ColumnMetadata.Column column, Date value) {
+        long columnIndex = column.index;
         if (value == null) {
             proxyState.getRow$realm().setNull(columnIndex);
         } else {
@@ -603,7 +904,7 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      * of DynamicRealmObject doesn't match or it belongs to a different Realm.
      */
     public void setObject(String fieldName, DynamicRealmObject value) {
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        long columnIndex = getColumn(fieldName).index;
         if (value == null) {
             proxyState.getRow$realm().nullifyLink(columnIndex);
         } else {
@@ -652,7 +953,7 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
             typeValidated = true;
         }
 
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        long columnIndex = getColumn(fieldName).index;
         LinkView links = proxyState.getRow$realm().getLinkList(columnIndex);
         links.clear();
         Table linkTargetTable = links.getTargetTable();
@@ -678,12 +979,28 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      * @throws RealmException if the field is a {@link io.realm.annotations.PrimaryKey} field.
      */
     public void setNull(String fieldName) {
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
-        RealmFieldType type = proxyState.getRow$realm().getColumnType(columnIndex);
-        if (type == RealmFieldType.OBJECT) {
+        setNull(getColumn(fieldName));
+    }
+
+    /**
+     * Sets the value of the field identified by the given key to {@code null}.
+     *
+     * @param key the key of the field.
+     * @throws IllegalArgumentException if the key doesn't belong to the class of this object, or the field isn't
+     * nullable.
+     * @throws RealmException if the field is a {@link io.realm.annotations.PrimaryKey} field.
+     * @see #setNull(String)
+     */
+    public void setNull(FieldKey key) {
+        setNull(getColumn(key));
+    }
+
+    private void setNull(ColumnMetadata.Column column) {
+        long columnIndex = column.index;
+        if (column.type == RealmFieldType.OBJECT) {
             proxyState.getRow$realm().nullifyLink(columnIndex);
         } else {
-            checkIsPrimaryKey(fieldName);
+            checkIsPrimaryKey(column);
             proxyState.getRow$realm().setNull(columnIndex);
         }
     }
@@ -704,12 +1021,56 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
      * @return the underlying type used by Realm to represent this field.
      */
     public RealmFieldType getFieldType(String fieldName) {
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
-        return proxyState.getRow$realm().getColumnType(columnIndex);
+        return getColumn(fieldName).type;
+    }
+
+    // Looks up the column through the column metadata cached by the schema, so only the first access of a field at a
+    // given version of the Realm needs to call into native code.
+    private ColumnMetadata.Column getColumn(String fieldName) {
+        Row row = proxyState.getRow$realm();
+        BaseRealm realm = proxyState.getRealm$realm();
+        Table table = row.getTable();
+        if (table == null || realm.sharedRealm == null) {
+            // The object is not loaded or the Realm is closed. Let the row throw the appropriate exception.
+            row.getColumnIndex(fieldName);
+            throw new IllegalStateException(BaseRealm.CLOSED_REALM_MESSAGE);
+        }
+        ColumnMetadata.Column column = realm.schema.getColumnMetadata(table).getColumn(fieldName);
+        if (column == null) {
+            // Let the row throw the same exception as for any other unknown field.
+            row.getColumnIndex(fieldName);
+            throw new IllegalArgumentException("Field not found: " + fieldName);
+        }
+        return column;
+    }
+
+    private ColumnMetadata.Column getColumn(FieldKey key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Non-null 'key' required.");
+        }
+        Table table = proxyState.getRow$realm().getTable();
+        BaseRealm realm = proxyState.getRealm$realm();
+        if (table == null || realm.sharedRealm == null) {
+            throw new IllegalStateException(BaseRealm.CLOSED_REALM_MESSAGE);
+        }
+        return key.getColumn(realm, table);
+    }
+
+    private long getColumnIndex(String fieldName, RealmFieldType expectedType) {
+        ColumnMetadata.Column column = getColumn(fieldName);
+        checkFieldType(column, expectedType);
+        return column.index;
+    }
+
+    private long getColumnIndex(FieldKey key, RealmFieldType expectedType) {
+        ColumnMetadata.Column column = getColumn(key);
+        checkFieldType(column, expectedType);
+        return column.index;
     }
 
-    private void checkFieldType(String fieldName, long columnIndex, RealmFieldType expectedType) {
-        RealmFieldType columnType = proxyState.getRow$realm().getColumnType(columnIndex);
+    private void checkFieldType(ColumnMetadata.Column column, RealmFieldType expectedType) {
+        String fieldName = column.name;
+        RealmFieldType columnType = column.type;
         if (columnType != expectedType) {
             String expectedIndefiniteVowel = "";
             if (expectedType == RealmFieldType.INTEGER || expectedType == RealmFieldType.OBJECT) {
@@ -786,8 +1147,9 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
         StringBuilder sb = new StringBuilder(className + " = [");
         String[] fields = getFieldNames();
         for (String field : fields) {
-            long columnIndex = proxyState.getRow$realm().getColumnIndex(field);
-            RealmFieldType type = proxyState.getRow$realm().getColumnType(columnIndex);
+            ColumnMetadata.Column column = getColumn(field);
+            long columnIndex = column.index;
+            RealmFieldType type = column.type;
             sb.append("{");
             sb.append(field).append(":");
             switch (type) {
@@ -841,11 +1203,10 @@ public final class DynamicRealmObject extends RealmObject implements RealmObject
     }
 
     // Checks if the given field is primary key field. Throws if it is a PK field.
-    private void checkIsPrimaryKey(String fieldName) {
-        RealmObjectSchema objectSchema = proxyState.getRealm$realm().getSchema().getSchemaForClass(getType());
-        if (objectSchema.hasPrimaryKey() && objectSchema.getPrimaryKey().equals(fieldName)) {
+    private void checkIsPrimaryKey(ColumnMetadata.Column column) {
+        if (column.primaryKey) {
             throw new IllegalArgumentException(String.format(
-                    "Primary key field '%s' cannot be changed after object was created.", fieldName));
+                    "Primary key field '%s' cannot be changed after object was created.", column.name));
         }
     }
 }
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.Date;
+
+import io.realm.internal.ColumnMetadata;
+import io.realm.internal.Table;
+
+/**
+ * A cursor over the objects of a Realm class used by {@link RealmObjectSchema#transformRows(RealmObjectSchema.RowFunction)}.
+ * The same cursor instance is moved from object to object, so no objects are allocated while traversing the class.
+ * Fields are accessed through {@link FieldKey}s:
+ * <pre>
+ * {@code
+ * final FieldKey age = personSchema.fieldKey("age");
+ * personSchema.transformRows(new RealmObjectSchema.RowFunction() {
+ *     \@Override
+ *     public void apply(DynamicRowCursor cursor) {
+ *         cursor.setLong(age, cursor.getLong(age) + 1);
+ *     }
+ * });
+ * }
+ * </pre>
+ * A cursor is only valid inside the function it is passed to and must not be kept for later use.
+ */
+public final class DynamicRowCursor {
+
+    private final BaseRealm realm;
+    private final Table table;
+    private long rowIndex = -1;
+
+    DynamicRowCursor(BaseRealm realm, Table table) {
+        this.realm = realm;
+        this.table = table;
+    }
+
+    void moveTo(long rowIndex) {
+        this.rowIndex = rowIndex;
+    }
+
+    /**
+     * Returns the position of the current object in its class.
+     *
+     * @return the 0 based position of the object the cursor points to.
+     */
+    public long getPosition() {
+        return rowIndex;
+    }
+
+    /**
+     * Returns the current object as a {@link DynamicRealmObject}, e.g. to access link fields. A new object is
+     * allocated for each call.
+     *
+     * @return the object the cursor points to.
+     */
+    public DynamicRealmObject getObject() {
+        return new DynamicRealmObject(realm, table.getCheckedRow(rowIndex));
+    }
+
+    /**
+     * Returns the {@code boolean} value of the given field.
+     *
+     * @param key the key of the field.
+     * @return the boolean value.
+     * @throws IllegalArgumentException if the key is invalid for this class or the field isn't a boolean field.
+     */
+    public boolean getBoolean(FieldKey key) {
+        return table.getBoolean(getColumnIndex(key, RealmFieldType.BOOLEAN), rowIndex);
+    }
+
+    /**
+     * Returns the {@code long} value of the given integer field.
+     *
+     * @param key the key of the field.
+     * @return the long value. {@code 0} if the value is {@code null}.
+     * @throws IllegalArgumentException if the key is invalid for this class or the field isn't an integer field.
+     */
+    public long getLong(FieldKey key) {
+        return table.getLong(getColumnIndex(key, RealmFieldType.INTEGER), rowIndex);
+    }
+
+    /**
+     * Returns the {@code float} value of the given field.
+     *
+     * @param key the key of the field.
+     * @return the float value.
+     * @throws IllegalArgumentException if the key is invalid for this class or the field isn't a float field.
+     */
+    public float getFloat(FieldKey key) {
+        return table.getFloat(getColumnIndex(key, RealmFieldType.FLOAT), rowIndex);
+    }
+
+    /**
+     * Returns the {@code double} value of the given field.
+     *
+     * @param key the key of the field.
+     * @return the double value.
+     * @throws IllegalArgumentException if the key is invalid for this class or the field isn't a double field.
+     */
+    public double getDouble(FieldKey key) {
+        return table.getDouble(getColumnIndex(key, RealmFieldType.DOUBLE), rowIndex);
+    }
+
+    /**
+     * Returns the {@code String} value of the given field.
+     *
+     * @param key the key of the field.
+     * @return the String value.
+     * @throws IllegalArgumentException if the key is invalid for this class or the field isn't a String field.
+     */
+    public String getString(FieldKey key) {
+        return table.getString(getColumnIndex(key, RealmFieldType.STRING), rowIndex);
+    }
+
+    /**
+     * Returns the binary value of the given field.
+     *
+     * @param key the key of the field.
+     * @return the binary value.
+     * @throws IllegalArgumentException if the key is invalid for this class or the field isn't a binary field.
+     */
+    public byte[] getBlob(FieldKey key) {
+        return table.getBinaryByteArray(getColumnIndex(key, RealmFieldType.BINARY), rowIndex);
+    }
+
+    /**
+     * Returns the {@code Date} value of the given field.
+     *
+     * @param key the key of the field.
+     * @return the Date value.
+     * @throws IllegalArgumentException if the key is invalid for this class or the field isn't a Date field.
+     */
+    public Date getDate(FieldKey key) {
+        long columnIndex = getColumnIndex(key, RealmFieldType.DATE);
+        if (table.isNull(columnIndex, rowIndex)) {
+            return null;
+        }
+        return table.getDate(columnIndex, rowIndex);
+    }
+
+    /**
+     * Checks if the value of the given field is {@code null}.
+     *
+     * @param key the key of the field.
+     * @return {@code true} if the field value is {@code null}, {@code false} otherwise.
+     * @throws IllegalArgumentException if the key is invalid for this class.
+     */
+    public boolean isNull(FieldKey key) {
+        ColumnMetadata.Column column = getColumn(key);
+        return column.nullable && table.isNull(column.index, rowIndex);
+    }
+
+    /**
+     * Sets the {@code boolean} value of the given field.
+     *
+     * @param key the key of the field.
+     * @param value the value to set.
+     * @throws IllegalArgumentException if the key is invalid for this class or the field isn't a boolean field.
+     */
+    public void setBoolean(FieldKey key, boolean value) {
+        table.setBoolean(getWritableColumnIndex(key, RealmFieldType.BOOLEAN), rowIndex, value, false);
+    }
+
+    /**
+     * Sets the {@code long} value of the given integer field.
+     *
+     * @param key the key of the field.
+     * @param value the value to set.
+     * @throws IllegalArgumentException if the key is invalid for this class, the field isn't an integer field or it
+     * is the primary key.
+     */
+    public void setLong(FieldKey key, long value) {
+        table.setLong(getWritableColumnIndex(key, RealmFieldType.INTEGER), rowIndex, value, false);
+    }
+
+    /**
+     * Sets the {@code float} value of the given field.
+     *
+     * @param key the key of the field.
+     * @param value the value to set.
+     * @throws IllegalArgumentException if the key is invalid for this class or the field isn't a float field.
+     */
+    public void setFloat(FieldKey key, float value) {
+        table.setFloat(getWritableColumnIndex(key, RealmFieldType.FLOAT), rowIndex, value, false);
+    }
+
+    /**
+     * Sets the {@code double} value of the given field.
+     *
+     * @param key the key of the field.
+     * @param value the value to set.
+     * @throws IllegalArgumentException if the key is invalid for this class or the field isn't a double field.
+     */
+    public void setDouble(FieldKey key, double value) {
+        table.setDouble(getWritableColumnIndex(key, RealmFieldType.DOUBLE), rowIndex, value, false);
+    }
+
+    /**
+     * Sets the {@code String} value of the given field.
+     *
+     * @param key the key of the field.
+     * @param value the value to set.
+     * @throws IllegalArgumentException if the key is invalid for this class, the field isn't a String field or it is
+     * the primary key.
+     */
+    public void setString(FieldKey key, String value) {
+        long columnIndex = getWritableColumnIndex(key, RealmFieldType.STRING);
+        if (value == null) {
+            setNull(key);
+        } else {
+            table.setString(columnIndex, rowIndex, value, false);
+        }
+    }
+
+    /**
+     * Sets the binary value of the given field.
+     *
+     * @param key the key of the field.
+     * @param value the value to set.
+     * @throws IllegalArgumentException if the key is invalid for this class or the field isn't a binary field.
+     */
+    public void setBlob(FieldKey key, byte[] value) {
+        long columnIndex = getWritableColumnIndex(key, RealmFieldType.BINARY);
+        if (value == null) {
+            setNull(key);
+        } else {
+            table.setBinaryByteArray(columnIndex, rowIndex, value, false);
+        }
+    }
+
+    /**
+     * Sets the {@code Date} value of the given field.
+     *
+     * @param key the key of the field.
+     * @param value the value to set.
+     * @throws IllegalArgumentException if the key is invalid for this class or the field isn't a Date field.
+     */
+    public void setDate(FieldKey key, Date value) {
+        long columnIndex = getWritableColumnIndex(key, RealmFieldType.DATE);
+        if (value == null) {
+            setNull(key);
+        } else {
+            table.setDate(columnIndex, rowIndex, value, false);
+        }
+    }
+
+    /**
+     * Sets the value of the given field to {@code null}.
+     *
+     * @param key the key of the field.
+     * @throws IllegalArgumentException if the key is invalid for this class, the field isn't nullable or it is the
+     * primary key.
+     */
+    public void setNull(FieldKey key) {
+        ColumnMetadata.Column column = getColumn(key);
+        checkIsNotPrimaryKey(column);
+        if (!column.nullable) {
+            throw new IllegalArgumentException(String.format("Field '%s' is not nullable.", column.name));
+        }
+        table.setNull(column.index, rowIndex, false);
+    }
+
+    @Override
+    public String toString() {
+        return "DynamicRowCursor{" + RealmSchema.getSchemaForTable(table) + "[" + rowIndex + "]}";
+    }
+
+    private ColumnMetadata.Column getColumn(FieldKey key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Non-null 'key' required.");
+        }
+        if (realm.sharedRealm == null) {
+            throw new IllegalStateException(BaseRealm.CLOSED_REALM_MESSAGE);
+        }
+        return key.getColumn(realm, table);
+    }
+
+    // The Table accessors only validate column types in debug builds of the native library, so types are checked
+    // here.
+    private long getColumnIndex(FieldKey key, RealmFieldType expectedType) {
+        ColumnMetadata.Column column = getColumn(key);
+        if (column.type != expectedType) {
+            throw new IllegalArgumentException(String.format("'%s' is not a '%s', but a '%s'.",
+                    column.name, expectedType, column.type));
+        }
+        return column.index;
+    }
+
+    private long getWritableColumnIndex(FieldKey key, RealmFieldType expectedType) {
+        ColumnMetadata.Column column = getColumn(key);
+        checkIsNotPrimaryKey(column);
+        return getColumnIndex(key, expectedType);
+    }
+
+    private void checkIsNotPrimaryKey(ColumnMetadata.Column column) {
+        if (column.primaryKey) {
+            throw new IllegalArgumentException(String.format(
+                    "Primary key field '%s' cannot be changed after object was created.", column.name));
+        }
+    }
+}
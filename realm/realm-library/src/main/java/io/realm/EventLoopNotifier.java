@@ -0,0 +1,273 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.os.Message;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.realm.internal.HandlerControllerConstants;
+import io.realm.internal.RealmNotifier;
+import io.realm.internal.SharedRealm;
+import io.realm.internal.async.QueryUpdateTask;
+import io.realm.log.RealmLog;
+
+import static io.realm.internal.HandlerControllerConstants.LOCAL_COMMIT;
+import static io.realm.internal.HandlerControllerConstants.REALM_CHANGED;
+
+/**
+ * Implementation of {@link RealmNotifier} which delivers all events through a {@link RealmEventLoop}.
+ * <p>
+ * Object Store can only notify threads with a Looper about changes. Instead, a {@link CommitWatcher} thread per Realm
+ * file waits for the commit notification the file shares between all processes, and forwards every commit to the open
+ * notifiers of that file.
+ */
+class EventLoopNotifier implements RealmNotifier {
+
+    private static final int NO_CHANGE = 0;
+
+    // All open notifiers. Changes are guarded by watchers.
+    private static final List<EventLoopNotifier> openNotifiers = new CopyOnWriteArrayList<EventLoopNotifier>();
+    // The watchers of all Realm files with open notifiers, by path. None are started unless a RealmEventLoop is used.
+    private static final Map<String, CommitWatcher> watchers = new HashMap<String, CommitWatcher>();
+
+    private final HandlerController handlerController;
+    private final RealmEventLoop eventLoop;
+    private final String path;
+    // The pending change event, either NO_CHANGE, REALM_CHANGED or LOCAL_COMMIT. Change events are coalesced so the
+    // event loop never has more than one of them queued.
+    private final AtomicInteger pendingChange = new AtomicInteger(NO_CHANGE);
+    private volatile boolean closed = false;
+
+    private final Runnable deliverChange = new Runnable() {
+        @Override
+        public void run() {
+            int what = pendingChange.getAndSet(NO_CHANGE);
+            if (what != NO_CHANGE) {
+                deliver(what, null);
+            }
+        }
+    };
+
+    EventLoopNotifier(HandlerController handlerController, RealmEventLoop eventLoop,
+                      RealmConfiguration configuration) {
+        this.handlerController = handlerController;
+        this.eventLoop = eventLoop;
+        this.path = configuration.getPath();
+        synchronized (watchers) {
+            openNotifiers.add(this);
+            if (!watchers.containsKey(path)) {
+                CommitWatcher watcher = new CommitWatcher(configuration);
+                watchers.put(path, watcher);
+                watcher.start();
+            }
+        }
+    }
+
+    // Notifies all event loop bound Realms of the given file about a commit.
+    private static void notifyCommit(String path) {
+        for (EventLoopNotifier notifier : openNotifiers) {
+            if (notifier.path.equals(path)) {
+                notifier.notifyCommitByOtherThread();
+            }
+        }
+    }
+
+    @Override
+    public void notifyCommitByLocalThread() {
+        scheduleChange(LOCAL_COMMIT);
+    }
+
+    @Override
+    public void notifyCommitByOtherThread() {
+        scheduleChange(REALM_CHANGED);
+    }
+
+    private void scheduleChange(int what) {
+        while (true) {
+            int pending = pendingChange.get();
+            // A LOCAL_COMMIT refreshes the Realm as well, so it supersedes a pending REALM_CHANGED.
+            if (pending == what || pending == LOCAL_COMMIT) {
+                return;
+            }
+            if (pendingChange.compareAndSet(pending, what)) {
+                if (pending == NO_CHANGE) {
+                    dispatch(deliverChange);
+                }
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void post(final Runnable runnable) {
+        dispatch(new Runnable() {
+            @Override
+            public void run() {
+                if (!closed) {
+                    checkThread();
+                    runnable.run();
+                }
+            }
+        });
+    }
+
+    @Override
+    public boolean isValid() {
+        return !closed && !eventLoop.isQuit();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (watchers) {
+            if (!openNotifiers.remove(this)) {
+                return;
+            }
+            for (EventLoopNotifier notifier : openNotifiers) {
+                if (notifier.path.equals(path)) {
+                    return;
+                }
+            }
+            watchers.remove(path).stopWatching();
+        }
+    }
+
+    @Override
+    public void completeAsyncResults(QueryUpdateTask.Result result) {
+        dispatch(HandlerControllerConstants.COMPLETED_ASYNC_REALM_RESULTS, result);
+    }
+
+    @Override
+    public void completeAsyncObject(QueryUpdateTask.Result result) {
+        dispatch(HandlerControllerConstants.COMPLETED_ASYNC_REALM_OBJECT, result);
+    }
+
+    @Override
+    public void throwBackgroundException(Throwable throwable) {
+        dispatch(HandlerControllerConstants.REALM_ASYNC_BACKGROUND_EXCEPTION, new Error(throwable));
+    }
+
+    @Override
+    public void completeUpdateAsyncQueries(QueryUpdateTask.Result result) {
+        dispatch(HandlerControllerConstants.COMPLETED_UPDATE_ASYNC_QUERIES, result);
+    }
+
+    private void dispatch(final int what, final Object obj) {
+        dispatch(new Runnable() {
+            @Override
+            public void run() {
+                deliver(what, obj);
+            }
+        });
+    }
+
+    private void dispatch(Runnable event) {
+        if (closed) {
+            return;
+        }
+        try {
+            eventLoop.execute(event);
+        } catch (RejectedExecutionException e) {
+            RealmLog.warn("Cannot update threads when their RealmEventLoop has quit or its executor rejects " +
+                    "tasks. Close the Realm before quitting the event loop to prevent this.");
+        }
+    }
+
+    private void deliver(int what, Object obj) {
+        if (closed) {
+            return;
+        }
+        checkThread();
+        Message message = Message.obtain();
+        message.what = what;
+        message.obj = obj;
+        handlerController.handleMessage(message);
+    }
+
+    private void checkThread() {
+        if (!eventLoop.isEventLoopThread()) {
+            throw new IllegalStateException("RealmEventLoop events must run on the thread which created it: " +
+                    eventLoop);
+        }
+    }
+
+    /**
+     * Waits for commits to a Realm file by any thread or process with {@link SharedRealm#waitForChange()} on a Realm
+     * instance of its own. The instance moves to the latest version after every commit, so it doesn't hold on to old
+     * versions.
+     */
+    private static final class CommitWatcher extends Thread {
+
+        private final RealmConfiguration configuration;
+        // Guarded by this.
+        private SharedRealm sharedRealm;
+        private boolean stopped = false;
+
+        CommitWatcher(RealmConfiguration configuration) {
+            super("RealmCommitWatcher");
+            setDaemon(true);
+            this.configuration = configuration;
+        }
+
+        @Override
+        public void run() {
+            SharedRealm realm;
+            try {
+                realm = SharedRealm.getInstance(configuration);
+            } catch (RuntimeException e) {
+                RealmLog.error(e, "Cannot watch %s for commits.", configuration.getPath());
+                return;
+            }
+            synchronized (this) {
+                if (stopped) {
+                    realm.close();
+                    return;
+                }
+                sharedRealm = realm;
+            }
+            try {
+                // Changes are detected against the version of the read transaction, which has to be begun first.
+                realm.refresh();
+                while (realm.waitForChange()) {
+                    realm.refresh();
+                    notifyCommit(configuration.getPath());
+                }
+            } catch (RuntimeException e) {
+                RealmLog.error(e, "Watching %s for commits failed.", configuration.getPath());
+            } finally {
+                synchronized (this) {
+                    sharedRealm = null;
+                    realm.close();
+                }
+            }
+        }
+
+        // Makes the watcher thread close its Realm and finish. waitForChange() returns false once this was called.
+        synchronized void stopWatching() {
+            stopped = true;
+            if (sharedRealm != null) {
+                sharedRealm.stopWaitForChange();
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import io.realm.internal.ColumnMetadata;
+import io.realm.internal.Table;
+
+/**
+ * A pre-resolved reference to a field of a Realm class. Accessing fields of {@link DynamicRealmObject}s through a
+ * {@code FieldKey} avoids looking up the field by name for every access:
+ * <pre>
+ * {@code
+ * FieldKey age = realm.getSchema().get("Person").fieldKey("age");
+ * for (DynamicRealmObject person : realm.where("Person").findAll()) {
+ *     person.setLong(age, person.getLong(age) + 1);
+ * }
+ * }
+ * </pre>
+ * A {@code FieldKey} can only be used with objects of the class and the Realm instance it was created from. It stays
+ * valid across schema changes as long as the field exists.
+ *
+ * @see RealmObjectSchema#fieldKey(String)
+ */
+public final class FieldKey {
+
+    private final BaseRealm realm;
+    private final Table table;
+    private final String fieldName;
+
+    // The column is resolved again once the cached column metadata of the Realm has been dropped, since the schema
+    // might have changed.
+    private ColumnMetadata.Column column;
+    private long generation = -1;
+
+    FieldKey(BaseRealm realm, Table table, String fieldName) {
+        this.realm = realm;
+        this.table = table;
+        this.fieldName = fieldName;
+    }
+
+    /**
+     * Returns the name of the field.
+     *
+     * @return the name of the field this key refers to.
+     */
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * Returns the column of this field for an object in the given table.
+     *
+     * @throws IllegalArgumentException if the key doesn't belong to the Realm or class of the object or if the field
+     * doesn't exist anymore.
+     */
+    ColumnMetadata.Column getColumn(BaseRealm objectRealm, Table objectTable) {
+        if (objectRealm != realm) {
+            throw new IllegalArgumentException("FieldKey '" + fieldName + "' belongs to another Realm instance.");
+        }
+        if (objectTable.getNativeTablePointer() != table.getNativeTablePointer()) {
+            throw new IllegalArgumentException(String.format("FieldKey '%s' belongs to class '%s', not '%s'.",
+                    fieldName, RealmSchema.getSchemaForTable(table), RealmSchema.getSchemaForTable(objectTable)));
+        }
+        long currentGeneration = realm.schema.getColumnMetadataGeneration();
+        if (generation != currentGeneration) {
+            column = realm.schema.getColumnMetadata(table).getColumn(fieldName);
+            if (column == null) {
+                throw new IllegalArgumentException("Field not found: " + fieldName);
+            }
+            generation = currentGeneration;
+        }
+        return column;
+    }
+
+    @Override
+    public String toString() {
+        return "FieldKey{" + RealmSchema.getSchemaForTable(table) + "." + fieldName + "}";
+    }
+}
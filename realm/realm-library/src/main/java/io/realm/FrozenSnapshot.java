@@ -0,0 +1,253 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.realm.internal.ColumnIndices;
+import io.realm.internal.Row;
+import io.realm.internal.SharedRealm;
+import io.realm.internal.Table;
+import io.realm.log.RealmLog;
+
+/**
+ * A read-only snapshot of a Realm file pinned at one {@link SharedRealm.VersionID}.
+ * <p>
+ * Native accessors are not thread safe, so every thread reading from the snapshot gets its own frozen Realm instance
+ * which is pinned at the same version. Since row indices are stable within a version, frozen objects and
+ * {@link RealmResults} only need to remember row indices to be resolved against the frozen Realm of the calling thread.
+ * <p>
+ * Every frozen {@link RealmResults} and every object returned by {@link RealmObject#freeze(RealmModel)} holds a
+ * reference to the snapshot, see {@link #acquire()}. Once the last of them has been released, every thread closes its
+ * own frozen Realm the next time it reads from the snapshot, as another thread might still be using it. Frozen Realms
+ * of threads which never read again are closed when the snapshot is garbage collected. Frozen Realms are counted by
+ * {@link RealmCache}, so the file can't be deleted or compacted while any of them is open.
+ */
+final class FrozenSnapshot {
+
+    static final String RELEASED_MESSAGE = "This frozen snapshot has already been released.";
+
+    private final RealmConfiguration configuration;
+    private final SharedRealm.VersionID version;
+    // null for DynamicRealms.
+    private final ColumnIndices columnIndices;
+
+    // The state of all threads whose frozen Realm hasn't been closed yet. Guarded by this.
+    private final List<LocalState> states = new ArrayList<LocalState>();
+    private final ThreadLocal<LocalState> localState = new ThreadLocal<LocalState>();
+    // The number of frozen RealmResults and objects which haven't been released yet. Guarded by this.
+    private int refCount = 0;
+    private volatile boolean released = false;
+
+    // Per-thread state. The last resolved row is cached as the same object is usually read field by field.
+    private static final class LocalState {
+        // null once the Realm has been closed. The entries of a ThreadLocal live as long as their thread, so they must
+        // not keep the closed Realm or its rows reachable.
+        volatile BaseRealm realm;
+        Table lastTable;
+        long lastRowIndex = Table.NO_MATCH;
+        Row lastRow;
+
+        LocalState(BaseRealm realm) {
+            this.realm = realm;
+        }
+
+        void clear() {
+            realm = null;
+            lastTable = null;
+            lastRowIndex = Table.NO_MATCH;
+            lastRow = null;
+        }
+    }
+
+    private FrozenSnapshot(RealmConfiguration configuration, SharedRealm.VersionID version,
+                           ColumnIndices columnIndices) {
+        this.configuration = configuration;
+        this.version = version;
+        this.columnIndices = columnIndices;
+    }
+
+    /**
+     * Creates a snapshot of the current version of the given Realm. The frozen Realm for the calling thread is opened
+     * immediately, while the source Realm still holds the version, so that the version is pinned from then on.
+     *
+     * @param source the Realm to take the snapshot from.
+     * @param version the current version of the source Realm.
+     * @return the new snapshot.
+     */
+    static FrozenSnapshot create(BaseRealm source, SharedRealm.VersionID version) {
+        ColumnIndices columnIndices = (source instanceof Realm) ? source.schema.columnIndices : null;
+        FrozenSnapshot snapshot = new FrozenSnapshot(source.getConfiguration(), version, columnIndices);
+        snapshot.getRealm();
+        return snapshot;
+    }
+
+    SharedRealm.VersionID getVersion() {
+        return version;
+    }
+
+    /**
+     * Adds a reference to the snapshot. Every call must be balanced by a call to {@link #release()}.
+     *
+     * @return {@code false} if the snapshot has already been released and can't be used any more.
+     */
+    synchronized boolean acquire() {
+        if (released) {
+            return false;
+        }
+        refCount++;
+        return true;
+    }
+
+    /**
+     * Removes a reference added by {@link #acquire()}. When the last reference is removed the snapshot is marked as
+     * released and the frozen Realm of the calling thread is closed. Other threads close their own frozen Realm on
+     * their next access, the version is released once all of them have been closed.
+     */
+    void release() {
+        synchronized (this) {
+            if (released) {
+                return;
+            }
+            if (refCount <= 0) {
+                throw new IllegalStateException("The frozen snapshot has not been acquired.");
+            }
+            refCount--;
+            if (refCount > 0) {
+                return;
+            }
+            released = true;
+        }
+        closeLocalState();
+        RealmLog.debug("Released frozen %s of %s.", version, configuration.getPath());
+    }
+
+    /**
+     * Checks if the snapshot has been released. Frozen objects and {@link RealmResults} of a released snapshot can't
+     * be read any more.
+     */
+    boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * Returns the frozen Realm for the calling thread. It will be opened if needed.
+     *
+     * @throws IllegalStateException if the snapshot has been released.
+     */
+    BaseRealm getRealm() {
+        return getLocalState().realm;
+    }
+
+    /**
+     * Returns an object from the frozen Realm of the calling thread.
+     *
+     * @see BaseRealm#get(Class, String, long)
+     */
+    <E extends RealmModel> E get(Class<E> clazz, String dynamicClassName, long rowIndex) {
+        return getRealm().get(clazz, dynamicClassName, rowIndex);
+    }
+
+    /**
+     * Returns the row accessor for the given row in the frozen Realm of the calling thread.
+     *
+     * @param clazz the model class of the row, or {@code null} if {@code className} should be used.
+     * @param className the class name used by {@link DynamicRealmObject}s.
+     * @param rowIndex the index of the row in its table.
+     */
+    Row getRow(Class<? extends RealmModel> clazz, String className, long rowIndex) {
+        LocalState state = getLocalState();
+        Table table = (className != null) ? state.realm.schema.getTable(className) : state.realm.schema.getTable(clazz);
+        if (state.lastTable != table || state.lastRowIndex != rowIndex) {
+            // DynamicRealmObjects rely on checked rows for validating field names.
+            state.lastRow = (className != null) ? table.getCheckedRow(rowIndex) : table.getUncheckedRow(rowIndex);
+            state.lastTable = table;
+            state.lastRowIndex = rowIndex;
+        }
+        return state.lastRow;
+    }
+
+    private LocalState getLocalState() {
+        if (released) {
+            closeLocalState();
+            throw new IllegalStateException(RELEASED_MESSAGE);
+        }
+        LocalState state = localState.get();
+        if (state == null) {
+            state = openState();
+            localState.set(state);
+        }
+        return state;
+    }
+
+    private synchronized LocalState openState() {
+        if (released) {
+            throw new IllegalStateException(RELEASED_MESSAGE);
+        }
+        RealmCache.acquireFrozen(configuration);
+        BaseRealm realm;
+        try {
+            realm = (columnIndices != null) ?
+                    new Realm(configuration, this, columnIndices) : new DynamicRealm(configuration, this);
+        } catch (RuntimeException e) {
+            RealmCache.releaseFrozen(configuration);
+            throw e;
+        }
+        LocalState state = new LocalState(realm);
+        states.add(state);
+        return state;
+    }
+
+    // Closes the frozen Realm of the calling thread. Native accessors are not thread safe, so every thread must close
+    // its own Realm.
+    private void closeLocalState() {
+        LocalState state = localState.get();
+        if (state == null) {
+            return;
+        }
+        localState.remove();
+        BaseRealm realm;
+        synchronized (this) {
+            if (!states.remove(state)) {
+                return;
+            }
+            realm = state.realm;
+            state.clear();
+        }
+        realm.doClose();
+        RealmCache.releaseFrozen(configuration);
+    }
+
+    @Override
+    protected void finalize() throws Throwable {
+        // The snapshot is unreachable, so no thread can be reading from its frozen Realms any more. This closes the
+        // Realms of threads which didn't access the snapshot after it was released, or all of them if it never was.
+        List<LocalState> remaining;
+        synchronized (this) {
+            released = true;
+            remaining = new ArrayList<LocalState>(states);
+            states.clear();
+        }
+        for (LocalState state : remaining) {
+            state.realm.doClose();
+            state.clear();
+            RealmCache.releaseFrozen(configuration);
+        }
+        super.finalize();
+    }
+}
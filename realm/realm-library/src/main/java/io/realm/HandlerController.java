@@ -24,6 +24,7 @@ import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -62,7 +63,7 @@ final class HandlerController implements Handler.Callback {
             new CopyOnWriteArrayList<WeakReference<RealmChangeListener<? extends BaseRealm>>>();
 
     final BaseRealm realm;
-    private boolean autoRefresh; // Requires a Looper thread to be true.
+    private boolean autoRefresh; // Requires a Looper thread or a RealmEventLoop to be true.
 
     // pending update of async queries
     private Future updateAsyncQueriesTask;
@@ -101,6 +102,10 @@ final class HandlerController implements Handler.Callback {
     // before we are ready to notify all of them.
     private final List<Runnable> pendingOnSuccessAsyncTransactionCallbacks = new ArrayList<Runnable>();
 
+    // Version counters of the tables of the observed classes when change listeners were last called. null if all
+    // classes are observed or no change has been handled yet.
+    private long[] notifiedObservedTableVersions;
+
     public HandlerController(BaseRealm realm) {
         this.realm = realm;
     }
@@ -296,18 +301,30 @@ final class HandlerController implements Handler.Callback {
      * - `RealmResults.syncIfNeeded()` was called when collecting RealmResults listeners.
      *
      * @param realmResultsToBeNotified list of all RealmResults listeners that can be notified.
+     * @param filterByObservedClasses {@code true} if change listeners should only be called if one of the observed
+     * classes changed, see {@link RealmConfiguration.Builder#observedClasses(Class, Class[])}.
      */
-    void notifyAllListeners(List<RealmResults<? extends RealmModel>> realmResultsToBeNotified) {
+    void notifyAllListeners(List<RealmResults<? extends RealmModel>> realmResultsToBeNotified,
+                            boolean filterByObservedClasses) {
+        RealmMetricsListener metricsListener = realm.getConfiguration().getMetricsListener();
+        long startNanos = (metricsListener != null) ? System.nanoTime() : 0;
+        boolean observedClassChanged = updateObservedTableVersions();
+        boolean notifyChangeListeners = observedClassChanged || !filterByObservedClasses;
+        if (!notifyChangeListeners) {
+            RealmLog.trace("REALM_CHANGED realm: %s no observed class changed", HandlerController.this);
+        }
+
+        if (notifyChangeListeners) {
+            // Notify all RealmResults (async and synchronous).
+            for (Iterator<RealmResults<? extends RealmModel>> it = realmResultsToBeNotified.iterator(); !realm.isClosed() && it.hasNext(); ) {
+                RealmResults<? extends RealmModel> realmResults = it.next();
+                realmResults.notifyChangeListeners(false);
+            }
 
-        // Notify all RealmResults (async and synchronous).
-        for (Iterator<RealmResults<? extends RealmModel>> it = realmResultsToBeNotified.iterator(); !realm.isClosed() && it.hasNext(); ) {
-            RealmResults<? extends RealmModel> realmResults = it.next();
-            realmResults.notifyChangeListeners(false);
+            // Notify all loaded RealmObjects
+            notifyRealmObjectCallbacks();
         }
 
-        // Notify all loaded RealmObjects
-        notifyRealmObjectCallbacks();
-
         // Re-run any async single objects that are still not loaded.
         // TODO: Why is this here? This was not called in `completedAsyncQueriesUpdate()`. Problem?
         if (!realm.isClosed() && threadContainsAsyncEmptyRealmObject()) {
@@ -319,7 +336,15 @@ final class HandlerController implements Handler.Callback {
 
         // Trigger global listeners last.
         // Note that NotificationTest.callingOrdersOfListeners will fail if orders change.
-        notifyGlobalListeners();
+        if (notifyChangeListeners) {
+            notifyGlobalListeners();
+        }
+
+        if (metricsListener != null) {
+            long durationNanos = System.nanoTime() - startNanos;
+            metricsListener.onListenersNotified(realm.getPath(),
+                    notifyChangeListeners ? realmResultsToBeNotified.size() : 0, durationNanos);
+        }
     }
 
     private void collectAsyncRealmResultsCallbacks(List<RealmResults<? extends RealmModel>> resultsToBeNotified) {
@@ -428,6 +453,10 @@ final class HandlerController implements Handler.Callback {
 
     private void realmChanged(boolean localCommit) {
         RealmLog.debug("%s : %s", (localCommit ? "LOCAL_COMMIT" : "REALM_CHANGED"), HandlerController.this);
+        if (notifiedObservedTableVersions == null && !realm.getConfiguration().getObservedClasses().isEmpty()) {
+            // The Realm hasn't advanced since it was opened.
+            notifiedObservedTableVersions = getObservedTableVersions();
+        }
         deleteWeakReferences();
         boolean threadContainsAsyncQueries = threadContainsAsyncQueries();
 
@@ -452,10 +481,36 @@ final class HandlerController implements Handler.Callback {
             List<RealmResults<? extends RealmModel>> resultsToBeNotified = new ArrayList<RealmResults<? extends RealmModel>>();
             collectAsyncRealmResultsCallbacks(resultsToBeNotified);
             collectSyncRealmResultsCallbacks(resultsToBeNotified);
-            notifyAllListeners(resultsToBeNotified);
+            notifyAllListeners(resultsToBeNotified, !localCommit);
         }
     }
 
+    // Returns true if any of the observed classes changed since the last time listeners were called, or if changes to
+    // all classes are notified.
+    private boolean updateObservedTableVersions() {
+        if (realm.getConfiguration().getObservedClasses().isEmpty()) {
+            return true;
+        }
+        long[] versions = getObservedTableVersions();
+        boolean changed = !Arrays.equals(versions, notifiedObservedTableVersions);
+        notifiedObservedTableVersions = versions;
+        return changed;
+    }
+
+    // Returns the version counters of the tables of all observed classes, -1 for tables which don't exist yet.
+    private long[] getObservedTableVersions() {
+        RealmConfiguration configuration = realm.getConfiguration();
+        Set<Class<? extends RealmModel>> observedClasses = configuration.getObservedClasses();
+        long[] versions = new long[observedClasses.size()];
+        int i = 0;
+        for (Class<? extends RealmModel> clazz : observedClasses) {
+            String tableName = configuration.getSchemaMediator().getTableName(clazz);
+            versions[i++] = realm.sharedRealm.hasTable(tableName) ?
+                    realm.sharedRealm.getTable(tableName).getVersion() : -1;
+        }
+        return versions;
+    }
+
     private void completedAsyncRealmResults(QueryUpdateTask.Result result) {
         Set<WeakReference<RealmResults<? extends RealmModel>>> updatedTableViewsKeys = result.updatedTableViews.keySet();
         if (updatedTableViewsKeys.size() > 0) {
@@ -582,7 +637,7 @@ final class HandlerController implements Handler.Callback {
 
             // We need to notify all listeners, since the original REALM_CHANGE
             // was delayed/swallowed in order to be able to update the async queries.
-            notifyAllListeners(resultsToBeNotified);
+            notifyAllListeners(resultsToBeNotified, true);
 
             updateAsyncQueriesTask = null;
         }
@@ -800,6 +855,9 @@ final class HandlerController implements Handler.Callback {
      * is not the case.
      */
     public void checkCanBeAutoRefreshed() {
+        if (hasEventLoop()) {
+            return;
+        }
         if (Looper.myLooper() == null) {
             throw new IllegalStateException("Cannot set auto-refresh in a Thread without a Looper");
         }
@@ -813,6 +871,9 @@ final class HandlerController implements Handler.Callback {
      * will throw if this method return {@code false}.
      */
     public boolean isAutoRefreshAvailable() {
+        if (hasEventLoop()) {
+            return true;
+        }
         if (Looper.myLooper() == null || isIntentServiceThread()) {
             return false;
         }
@@ -820,6 +881,11 @@ final class HandlerController implements Handler.Callback {
         return true;
     }
 
+    // Realms bound to a RealmEventLoop are notified through it, whether the thread has a Looper or not.
+    private boolean hasEventLoop() {
+        return realm.sharedRealm != null && realm.sharedRealm.realmNotifier instanceof EventLoopNotifier;
+    }
+
     private static boolean isIntentServiceThread() {
         // Tries to determine if a thread is an IntentService thread. No public API can detect this,
         // so use the thread name as a heuristic:
@@ -47,6 +47,15 @@ public final class ProxyState<E extends RealmModel> {
     private boolean isCompleted = false;
     protected long currentTableVersion = -1;
 
+    // Only set for frozen objects. Frozen objects are resolved against the frozen Realm of the calling thread.
+    private FrozenSnapshot frozenSnapshot;
+    private long frozenRowIndex;
+    // Only objects returned by RealmObject.freeze() hold a reference to their snapshot which they have to release.
+    private boolean holdsFrozenSnapshot = false;
+    private volatile boolean frozenReleased = false;
+    // Only set for objects returned by frozen RealmResults, which can't be read any more once those are released.
+    private RealmResults<?> frozenResults;
+
     public ProxyState() {}
 
     public ProxyState(E model) {
@@ -76,6 +85,10 @@ public final class ProxyState<E extends RealmModel> {
     }
 
     public BaseRealm getRealm$realm() {
+        if (frozenSnapshot != null && (realm.threadId != Thread.currentThread().getId() || isFrozenReleased$realm())) {
+            checkFrozenNotReleased();
+            return frozenSnapshot.getRealm();
+        }
         return realm;
     }
 
@@ -84,6 +97,10 @@ public final class ProxyState<E extends RealmModel> {
     }
 
     public Row getRow$realm() {
+        if (frozenSnapshot != null && (realm.threadId != Thread.currentThread().getId() || isFrozenReleased$realm())) {
+            checkFrozenNotReleased();
+            return frozenSnapshot.getRow(clazzName, className, frozenRowIndex);
+        }
         return row;
     }
 
@@ -107,6 +124,65 @@ public final class ProxyState<E extends RealmModel> {
         this.excludeFields = excludeFields;
     }
 
+    /**
+     * Marks the object as frozen. Its row is pinned at the version of the snapshot and can be read from any thread.
+     *
+     * @param snapshot the snapshot the object belongs to.
+     * @param dynamicClassName the class name for {@link DynamicRealmObject}s, {@code null} otherwise.
+     * @param rowIndex the index of the row in its table.
+     */
+    void setFrozen$realm(FrozenSnapshot snapshot, String dynamicClassName, long rowIndex) {
+        if (dynamicClassName != null) {
+            this.className = dynamicClassName;
+        }
+        this.frozenSnapshot = snapshot;
+        this.frozenRowIndex = rowIndex;
+    }
+
+    public boolean isFrozen$realm() {
+        return frozenSnapshot != null;
+    }
+
+    FrozenSnapshot getFrozenSnapshot$realm() {
+        return frozenSnapshot;
+    }
+
+    long getFrozenRowIndex$realm() {
+        return frozenRowIndex;
+    }
+
+    // Called by RealmObject.freeze() for the objects it returns, whose reference to the snapshot was acquired for them.
+    void setHoldsFrozenSnapshot$realm() {
+        holdsFrozenSnapshot = true;
+    }
+
+    // Called by frozen RealmResults for the objects they return.
+    void setFrozenResults$realm(RealmResults<?> results) {
+        frozenResults = results;
+    }
+
+    void releaseFrozen$realm() {
+        synchronized (this) {
+            if (!holdsFrozenSnapshot || frozenReleased) {
+                return;
+            }
+            frozenReleased = true;
+        }
+        frozenSnapshot.release();
+    }
+
+    boolean isFrozenReleased$realm() {
+        return frozenReleased || (frozenResults != null && !frozenResults.isValid()) ||
+                (frozenSnapshot != null && frozenSnapshot.isReleased());
+    }
+
+    private void checkFrozenNotReleased() {
+        // Once the whole snapshot has been released it throws itself, after closing the frozen Realm of this thread.
+        if (!frozenSnapshot.isReleased() && (frozenReleased || (frozenResults != null && !frozenResults.isValid()))) {
+            throw new IllegalStateException(FrozenSnapshot.RELEASED_MESSAGE);
+        }
+    }
+
     public Object getPendingQuery$realm() {
         return pendingQuery;
     }
@@ -21,12 +21,15 @@ import android.app.IntentService;
 import android.content.Context;
 import android.os.Build;
 import android.util.JsonReader;
+import android.util.JsonToken;
+import android.util.MalformedJsonException;
 import android.util.Log;
 
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -41,7 +44,6 @@ import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
 import java.util.Set;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -57,6 +59,7 @@ import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.RealmProxyMediator;
 import io.realm.internal.SharedRealm;
 import io.realm.internal.Table;
+import io.realm.internal.android.JsonUtils;
 import io.realm.internal.async.RealmAsyncTaskImpl;
 import io.realm.log.RealmLog;
 import rx.Observable;
@@ -82,7 +85,7 @@ import rx.Observable;
  * <p>
  * Realm instances coordinate their state across threads using the {@link android.os.Handler} mechanism. This also means
  * that Realm instances on threads without a {@link android.os.Looper} cannot receive updates unless {@link #waitForChange()}
- * is manually called.
+ * is manually called or the thread has a {@link RealmEventLoop}.
  * <p>
  * A standard pattern for working with Realm in Android activities can be seen below:
  * <p>
@@ -140,6 +143,18 @@ public final class Realm extends BaseRealm {
         super(configuration);
     }
 
+    /**
+     * Creates a frozen Realm pinned at the version of the given snapshot.
+     *
+     * @param configuration the {@link RealmConfiguration} used to open the Realm.
+     * @param snapshot the snapshot the Realm belongs to.
+     * @param columnIndices the column indices of the Realm the snapshot was taken from.
+     */
+    Realm(RealmConfiguration configuration, FrozenSnapshot snapshot, ColumnIndices columnIndices) {
+        super(configuration, snapshot);
+        schema.columnIndices = columnIndices.clone();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -557,21 +572,28 @@ public final class Realm extends BaseRealm {
         checkIfValid();
         checkHasPrimaryKey(clazz);
 
-        // As we need the primary key value we have to first parse the entire input stream as in the general
-        // case that value might be the last property :(
-        Scanner scanner = null;
+        // As we need the primary key value before the object can be created or updated, and in the general case that
+        // value might be the last property, each object is buffered before it is written. Only one object is held in
+        // memory at a time.
+        JsonReader reader = new JsonReader(new InputStreamReader(in, "UTF-8"));
         try {
-            scanner = getFullStringScanner(in);
-            JSONArray json = new JSONArray(scanner.next());
-            for (int i = 0; i < json.length(); i++) {
-                configuration.getSchemaMediator().createOrUpdateUsingJsonObject(clazz, this, json.getJSONObject(i), true);
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                throw new RealmException("Failed to read JSON: expected an array but was " + reader.peek());
             }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                JSONObject json = JsonUtils.readJsonObject(reader);
+                configuration.getSchemaMediator().createOrUpdateUsingJsonObject(clazz, this, json, true);
+            }
+            reader.endArray();
         } catch (JSONException e) {
             throw new RealmException("Failed to read JSON", e);
+        } catch (MalformedJsonException e) {
+            throw new RealmException("Failed to read JSON", e);
+        } catch (EOFException e) {
+            throw new RealmException("Failed to read JSON", e);
         } finally {
-            if (scanner != null) {
-                scanner.close();
-            }
+            reader.close();
         }
     }
 
@@ -714,20 +736,20 @@ public final class Realm extends BaseRealm {
         E realmObject;
         Table table = schema.getTable(clazz);
         if (table.hasPrimaryKey()) {
-            // As we need the primary key value we have to first parse the entire input stream as in the general
-            // case that value might be the last property :(
-            Scanner scanner = null;
+            // As we need the primary key value we have to first read the entire object as in the general case that
+            // value might be the last property.
+            JsonReader reader = new JsonReader(new InputStreamReader(inputStream, "UTF-8"));
             try {
-                scanner = getFullStringScanner(inputStream);
-                JSONObject json = new JSONObject(scanner.next());
+                JSONObject json = JsonUtils.readJsonObject(reader);
                 realmObject = configuration.getSchemaMediator().createOrUpdateUsingJsonObject(clazz, this, json, false);
-
             } catch (JSONException e) {
                 throw new RealmException("Failed to read JSON", e);
+            } catch (MalformedJsonException e) {
+                throw new RealmException("Failed to read JSON", e);
+            } catch (EOFException e) {
+                throw new RealmException("Failed to read JSON", e);
             } finally {
-                if (scanner != null) {
-                    scanner.close();
-                }
+                reader.close();
             }
         } else {
             JsonReader reader = new JsonReader(new InputStreamReader(inputStream, "UTF-8"));
@@ -766,26 +788,23 @@ public final class Realm extends BaseRealm {
         checkIfValid();
         checkHasPrimaryKey(clazz);
 
-        // As we need the primary key value we have to first parse the entire input stream as in the general
-        // case that value might be the last property :(
-        Scanner scanner = null;
+        // As we need the primary key value we have to first read the entire object as in the general case that
+        // value might be the last property.
+        JsonReader reader = new JsonReader(new InputStreamReader(in, "UTF-8"));
         try {
-            scanner = getFullStringScanner(in);
-            JSONObject json = new JSONObject(scanner.next());
+            JSONObject json = JsonUtils.readJsonObject(reader);
             return createOrUpdateObjectFromJson(clazz, json);
         } catch (JSONException e) {
             throw new RealmException("Failed to read JSON", e);
+        } catch (MalformedJsonException e) {
+            throw new RealmException("Failed to read JSON", e);
+        } catch (EOFException e) {
+            throw new RealmException("Failed to read JSON", e);
         } finally {
-            if (scanner != null) {
-                scanner.close();
-            }
+            reader.close();
         }
     }
 
-    private Scanner getFullStringScanner(InputStream in) {
-        return new Scanner(in, "UTF-8").useDelimiter("\\A");
-    }
-
     /**
      * Instantiates and adds a new object to the Realm.
      * <p>
@@ -1330,7 +1349,7 @@ public final class Realm extends BaseRealm {
         // If the user provided a Callback then we make sure, the current Realm has a Handler
         // we can use to deliver the result
         if ((onSuccess != null || onError != null)  && !hasValidNotifier()) {
-            throw new IllegalStateException("Your Realm is opened from a thread without a Looper" +
+            throw new IllegalStateException("Your Realm is opened from a thread without a Looper or RealmEventLoop" +
                     " and you provided a callback, we need a Handler to invoke your callback");
         }
 
@@ -1554,16 +1573,167 @@ public final class Realm extends BaseRealm {
      * The file must be closed before this method is called, otherwise {@code false} will be returned.<br>
      * The file system should have free space for at least a copy of the Realm file.<br>
      * The Realm file is left untouched if any file operation fails.<br>
+     * Encrypted Realm files are compacted using the encryption key of the configuration.
      *
      * @param configuration a {@link RealmConfiguration} pointing to a Realm file.
      * @return {@code true} if successful, {@code false} if any file operation failed.
-     * @throws IllegalArgumentException if the realm file is encrypted. Compacting an encrypted Realm file is not
-     *                                  supported yet.
+     * @see #compactRealmAsync(RealmConfiguration, CompactCallback)
+     * @see RealmConfiguration.Builder#compactOnLaunch(CompactOnLaunchCallback)
      */
     public static boolean compactRealm(RealmConfiguration configuration) {
         return BaseRealm.compactRealm(configuration);
     }
 
+    /**
+     * Compacts a Realm file on a background thread. Unlike {@link #compactRealm(RealmConfiguration)} the file may be
+     * open when this is called. The compaction starts once all {@link Realm} and {@link DynamicRealm} instances of
+     * the file in this process have been closed, no thread is blocked until then. Opening a new instance blocks while
+     * the file is being compacted.
+     * <p>
+     * The callback is invoked on the background thread.
+     *
+     * @param configuration a {@link RealmConfiguration} pointing to a Realm file.
+     * @param callback the callback notified about the result.
+     * @return a {@link RealmAsyncTask} representing a cancellable task. Cancelling it stops waiting for the instances
+     * to be closed, but doesn't interrupt a compaction in progress.
+     * @throws IllegalArgumentException if {@code configuration} or {@code callback} is {@code null}.
+     */
+    public static RealmAsyncTask compactRealmAsync(final RealmConfiguration configuration,
+                                                   final CompactCallback callback) {
+        if (configuration == null) {
+            throw new IllegalArgumentException("A non-null RealmConfiguration must be provided");
+        }
+        if (callback == null) {
+            throw new IllegalArgumentException("A non-null callback must be provided");
+        }
+
+        PendingCompaction compaction = new PendingCompaction(configuration, callback);
+        compaction.start();
+        return compaction;
+    }
+
+    // Registers with RealmCache to be called when the last instance of the file is closed, and only then submits the
+    // compaction to the async executor. If an instance has been opened again before the compaction runs, it waits for
+    // that one to be closed as well.
+    private static class PendingCompaction implements RealmAsyncTask, RealmCache.Callback0, Runnable {
+        private final RealmConfiguration configuration;
+        private final CompactCallback callback;
+        private volatile boolean cancelled = false;
+        private volatile Future<?> pendingTask;
+
+        PendingCompaction(RealmConfiguration configuration, CompactCallback callback) {
+            this.configuration = configuration;
+            this.callback = callback;
+        }
+
+        void start() {
+            RealmCache.invokeWhenClosed(configuration, this);
+        }
+
+        // Called by RealmCache when no instance is open, possibly on the thread closing the last one.
+        @Override
+        public void onCall() {
+            if (!cancelled) {
+                pendingTask = asyncTaskExecutor.submitCompaction(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            final File realmFile = new File(configuration.getPath());
+            final long[] sizes = new long[2];
+            final boolean[] compacted = new boolean[1];
+            boolean closed;
+            try {
+                closed = RealmCache.invokeIfClosed(configuration, new RealmCache.Callback0() {
+                    @Override
+                    public void onCall() {
+                        sizes[0] = realmFile.length();
+                        compacted[0] = BaseRealm.compactRealm(configuration);
+                        sizes[1] = realmFile.length();
+                    }
+                });
+            } catch (Throwable e) {
+                callback.onError(e);
+                return;
+            }
+
+            if (!closed) {
+                start();
+            } else if (compacted[0]) {
+                callback.onSuccess(sizes[0], sizes[1]);
+            } else {
+                callback.onError(new RealmFileException(RealmFileException.Kind.ACCESS_ERROR,
+                        "Compacting " + configuration.getPath() + " failed. It might be open in another process."));
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            RealmCache.removeWhenClosedCallback(configuration, this);
+            Future<?> task = pendingTask;
+            if (task != null) {
+                task.cancel(false);
+                asyncTaskExecutor.getQueue().remove(task);
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * Prepares a Realm file on a background thread, so opening it later is fast. If the configuration has an asset
+     * file and the Realm file doesn't exist yet, the asset file is copied first. The Realm is then opened once so
+     * migrations and {@link RealmConfiguration.Builder#compactOnLaunch()} are run, and closed again.
+     * <p>
+     * The callback is invoked on the background thread.
+     *
+     * @param configuration a {@link RealmConfiguration} pointing to a Realm file.
+     * @param callback the callback notified about the progress and the result.
+     * @return a {@link RealmAsyncTask} representing a cancellable task. Cancelling it while the asset file is being
+     * copied deletes the partial copy.
+     * @throws IllegalArgumentException if {@code configuration} or {@code callback} is {@code null}.
+     * @see RealmConfiguration.Builder#assetFile(String)
+     */
+    public static RealmAsyncTask prepareAsync(final RealmConfiguration configuration,
+                                              final PrepareCallback callback) {
+        if (configuration == null) {
+            throw new IllegalArgumentException("A non-null RealmConfiguration must be provided");
+        }
+        if (callback == null) {
+            throw new IllegalArgumentException("A non-null callback must be provided");
+        }
+
+        final Future<?> pendingPreparation = asyncTaskExecutor.submitPreparation(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    if (!RealmCache.copyAssetFileIfNeeded(configuration, callback)) {
+                        // The task has been cancelled.
+                        return;
+                    }
+                    if (Thread.currentThread().isInterrupted()) {
+                        return;
+                    }
+                    Realm realm = Realm.getInstance(configuration);
+                    realm.close();
+                } catch (Throwable e) {
+                    callback.onError(e);
+                    return;
+                }
+                callback.onSuccess();
+            }
+        });
+        return new RealmAsyncTaskImpl(pendingPreparation, asyncTaskExecutor);
+    }
+
     Table getTable(Class<? extends RealmModel> clazz) {
         return schema.getTable(clazz);
     }
@@ -1698,4 +1868,52 @@ public final class Realm extends BaseRealm {
             void onError(Throwable error);
         }
     }
+
+    /**
+     * Callback used by {@link #compactRealmAsync(RealmConfiguration, CompactCallback)} to report the result of the
+     * compaction.
+     */
+    public interface CompactCallback {
+        /**
+         * Called when the Realm file has been compacted.
+         *
+         * @param sizeBefore the size of the file in bytes before it was compacted.
+         * @param sizeAfter the size of the file in bytes after it was compacted.
+         */
+        void onSuccess(long sizeBefore, long sizeAfter);
+
+        /**
+         * Called when the Realm file could not be compacted. The file is left untouched.
+         *
+         * @param error the cause of the failure.
+         */
+        void onError(Throwable error);
+    }
+
+    /**
+     * Callback used by {@link #prepareAsync(RealmConfiguration, PrepareCallback)} to report the progress and the
+     * result of preparing a Realm file.
+     */
+    public interface PrepareCallback {
+        /**
+         * Called while the asset file is copied. For compressed asset files the progress is measured in compressed
+         * bytes.
+         *
+         * @param bytesRead the number of bytes of the asset file copied so far.
+         * @param totalBytes the size of the asset file in bytes.
+         */
+        void onProgress(long bytesRead, long totalBytes);
+
+        /**
+         * Called when the Realm file is ready to be opened.
+         */
+        void onSuccess();
+
+        /**
+         * Called when the Realm file could not be prepared.
+         *
+         * @param error the cause of the failure.
+         */
+        void onError(Throwable error);
+    }
 }
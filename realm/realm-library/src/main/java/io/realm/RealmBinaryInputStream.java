@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.io.InputStream;
+
+import io.realm.internal.Row;
+
+/**
+ * Reads a binary field in chunks, so the whole value is never copied to the Java heap at once. Every read copies the
+ * requested range from the current version of the object.
+ *
+ * @see RealmObject#openBinaryInputStream(RealmModel, String)
+ */
+final class RealmBinaryInputStream extends InputStream {
+
+    private final BaseRealm realm;
+    private final Row row;
+    private final long columnIndex;
+    private long position = 0;
+    private long mark = 0;
+    private boolean closed = false;
+    // Reused by read(), which is called once per byte by many readers.
+    private final byte[] singleByte = new byte[1];
+
+    RealmBinaryInputStream(BaseRealm realm, Row row, long columnIndex) {
+        this.realm = realm;
+        this.row = row;
+        this.columnIndex = columnIndex;
+    }
+
+    @Override
+    public int read() {
+        return (read(singleByte, 0, 1) == -1) ? -1 : (singleByte[0] & 0xff);
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+        checkIfValid();
+        if (length == 0) {
+            return 0;
+        }
+        int bytesRead = row.readBinary(columnIndex, position, buffer, offset, length);
+        if (bytesRead > 0) {
+            position += bytesRead;
+        }
+        return bytesRead;
+    }
+
+    @Override
+    public long skip(long count) {
+        checkIfValid();
+        if (count <= 0) {
+            return 0;
+        }
+        long skipped = Math.min(count, Math.max(0, row.getBinarySize(columnIndex) - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        checkIfValid();
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, row.getBinarySize(columnIndex) - position));
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public void mark(int readLimit) {
+        mark = position;
+    }
+
+    @Override
+    public void reset() {
+        position = mark;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    private void checkIfValid() {
+        if (closed) {
+            throw new IllegalStateException("The stream has been closed.");
+        }
+        realm.checkIfValid();
+        if (!row.isAttached()) {
+            throw new IllegalStateException("The object has been deleted.");
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import io.realm.internal.Row;
+
+/**
+ * Writes a binary field in chunks. Realm Core stores a binary value in one operation, so the data is collected in a
+ * direct {@link ByteBuffer} outside the Java heap and written to the field when the stream is closed.
+ *
+ * @see RealmObject#openBinaryOutputStream(RealmModel, String)
+ */
+final class RealmBinaryOutputStream extends OutputStream {
+
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+
+    private final BaseRealm realm;
+    private final Row row;
+    private final long columnIndex;
+    private ByteBuffer buffer;
+    private boolean closed = false;
+
+    RealmBinaryOutputStream(BaseRealm realm, Row row, long columnIndex) {
+        this.realm = realm;
+        this.row = row;
+        this.columnIndex = columnIndex;
+    }
+
+    @Override
+    public void write(int b) {
+        checkNotClosed();
+        ensureCapacity(1);
+        buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] data, int offset, int length) {
+        checkNotClosed();
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length);
+        }
+        ensureCapacity(length);
+        buffer.put(data, offset, length);
+    }
+
+    /**
+     * Writes the collected data to the field. The Realm must still be in the write transaction the stream was opened
+     * in.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        // Checked first, so the stream can still be closed once the Realm is back in a write transaction.
+        realm.checkIfValidAndInTransaction();
+        closed = true;
+        ensureCapacity(0);
+        buffer.flip();
+        row.setBinaryByteBuffer(columnIndex, buffer);
+        buffer = null;
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("The stream has been closed.");
+        }
+    }
+
+    private void ensureCapacity(int additionalBytes) {
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(Math.max(INITIAL_CAPACITY, additionalBytes));
+        } else if (buffer.remaining() < additionalBytes) {
+            long required = (long) buffer.position() + additionalBytes;
+            if (required > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Binary data cannot be larger than " + Integer.MAX_VALUE + " bytes.");
+            }
+            int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(required, 2L * buffer.capacity()));
+            ByteBuffer larger = ByteBuffer.allocateDirect(capacity);
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+    }
+}
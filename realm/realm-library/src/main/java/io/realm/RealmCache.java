@@ -15,14 +15,24 @@
  */
 package io.realm;
 
+import android.content.res.AssetFileDescriptor;
+
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 import io.realm.exceptions.RealmFileException;
 import io.realm.internal.ColumnIndices;
@@ -72,6 +82,8 @@ final class RealmCache {
     }
     // Separated references and counters for typed Realm and dynamic Realm.
     private final EnumMap<RealmCacheType, RefAndCount> refAndCountMap;
+    // How many frozen Realms of all threads refer to this configuration, see FrozenSnapshot.
+    private int frozenCount = 0;
 
     final private RealmConfiguration configuration;
 
@@ -87,6 +99,14 @@ final class RealmCache {
     private static final String DIFFERENT_KEY_MESSAGE = "Wrong key used to decrypt Realm.";
     private static final String WRONG_REALM_CLASS_MESSAGE = "The type of Realm class must be Realm or DynamicRealm.";
 
+    private static final String ASSET_FILE_TEMP_SUFFIX = ".asset_copy";
+    private static final int ASSET_BUFFER_SIZE = 64 * 1024;
+    private static final long ASSET_COPY_CHUNK_SIZE = 1024 * 1024;
+    // One lock per Realm file, so copying an asset file or compacting a file doesn't block opening other files.
+    private static final Map<String, Object> fileLocks = new HashMap<String, Object>();
+    // Callbacks of invokeWhenClosed() by path, run when the last instance of the file is closed.
+    private static final Map<String, List<Callback0>> closedCallbacks = new HashMap<String, List<Callback0>>();
+
     private RealmCache(RealmConfiguration config) {
         configuration = config;
         refAndCountMap = new EnumMap<RealmCacheType, RefAndCount>(RealmCacheType.class);
@@ -101,9 +121,34 @@ final class RealmCache {
      * @param configuration {@link RealmConfiguration} will be used to create or get the instance.
      * @param realmClass class of {@link Realm} or {@link DynamicRealm} to be created in or gotten from the cache.
      * @return the {@link Realm} or {@link DynamicRealm} instance.
+     * @throws RealmFileException if the asset file of the configuration couldn't be copied, e.g. because the thread
+     * was interrupted while copying it.
      */
-    static synchronized <E extends BaseRealm> E createRealmOrGetFromCache(RealmConfiguration configuration,
+    static <E extends BaseRealm> E createRealmOrGetFromCache(RealmConfiguration configuration,
                                                         Class<E> realmClass) {
+        // Copying a large asset file takes a while, so it happens outside the global lock to not block other files.
+        if (!copyAssetFileIfNeeded(configuration, null)) {
+            // Opening the file now would create an empty Realm instead of the one in the asset file.
+            throw new RealmFileException(RealmFileException.Kind.ACCESS_ERROR,
+                    "The thread was interrupted while copying the Realm asset file to " + configuration.getPath());
+        }
+        String path = configuration.getPath();
+        if (!isOpen(path)) {
+            // The first instance is opened under the lock of the file, so it can be compacted without blocking other
+            // files and without another instance of it being opened meanwhile.
+            synchronized (getFileLock(path)) {
+                if (!isOpen(path)) {
+                    // No instance of the file is open in this process, so this is the only chance to compact it.
+                    compactOnLaunchIfNeeded(configuration);
+                }
+                return createRealmOrGetFromCacheLocked(configuration, realmClass);
+            }
+        }
+        return createRealmOrGetFromCacheLocked(configuration, realmClass);
+    }
+
+    private static synchronized <E extends BaseRealm> E createRealmOrGetFromCacheLocked(
+            RealmConfiguration configuration, Class<E> realmClass) {
         boolean isCacheInMap = true;
         RealmCache cache = cachesMap.get(configuration.getPath());
         if (cache == null) {
@@ -111,8 +156,6 @@ final class RealmCache {
             cache = new RealmCache(configuration);
             // The new cache should be added to the map later.
             isCacheInMap = false;
-
-            copyAssetFileIfNeeded(configuration);
         } else {
             // Throw the exception if validation failed.
             cache.validateConfiguration(configuration);
@@ -227,19 +270,12 @@ final class RealmCache {
                 Arrays.fill(cache.typedColumnIndicesArray, null);
             }
 
-            int totalRefCount = 0;
-            for (RealmCacheType type : RealmCacheType.values()) {
-                totalRefCount += cache.refAndCountMap.get(type).globalCount;
-            }
-
             // No more local reference to this Realm in current thread, close the instance.
             realm.doClose();
 
-            // No more instance of typed Realm and dynamic Realm. Remove the configuration from cache.
-            if (totalRefCount == 0) {
-                cachesMap.remove(canonicalPath);
-                ObjectServerFacade.getFacade(realm.getConfiguration().isSyncConfiguration())
-                        .realmClosed(realm.getConfiguration());
+            // No more instance of typed Realm, dynamic Realm or frozen Realm. Remove the configuration from cache.
+            if (cache.getTotalGlobalRefCount() == 0) {
+                removeClosedCache(canonicalPath, realm.getConfiguration());
             }
 
         } else {
@@ -247,6 +283,64 @@ final class RealmCache {
         }
     }
 
+    /**
+     * Counts a frozen Realm which has been opened for the given {@link RealmConfiguration}. Frozen Realms are not
+     * cached, but they keep the file open like any other instance, so it can't be deleted or compacted until they have
+     * been closed.
+     *
+     * @param configuration the {@link RealmConfiguration} of the frozen Realm.
+     * @throws IllegalArgumentException if the configuration clashes with a cached configuration of the same file.
+     * @see #releaseFrozen(RealmConfiguration)
+     */
+    static synchronized void acquireFrozen(RealmConfiguration configuration) {
+        RealmCache cache = cachesMap.get(configuration.getPath());
+        if (cache == null) {
+            cache = new RealmCache(configuration);
+            cachesMap.put(configuration.getPath(), cache);
+        } else {
+            cache.validateConfiguration(configuration);
+        }
+        cache.frozenCount++;
+    }
+
+    /**
+     * Removes a frozen Realm counted by {@link #acquireFrozen(RealmConfiguration)} after it has been closed.
+     *
+     * @param configuration the {@link RealmConfiguration} of the frozen Realm.
+     */
+    static synchronized void releaseFrozen(RealmConfiguration configuration) {
+        String canonicalPath = configuration.getPath();
+        RealmCache cache = cachesMap.get(canonicalPath);
+        if (cache == null || cache.frozenCount <= 0) {
+            // Should never happen.
+            throw new IllegalStateException("Frozen reference counter of Realm" + canonicalPath + " got corrupted.");
+        }
+        cache.frozenCount--;
+        if (cache.getTotalGlobalRefCount() == 0) {
+            removeClosedCache(canonicalPath, configuration);
+        }
+    }
+
+    // Removes the cache of a file once its last instance has been closed and runs the callbacks waiting for it.
+    private static void removeClosedCache(String canonicalPath, RealmConfiguration configuration) {
+        cachesMap.remove(canonicalPath);
+        List<Callback0> callbacks = closedCallbacks.remove(canonicalPath);
+        if (callbacks != null) {
+            for (Callback0 callback : callbacks) {
+                callback.onCall();
+            }
+        }
+        ObjectServerFacade.getFacade(configuration.isSyncConfiguration()).realmClosed(configuration);
+    }
+
+    private int getTotalGlobalRefCount() {
+        int totalRefCount = frozenCount;
+        for (RealmCacheType type : RealmCacheType.values()) {
+            totalRefCount += refAndCountMap.get(type).globalCount;
+        }
+        return totalRefCount;
+    }
+
     /**
      * Makes sure that the new configuration doesn't clash with any cached configurations for the
      * Realm.
@@ -284,7 +378,7 @@ final class RealmCache {
 
     /**
      * Runs the callback function with the total reference count of {@link Realm} and {@link DynamicRealm} who refer to
-     * the given {@link RealmConfiguration}.
+     * the given {@link RealmConfiguration}. Frozen Realms are included in the count.
      *
      * @param configuration the {@link RealmConfiguration} of {@link Realm} or {@link DynamicRealm}.
      * @param callback the callback will be executed with the global reference count.
@@ -295,11 +389,7 @@ final class RealmCache {
             callback.onResult(0);
             return;
         }
-        int totalRefCount = 0;
-        for (RealmCacheType type : RealmCacheType.values()) {
-            totalRefCount += cache.refAndCountMap.get(type).globalCount;
-        }
-        callback.onResult(totalRefCount);
+        callback.onResult(cache.getTotalGlobalRefCount());
     }
 
     /**
@@ -326,6 +416,65 @@ final class RealmCache {
         }
     }
 
+    /**
+     * Runs the callback function as soon as no {@link Realm} or {@link DynamicRealm} instance of the given
+     * {@link RealmConfiguration} is open in this process. If none is open, the callback runs right away on the calling
+     * thread. Otherwise it runs on the thread closing the last instance, so it must only hand work over to another
+     * thread. Nothing waits in the meantime.
+     *
+     * @param configuration the {@link RealmConfiguration} of {@link Realm} or {@link DynamicRealm}.
+     * @param callback the callback will be executed once all instances have been closed.
+     * @see #removeWhenClosedCallback(RealmConfiguration, Callback0)
+     */
+    static synchronized void invokeWhenClosed(RealmConfiguration configuration, Callback0 callback) {
+        String path = configuration.getPath();
+        if (!cachesMap.containsKey(path)) {
+            callback.onCall();
+            return;
+        }
+        List<Callback0> callbacks = closedCallbacks.get(path);
+        if (callbacks == null) {
+            callbacks = new ArrayList<Callback0>();
+            closedCallbacks.put(path, callbacks);
+        }
+        callbacks.add(callback);
+    }
+
+    /**
+     * Removes a callback passed to {@link #invokeWhenClosed(RealmConfiguration, Callback0)} which hasn't been run yet.
+     *
+     * @param configuration the {@link RealmConfiguration} the callback was passed with.
+     * @param callback the callback to remove.
+     */
+    static synchronized void removeWhenClosedCallback(RealmConfiguration configuration, Callback0 callback) {
+        List<Callback0> callbacks = closedCallbacks.get(configuration.getPath());
+        if (callbacks != null) {
+            callbacks.remove(callback);
+            if (callbacks.isEmpty()) {
+                closedCallbacks.remove(configuration.getPath());
+            }
+        }
+    }
+
+    /**
+     * Runs the callback function if no {@link Realm} or {@link DynamicRealm} instance of the given
+     * {@link RealmConfiguration} is open in this process. No instance of the file can be opened while the callback
+     * runs, but other files can.
+     *
+     * @param configuration the {@link RealmConfiguration} of {@link Realm} or {@link DynamicRealm}.
+     * @param callback the callback to execute.
+     * @return {@code true} if the callback was run, {@code false} if an instance was open.
+     */
+    static boolean invokeIfClosed(RealmConfiguration configuration, Callback0 callback) {
+        synchronized (getFileLock(configuration.getPath())) {
+            if (isOpen(configuration.getPath())) {
+                return false;
+            }
+            callback.onCall();
+            return true;
+        }
+    }
+
    /**
      * Runs the callback function with synchronization on {@link RealmCache}.
      *
@@ -335,63 +484,211 @@ final class RealmCache {
         callback.onCall();
     }
 
+    /**
+     * Compacts the Realm file if the {@link CompactOnLaunchCallback} of the configuration asks for it. Must only be
+     * called when no instance of the file is open in this process.
+     *
+     * @param configuration configuration object for Realm instance.
+     */
+    private static void compactOnLaunchIfNeeded(RealmConfiguration configuration) {
+        CompactOnLaunchCallback callback = configuration.getCompactOnLaunchCallback();
+        if (callback == null || configuration.getDurability() == SharedRealm.Durability.MEM_ONLY ||
+                !new File(configuration.getPath()).exists()) {
+            return;
+        }
+
+        SharedRealm sharedRealm = SharedRealm.getInstance(configuration);
+        try {
+            // The statistics are read in a read transaction, the file isn't written to unless it is compacted.
+            long[] fileSpace = sharedRealm.getFileSpace();
+            if (callback.shouldCompact(fileSpace[0], fileSpace[1]) && !sharedRealm.compact()) {
+                RealmLog.warn("Compacting %s on launch failed. It might be open in another process.",
+                        configuration.getPath());
+            }
+        } finally {
+            sharedRealm.close();
+        }
+    }
+
     /**
      * Copies Realm database file from Android asset directory to the directory given in the {@link RealmConfiguration}.
      * Copy is performed only at the first time when there is no Realm database file.
+     * <p>
+     * The asset is copied to a temporary file which is renamed once it is complete, so an interrupted copy never
+     * leaves a partial Realm file behind. Uncompressed assets are copied with {@link FileChannel#transferTo} when
+     * they are stored uncompressed in the APK, compressed assets are inflated while they are copied.
      *
      * @param configuration configuration object for Realm instance.
+     * @param callback optional callback notified about the progress of the copy.
+     * @return {@code false} if the copy was interrupted, {@code true} otherwise.
      * @throws RealmFileException if copying the file fails.
      */
-    private static void copyAssetFileIfNeeded(RealmConfiguration configuration) {
-        IOException exceptionWhenClose = null;
-        if (configuration.hasAssetFile()) {
-            File realmFile = new File(configuration.getRealmDirectory(), configuration.getRealmFileName());
+    static boolean copyAssetFileIfNeeded(RealmConfiguration configuration, Realm.PrepareCallback callback) {
+        if (!configuration.hasAssetFile()) {
+            return true;
+        }
+        File realmFile = new File(configuration.getRealmDirectory(), configuration.getRealmFileName());
+        if (realmFile.exists()) {
+            return true;
+        }
+
+        synchronized (getFileLock(configuration.getPath())) {
             if (realmFile.exists()) {
-                return;
+                return true;
             }
-
-            InputStream inputStream = null;
-            FileOutputStream outputStream = null;
+            File tempFile = new File(configuration.getRealmDirectory(),
+                    configuration.getRealmFileName() + ASSET_FILE_TEMP_SUFFIX);
+            boolean copied = false;
             try {
-                inputStream = configuration.getAssetFile();
-                if (inputStream == null) {
-                    throw new RealmFileException(RealmFileException.Kind.ACCESS_ERROR,
-                            "Invalid input stream to asset file.");
-                }
-
-                outputStream = new FileOutputStream(realmFile);
-                byte[] buf = new byte[4096];
-                int bytesRead;
-                while ((bytesRead = inputStream.read(buf)) > -1) {
-                    outputStream.write(buf, 0, bytesRead);
-                }
+                copied = configuration.isAssetFileCompressed() ?
+                        inflateAssetFile(configuration, tempFile, callback) :
+                        copyAssetFile(configuration, tempFile, callback);
             } catch (IOException e) {
                 throw new RealmFileException(RealmFileException.Kind.ACCESS_ERROR,
-                        "Could not resolve the path to the Realm asset file.", e);
+                        "Could not copy the Realm asset file.", e);
             } finally {
-                if (inputStream != null) {
-                    try {
-                        inputStream.close();
-                    } catch (IOException e) {
-                        exceptionWhenClose = e;
-                    }
+                if (!copied && tempFile.exists() && !tempFile.delete()) {
+                    RealmLog.warn("Could not delete the partial copy of the asset file: " + tempFile);
                 }
-                if (outputStream != null) {
-                    try {
-                        outputStream.close();
-                    } catch (IOException e) {
-                        // Ignore this one if there was an exception when close inputStream.
-                        if (exceptionWhenClose == null) {
-                            exceptionWhenClose = e;
-                        }
-                    }
+            }
+            if (copied && !tempFile.renameTo(realmFile)) {
+                throw new RealmFileException(RealmFileException.Kind.ACCESS_ERROR,
+                        "Could not rename the copy of the asset file to " + realmFile);
+            }
+            return copied;
+        }
+    }
+
+    private static Object getFileLock(String path) {
+        synchronized (fileLocks) {
+            Object lock = fileLocks.get(path);
+            if (lock == null) {
+                lock = new Object();
+                fileLocks.put(path, lock);
+            }
+            return lock;
+        }
+    }
+
+    private static synchronized boolean isOpen(String path) {
+        return cachesMap.containsKey(path);
+    }
+
+    private static boolean copyAssetFile(RealmConfiguration configuration, File targetFile,
+                                         Realm.PrepareCallback callback) throws IOException {
+        AssetFileDescriptor assetFd;
+        try {
+            assetFd = configuration.getAssetFileDescriptor();
+        } catch (FileNotFoundException e) {
+            // The asset is compressed in the APK, so it can only be read as a stream.
+            assetFd = null;
+        }
+        if (assetFd == null) {
+            InputStream inputStream = configuration.getAssetFile();
+            try {
+                return copyStream(inputStream, inputStream.available(), null, targetFile, callback);
+            } finally {
+                inputStream.close();
+            }
+        }
+
+        FileInputStream inputStream = assetFd.createInputStream();
+        FileOutputStream outputStream = new FileOutputStream(targetFile);
+        try {
+            FileChannel source = inputStream.getChannel();
+            FileChannel target = outputStream.getChannel();
+            long start = assetFd.getStartOffset();
+            long length = assetFd.getLength();
+            long copied = 0;
+            while (copied < length) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+                copied += source.transferTo(start + copied, Math.min(ASSET_COPY_CHUNK_SIZE, length - copied), target);
+                if (callback != null) {
+                    callback.onProgress(copied, length);
+                }
+            }
+            outputStream.getFD().sync();
+            return true;
+        } finally {
+            inputStream.close();
+            outputStream.close();
+            assetFd.close();
+        }
+    }
+
+    // The progress of compressed assets is reported in compressed bytes, as the size of the inflated file is unknown.
+    private static boolean inflateAssetFile(RealmConfiguration configuration, File targetFile,
+                                            Realm.PrepareCallback callback) throws IOException {
+        InputStream assetStream = configuration.getAssetFile();
+        Inflater inflater = new Inflater();
+        try {
+            CountingInputStream countingStream = new CountingInputStream(assetStream);
+            return copyStream(new InflaterInputStream(countingStream, inflater, ASSET_BUFFER_SIZE),
+                    assetStream.available(), countingStream, targetFile, callback);
+        } finally {
+            inflater.end();
+            assetStream.close();
+        }
+    }
+
+    // Copies the stream to the target file. The progress is reported in bytes read from the stream, or from
+    // progressStream if given.
+    private static boolean copyStream(InputStream inputStream, long totalBytes, CountingInputStream progressStream,
+                                      File targetFile, Realm.PrepareCallback callback) throws IOException {
+        FileOutputStream outputStream = new FileOutputStream(targetFile);
+        try {
+            byte[] buf = new byte[ASSET_BUFFER_SIZE];
+            long bytesCopied = 0;
+            long lastReport = 0;
+            int bytesRead;
+            while ((bytesRead = inputStream.read(buf)) > -1) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+                outputStream.write(buf, 0, bytesRead);
+                bytesCopied += bytesRead;
+                long progress = (progressStream != null) ? progressStream.count : bytesCopied;
+                if (callback != null && progress - lastReport >= ASSET_COPY_CHUNK_SIZE) {
+                    callback.onProgress(progress, totalBytes);
+                    lastReport = progress;
                 }
             }
+            if (callback != null) {
+                long progress = (progressStream != null) ? progressStream.count : bytesCopied;
+                callback.onProgress(progress, Math.max(progress, totalBytes));
+            }
+            outputStream.getFD().sync();
+            return true;
+        } finally {
+            outputStream.close();
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private long count = 0;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
 
-            // No other exception has been thrown, only the exception when close. So, throw it.
-            if (exceptionWhenClose != null) {
-                throw new RealmFileException(RealmFileException.Kind.ACCESS_ERROR, exceptionWhenClose);
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int bytesRead = super.read(buffer, offset, length);
+            if (bytesRead > 0) {
+                count += bytesRead;
             }
+            return bytesRead;
         }
     }
 
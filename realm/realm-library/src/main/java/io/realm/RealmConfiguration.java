@@ -17,6 +17,7 @@
 package io.realm;
 
 import android.content.Context;
+import android.content.res.AssetFileDescriptor;
 import android.text.TextUtils;
 
 import java.io.File;
@@ -28,6 +29,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import io.realm.annotations.RealmModule;
 import io.realm.exceptions.RealmException;
@@ -96,6 +98,12 @@ public class RealmConfiguration {
     private final RealmProxyMediator schemaMediator;
     private final RxObservableFactory rxObservableFactory;
     private final Realm.Transaction initialDataTransaction;
+    private final CompactOnLaunchCallback compactOnLaunch;
+    private final RealmMetricsListener metricsListener;
+    private final long notificationIntervalMillis;
+    private final Set<Class<? extends RealmModel>> observedClasses;
+    private final boolean assetFileCompressed;
+    private final boolean identityMapEnabled;
 
     // We need to enumerate all parameters since SyncConfiguration and RealmConfiguration supports different
     // subsets of them.
@@ -110,7 +118,13 @@ public class RealmConfiguration {
                               SharedRealm.Durability durability,
                               RealmProxyMediator schemaMediator,
                               RxObservableFactory rxObservableFactory,
-                              Realm.Transaction initialDataTransaction) {
+                              Realm.Transaction initialDataTransaction,
+                              CompactOnLaunchCallback compactOnLaunch,
+                              RealmMetricsListener metricsListener,
+                              long notificationIntervalMillis,
+                              Set<Class<? extends RealmModel>> observedClasses,
+                              boolean assetFileCompressed,
+                              boolean identityMapEnabled) {
         this.realmDirectory = realmDirectory;
         this.realmFileName = realmFileName;
         this.canonicalPath = canonicalPath;
@@ -123,6 +137,12 @@ public class RealmConfiguration {
         this.schemaMediator = schemaMediator;
         this.rxObservableFactory = rxObservableFactory;
         this.initialDataTransaction = initialDataTransaction;
+        this.compactOnLaunch = compactOnLaunch;
+        this.metricsListener = metricsListener;
+        this.notificationIntervalMillis = notificationIntervalMillis;
+        this.observedClasses = observedClasses;
+        this.assetFileCompressed = assetFileCompressed;
+        this.identityMapEnabled = identityMapEnabled;
     }
 
     public File getRealmDirectory() {
@@ -153,6 +173,56 @@ public class RealmConfiguration {
         return durability;
     }
 
+    /**
+     * Returns the callback which decides if the Realm file should be compacted when it is opened.
+     *
+     * @return the callback or {@code null} if the file is never compacted on launch.
+     * @see Builder#compactOnLaunch(CompactOnLaunchCallback)
+     */
+    public CompactOnLaunchCallback getCompactOnLaunchCallback() {
+        return compactOnLaunch;
+    }
+
+    /**
+     * Returns the listener receiving metrics of the operations on this Realm.
+     *
+     * @return the listener or {@code null} if no metrics are collected.
+     * @see Builder#metricsListener(RealmMetricsListener)
+     */
+    public RealmMetricsListener getMetricsListener() {
+        return metricsListener;
+    }
+
+    /**
+     * Returns the minimum time between two notifications about changes made by other threads or processes.
+     *
+     * @return the interval in milliseconds, {@code 0} if changes are delivered right away.
+     * @see Builder#notificationInterval(long, TimeUnit)
+     */
+    public long getNotificationIntervalMillis() {
+        return notificationIntervalMillis;
+    }
+
+    /**
+     * Returns the model classes whose changes are notified to Realms on Looper threads.
+     *
+     * @return unmodifiable set of the observed classes. Empty if changes to all classes are notified.
+     * @see Builder#observedClasses(Class, Class[])
+     */
+    public Set<Class<? extends RealmModel>> getObservedClasses() {
+        return observedClasses;
+    }
+
+    /**
+     * Checks if Realm instances return the same object each time the same row is read.
+     *
+     * @return {@code true} if the identity map is enabled, {@code false} otherwise.
+     * @see Builder#identityMap()
+     */
+    public boolean isIdentityMapEnabled() {
+        return identityMapEnabled;
+    }
+
     /**
      * Returns the mediator instance of schema which is defined by this configuration.
      *
@@ -190,6 +260,27 @@ public class RealmConfiguration {
         return BaseRealm.applicationContext.getAssets().open(assetFilePath);
     }
 
+    /**
+     * Returns a file descriptor to the Realm asset file, so it can be copied with a {@link java.nio.channels.FileChannel}.
+     *
+     * @return the file descriptor of the asset file.
+     * @throws java.io.FileNotFoundException if the asset file is stored compressed in the APK.
+     * @throws IOException if the asset file cannot be opened.
+     */
+    AssetFileDescriptor getAssetFileDescriptor() throws IOException {
+        return BaseRealm.applicationContext.getAssets().openFd(assetFilePath);
+    }
+
+    /**
+     * Checks if the asset file is deflate compressed.
+     *
+     * @return {@code true} if the asset file must be inflated when it is copied, {@code false} otherwise.
+     * @see Builder#compressedAssetFile(String)
+     */
+    boolean isAssetFileCompressed() {
+        return assetFileCompressed;
+    }
+
     /**
      * Returns the unmodifiable {@link Set} of model classes that make up the schema for this Realm.
      *
@@ -237,6 +328,11 @@ public class RealmConfiguration {
         //noinspection SimplifiableIfStatement
         if (rxObservableFactory != null ? !rxObservableFactory.equals(that.rxObservableFactory) : that.rxObservableFactory != null) return false;
         if (initialDataTransaction != null ? !initialDataTransaction.equals(that.initialDataTransaction) : that.initialDataTransaction != null) return false;
+        if (compactOnLaunch != null ? !compactOnLaunch.equals(that.compactOnLaunch) : that.compactOnLaunch != null) return false;
+        if (metricsListener != null ? !metricsListener.equals(that.metricsListener) : that.metricsListener != null) return false;
+        if (notificationIntervalMillis != that.notificationIntervalMillis) return false;
+        if (!observedClasses.equals(that.observedClasses)) return false;
+        if (identityMapEnabled != that.identityMapEnabled) return false;
 
         return schemaMediator.equals(that.schemaMediator);
     }
@@ -256,6 +352,11 @@ public class RealmConfiguration {
         result = 31 * result + durability.hashCode();
         result = 31 * result + (rxObservableFactory != null ? rxObservableFactory.hashCode() : 0);
         result = 31 * result + (initialDataTransaction != null ? initialDataTransaction.hashCode() : 0);
+        result = 31 * result + (compactOnLaunch != null ? compactOnLaunch.hashCode() : 0);
+        result = 31 * result + (metricsListener != null ? metricsListener.hashCode() : 0);
+        result = 31 * result + (int) (notificationIntervalMillis ^ (notificationIntervalMillis >>> 32));
+        result = 31 * result + observedClasses.hashCode();
+        result = 31 * result + (identityMapEnabled ? 1 : 0);
 
         return result;
     }
@@ -284,6 +385,21 @@ public class RealmConfiguration {
         return new CompositeMediator(mediators);
     }
 
+    // Checks that all observed classes are part of the schema and returns an immutable copy of them
+    protected static Set<Class<? extends RealmModel>> checkObservedClasses(
+            RealmProxyMediator schemaMediator, Set<Class<? extends RealmModel>> observedClasses) {
+        if (observedClasses.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<Class<? extends RealmModel>> modelClasses = schemaMediator.getModelClasses();
+        for (Class<? extends RealmModel> clazz : observedClasses) {
+            if (!modelClasses.contains(clazz)) {
+                throw new IllegalArgumentException(clazz.getSimpleName() + " is not part of the schema for this Realm.");
+            }
+        }
+        return Collections.unmodifiableSet(new HashSet<Class<? extends RealmModel>>(observedClasses));
+    }
+
     // Finds the mediator associated with a given module
     private static RealmProxyMediator getModuleMediator(String fullyQualifiedModuleClassName) {
         String[] moduleNameParts = fullyQualifiedModuleClassName.split("\\.");
@@ -327,6 +443,16 @@ public class RealmConfiguration {
         stringBuilder.append("\n");
         stringBuilder.append("durability: ").append(durability);
         stringBuilder.append("\n");
+        stringBuilder.append("compactOnLaunch: ").append(compactOnLaunch);
+        stringBuilder.append("\n");
+        stringBuilder.append("metricsListener: ").append(metricsListener);
+        stringBuilder.append("\n");
+        stringBuilder.append("notificationIntervalMillis: ").append(notificationIntervalMillis);
+        stringBuilder.append("\n");
+        stringBuilder.append("observedClasses: ").append(observedClasses);
+        stringBuilder.append("\n");
+        stringBuilder.append("identityMapEnabled: ").append(identityMapEnabled);
+        stringBuilder.append("\n");
         stringBuilder.append("schemaMediator: ").append(schemaMediator);
 
         return stringBuilder.toString();
@@ -382,6 +508,12 @@ public class RealmConfiguration {
         private HashSet<Class<? extends RealmModel>> debugSchema = new HashSet<Class<? extends RealmModel>>();
         private RxObservableFactory rxFactory;
         private Realm.Transaction initialDataTransaction;
+        private CompactOnLaunchCallback compactOnLaunch;
+        private RealmMetricsListener metricsListener;
+        private long notificationIntervalMillis;
+        private HashSet<Class<? extends RealmModel>> observedClasses = new HashSet<Class<? extends RealmModel>>();
+        private boolean assetFileCompressed;
+        private boolean identityMapEnabled;
 
         /**
          * Creates an instance of the Builder for the RealmConfiguration.
@@ -596,10 +728,13 @@ public class RealmConfiguration {
          * at the same time as doing so will delete the copied asset schema.
          *
          * <p>
-         * WARNING: This could potentially be a lengthy operation and should ideally be done on a background thread.
+         * WARNING: This could potentially be a lengthy operation and should ideally be done on a background thread,
+         * e.g. by calling {@link Realm#prepareAsync(RealmConfiguration, Realm.PrepareCallback)} before opening the
+         * Realm. Copying the file doesn't block opening other Realm files.
          *
          * @param assetFile path to the asset database file.
          * @throws IllegalStateException if this is configured to clear its schema by calling {@link #deleteRealmIfMigrationNeeded()}.
+         * @see #compressedAssetFile(String)
          */
         public Builder assetFile(final String assetFile) {
             if (TextUtils.isEmpty(assetFile)) {
@@ -613,7 +748,133 @@ public class RealmConfiguration {
             }
 
             this.assetFilePath = assetFile;
+            this.assetFileCompressed = false;
+
+            return this;
+        }
+
+        /**
+         * Same as {@link #assetFile(String)}, but the asset file is compressed with deflate in the zlib format, e.g.
+         * using {@link java.util.zip.DeflaterOutputStream}. The file is inflated while it is copied, which keeps the
+         * APK small for Realm files that compress well.
+         *
+         * @param assetFile path to the compressed asset database file.
+         * @throws IllegalStateException if this is configured to clear its schema by calling {@link #deleteRealmIfMigrationNeeded()}.
+         */
+        public Builder compressedAssetFile(final String assetFile) {
+            assetFile(assetFile);
+            this.assetFileCompressed = true;
+            return this;
+        }
+
+        /**
+         * Compacts the Realm file when it is opened for the first time and {@link DefaultCompactOnLaunchCallback}
+         * decides it is worth it, i.e. the file is larger than 100 MB and less than half of it is used.
+         *
+         * @see #compactOnLaunch(CompactOnLaunchCallback)
+         */
+        public Builder compactOnLaunch() {
+            return compactOnLaunch(new DefaultCompactOnLaunchCallback());
+        }
+
+        /**
+         * Sets a callback which decides if the Realm file should be compacted before it is opened for the first time
+         * in this process. The callback is only evaluated when no other instance of the file is open in this process,
+         * and compaction is skipped if the file is open in another process.
+         * <p>
+         * Compacting a large file blocks the thread which opens the Realm, so it should be opened on a background
+         * thread first.
+         *
+         * @param compactOnLaunch the callback which decides if the file should be compacted.
+         * @throws IllegalArgumentException if {@code compactOnLaunch} is {@code null}.
+         */
+        public Builder compactOnLaunch(CompactOnLaunchCallback compactOnLaunch) {
+            if (compactOnLaunch == null) {
+                throw new IllegalArgumentException("A non-null compactOnLaunch must be provided");
+            }
+            this.compactOnLaunch = compactOnLaunch;
+            return this;
+        }
+
+        /**
+         * Sets a listener which receives timing and size metrics of queries, transactions and notifications of all
+         * Realm instances opened with this configuration. No metrics are collected without a listener.
+         *
+         * @param listener the listener receiving the metrics.
+         * @throws IllegalArgumentException if {@code listener} is {@code null}.
+         */
+        public Builder metricsListener(RealmMetricsListener listener) {
+            if (listener == null) {
+                throw new IllegalArgumentException("A non-null metrics listener must be provided");
+            }
+            this.metricsListener = listener;
+            return this;
+        }
 
+        /**
+         * Sets the minimum time between two notifications of a Realm on a Looper thread about changes made by other
+         * threads or processes. Changes made in the meantime are coalesced, so listeners are called once with the
+         * latest version. This reduces the work done by e.g. a UI thread while another process commits frequently.
+         * <p>
+         * Commits made on the thread of the Realm itself are always notified right away. Realms on threads using a
+         * {@link RealmEventLoop} only coalesce changes which haven't been delivered yet.
+         *
+         * @param interval the minimum interval, {@code 0} to deliver changes right away.
+         * @param unit the unit of {@code interval}.
+         * @throws IllegalArgumentException if {@code interval} is negative or {@code unit} is {@code null}.
+         */
+        public Builder notificationInterval(long interval, TimeUnit unit) {
+            if (interval < 0) {
+                throw new IllegalArgumentException("The notification interval cannot be negative: " + interval);
+            }
+            if (unit == null) {
+                throw new IllegalArgumentException("A non-null unit must be provided");
+            }
+            this.notificationIntervalMillis = unit.toMillis(interval);
+            return this;
+        }
+
+        /**
+         * Restricts change notifications to the given model classes. When another thread or process commits changes
+         * which don't touch any of these classes, no change listeners are called on Looper threads and
+         * {@link RealmEventLoop} threads. The Realm is still refreshed, async queries are still re-run and callbacks of
+         * async transactions are still called, so objects and {@link RealmResults} of all classes show the latest data.
+         * <p>
+         * Changes to a class can also be reported if a class linking to it or linked from it is changed.
+         *
+         * @param firstClass a class to observe.
+         * @param additionalClasses further classes to observe.
+         * @throws IllegalArgumentException if a class is {@code null}.
+         */
+        public Builder observedClasses(Class<? extends RealmModel> firstClass,
+                                       Class<? extends RealmModel>... additionalClasses) {
+            if (firstClass == null) {
+                throw new IllegalArgumentException("A non-null class must be provided");
+            }
+            observedClasses.clear();
+            observedClasses.add(firstClass);
+            if (additionalClasses != null) {
+                for (Class<? extends RealmModel> clazz : additionalClasses) {
+                    if (clazz == null) {
+                        throw new IllegalArgumentException("A non-null class must be provided");
+                    }
+                    observedClasses.add(clazz);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Makes Realm instances return the same object each time the same row is read, e.g. by calling
+         * {@link RealmResults#get(int)} twice or by following a link. This avoids creating a new object and native row
+         * accessor for each read, which helps adapters reading the same rows over and over again.
+         * <p>
+         * Objects are only shared within one Realm instance and are released once they are no longer used. Since the
+         * objects are shared, change listeners added to an object are also registered for all other reads of it.
+         * Frozen Realms always return new objects.
+         */
+        public Builder identityMap() {
+            this.identityMapEnabled = true;
             return this;
         }
 
@@ -653,6 +914,7 @@ public class RealmConfiguration {
                 rxFactory = new RealmObservableFactory();
             }
 
+            RealmProxyMediator schemaMediator = createSchemaMediator(modules, debugSchema);
             return new RealmConfiguration(directory,
                     fileName,
                     getCanonicalPath(new File(directory, fileName)),
@@ -662,9 +924,15 @@ public class RealmConfiguration {
                     migration,
                     deleteRealmIfMigrationNeeded,
                     durability,
-                    createSchemaMediator(modules, debugSchema),
+                    schemaMediator,
                     rxFactory,
-                    initialDataTransaction
+                    initialDataTransaction,
+                    compactOnLaunch,
+                    metricsListener,
+                    notificationIntervalMillis,
+                    checkObservedClasses(schemaMediator, observedClasses),
+                    assetFileCompressed,
+                    identityMapEnabled
             );
         }
 
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An event loop which delivers Realm notifications to a thread without an {@link android.os.Looper}.
+ * <p>
+ * Realm instances opened on a thread after {@link #prepare()} or {@link #prepare(Executor)} has been called on it
+ * behave like Realm instances on a Looper thread: they are auto-refreshed, {@link RealmChangeListener}s can be
+ * registered and asynchronous queries and transactions deliver their results to the thread. All of these events are
+ * sent to the event loop instead of a {@link android.os.Handler}.
+ * <p>
+ * The events can either be run by the thread itself:
+ * <pre>
+ * {@code
+ * RealmEventLoop eventLoop = RealmEventLoop.prepare();
+ * Realm realm = Realm.getInstance(config);
+ * RealmResults<Person> persons = realm.where(Person.class).findAllAsync();
+ * persons.addChangeListener(listener);
+ * while (running) {
+ *     eventLoop.awaitAndRunEvents(1, TimeUnit.SECONDS);
+ * }
+ * realm.close();
+ * eventLoop.quit();
+ * }
+ * </pre>
+ * or by an {@link Executor} which runs all tasks on the thread that prepared the event loop, e.g. a single threaded
+ * executor:
+ * <pre>
+ * {@code
+ * final ExecutorService executor = Executors.newSingleThreadExecutor();
+ * executor.execute(new Runnable() {
+ *     public void run() {
+ *         RealmEventLoop.prepare(executor);
+ *         realm = Realm.getInstance(config);
+ *         realm.addChangeListener(listener);
+ *     }
+ * });
+ * }
+ * </pre>
+ * Commits made by other threads and by other processes are delivered right away.
+ */
+public final class RealmEventLoop implements Executor {
+
+    private static final ThreadLocal<RealmEventLoop> threadEventLoop = new ThreadLocal<RealmEventLoop>();
+
+    private final Thread thread;
+    // null if events are run by the thread itself.
+    private final Executor executor;
+    // Only used if events are run by the thread itself.
+    private final BlockingQueue<Runnable> events;
+    private volatile boolean quit = false;
+
+    private RealmEventLoop(Executor executor) {
+        this.thread = Thread.currentThread();
+        this.executor = executor;
+        this.events = (executor == null) ? new LinkedBlockingQueue<Runnable>() : null;
+    }
+
+    /**
+     * Creates an event loop for the current thread. Events are queued until the thread runs them by calling
+     * {@link #runPendingEvents()} or {@link #awaitAndRunEvents(long, TimeUnit)}.
+     *
+     * @return the event loop of the current thread.
+     * @throws IllegalStateException if the current thread already has an event loop.
+     */
+    public static RealmEventLoop prepare() {
+        return bind(new RealmEventLoop(null));
+    }
+
+    /**
+     * Creates an event loop for the current thread which delivers all events through the given executor. The executor
+     * must run all tasks on the current thread.
+     *
+     * @param executor the executor to run events with.
+     * @return the event loop of the current thread.
+     * @throws IllegalArgumentException if {@code executor} is {@code null}.
+     * @throws IllegalStateException if the current thread already has an event loop.
+     */
+    public static RealmEventLoop prepare(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Non-null 'executor' required.");
+        }
+        return bind(new RealmEventLoop(executor));
+    }
+
+    /**
+     * Returns the event loop of the current thread.
+     *
+     * @return the event loop of the current thread or {@code null} if the thread has no event loop.
+     */
+    public static RealmEventLoop myEventLoop() {
+        RealmEventLoop eventLoop = threadEventLoop.get();
+        return (eventLoop != null && !eventLoop.quit) ? eventLoop : null;
+    }
+
+    private static RealmEventLoop bind(RealmEventLoop eventLoop) {
+        if (myEventLoop() != null) {
+            throw new IllegalStateException("Only one RealmEventLoop can be created per thread.");
+        }
+        threadEventLoop.set(eventLoop);
+        return eventLoop;
+    }
+
+    /**
+     * Schedules a task on this event loop.
+     *
+     * @param task the task to run on the thread of this event loop.
+     * @throws RejectedExecutionException if the event loop has quit.
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (quit) {
+            throw new RejectedExecutionException("The RealmEventLoop has quit.");
+        }
+        if (executor != null) {
+            executor.execute(task);
+        } else {
+            events.add(task);
+        }
+    }
+
+    /**
+     * Runs all events which are currently queued.
+     *
+     * @return the number of events that have been run.
+     * @throws IllegalStateException if not called from the thread of the event loop or if events are run by an
+     * {@link Executor}.
+     */
+    public int runPendingEvents() {
+        checkCanRunEvents();
+        int count = 0;
+        Runnable event;
+        while (!quit && (event = events.poll()) != null) {
+            event.run();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Waits until at least one event is queued and runs all queued events.
+     *
+     * @param timeout the maximum time to wait for an event.
+     * @param unit the time unit of {@code timeout}.
+     * @return the number of events that have been run, {@code 0} if the timeout elapsed.
+     * @throws InterruptedException if the thread was interrupted while waiting.
+     * @throws IllegalStateException if not called from the thread of the event loop or if events are run by an
+     * {@link Executor}.
+     */
+    public int awaitAndRunEvents(long timeout, TimeUnit unit) throws InterruptedException {
+        checkCanRunEvents();
+        Runnable event = events.poll(timeout, unit);
+        if (event == null || quit) {
+            return 0;
+        }
+        event.run();
+        return 1 + runPendingEvents();
+    }
+
+    /**
+     * Stops the event loop. Queued events are discarded and Realm instances opened on the thread no longer receive
+     * notifications. Realm instances opened afterwards behave as on any other thread without a Looper.
+     */
+    public void quit() {
+        quit = true;
+        if (events != null) {
+            events.clear();
+        }
+        if (threadEventLoop.get() == this) {
+            threadEventLoop.remove();
+        }
+    }
+
+    /**
+     * Checks if this event loop has quit.
+     *
+     * @return {@code true} if {@link #quit()} has been called, {@code false} otherwise.
+     */
+    public boolean isQuit() {
+        return quit;
+    }
+
+    boolean isEventLoopThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    private void checkCanRunEvents() {
+        if (executor != null) {
+            throw new IllegalStateException("Events of this RealmEventLoop are run by its executor.");
+        }
+        if (!isEventLoopThread()) {
+            throw new IllegalStateException("Events can only be run on the thread which created the RealmEventLoop.");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RealmEventLoop{thread=" + thread.getName() + ", executor=" + executor + ", quit=" + quit + "}";
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * Receives timing and size metrics of Realm operations, e.g. to export them to a monitoring system. A listener is
+ * registered with {@link RealmConfiguration.Builder#metricsListener(RealmMetricsListener)} and receives the events of
+ * all Realm instances opened with that configuration.
+ * <p>
+ * Only the events of interest need to be overridden. Events are reported on the thread which did the work, so
+ * implementations must be thread safe and return quickly, as they delay the operation being measured.
+ * <p>
+ * No metrics are collected if no listener is registered.
+ */
+public abstract class RealmMetricsListener {
+
+    /**
+     * The kind of query execution reported by {@link #onQueryExecuted(String, String, QueryType, long, long)}.
+     */
+    public enum QueryType {
+        FIND_ALL,
+        FIND_ALL_SORTED,
+        FIND_FIRST,
+        DISTINCT,
+        COUNT
+    }
+
+    /**
+     * Called after a query has been executed synchronously.
+     *
+     * @param realmPath the path of the Realm file.
+     * @param className the name of the queried class.
+     * @param queryType the kind of query execution.
+     * @param resultSize the number of objects found or counted.
+     * @param durationNanos the time it took to run the query in nanoseconds.
+     */
+    public void onQueryExecuted(String realmPath, String className, QueryType queryType, long resultSize,
+                                long durationNanos) {
+    }
+
+    /**
+     * Called on a background thread after a batch of asynchronous queries has been re-run for a new version of the
+     * Realm.
+     *
+     * @param realmPath the path of the Realm file.
+     * @param queryCount the number of queries in the batch.
+     * @param durationNanos the time it took to run all queries of the batch in nanoseconds.
+     */
+    public void onAsyncQueriesUpdated(String realmPath, int queryCount, long durationNanos) {
+    }
+
+    /**
+     * Called after a write transaction has been committed.
+     *
+     * @param realmPath the path of the Realm file.
+     * @param durationNanos the time it took to commit, including writing the changes to disk, in nanoseconds.
+     * @param nativeMemoryBytes the memory used by the native code after the commit in bytes, or {@code 0} if the
+     * native library cannot report it.
+     */
+    public void onTransactionCommitted(String realmPath, long durationNanos, long nativeMemoryBytes) {
+    }
+
+    /**
+     * Called after the change listeners of a Realm instance have been notified about a change.
+     *
+     * @param realmPath the path of the Realm file.
+     * @param resultsCount the number of {@link RealmResults} which were notified.
+     * @param durationNanos the time it took to notify all listeners in nanoseconds.
+     */
+    public void onListenersNotified(String realmPath, int resultsCount, long durationNanos) {
+    }
+}
@@ -18,12 +18,17 @@ package io.realm;
 
 import android.app.IntentService;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 import io.realm.annotations.RealmClass;
 import io.realm.internal.InvalidRow;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.Row;
+import io.realm.internal.Table;
+import io.realm.internal.Util;
 import rx.Observable;
 
 /**
@@ -143,6 +148,9 @@ public abstract class RealmObject implements RealmModel {
     public static <E extends RealmModel> boolean isValid(E object) {
         if (object instanceof RealmObjectProxy) {
             RealmObjectProxy proxy = (RealmObjectProxy) object;
+            if (proxy.realmGet$proxyState().isFrozenReleased$realm()) {
+                return false;
+            }
             Row row = proxy.realmGet$proxyState().getRow$realm();
             return row != null && row.isAttached();
         } else {
@@ -287,6 +295,242 @@ public abstract class RealmObject implements RealmModel {
         return object instanceof RealmObjectProxy;
     }
 
+    /**
+     * Returns a frozen snapshot of this object. A frozen object is pinned at the current version of the Realm, it
+     * never changes, cannot be modified and can be read from any thread.
+     *
+     * @return a frozen copy of this object, or this object if it is already frozen.
+     * @throws IllegalArgumentException if the object is unmanaged.
+     * @throws IllegalStateException if the object is invalid, the Realm is closed, called from an incorrect thread or
+     * called inside a write transaction.
+     * @see #freeze(RealmModel)
+     */
+    @SuppressWarnings("unchecked")
+    public final <E extends RealmObject> E freeze() {
+        return (E) RealmObject.freeze(this);
+    }
+
+    /**
+     * Returns a frozen snapshot of the given object. A frozen object is pinned at the current version of the Realm,
+     * it never changes, cannot be modified and can be read from any thread. Objects reached through its fields are
+     * frozen as well, while {@link RealmList} fields are still confined to the thread that first read them.
+     * <p>
+     * The version stays pinned until the last frozen object or {@link RealmResults} of that version has been released
+     * with {@link #release(RealmModel)} or {@link RealmResults#release()}. Frozen data which is never released only
+     * lets go of the version once it has been garbage collected.
+     *
+     * @param object RealmObject to freeze.
+     * @return a frozen copy of the object, or the object itself if it is already frozen.
+     * @throws IllegalArgumentException if the object is unmanaged.
+     * @throws IllegalStateException if the object is invalid, the Realm is closed, called from an incorrect thread or
+     * called inside a write transaction.
+     * @see #release(RealmModel)
+     * @see RealmResults#freeze()
+     */
+    public static <E extends RealmModel> E freeze(E object) {
+        if (!(object instanceof RealmObjectProxy)) {
+            throw new IllegalArgumentException("Cannot freeze an unmanaged object.");
+        }
+        ProxyState proxyState = ((RealmObjectProxy) object).realmGet$proxyState();
+        if (proxyState.isFrozen$realm()) {
+            return object;
+        }
+        BaseRealm realm = proxyState.getRealm$realm();
+        realm.checkIfValid();
+        if (!RealmObject.load(object)) {
+            throw new IllegalStateException("The result of the async query could not be loaded.");
+        }
+        Row row = proxyState.getRow$realm();
+        if (!row.isAttached()) {
+            throw new IllegalStateException("Only valid objects can be frozen.");
+        }
+
+        FrozenSnapshot snapshot = realm.acquireFrozenSnapshot();
+        E frozen;
+        try {
+            if (object instanceof DynamicRealmObject) {
+                @SuppressWarnings("unchecked")
+                E dynamicObject = (E) snapshot.get(DynamicRealmObject.class, ((DynamicRealmObject) object).getType(),
+                        row.getIndex());
+                frozen = dynamicObject;
+            } else {
+                @SuppressWarnings("unchecked")
+                Class<E> modelClass = (Class<E>) Util.getOriginalModelClass(((RealmObjectProxy) object).getClass());
+                frozen = snapshot.get(modelClass, null, row.getIndex());
+            }
+        } catch (RuntimeException e) {
+            snapshot.release();
+            throw e;
+        }
+        ((RealmObjectProxy) frozen).realmGet$proxyState().setHoldsFrozenSnapshot$realm();
+        return frozen;
+    }
+
+    /**
+     * Releases this frozen object.
+     *
+     * @see #release(RealmModel)
+     */
+    public final void release() {
+        RealmObject.release(this);
+    }
+
+    /**
+     * Releases a frozen object returned by {@link #freeze(RealmModel)}. It cannot be read any more afterwards. The
+     * version of the Realm is released once all frozen objects and {@link RealmResults} of that version have been
+     * released. Frozen objects obtained from frozen {@link RealmResults} are released together with those results,
+     * and objects reached through the fields of other frozen objects together with the version, so releasing them has
+     * no effect. Calling this method more than once has no effect either.
+     *
+     * @param object the frozen object to release.
+     * @throws IllegalStateException if the object is not frozen.
+     * @see #freeze(RealmModel)
+     */
+    public static <E extends RealmModel> void release(E object) {
+        if (!isFrozen(object)) {
+            throw new IllegalStateException("Only frozen objects can be released.");
+        }
+        ((RealmObjectProxy) object).realmGet$proxyState().releaseFrozen$realm();
+    }
+
+    /**
+     * Checks if this object is frozen.
+     *
+     * @return {@code true} if the object is frozen, {@code false} if it is live or unmanaged.
+     * @see #freeze()
+     */
+    public final boolean isFrozen() {
+        return RealmObject.isFrozen(this);
+    }
+
+    /**
+     * Checks if the given object is frozen.
+     *
+     * @param object RealmObject to check.
+     * @return {@code true} if the object is frozen, {@code false} if it is live or unmanaged.
+     * @see #freeze(RealmModel)
+     */
+    public static <E extends RealmModel> boolean isFrozen(E object) {
+        return object instanceof RealmObjectProxy && ((RealmObjectProxy) object).realmGet$proxyState().isFrozen$realm();
+    }
+
+    /**
+     * Returns a read-only view of a binary field without copying the data.
+     *
+     * @param fieldName the name of a {@code byte[]} field.
+     * @return the buffer or {@code null} if the field is {@code null}.
+     * @see #getBinaryBuffer(RealmModel, String)
+     */
+    public final ByteBuffer getBinaryBuffer(String fieldName) {
+        return RealmObject.getBinaryBuffer(this, fieldName);
+    }
+
+    /**
+     * Returns a read-only direct {@link ByteBuffer} over the data of a binary field, without copying it to the Java
+     * heap. This is useful for large values like images or serialized messages.
+     * <p>
+     * The buffer points directly into the Realm file and is only valid until the Realm is refreshed, written to or
+     * closed. Accessing it after that results in undefined behavior, so the data must be copied if it is needed for
+     * longer. Use {@link #openBinaryInputStream(RealmModel, String)} for a view that is always safe to use.
+     *
+     * @param object the managed object.
+     * @param fieldName the name of a {@code byte[]} field.
+     * @return the buffer or {@code null} if the field is {@code null}.
+     * @throws IllegalArgumentException if the object is unmanaged or the field doesn't exist or isn't a
+     * {@code byte[]} field.
+     * @throws IllegalStateException if the object is invalid, the Realm is closed or called from an incorrect thread.
+     */
+    public static <E extends RealmModel> ByteBuffer getBinaryBuffer(E object, String fieldName) {
+        ProxyState proxyState = getProxyStateForBinary(object);
+        Row row = proxyState.getRow$realm();
+        return row.getBinaryByteBuffer(getBinaryColumnIndex(row, fieldName));
+    }
+
+    /**
+     * Opens a stream reading a binary field in chunks.
+     *
+     * @param fieldName the name of a {@code byte[]} field.
+     * @return the stream.
+     * @see #openBinaryInputStream(RealmModel, String)
+     */
+    public final InputStream openBinaryInputStream(String fieldName) {
+        return RealmObject.openBinaryInputStream(this, fieldName);
+    }
+
+    /**
+     * Opens a stream reading a binary field in chunks. Only the chunks read are copied to the Java heap, and every read
+     * sees the value of the current version of the object. A {@code null} value reads as an empty stream.
+     * <p>
+     * The stream has the same thread confinement as the object.
+     *
+     * @param object the managed object.
+     * @param fieldName the name of a {@code byte[]} field.
+     * @return the stream.
+     * @throws IllegalArgumentException if the object is unmanaged or the field doesn't exist or isn't a
+     * {@code byte[]} field.
+     * @throws IllegalStateException if the object is invalid, the Realm is closed or called from an incorrect thread.
+     */
+    public static <E extends RealmModel> InputStream openBinaryInputStream(E object, String fieldName) {
+        ProxyState proxyState = getProxyStateForBinary(object);
+        Row row = proxyState.getRow$realm();
+        return new RealmBinaryInputStream(proxyState.getRealm$realm(), row, getBinaryColumnIndex(row, fieldName));
+    }
+
+    /**
+     * Opens a stream writing a binary field in chunks.
+     *
+     * @param fieldName the name of a {@code byte[]} field.
+     * @return the stream.
+     * @see #openBinaryOutputStream(RealmModel, String)
+     */
+    public final OutputStream openBinaryOutputStream(String fieldName) {
+        return RealmObject.openBinaryOutputStream(this, fieldName);
+    }
+
+    /**
+     * Opens a stream writing a binary field in chunks. The data is collected outside the Java heap and replaces the
+     * value of the field when the stream is closed, which must happen inside the same write transaction.
+     *
+     * @param object the managed object.
+     * @param fieldName the name of a {@code byte[]} field.
+     * @return the stream.
+     * @throws IllegalArgumentException if the object is unmanaged or the field doesn't exist or isn't a
+     * {@code byte[]} field.
+     * @throws IllegalStateException if the object is invalid, the Realm is closed, called from an incorrect thread or
+     * not in a write transaction.
+     */
+    public static <E extends RealmModel> OutputStream openBinaryOutputStream(E object, String fieldName) {
+        ProxyState proxyState = getProxyStateForBinary(object);
+        proxyState.getRealm$realm().checkIfValidAndInTransaction();
+        Row row = proxyState.getRow$realm();
+        return new RealmBinaryOutputStream(proxyState.getRealm$realm(), row, getBinaryColumnIndex(row, fieldName));
+    }
+
+    private static <E extends RealmModel> ProxyState getProxyStateForBinary(E object) {
+        if (!(object instanceof RealmObjectProxy)) {
+            throw new IllegalArgumentException("Binary data can only be streamed from managed objects.");
+        }
+        ProxyState proxyState = ((RealmObjectProxy) object).realmGet$proxyState();
+        proxyState.getRealm$realm().checkIfValid();
+        if (!proxyState.getRow$realm().isAttached()) {
+            throw new IllegalStateException("The object is not valid anymore.");
+        }
+        return proxyState;
+    }
+
+    private static long getBinaryColumnIndex(Row row, String fieldName) {
+        long columnIndex = row.getColumnIndex(fieldName);
+        if (columnIndex == Table.NO_MATCH) {
+            throw new IllegalArgumentException("Field not found: " + fieldName);
+        }
+        RealmFieldType type = row.getColumnType(columnIndex);
+        if (type != RealmFieldType.BINARY) {
+            throw new IllegalArgumentException(String.format("'%s' is not a '%s', but a '%s'.",
+                    fieldName, RealmFieldType.BINARY, type));
+        }
+        return columnIndex;
+    }
+
     /**
      * Makes an asynchronous query blocking. This will also trigger any registered listeners.
      * <p>
@@ -352,6 +596,9 @@ public abstract class RealmObject implements RealmModel {
             RealmObjectProxy proxy = (RealmObjectProxy) object;
             BaseRealm realm = proxy.realmGet$proxyState().getRealm$realm();
             realm.checkIfValid();
+            if (realm.isFrozen()) {
+                throw new IllegalStateException("Frozen objects never change, so listeners cannot be registered on them.");
+            }
             if (!realm.handlerController.isAutoRefreshEnabled()) {
                 throw new IllegalStateException("You can't register a listener from a non-Looper thread or IntentService thread.");
             }
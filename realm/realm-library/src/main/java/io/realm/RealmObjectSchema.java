@@ -25,8 +25,12 @@ import java.util.Map;
 import java.util.Set;
 
 import io.realm.annotations.Required;
+import io.realm.internal.CaseInsensitiveIndex;
+import io.realm.internal.ColumnInfo;
+import io.realm.internal.FullTextIndex;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
+import io.realm.internal.TableQuery;
 
 /**
  * Class for interacting with the schema for a given RealmObject class. This makes it possible to
@@ -65,6 +69,9 @@ public final class RealmObjectSchema {
         SUPPORTED_LINKED_FIELDS.put(RealmList.class, new FieldMetaData(RealmFieldType.LIST, false));
     }
 
+    // Number of objects processed at a time by the bulk field operations.
+    private static final int TRANSFORM_CHUNK_SIZE = 4096;
+
     private final BaseRealm realm;
     final Table table;
     private final Map<String, Long> columnIndices;
@@ -151,6 +158,7 @@ public final class RealmObjectSchema {
      * @see RealmSchema#rename(String, String)
      */
     public RealmObjectSchema setClassName(String className) {
+        invalidateColumnMetadata();
         realm.checkNotInSync(); // renaming a table is not permitted
         checkEmpty(className);
         String internalTableName = Table.TABLE_PREFIX + className;
@@ -168,13 +176,18 @@ public final class RealmObjectSchema {
             pkField = getPrimaryKey();
             table.setPrimaryKey(null);
         }
+        String oldClassName = getClassName();
         realm.sharedRealm.renameTable(table.getName(), internalTableName);
+        FullTextIndex.renameClass(realm.sharedRealm, oldClassName, className);
+        CaseInsensitiveIndex.renameClass(realm.sharedRealm, oldClassName, className);
         if (pkField != null && !pkField.isEmpty()) {
             try {
                 table.setPrimaryKey(pkField);
             } catch (Exception e) {
                 // revert the table name back when something goes wrong
                 realm.sharedRealm.renameTable(table.getName(), oldTableName);
+                FullTextIndex.renameClass(realm.sharedRealm, className, oldClassName);
+                CaseInsensitiveIndex.renameClass(realm.sharedRealm, className, oldClassName);
                 throw e;
             }
         }
@@ -197,6 +210,7 @@ public final class RealmObjectSchema {
      * already exists.
      */
     public RealmObjectSchema addField(String fieldName, Class<?> fieldType, FieldAttribute... attributes) {
+        invalidateColumnMetadata();
         FieldMetaData metadata = SUPPORTED_SIMPLE_FIELDS.get(fieldType);
         if (metadata == null) {
             if (SUPPORTED_LINKED_FIELDS.containsKey(fieldType)) {
@@ -233,6 +247,7 @@ public final class RealmObjectSchema {
      * @throws IllegalArgumentException if field name is illegal or a field with that name already exists.
      */
     public RealmObjectSchema addRealmObjectField(String fieldName, RealmObjectSchema objectSchema) {
+        invalidateColumnMetadata();
         checkLegalName(fieldName);
         checkFieldNameIsAvailable(fieldName);
         table.addColumnLink(RealmFieldType.OBJECT, fieldName, realm.sharedRealm.getTable(Table.TABLE_PREFIX + objectSchema.getClassName()));
@@ -248,6 +263,7 @@ public final class RealmObjectSchema {
      * @throws IllegalArgumentException if the field name is illegal or a field with that name already exists.
      */
     public RealmObjectSchema addRealmListField(String fieldName, RealmObjectSchema objectSchema) {
+        invalidateColumnMetadata();
         checkLegalName(fieldName);
         checkFieldNameIsAvailable(fieldName);
         table.addColumnLink(RealmFieldType.LIST, fieldName, realm.sharedRealm.getTable(Table.TABLE_PREFIX + objectSchema.getClassName()));
@@ -290,6 +306,7 @@ public final class RealmObjectSchema {
      * @throws IllegalArgumentException if field name doesn't exist.
      */
     public RealmObjectSchema removeField(String fieldName) {
+        invalidateColumnMetadata();
         realm.checkNotInSync(); // destructive modification of a schema is not permitted
         checkLegalName(fieldName);
         if (!hasField(fieldName)) {
@@ -299,6 +316,8 @@ public final class RealmObjectSchema {
         if (table.getPrimaryKey() == columnIndex) {
             table.setPrimaryKey(null);
         }
+        FullTextIndex.remove(table, columnIndex);
+        CaseInsensitiveIndex.remove(table, columnIndex);
         table.removeColumn(columnIndex);
         return this;
     }
@@ -312,6 +331,7 @@ public final class RealmObjectSchema {
      * @throws IllegalArgumentException if field name doesn't exist or if the new field name already exists.
      */
     public RealmObjectSchema renameField(String currentFieldName, String newFieldName) {
+        invalidateColumnMetadata();
         realm.checkNotInSync(); // destructive modification of a schema is not permitted
         checkLegalName(currentFieldName);
         checkFieldExists(currentFieldName);
@@ -319,6 +339,8 @@ public final class RealmObjectSchema {
         checkFieldNameIsAvailable(newFieldName);
         long columnIndex = getColumnIndex(currentFieldName);
         table.renameColumn(columnIndex, newFieldName);
+        FullTextIndex.renameField(table, currentFieldName, newFieldName);
+        CaseInsensitiveIndex.renameField(table, currentFieldName, newFieldName);
 
         // ATTENTION: We don't need to re-set the PK table here since the column index won't be changed when renaming.
 
@@ -389,6 +411,107 @@ public final class RealmObjectSchema {
         return this;
     }
 
+    /**
+     * Adds a full-text index to a given field and indexes the existing values. This is the equivalent of adding the
+     * {@link io.realm.annotations.FullText} annotation on the field.
+     *
+     * @param fieldName field to add the full-text index to.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if field name doesn't exist or the field isn't a String field.
+     * @throws IllegalStateException if the field already has a full-text index.
+     * @see RealmQuery#matches(String, String)
+     */
+    public RealmObjectSchema addFullTextIndex(String fieldName) {
+        realm.checkNotInSync(); // the index tables are not part of the synchronized schema
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        FullTextIndex.add(table, getColumnIndex(fieldName));
+        return this;
+    }
+
+    /**
+     * Checks if a given field has a full-text index.
+     *
+     * @param fieldName existing field name to check.
+     * @return {@code true} if the field has a full-text index, {@code false} otherwise.
+     * @throws IllegalArgumentException if field name doesn't exist.
+     * @see io.realm.annotations.FullText
+     */
+    public boolean hasFullTextIndex(String fieldName) {
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        return FullTextIndex.has(table, getColumnIndex(fieldName));
+    }
+
+    /**
+     * Removes the full-text index from a given field. This is the same as removing the
+     * {@link io.realm.annotations.FullText} annotation on the field.
+     *
+     * @param fieldName field to remove the full-text index from.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if field name doesn't exist.
+     * @throws IllegalStateException if the field doesn't have a full-text index.
+     */
+    public RealmObjectSchema removeFullTextIndex(String fieldName) {
+        realm.checkNotInSync(); // destructive modifications are not permitted
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        if (!FullTextIndex.remove(table, getColumnIndex(fieldName))) {
+            throw new IllegalStateException("Field does not have a full-text index: " + fieldName);
+        }
+        return this;
+    }
+
+    /**
+     * Adds a case-insensitive index to a given field and indexes the existing values. This is the equivalent of
+     * adding the {@link io.realm.annotations.CaseInsensitiveIndex} annotation on the field.
+     *
+     * @param fieldName field to add the case-insensitive index to.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if field name doesn't exist or the field isn't a String field.
+     * @throws IllegalStateException if the field already has a case-insensitive index.
+     */
+    public RealmObjectSchema addCaseInsensitiveIndex(String fieldName) {
+        realm.checkNotInSync(); // the index tables are not part of the synchronized schema
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        CaseInsensitiveIndex.add(table, getColumnIndex(fieldName));
+        return this;
+    }
+
+    /**
+     * Checks if a given field has a case-insensitive index.
+     *
+     * @param fieldName existing field name to check.
+     * @return {@code true} if the field has a case-insensitive index, {@code false} otherwise.
+     * @throws IllegalArgumentException if field name doesn't exist.
+     * @see io.realm.annotations.CaseInsensitiveIndex
+     */
+    public boolean hasCaseInsensitiveIndex(String fieldName) {
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        return CaseInsensitiveIndex.has(table, getColumnIndex(fieldName));
+    }
+
+    /**
+     * Removes the case-insensitive index from a given field. This is the same as removing the
+     * {@link io.realm.annotations.CaseInsensitiveIndex} annotation on the field.
+     *
+     * @param fieldName field to remove the case-insensitive index from.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if field name doesn't exist.
+     * @throws IllegalStateException if the field doesn't have a case-insensitive index.
+     */
+    public RealmObjectSchema removeCaseInsensitiveIndex(String fieldName) {
+        realm.checkNotInSync(); // destructive modifications are not permitted
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        if (!CaseInsensitiveIndex.remove(table, getColumnIndex(fieldName))) {
+            throw new IllegalStateException("Field does not have a case-insensitive index: " + fieldName);
+        }
+        return this;
+    }
+
     /**
      * Adds a primary key to a given field. This is the same as adding the {@link io.realm.annotations.PrimaryKey}
      * annotation on the field. Further, this implicitly adds {@link io.realm.annotations.Index} annotation to the field as well.
@@ -399,6 +522,7 @@ public final class RealmObjectSchema {
      * has a primary key defined.
      */
     public RealmObjectSchema addPrimaryKey(String fieldName) {
+        invalidateColumnMetadata();
         checkLegalName(fieldName);
         checkFieldExists(fieldName);
         if (table.hasPrimaryKey()) {
@@ -421,6 +545,7 @@ public final class RealmObjectSchema {
      * @throws IllegalArgumentException if the class doesn't have a primary key defined.
      */
     public RealmObjectSchema removePrimaryKey() {
+        invalidateColumnMetadata();
         realm.checkNotInSync(); // destructive modifications are not permitted
         if (!table.hasPrimaryKey()) {
             throw new IllegalStateException(getClassName() + " doesn't have a primary key.");
@@ -445,6 +570,7 @@ public final class RealmObjectSchema {
      * @see Required
      */
     public RealmObjectSchema setRequired(String fieldName, boolean required) {
+        invalidateColumnMetadata();
         long columnIndex = table.getColumnIndex(fieldName);
         boolean currentColumnRequired = isRequired(fieldName);
         RealmFieldType type = table.getColumnType(columnIndex);
@@ -560,6 +686,20 @@ public final class RealmObjectSchema {
         return columnNames;
     }
 
+    /**
+     * Returns a key for the given field, which can be used to access the field of {@link DynamicRealmObject}s of this
+     * class without looking up the field by name.
+     *
+     * @param fieldName the name of the field.
+     * @return the key for the field.
+     * @throws IllegalArgumentException if the field doesn't exist.
+     * @see DynamicRealmObject#getLong(FieldKey)
+     */
+    public FieldKey fieldKey(String fieldName) {
+        checkFieldExists(fieldName);
+        return new FieldKey(realm, table, fieldName);
+    }
+
     /**
      * Runs a transformation function on each RealmObject instance of the current class. The object will be represented
      * as a {@link DynamicRealmObject}.
@@ -567,16 +707,234 @@ public final class RealmObjectSchema {
      * @return this schema.
      */
     public RealmObjectSchema transform(Function function) {
+        return transform(function, null);
+    }
+
+    /**
+     * Runs a transformation function on each RealmObject instance of the current class and reports the progress to the
+     * given listener.
+     *
+     * @param function the function to apply to each object.
+     * @param listener the listener notified about the progress or {@code null}.
+     * @return this schema.
+     * @see #transform(Function)
+     */
+    public RealmObjectSchema transform(Function function, ProgressListener listener) {
         if (function != null) {
             long size = table.size();
             for (long i = 0; i < size; i++) {
                 function.apply(new DynamicRealmObject(realm, table.getCheckedRow(i)));
+                notifyProgress(listener, i + 1, size);
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Runs a transformation function on each RealmObject instance of the current class. Unlike
+     * {@link #transform(Function)} no object is allocated per RealmObject. Instead a single {@link DynamicRowCursor}
+     * is moved over all objects, which makes this the preferred way to transform large classes field by field.
+     *
+     * @param function the function to apply to each object.
+     * @return this schema.
+     */
+    public RealmObjectSchema transformRows(RowFunction function) {
+        return transformRows(function, null);
+    }
+
+    /**
+     * Runs a transformation function on each RealmObject instance of the current class and reports the progress to the
+     * given listener.
+     *
+     * @param function the function to apply to each object.
+     * @param listener the listener notified about the progress or {@code null}.
+     * @return this schema.
+     * @see #transformRows(RowFunction)
+     */
+    public RealmObjectSchema transformRows(RowFunction function, ProgressListener listener) {
+        if (function != null) {
+            DynamicRowCursor cursor = new DynamicRowCursor(realm, table);
+            long size = table.size();
+            for (long i = 0; i < size; i++) {
+                cursor.moveTo(i);
+                function.apply(cursor);
+                notifyProgress(listener, i + 1, size);
             }
         }
 
         return this;
     }
 
+    /**
+     * Sets the given value in the field of all objects of the current class.
+     *
+     * @param fieldName the name of the field.
+     * @param value the value to set. It must match the field type or be {@code null} for nullable fields.
+     * @return this schema.
+     * @throws IllegalArgumentException if the field doesn't exist, is the primary key or doesn't accept the value.
+     */
+    public RealmObjectSchema fillField(String fieldName, Object value) {
+        long columnIndex = getColumnIndex(fieldName);
+        table.fillColumn(columnIndex, value);
+        return this;
+    }
+
+    /**
+     * Copies the values of a field to another field of the same type for all objects of the current class. This is
+     * useful when a field is replaced by a new field with different attributes.
+     *
+     * @param sourceFieldName the name of the field to copy from.
+     * @param targetFieldName the name of the field to copy to.
+     * @return this schema.
+     * @throws IllegalArgumentException if a field doesn't exist, the field types differ, the target field is the
+     * primary key or the source field contains {@code null} values which the target field doesn't allow.
+     */
+    public RealmObjectSchema copyField(String sourceFieldName, String targetFieldName) {
+        long sourceColumnIndex = getColumnIndex(sourceFieldName);
+        long targetColumnIndex = getColumnIndex(targetFieldName);
+        RealmFieldType sourceType = table.getColumnType(sourceColumnIndex);
+        RealmFieldType targetType = table.getColumnType(targetColumnIndex);
+        if (sourceType != targetType) {
+            throw new IllegalArgumentException(String.format("Field '%s' of type '%s' cannot be copied to field '%s' " +
+                    "of type '%s'.", sourceFieldName, sourceType, targetFieldName, targetType));
+        }
+        if (!isCopyableFieldType(sourceType)) {
+            throw new IllegalArgumentException(String.format("Field '%s' of type '%s' cannot be copied.",
+                    sourceFieldName, sourceType));
+        }
+        table.copyColumn(sourceColumnIndex, targetColumnIndex);
+        return this;
+    }
+
+    /**
+     * Maps the values of an integer field of all objects of the current class. The values are passed to the mapper in
+     * chunks, which updates them in place.
+     *
+     * @param fieldName the name of an integer field.
+     * @param mapper the mapper to apply to the values.
+     * @return this schema.
+     * @throws IllegalArgumentException if the field doesn't exist, isn't an integer field or is the primary key.
+     */
+    public RealmObjectSchema mapLongField(String fieldName, LongFieldMapper mapper) {
+        return mapLongField(fieldName, mapper, null);
+    }
+
+    /**
+     * Maps the values of an integer field of all objects of the current class and reports the progress to the given
+     * listener.
+     *
+     * @param fieldName the name of an integer field.
+     * @param mapper the mapper to apply to the values.
+     * @param listener the listener notified about the progress or {@code null}.
+     * @return this schema.
+     * @see #mapLongField(String, LongFieldMapper)
+     */
+    public RealmObjectSchema mapLongField(String fieldName, LongFieldMapper mapper, ProgressListener listener) {
+        long columnIndex = getColumnIndex(fieldName);
+        checkFieldType(fieldName, columnIndex, RealmFieldType.INTEGER);
+        if (mapper == null) {
+            return this;
+        }
+
+        long size = table.size();
+        int chunkSize = (int) Math.min(TRANSFORM_CHUNK_SIZE, size);
+        long[] values = new long[chunkSize];
+        boolean[] nulls = new boolean[chunkSize];
+        for (long start = 0; start < size; start += chunkSize) {
+            int count = (int) Math.min(chunkSize, size - start);
+            table.getLongValues(columnIndex, start, values, nulls, count);
+            mapper.map(values, count);
+            table.setLongValues(columnIndex, start, values, nulls, count);
+            notifyProgress(listener, start + count, size);
+        }
+        return this;
+    }
+
+    /**
+     * Maps the values of a float or double field of all objects of the current class. The values are passed to the
+     * mapper in chunks, which updates them in place.
+     *
+     * @param fieldName the name of a float or double field.
+     * @param mapper the mapper to apply to the values.
+     * @return this schema.
+     * @throws IllegalArgumentException if the field doesn't exist or isn't a float or double field.
+     */
+    public RealmObjectSchema mapDoubleField(String fieldName, DoubleFieldMapper mapper) {
+        return mapDoubleField(fieldName, mapper, null);
+    }
+
+    /**
+     * Maps the values of a float or double field of all objects of the current class and reports the progress to the
+     * given listener.
+     *
+     * @param fieldName the name of a float or double field.
+     * @param mapper the mapper to apply to the values.
+     * @param listener the listener notified about the progress or {@code null}.
+     * @return this schema.
+     * @see #mapDoubleField(String, DoubleFieldMapper)
+     */
+    public RealmObjectSchema mapDoubleField(String fieldName, DoubleFieldMapper mapper, ProgressListener listener) {
+        long columnIndex = getColumnIndex(fieldName);
+        RealmFieldType type = table.getColumnType(columnIndex);
+        if (type != RealmFieldType.FLOAT) {
+            checkFieldType(fieldName, columnIndex, RealmFieldType.DOUBLE);
+        }
+        if (mapper == null) {
+            return this;
+        }
+
+        long size = table.size();
+        int chunkSize = (int) Math.min(TRANSFORM_CHUNK_SIZE, size);
+        double[] values = new double[chunkSize];
+        boolean[] nulls = new boolean[chunkSize];
+        for (long start = 0; start < size; start += chunkSize) {
+            int count = (int) Math.min(chunkSize, size - start);
+            table.getDoubleValues(columnIndex, start, values, nulls, count);
+            mapper.map(values, count);
+            table.setDoubleValues(columnIndex, start, values, nulls, count);
+            notifyProgress(listener, start + count, size);
+        }
+        return this;
+    }
+
+    private void checkFieldType(String fieldName, long columnIndex, RealmFieldType expectedType) {
+        RealmFieldType type = table.getColumnType(columnIndex);
+        if (type != expectedType) {
+            throw new IllegalArgumentException(String.format("'%s' is not a '%s', but a '%s'.",
+                    fieldName, expectedType, type));
+        }
+    }
+
+    private static boolean isCopyableFieldType(RealmFieldType type) {
+        switch (type) {
+            case INTEGER:
+            case BOOLEAN:
+            case FLOAT:
+            case DOUBLE:
+            case STRING:
+            case DATE:
+            case BINARY:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // Row based transformations report their progress once per chunk, so the listener doesn't dominate the run time.
+    private static void notifyProgress(ProgressListener listener, long processed, long total) {
+        if (listener != null && (processed % TRANSFORM_CHUNK_SIZE == 0 || processed == total)) {
+            listener.onProgress(processed, total);
+        }
+    }
+
+    // Column metadata cached for DynamicRealmObjects must not survive changes of the schema.
+    private void invalidateColumnMetadata() {
+        if (realm != null) {
+            realm.schema.invalidateColumnMetadata();
+        }
+    }
+
     // Invariant: Field was just added. This method is responsible for cleaning up attributes if it fails.
     private void addModifiers(String fieldName, FieldAttribute[] attributes) {
         boolean indexAdded = false;
@@ -681,32 +1039,58 @@ public final class RealmObjectSchema {
         if (fieldDescription.contains(".")) {
             // Resolve field description down to last field name
             String[] names = fieldDescription.split("\\.");
-            long[] columnIndices = new long[names.length];
-            for (int i = 0; i < names.length - 1; i++) {
+            // An aggregate of a list, e.g. "items.@count" or "items.@sum.price", ends the link path.
+            int linkCount = names.length - 1;
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].startsWith("@")) {
+                    linkCount = i;
+                    break;
+                }
+            }
+            // A linking objects field takes two elements: the complement of the link column index in the linking
+            // table, which the native side tells from a column index by its sign, and the pointer to that table.
+            long[] columnIndices = new long[names.length * 2];
+            int count = 0;
+            RealmFieldType linkType = null;
+            for (int i = 0; i < linkCount; i++) {
                 long index = table.getColumnIndex(names[i]);
                 if (index < 0) {
-                    throw new IllegalArgumentException("Invalid query: " + names[i] + " does not refer to a class.");
+                    ColumnInfo.Backlink backlink = (realm == null) ? null : realm.schema.getBacklink(table, names[i]);
+                    if (backlink == null) {
+                        throw new IllegalArgumentException("Invalid query: " + names[i] + " does not refer to a class.");
+                    }
+                    table = realm.schema.getTable(backlink.getSourceClass());
+                    columnIndices[count++] = ~table.getColumnIndex(backlink.getSourceFieldName());
+                    columnIndices[count++] = table.getNativeTablePointer();
+                    linkType = null;
+                    continue;
                 }
                 RealmFieldType type = table.getColumnType(index);
                 if (type == RealmFieldType.OBJECT || type == RealmFieldType.LIST) {
                     table = table.getLinkTarget(index);
-                    columnIndices[i] = index;
+                    columnIndices[count++] = index;
+                    linkType = type;
                 } else {
                     throw new IllegalArgumentException("Invalid query: " + names[i] + " does not refer to a class.");
                 }
             }
 
+            if (names[linkCount].startsWith("@")) {
+                return getListAggregateColumnIndices(fieldDescription, names, linkCount, linkType, table,
+                        columnIndices, count, validColumnTypes);
+            }
+
             // Check if last field name is a valid field
             String columnName = names[names.length - 1];
             long columnIndex = table.getColumnIndex(columnName);
-            columnIndices[names.length - 1] = columnIndex;
+            columnIndices[count++] = columnIndex;
             if (columnIndex < 0) {
                 throw new IllegalArgumentException(columnName + " is not a field name in class " + table.getName());
             }
             if (checkColumnType && !isValidType(table.getColumnType(columnIndex), validColumnTypes)) {
                 throw new IllegalArgumentException(String.format("Field '%s': type mismatch.", names[names.length - 1]));
             }
-            return columnIndices;
+            return Arrays.copyOf(columnIndices, count);
         } else {
             Long fieldIndex = getFieldIndex(fieldDescription);
             if (fieldIndex == null) {
@@ -721,6 +1105,131 @@ public final class RealmObjectSchema {
         }
     }
 
+    /**
+     * Returns the column indices of a sort key. They are encoded like the column indices of a query condition: a field of
+     * a linked object is given by the index of each link column followed by the index of the field in the linked class.
+     * Links can't be sorted by themselves, so the native side ends a key at the first column which isn't a link. Only
+     * links to single objects can be followed.
+     *
+     * @param fieldDescription fieldName or link path to a field name.
+     * @return the encoded column indices of the sort key.
+     */
+    long[] getSortColumnIndices(String fieldDescription) {
+        if (fieldDescription == null || fieldDescription.isEmpty()) {
+            throw new IllegalArgumentException("Non-empty fieldname required.");
+        }
+        if (!fieldDescription.contains(".")) {
+            Long fieldIndex = getFieldIndex(fieldDescription);
+            if (fieldIndex == null) {
+                throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldDescription));
+            }
+            return new long[] {fieldIndex};
+        }
+        if (fieldDescription.startsWith(".") || fieldDescription.endsWith(".")) {
+            throw new IllegalArgumentException("Illegal field name. It cannot start or end with a '.': " + fieldDescription);
+        }
+
+        String[] names = fieldDescription.split("\\.");
+        long[] columnIndices = new long[names.length];
+        Table table = this.table;
+        for (int i = 0; i < names.length - 1; i++) {
+            long index = table.getColumnIndex(names[i]);
+            if (index < 0 && (realm == null || realm.schema.getBacklink(table, names[i]) == null)) {
+                throw new IllegalArgumentException(names[i] + " is not a field name in class " + table.getName());
+            }
+            // Linking objects fields and lists can hold more than one object, so there is no single value to sort by.
+            if (index < 0 || table.getColumnType(index) == RealmFieldType.LIST) {
+                throw new IllegalArgumentException(String.format(
+                        "Sorting is only supported over links to single objects: %s", fieldDescription));
+            }
+            if (table.getColumnType(index) != RealmFieldType.OBJECT) {
+                throw new IllegalArgumentException("Invalid sort: " + names[i] + " does not refer to a class.");
+            }
+            columnIndices[i] = index;
+            table = table.getLinkTarget(index);
+        }
+
+        String columnName = names[names.length - 1];
+        long columnIndex = table.getColumnIndex(columnName);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException(columnName + " is not a field name in class " + table.getName());
+        }
+        if (table.getColumnType(columnIndex) == RealmFieldType.OBJECT) {
+            throw new IllegalArgumentException("Invalid sort: " + fieldDescription + " refers to an object.");
+        }
+        columnIndices[names.length - 1] = columnIndex;
+        return columnIndices;
+    }
+
+    /**
+     * Appends the marker of the list aggregate at {@code names[aggregateIndex]} to the column indices of the list
+     * and, except for {@code @count}, the index of the aggregated field in {@code table}.
+     */
+    private static long[] getListAggregateColumnIndices(String fieldDescription, String[] names, int aggregateIndex,
+                                                        RealmFieldType listType, Table table, long[] columnIndices,
+                                                        int count, RealmFieldType[] validColumnTypes) {
+        String aggregate = names[aggregateIndex];
+        if (listType != RealmFieldType.LIST) {
+            throw new IllegalArgumentException(String.format("Invalid query: %s can only be applied to a RealmList: %s",
+                    aggregate, fieldDescription));
+        }
+        if (validColumnTypes == null || validColumnTypes.length == 0) {
+            throw new IllegalArgumentException("List aggregates can only be compared with numbers: " + fieldDescription);
+        }
+
+        RealmFieldType resultType;
+        if (aggregate.equals("@count")) {
+            if (aggregateIndex != names.length - 1) {
+                throw new IllegalArgumentException(String.format("Invalid query: %s must end the field name: %s",
+                        aggregate, fieldDescription));
+            }
+            columnIndices[count++] = TableQuery.LIST_AGGREGATE_COUNT;
+            resultType = RealmFieldType.INTEGER;
+        } else {
+            long marker;
+            if (aggregate.equals("@sum")) {
+                marker = TableQuery.LIST_AGGREGATE_SUM;
+            } else if (aggregate.equals("@min")) {
+                marker = TableQuery.LIST_AGGREGATE_MIN;
+            } else if (aggregate.equals("@max")) {
+                marker = TableQuery.LIST_AGGREGATE_MAX;
+            } else if (aggregate.equals("@avg")) {
+                marker = TableQuery.LIST_AGGREGATE_AVERAGE;
+            } else {
+                throw new IllegalArgumentException(String.format("Invalid query: unknown list aggregate %s: %s",
+                        aggregate, fieldDescription));
+            }
+            if (aggregateIndex != names.length - 2) {
+                throw new IllegalArgumentException(String.format(
+                        "Invalid query: %s must be followed by a field of the objects in the list: %s",
+                        aggregate, fieldDescription));
+            }
+            String columnName = names[names.length - 1];
+            long columnIndex = table.getColumnIndex(columnName);
+            if (columnIndex < 0) {
+                throw new IllegalArgumentException(columnName + " is not a field name in class " + table.getName());
+            }
+            RealmFieldType fieldType = table.getColumnType(columnIndex);
+            if (fieldType != RealmFieldType.INTEGER && fieldType != RealmFieldType.FLOAT
+                    && fieldType != RealmFieldType.DOUBLE) {
+                throw new IllegalArgumentException(String.format(
+                        "Invalid query: %s only works on integer, float and double fields: %s",
+                        aggregate, fieldDescription));
+            }
+            columnIndices[count++] = marker;
+            columnIndices[count++] = columnIndex;
+            resultType = (marker == TableQuery.LIST_AGGREGATE_AVERAGE) ? RealmFieldType.DOUBLE : fieldType;
+        }
+
+        for (RealmFieldType validColumnType : validColumnTypes) {
+            if (validColumnType == resultType) {
+                return Arrays.copyOf(columnIndices, count);
+            }
+        }
+        throw new IllegalArgumentException(String.format("Field '%s': type mismatch. Was %s, expected %s.",
+                fieldDescription, resultType, Arrays.toString(validColumnTypes)));
+    }
+
     private boolean isValidType(RealmFieldType columnType, RealmFieldType[] validColumnTypes) {
         for (int i = 0; i < validColumnTypes.length; i++) {
             if (validColumnTypes[i] == columnType) {
@@ -774,6 +1283,64 @@ public final class RealmObjectSchema {
         void apply(DynamicRealmObject obj);
     }
 
+    /**
+     * Function interface, used when traversing all objects of the current class with a single reusable cursor.
+     *
+     * @see #transformRows(RowFunction)
+     */
+    public interface RowFunction {
+        void apply(DynamicRowCursor cursor);
+    }
+
+    /**
+     * Mapper for the values of an integer field.
+     *
+     * @see #mapLongField(String, LongFieldMapper)
+     */
+    public interface LongFieldMapper {
+        /**
+         * Maps a chunk of values in place. Values of objects where the field is {@code null} are passed as {@code 0}
+         * and are not written back.
+         *
+         * @param values the values to map. Only the first {@code count} entries are valid.
+         * @param count the number of values in this chunk.
+         */
+        void map(long[] values, int count);
+    }
+
+    /**
+     * Mapper for the values of a float or double field.
+     *
+     * @see #mapDoubleField(String, DoubleFieldMapper)
+     */
+    public interface DoubleFieldMapper {
+        /**
+         * Maps a chunk of values in place. Values of objects where the field is {@code null} are passed as {@code 0}
+         * and are not written back.
+         *
+         * @param values the values to map. Only the first {@code count} entries are valid.
+         * @param count the number of values in this chunk.
+         */
+        void map(double[] values, int count);
+    }
+
+    /**
+     * Listener for the progress of transformations, e.g. to report the status of a long running
+     * {@link RealmMigration}.
+     *
+     * @see #transform(Function, ProgressListener)
+     * @see #transformRows(RowFunction, ProgressListener)
+     */
+    public interface ProgressListener {
+        /**
+         * Called after a number of objects have been transformed and once all objects have been transformed.
+         *
+         * @param processedObjects the number of objects transformed so far.
+         * @param totalObjects the total number of objects being transformed.
+         */
+        void onProgress(long processedObjects, long totalObjects);
+    }
+
     // Tuple containing data about each supported Java type
     private static class FieldMetaData {
         public final RealmFieldType realmType;
@@ -27,6 +27,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 
 import io.realm.annotations.Required;
+import io.realm.internal.FullTextIndex;
 import io.realm.internal.LinkView;
 import io.realm.internal.RealmNotifier;
 import io.realm.internal.RealmObjectProxy;
@@ -48,6 +49,13 @@ import io.realm.log.RealmLog;
  * The input to many of the query functions take a field name as String. Note that this is not type safe. If a 
  * RealmObject class is refactored care has to be taken to not break any queries.
  * <p>
+ * The numeric comparisons also accept aggregates of the objects in a {@link RealmList}, e.g.
+ * {@code greaterThan("items.@count", 3)} or {@code greaterThan("items.@sum.price", 100.0)}. The aggregates are
+ * {@code @count}, {@code @sum}, {@code @min}, {@code @max} and {@code @avg}, which is compared as a double. They are
+ * evaluated while the query runs, without loading the lists. Conditions on the objects in a list are given by
+ * {@link #anyMatch(String, RealmQuery)}, {@link #allMatch(String, RealmQuery)} and
+ * {@link #noneMatch(String, RealmQuery)}.
+ * <p>
  * A {@link io.realm.Realm} is unordered, which means that there is no guarantee that querying a Realm will return the
  * objects in the order they where inserted. Use {@link #findAllSorted(String)} and similar methods if a specific order
  * is required.
@@ -74,6 +82,15 @@ public final class RealmQuery<E extends RealmModel> {
 
     private final static Long INVALID_NATIVE_POINTER = 0L;
     private ArgumentsHolder argumentsHolder;
+    // Only queries on a whole table can be partitioned by row ranges.
+    private boolean partitionable;
+    private int parallelism = 1;
+    // Set by offset() and limit().
+    private long offset = 0;
+    private long limit = Table.INFINITE;
+    // Set by the first matches() condition, findAll() ranks the results for it.
+    private Table rankPostingsTable;
+    private String rankTerms;
 
     /**
      * Creates a query for objects of a given class from a {@link Realm}.
@@ -139,6 +156,7 @@ public final class RealmQuery<E extends RealmModel> {
         this.table = schema.table;
         this.linkView = null;
         this.query = table.where();
+        this.partitionable = true;
     }
 
     private RealmQuery(RealmResults<E> queryResults, Class<E> clazz) {
@@ -165,6 +183,7 @@ public final class RealmQuery<E extends RealmModel> {
         this.schema = realm.schema.getSchemaForClass(className);
         this.table = schema.table;
         this.query = table.where();
+        this.partitionable = true;
     }
 
     private RealmQuery(RealmResults<DynamicRealmObject> queryResults, String className) {
@@ -450,6 +469,13 @@ public final class RealmQuery<E extends RealmModel> {
         if (values == null || values.length == 0) {
             throw new IllegalArgumentException(EMPTY_VALUES);
         }
+        if (casing == Case.SENSITIVE) {
+            long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.STRING);
+            if (columnIndices.length == 1) {
+                this.query.in(columnIndices[0], values);
+                return this;
+            }
+        }
         beginGroup().equalTo(fieldName, values[0], casing);
         for (int i = 1; i < values.length; i++) {
             or().equalTo(fieldName, values[i], casing);
@@ -469,11 +495,11 @@ public final class RealmQuery<E extends RealmModel> {
         if (values == null || values.length == 0) {
             throw new IllegalArgumentException(EMPTY_VALUES);
         }
-        beginGroup().equalTo(fieldName, values[0]);
-        for (int i = 1; i < values.length; i++) {
-            or().equalTo(fieldName, values[i]);
+        Long[] longValues = new Long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            longValues[i] = (values[i] != null) ? values[i].longValue() : null;
         }
-        return endGroup();
+        return inInteger(fieldName, longValues);
     }
 
     /**
@@ -488,11 +514,11 @@ public final class RealmQuery<E extends RealmModel> {
         if (values == null || values.length == 0) {
             throw new IllegalArgumentException(EMPTY_VALUES);
         }
-        beginGroup().equalTo(fieldName, values[0]);
-        for (int i = 1; i < values.length; i++) {
-            or().equalTo(fieldName, values[i]);
+        Long[] longValues = new Long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            longValues[i] = (values[i] != null) ? values[i].longValue() : null;
         }
-        return endGroup();
+        return inInteger(fieldName, longValues);
     }
 
     /**
@@ -507,11 +533,11 @@ public final class RealmQuery<E extends RealmModel> {
         if (values == null || values.length == 0) {
             throw new IllegalArgumentException(EMPTY_VALUES);
         }
-        beginGroup().equalTo(fieldName, values[0]);
-        for (int i = 1; i < values.length; i++) {
-            or().equalTo(fieldName, values[i]);
+        Long[] longValues = new Long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            longValues[i] = (values[i] != null) ? values[i].longValue() : null;
         }
-        return endGroup();
+        return inInteger(fieldName, longValues);
     }
 
     /**
@@ -526,6 +552,16 @@ public final class RealmQuery<E extends RealmModel> {
         if (values == null || values.length == 0) {
             throw new IllegalArgumentException(EMPTY_VALUES);
         }
+        return inInteger(fieldName, values);
+    }
+
+    private RealmQuery<E> inInteger(String fieldName, Long[] values) {
+        long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
+        if (columnIndices.length == 1) {
+            this.query.in(columnIndices[0], values);
+            return this;
+        }
+        // Fields of linked objects are not supported by the native set lookup.
         beginGroup().equalTo(fieldName, values[0]);
         for (int i = 1; i < values.length; i++) {
             or().equalTo(fieldName, values[i]);
@@ -602,6 +638,11 @@ public final class RealmQuery<E extends RealmModel> {
         if (values == null || values.length == 0) {
             throw new IllegalArgumentException(EMPTY_VALUES);
         }
+        long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.DATE);
+        if (columnIndices.length == 1) {
+            this.query.in(columnIndices[0], values);
+            return this;
+        }
         beginGroup().equalTo(fieldName, values[0]);
         for (int i = 1; i < values.length; i++) {
             or().equalTo(fieldName, values[i]);
@@ -1248,6 +1289,50 @@ public final class RealmQuery<E extends RealmModel> {
         return this;
     }
 
+    // Matches
+
+    /**
+     * Full-text search in a String field with a {@link io.realm.annotations.FullText} index. The terms are split into
+     * words the same way the field values are, and an object matches if each of the words is the beginning of a word
+     * in the field, ignoring case. E.g. {@code matches("body", "real dat")} matches "Realm stores data", but not
+     * "Realm stores objects".
+     * <p>
+     * Unlike {@link #contains(String, String)}, the words are looked up in the index instead of checking the field of
+     * every object. {@link #findAll()} and {@link #findAllAsync()} return the objects ordered by relevance: objects in
+     * which the words occur more often, and words which are rare among all objects, rank higher. {@link #limit(long)}
+     * and {@link #offset(long)} are applied after ranking, and sorting the results by a field replaces the ranking. If
+     * there are several {@code matches()} conditions, the results are ranked by the first one.
+     * <p>
+     * The index is updated when a write transaction is committed. Until then, objects created or changed in the
+     * transaction are found by their values before the transaction.
+     *
+     * @param fieldName the field to search in.
+     * @param terms the words to search for.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field doesn't have a full-text index or {@code terms} doesn't
+     * contain any words.
+     */
+    public RealmQuery<E> matches(String fieldName, String terms) {
+        if (terms == null) {
+            throw new IllegalArgumentException("Non-null 'terms' required.");
+        }
+        long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.STRING);
+        if (columnIndices.length != 1) {
+            throw new IllegalArgumentException("Full-text search is not supported on fields of linked objects: " +
+                    fieldName);
+        }
+        Table postingsTable = FullTextIndex.getPostingsTable(table.getTable(), columnIndices[0]);
+        if (postingsTable == null) {
+            throw new IllegalArgumentException("Field '" + fieldName + "' does not have a full-text index.");
+        }
+        this.query.matches(columnIndices[0], postingsTable, terms);
+        if (rankPostingsTable == null) {
+            rankPostingsTable = postingsTable;
+            rankTerms = terms;
+        }
+        return this;
+    }
+
     // Grouping
 
     /**
@@ -1320,6 +1405,74 @@ public final class RealmQuery<E extends RealmModel> {
         return this;
     }
 
+    /**
+     * Condition that finds objects where at least one object in the list matches the given query, e.g.
+     * {@code realm.where(User.class).anyMatch("devices", realm.where(Device.class).equalTo("active", true))}.
+     *
+     * @param fieldName the list field, which may be preceded by a link path.
+     * @param condition a query on the class of the objects in the list, created by {@link Realm#where(Class)} on the
+     * same Realm. Its conditions are copied, later changes to it don't affect this query.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field isn't a RealmList or the condition isn't a query on the
+     * objects of the list.
+     */
+    public RealmQuery<E> anyMatch(String fieldName, RealmQuery<?> condition) {
+        long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.LIST);
+        checkListCondition(condition);
+        this.query.anyMatch(columnIndices, condition.query);
+        return this;
+    }
+
+    /**
+     * Condition that finds objects where all objects in the list match the given query. Objects with an empty list are
+     * found as well.
+     *
+     * @param fieldName the list field, which may be preceded by a link path.
+     * @param condition a query on the class of the objects in the list, created by {@link Realm#where(Class)} on the
+     * same Realm. Its conditions are copied, later changes to it don't affect this query.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field isn't a RealmList or the condition isn't a query on the
+     * objects of the list.
+     */
+    public RealmQuery<E> allMatch(String fieldName, RealmQuery<?> condition) {
+        long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.LIST);
+        checkListCondition(condition);
+        this.query.allMatch(columnIndices, condition.query);
+        return this;
+    }
+
+    /**
+     * Condition that finds objects where no object in the list matches the given query. Objects with an empty list are
+     * found as well.
+     *
+     * @param fieldName the list field, which may be preceded by a link path.
+     * @param condition a query on the class of the objects in the list, created by {@link Realm#where(Class)} on the
+     * same Realm. Its conditions are copied, later changes to it don't affect this query.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field isn't a RealmList or the condition isn't a query on the
+     * objects of the list.
+     */
+    public RealmQuery<E> noneMatch(String fieldName, RealmQuery<?> condition) {
+        long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.LIST);
+        checkListCondition(condition);
+        this.query.noneMatch(columnIndices, condition.query);
+        return this;
+    }
+
+    private void checkListCondition(RealmQuery<?> condition) {
+        if (condition == null) {
+            throw new IllegalArgumentException("Non-null 'condition' must be provided.");
+        }
+        if (condition.realm != realm) {
+            throw new IllegalArgumentException("The condition must be a query on the same Realm.");
+        }
+        // Conditions are evaluated on the objects of each list, restrictions to a collection or a range don't apply.
+        if (!(condition.table instanceof Table) || condition.linkView != null || condition.offset != 0
+                || condition.limit != Table.INFINITE) {
+            throw new IllegalArgumentException("The condition must be a query on all objects of a class.");
+        }
+    }
+
     /**
      * Returns a distinct set of objects of a specific class. If the result is sorted, the first
      * object will be returned in case of multiple occurrences, otherwise it is undefined which
@@ -1333,8 +1486,13 @@ public final class RealmQuery<E extends RealmModel> {
     public RealmResults<E> distinct(String fieldName) {
         checkQueryIsNotReused();
         long columnIndex = getAndValidateDistinctColumnIndex(fieldName, this.table.getTable());
+        RealmMetricsListener metricsListener = realm.getConfiguration().getMetricsListener();
+        long startNanos = (metricsListener != null) ? System.nanoTime() : 0;
         TableView tableView = this.query.findAll();
         tableView.distinct(columnIndex);
+        if (metricsListener != null) {
+            reportQueryMetrics(metricsListener, RealmMetricsListener.QueryType.DISTINCT, tableView.size(), startNanos);
+        }
 
         RealmResults<E> realmResults;
         if (isDynamicQuery()) {
@@ -1465,8 +1623,13 @@ public final class RealmQuery<E extends RealmModel> {
     public RealmResults<E> distinct(String firstFieldName, String... remainingFieldNames) {
         checkQueryIsNotReused();
         List<Long> columnIndexes = getValidatedColumIndexes(this.table.getTable(), firstFieldName, remainingFieldNames);
+        RealmMetricsListener metricsListener = realm.getConfiguration().getMetricsListener();
+        long startNanos = (metricsListener != null) ? System.nanoTime() : 0;
         TableView tableView = this.query.findAll();
         tableView.distinct(columnIndexes);
+        if (metricsListener != null) {
+            reportQueryMetrics(metricsListener, RealmMetricsListener.QueryType.DISTINCT, tableView.size(), startNanos);
+        }
 
         RealmResults<E> realmResults;
         if (isDynamicQuery()) {
@@ -1633,7 +1796,79 @@ public final class RealmQuery<E extends RealmModel> {
      * @throws java.lang.UnsupportedOperationException if the query is not valid ("syntax error").
      */
     public long count() {
-        return this.query.count();
+        RealmMetricsListener metricsListener = realm.getConfiguration().getMetricsListener();
+        long startNanos = (metricsListener != null) ? System.nanoTime() : 0;
+        long count = this.query.count();
+        if (isLimited()) {
+            count = Math.max(0, (limit == Table.INFINITE) ? count - offset : Math.min(count - offset, limit));
+        }
+        if (metricsListener != null) {
+            reportQueryMetrics(metricsListener, RealmMetricsListener.QueryType.COUNT, count, startNanos);
+        }
+        return count;
+    }
+
+    /**
+     * Limits the number of objects returned by the {@code findAll} methods and {@link #count()}. For sorted queries
+     * the limit is applied after sorting, so {@code limit(50)} followed by {@code findAllSorted("date",
+     * Sort.DESCENDING)} returns the 50 latest objects.
+     * <p>
+     * The limit is handled natively: unsorted queries stop searching once enough objects have been found, and sorted
+     * queries only sort the objects that are returned. The results keep the limit when they are updated.
+     *
+     * @param limit the maximum number of objects to return.
+     * @return the query object.
+     * @throws IllegalArgumentException if {@code limit} is negative.
+     * @see #offset(long)
+     */
+    public RealmQuery<E> limit(long limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("The limit cannot be negative: " + limit);
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Skips the first {@code offset} objects matching the query. Like {@link #limit(long)} it is applied after
+     * sorting, and it affects the {@code findAll} methods and {@link #count()}.
+     *
+     * @param offset the number of objects to skip.
+     * @return the query object.
+     * @throws IllegalArgumentException if {@code offset} is negative.
+     */
+    public RealmQuery<E> offset(long offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("The offset cannot be negative: " + offset);
+        }
+        this.offset = offset;
+        return this;
+    }
+
+    private boolean isLimited() {
+        return offset > 0 || limit != Table.INFINITE;
+    }
+
+    /**
+     * Runs {@link #findAll()} and the synchronous {@code findAllSorted} methods on several native threads. The table is
+     * split into row ranges which are filtered on separate threads, and the objects found are sorted afterwards. The
+     * results are identical to running the query on the calling thread.
+     * <p>
+     * This only pays off for tables with a large number of rows, smaller tables are still queried on the calling
+     * thread. The same goes for queries on a {@link RealmList} or a {@link RealmResults}, for queries with a
+     * {@link #limit(long)} or {@link #offset(long)}, and inside a write transaction, as the other threads can't see its
+     * changes.
+     *
+     * @param workers the maximum number of threads to use.
+     * @return the query object.
+     * @throws IllegalArgumentException if {@code workers} is less than 1.
+     */
+    public RealmQuery<E> parallel(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("The number of workers must be at least 1: " + workers);
+        }
+        parallelism = workers;
+        return this;
     }
 
     /**
@@ -1646,11 +1881,26 @@ public final class RealmQuery<E extends RealmModel> {
     @SuppressWarnings("unchecked")
     public RealmResults<E> findAll() {
         checkQueryIsNotReused();
+        RealmMetricsListener metricsListener = realm.getConfiguration().getMetricsListener();
+        long startNanos = (metricsListener != null) ? System.nanoTime() : 0;
+        TableView tableView;
+        if (rankPostingsTable != null) {
+            tableView = query.findAllRanked(rankPostingsTable, rankTerms, offset, limit);
+        } else if (isLimited()) {
+            tableView = query.findAllLimited(offset, limit, new long[0], new Sort[0]);
+        } else if (isParallel()) {
+            tableView = findAllParallel(new long[0], new Sort[0]);
+        } else {
+            tableView = query.findAll();
+        }
+        if (metricsListener != null) {
+            reportQueryMetrics(metricsListener, RealmMetricsListener.QueryType.FIND_ALL, tableView.size(), startNanos);
+        }
         RealmResults<E> realmResults;
         if (isDynamicQuery()) {
-            realmResults =  (RealmResults<E>) RealmResults.createFromDynamicTableOrView(realm, query.findAll(), className);
+            realmResults =  (RealmResults<E>) RealmResults.createFromDynamicTableOrView(realm, tableView, className);
         } else {
-            realmResults = RealmResults.createFromTableOrView(realm, query.findAll(), clazz);
+            realmResults = RealmResults.createFromTableOrView(realm, tableView, clazz);
         }
         return realmResults;
     }
@@ -1671,7 +1921,13 @@ public final class RealmQuery<E extends RealmModel> {
         final long handoverQueryPointer = query.handoverQuery(realm.sharedRealm);
 
         // save query arguments (for future update)
-        argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL);
+        if (rankPostingsTable != null) {
+            argumentsHolder = newRankedArguments();
+        } else if (isLimited()) {
+            argumentsHolder = newLimitedArguments(new long[0], new Sort[0]);
+        } else {
+            argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL);
+        }
 
         // we need to use the same configuration to open a background SharedRealm (i.e Realm)
         // to perform the query
@@ -1701,8 +1957,12 @@ public final class RealmQuery<E extends RealmModel> {
                         // Run the query & handover the table view for the caller thread
                         // Note: the handoverQueryPointer contains the versionID needed by the SG in order
                         // to import it.
-                        long handoverTableViewPointer = TableQuery.findAllWithHandover(sharedRealm,
-                                handoverQueryPointer);
+                        long handoverTableViewPointer =
+                                (argumentsHolder.type == ArgumentsHolder.TYPE_FIND_ALL_RANKED) ?
+                                findAllRankedWithHandover(sharedRealm, handoverQueryPointer) :
+                                (argumentsHolder.type == ArgumentsHolder.TYPE_FIND_ALL_LIMITED) ?
+                                findAllLimitedWithHandover(sharedRealm, handoverQueryPointer) :
+                                TableQuery.findAllWithHandover(sharedRealm, handoverQueryPointer);
 
                         QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
                         result.updatedTableViews.put(weakRealmResults, handoverTableViewPointer);
@@ -1741,6 +2001,9 @@ public final class RealmQuery<E extends RealmModel> {
     /**
      * Finds all objects that fulfill the query conditions and sorted by specific field name.
      * <p>
+     * The field can belong to a linked object, e.g. {@code "owner.name"}. Only links to single objects can be
+     * followed. Objects without a linked object are sorted as if the field was {@code null}.
+     * <p>
      * Sorting is currently limited to character sets in 'Latin Basic', 'Latin Supplement', 'Latin Extended A',
      * 'Latin Extended B' (UTF-8 range 0-591). For other character sets, sorting will have no effect.
      *
@@ -1748,15 +2011,31 @@ public final class RealmQuery<E extends RealmModel> {
      * @param sortOrder how to sort the results.
      * @return a {@link io.realm.RealmResults} containing objects. If no objects match the condition, a list with zero
      * objects is returned.
-     * @throws java.lang.IllegalArgumentException if field name does not exist or it belongs to a child
-     * {@link RealmObject} or a child {@link RealmList}.
+     * @throws java.lang.IllegalArgumentException if field name does not exist or it can only be reached
+     * through a {@link RealmList}.
      */
     @SuppressWarnings("unchecked")
     public RealmResults<E> findAllSorted(String fieldName, Sort sortOrder) {
         checkQueryIsNotReused();
-        TableView tableView = query.findAll();
-        long columnIndex = getColumnIndexForSort(fieldName);
-        tableView.sort(columnIndex, sortOrder);
+        long[] columnIndices = getColumnIndicesForSort(fieldName);
+        RealmMetricsListener metricsListener = realm.getConfiguration().getMetricsListener();
+        long startNanos = (metricsListener != null) ? System.nanoTime() : 0;
+        TableView tableView;
+        if (isLimited()) {
+            tableView = query.findAllLimited(offset, limit, columnIndices, new Sort[] {sortOrder});
+        } else if (isParallel()) {
+            tableView = findAllParallel(columnIndices, new Sort[] {sortOrder});
+        } else {
+            tableView = query.findAll();
+            if (columnIndices.length == 1) {
+                tableView.sort(columnIndices[0], sortOrder);
+            } else {
+                tableView.sort(columnIndices, new Sort[] {sortOrder});
+            }
+        }
+        if (metricsListener != null) {
+            reportQueryMetrics(metricsListener, RealmMetricsListener.QueryType.FIND_ALL_SORTED, tableView.size(), startNanos);
+        }
 
         RealmResults<E> realmResults;
         if (isDynamicQuery()) {
@@ -1773,17 +2052,26 @@ public final class RealmQuery<E extends RealmModel> {
      *
      * @return immediately an empty {@link RealmResults}. Users need to register a listener
      *         {@link io.realm.RealmResults#addChangeListener(RealmChangeListener)} to be notified when the query completes.
-     * @throws java.lang.IllegalArgumentException if field name does not exist or it belongs to a child
-     * {@link RealmObject} or a child {@link RealmList}.
+     * @throws java.lang.IllegalArgumentException if field name does not exist or it can only be reached
+     * through a {@link RealmList}.
      */
     public RealmResults<E> findAllSortedAsync(final String fieldName, final Sort sortOrder) {
         checkQueryIsNotReused();
-        long columnIndex = getColumnIndexForSort(fieldName);
+        final long[] columnIndices = getColumnIndicesForSort(fieldName);
 
         // capture the query arguments for future retries & update
-        argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL_SORTED);
-        argumentsHolder.sortOrder = sortOrder;
-        argumentsHolder.columnIndex = columnIndex;
+        if (isLimited()) {
+            argumentsHolder = newLimitedArguments(columnIndices, new Sort[] {sortOrder});
+        } else if (columnIndices.length == 1) {
+            argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL_SORTED);
+            argumentsHolder.sortOrder = sortOrder;
+            argumentsHolder.columnIndex = columnIndices[0];
+        } else {
+            // A field of a linked object can only be sorted by the multi-field sort.
+            argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL_MULTI_SORTED);
+            argumentsHolder.sortOrders = new Sort[] {sortOrder};
+            argumentsHolder.columnIndices = columnIndices;
+        }
 
         final WeakReference<RealmNotifier> weakNotifier = getWeakReferenceNotifier();
 
@@ -1813,11 +2101,17 @@ public final class RealmQuery<E extends RealmModel> {
                     try {
                         sharedRealm = SharedRealm.getInstance(realmConfiguration);
 
-                        long columnIndex = getColumnIndexForSort(fieldName);
-
                         // run the query & handover the table view for the caller thread
-                        long handoverTableViewPointer = TableQuery.findAllSortedWithHandover(sharedRealm,
-                                 handoverQueryPointer, columnIndex, sortOrder);
+                        long handoverTableViewPointer;
+                        if (isLimited()) {
+                            handoverTableViewPointer = findAllLimitedWithHandover(sharedRealm, handoverQueryPointer);
+                        } else if (columnIndices.length == 1) {
+                            handoverTableViewPointer = TableQuery.findAllSortedWithHandover(sharedRealm,
+                                    handoverQueryPointer, columnIndices[0], sortOrder);
+                        } else {
+                            handoverTableViewPointer = TableQuery.findAllMultiSortedWithHandover(sharedRealm,
+                                    handoverQueryPointer, columnIndices, new Sort[] {sortOrder});
+                        }
 
                         QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
                         result.updatedTableViews.put(weakRealmResults, handoverTableViewPointer);
@@ -1862,8 +2156,8 @@ public final class RealmQuery<E extends RealmModel> {
      * @param fieldName the field name to sort by.
      * @return a {@link io.realm.RealmResults} containing objects. If no objects match the condition, a list with zero
      * objects is returned.
-     * @throws java.lang.IllegalArgumentException if the field name does not exist or it belongs to a child
-     * {@link RealmObject} or a child {@link RealmList}.
+     * @throws java.lang.IllegalArgumentException if the field name does not exist or it can only be reached
+     * through a {@link RealmList}.
      */
     public RealmResults<E> findAllSorted(String fieldName) {
         return findAllSorted(fieldName, Sort.ASCENDING);
@@ -1875,8 +2169,8 @@ public final class RealmQuery<E extends RealmModel> {
      *
      * @return immediately an empty {@link RealmResults}. Users need to register a listener
      * {@link io.realm.RealmResults#addChangeListener(RealmChangeListener)} to be notified when the query completes.
-     * @throws java.lang.IllegalArgumentException if the field name does not exist or it belongs to a child
-     * {@link RealmObject} or a child {@link RealmList}.
+     * @throws java.lang.IllegalArgumentException if the field name does not exist or it can only be reached
+     * through a {@link RealmList}.
      */
     public RealmResults<E> findAllSortedAsync(String fieldName) {
         return findAllSortedAsync(fieldName, Sort.ASCENDING);
@@ -1892,8 +2186,8 @@ public final class RealmQuery<E extends RealmModel> {
      * @param sortOrders how to sort the field names.
      * @return a {@link io.realm.RealmResults} containing objects. If no objects match the condition, a list with zero 
      *         objects is returned.
-     * @throws java.lang.IllegalArgumentException if one of the field names does not exist or it belongs to a child
-     * {@link RealmObject} or a child {@link RealmList}.
+     * @throws java.lang.IllegalArgumentException if one of the field names does not exist or it can only be reached
+     * through a {@link RealmList}.
      */
     @SuppressWarnings("unchecked")
     public RealmResults<E> findAllSorted(String fieldNames[], Sort sortOrders[]) {
@@ -1902,15 +2196,21 @@ public final class RealmQuery<E extends RealmModel> {
         if (fieldNames.length == 1 && sortOrders.length == 1) {
             return findAllSorted(fieldNames[0], sortOrders[0]);
         } else {
-            TableView tableView = query.findAll();
-            List<Long> columnIndices = new ArrayList<Long>();
-            //noinspection ForLoopReplaceableByForEach
-            for (int i = 0; i < fieldNames.length; i++) {
-                String fieldName = fieldNames[i];
-                long columnIndex = getColumnIndexForSort(fieldName);
-                columnIndices.add(columnIndex);
+            long[] indices = getColumnIndicesForSort(fieldNames);
+            RealmMetricsListener metricsListener = realm.getConfiguration().getMetricsListener();
+            long startNanos = (metricsListener != null) ? System.nanoTime() : 0;
+            TableView tableView;
+            if (isLimited()) {
+                tableView = query.findAllLimited(offset, limit, indices, sortOrders);
+            } else if (isParallel()) {
+                tableView = findAllParallel(indices, sortOrders);
+            } else {
+                tableView = query.findAll();
+                tableView.sort(indices, sortOrders);
+            }
+            if (metricsListener != null) {
+                reportQueryMetrics(metricsListener, RealmMetricsListener.QueryType.FIND_ALL_SORTED, tableView.size(), startNanos);
             }
-            tableView.sort(columnIndices, sortOrders);
 
             RealmResults<E> realmResults;
             if (isDynamicQuery()) {
@@ -1926,6 +2226,56 @@ public final class RealmQuery<E extends RealmModel> {
         return className != null;
     }
 
+    private void reportQueryMetrics(RealmMetricsListener metricsListener, RealmMetricsListener.QueryType queryType,
+                                    long resultSize, long startNanos) {
+        long durationNanos = System.nanoTime() - startNanos;
+        metricsListener.onQueryExecuted(realm.getPath(), RealmSchema.getSchemaForTable(table.getTable()), queryType,
+                resultSize, durationNanos);
+    }
+
+    private boolean isParallel() {
+        return parallelism > 1 && partitionable && !isLimited();
+    }
+
+    private TableView findAllParallel(long[] columnIndices, Sort[] sortOrders) {
+        return query.findAllParallel(parallelism, columnIndices, sortOrders);
+    }
+
+    // Captures the arguments of a limited async query, so it can be re-run with the same limit and sort order.
+    private ArgumentsHolder newLimitedArguments(long[] columnIndices, Sort[] sortOrders) {
+        ArgumentsHolder arguments = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL_LIMITED);
+        arguments.offset = offset;
+        arguments.limit = limit;
+        arguments.columnIndices = columnIndices;
+        arguments.sortOrders = sortOrders;
+        return arguments;
+    }
+
+    private long findAllLimitedWithHandover(SharedRealm sharedRealm, long handoverQueryPointer)
+            throws BadVersionException {
+        return TableQuery.findAllLimitedWithHandover(sharedRealm, handoverQueryPointer, argumentsHolder.offset,
+                argumentsHolder.limit, argumentsHolder.columnIndices, argumentsHolder.sortOrders);
+    }
+
+    // Captures the arguments of a full-text search, so the worker thread can rank the matches before they are handed
+    // over.
+    private ArgumentsHolder newRankedArguments() {
+        ArgumentsHolder arguments = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL_RANKED);
+        arguments.offset = offset;
+        arguments.limit = limit;
+        arguments.rankTableName = rankPostingsTable.getName();
+        arguments.rankTerms = rankTerms;
+        // Views handed over from the worker thread must rank their rows again when they are synced.
+        query.setHandoverRanking(rankPostingsTable, rankTerms, offset, limit);
+        return arguments;
+    }
+
+    private long findAllRankedWithHandover(SharedRealm sharedRealm, long handoverQueryPointer)
+            throws BadVersionException {
+        return TableQuery.findAllRankedWithHandover(sharedRealm, handoverQueryPointer, argumentsHolder.rankTableName,
+                argumentsHolder.rankTerms, argumentsHolder.offset, argumentsHolder.limit);
+    }
+
     /**
      * Similar to {@link #findAllSorted(String[], Sort[])} but runs asynchronously
      * from a worker thread.
@@ -1934,8 +2284,8 @@ public final class RealmQuery<E extends RealmModel> {
      * @return immediately an empty {@link RealmResults}. Users need to register a listener
      * {@link io.realm.RealmResults#addChangeListener(RealmChangeListener)} to be notified when the query completes.
      * @see io.realm.RealmResults
-     * @throws java.lang.IllegalArgumentException if one of the field names does not exist or it belongs to a child
-     * {@link RealmObject} or a child {@link RealmList}.
+     * @throws java.lang.IllegalArgumentException if one of the field names does not exist or it can only be reached
+     * through a {@link RealmList}.
      */
     public RealmResults<E> findAllSortedAsync(String fieldNames[], final Sort[] sortOrders) {
         checkQueryIsNotReused();
@@ -1953,17 +2303,16 @@ public final class RealmQuery<E extends RealmModel> {
             // We need to use the same configuration to open a background SharedRealm to perform the query
             final RealmConfiguration realmConfiguration = realm.getConfiguration();
 
-            final long indices[] = new long[fieldNames.length];
-            for (int i = 0; i < fieldNames.length; i++) {
-                String fieldName = fieldNames[i];
-                long columnIndex = getColumnIndexForSort(fieldName);
-                indices[i] = columnIndex;
-            }
+            final long indices[] = getColumnIndicesForSort(fieldNames);
 
             // capture the query arguments for future retries & update
-            argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL_MULTI_SORTED);
-            argumentsHolder.sortOrders = sortOrders;
-            argumentsHolder.columnIndices = indices;
+            if (isLimited()) {
+                argumentsHolder = newLimitedArguments(indices, sortOrders);
+            } else {
+                argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL_MULTI_SORTED);
+                argumentsHolder.sortOrders = sortOrders;
+                argumentsHolder.columnIndices = indices;
+            }
 
             // prepare the promise result
             RealmResults<E> realmResults;
@@ -1986,8 +2335,10 @@ public final class RealmQuery<E extends RealmModel> {
                             sharedRealm = SharedRealm.getInstance(realmConfiguration);
 
                             // run the query & handover the table view for the caller thread
-                            long handoverTableViewPointer = TableQuery.findAllMultiSortedWithHandover(sharedRealm,
-                                    handoverQueryPointer, indices, sortOrders);
+                            long handoverTableViewPointer = isLimited() ?
+                                    findAllLimitedWithHandover(sharedRealm, handoverQueryPointer) :
+                                    TableQuery.findAllMultiSortedWithHandover(sharedRealm, handoverQueryPointer,
+                                            indices, sortOrders);
 
                             QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
                             result.updatedTableViews.put(weakRealmResults, handoverTableViewPointer);
@@ -2035,8 +2386,8 @@ public final class RealmQuery<E extends RealmModel> {
      * @param sortOrder2 sort order for second field
      * @return a {@link io.realm.RealmResults} containing objects. If no objects match the condition, a list with zero
      * objects is returned.
-     * @throws java.lang.IllegalArgumentException if a field name does not exist or it belongs to a child
-     * {@link RealmObject} or a child {@link RealmList}.
+     * @throws java.lang.IllegalArgumentException if a field name does not exist or it can only be reached
+     * through a {@link RealmList}.
      */
     public RealmResults<E> findAllSorted(String fieldName1, Sort sortOrder1,
                                          String fieldName2, Sort sortOrder2) {
@@ -2049,8 +2400,8 @@ public final class RealmQuery<E extends RealmModel> {
      *
      * @return immediately an empty {@link RealmResults}. Users need to register a listener
      * {@link io.realm.RealmResults#addChangeListener(RealmChangeListener)} to be notified when the query completes.
-     * @throws java.lang.IllegalArgumentException if a field name does not exist or it belongs to a child
-     * {@link RealmObject} or a child {@link RealmList}.
+     * @throws java.lang.IllegalArgumentException if a field name does not exist or it can only be reached
+     * through a {@link RealmList}.
      */
     public RealmResults<E> findAllSortedAsync(String fieldName1, Sort sortOrder1,
                                               String fieldName2, Sort sortOrder2) {
@@ -2065,7 +2416,12 @@ public final class RealmQuery<E extends RealmModel> {
      */
     public E findFirst() {
         checkQueryIsNotReused();
+        RealmMetricsListener metricsListener = realm.getConfiguration().getMetricsListener();
+        long startNanos = (metricsListener != null) ? System.nanoTime() : 0;
         long tableRowIndex = getSourceRowIndexForFirstObject();
+        if (metricsListener != null) {
+            reportQueryMetrics(metricsListener, RealmMetricsListener.QueryType.FIND_FIRST, (tableRowIndex >= 0) ? 1 : 0, startNanos);
+        }
         if (tableRowIndex >= 0) {
             E realmObject = realm.get(clazz, className, tableRowIndex);
             return realmObject;
@@ -2173,7 +2529,7 @@ public final class RealmQuery<E extends RealmModel> {
 
     private WeakReference<RealmNotifier> getWeakReferenceNotifier() {
         if (realm.sharedRealm.realmNotifier == null || !realm.sharedRealm.realmNotifier.isValid()) {
-            throw new IllegalStateException("Your Realm is opened from a thread without a Looper." +
+            throw new IllegalStateException("Your Realm is opened from a thread without a Looper or RealmEventLoop." +
                     " Async queries need a Handler to send results of your query");
         }
         return new WeakReference<RealmNotifier>(realm.sharedRealm.realmNotifier); // use caller Realm's Looper
@@ -2221,22 +2577,28 @@ public final class RealmQuery<E extends RealmModel> {
         long tableRowIndex = this.query.find();
         return tableRowIndex;
     }
-    // Get the column index for sorting related functions. A proper exception will be thrown if the field doesn't exist
-    // or it belongs to the child object.
-    private long getColumnIndexForSort(String fieldName) {
-        if (fieldName == null || fieldName.isEmpty()) {
-            throw new IllegalArgumentException("Non-empty fieldname required.");
-        }
-        if (fieldName.contains(".")) {
-            throw new IllegalArgumentException("Sorting using child object fields is not supported: " + fieldName);
-        }
+    // Get the column indices of a sort key. A proper exception will be thrown if the field doesn't exist or it can
+    // only be reached through a RealmList. See RealmObjectSchema#getSortColumnIndices() for the encoding of fields of
+    // linked objects.
+    private long[] getColumnIndicesForSort(String fieldName) {
+        return schema.getSortColumnIndices(fieldName);
+    }
 
-        Long columnIndex = schema.getFieldIndex(fieldName);
-        if (columnIndex == null) {
-            throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
+    // Concatenates the column indices of the sort keys. The native side ends a key at each column which isn't a link.
+    private long[] getColumnIndicesForSort(String[] fieldNames) {
+        long[][] keys = new long[fieldNames.length][];
+        int count = 0;
+        for (int i = 0; i < fieldNames.length; i++) {
+            keys[i] = getColumnIndicesForSort(fieldNames[i]);
+            count += keys[i].length;
         }
-
-        return columnIndex;
+        long[] indices = new long[count];
+        int position = 0;
+        for (long[] key : keys) {
+            System.arraycopy(key, 0, indices, position, key.length);
+            position += key.length;
+        }
+        return indices;
     }
 
     public ArgumentsHolder getArgument() {
@@ -20,6 +20,7 @@ package io.realm;
 import android.app.IntentService;
 
 import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.ConcurrentModificationException;
@@ -33,6 +34,7 @@ import java.util.concurrent.Future;
 
 import io.realm.internal.InvalidRow;
 import io.realm.internal.RealmObjectProxy;
+import io.realm.internal.Row;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 import io.realm.internal.TableQuery;
@@ -71,6 +73,7 @@ import rx.Observable;
 public final class RealmResults<E extends RealmModel> extends AbstractList<E> implements OrderedRealmCollection<E> {
 
     private final static String NOT_SUPPORTED_MESSAGE = "This method is not supported by RealmResults.";
+    private final static String FROZEN_NOT_SUPPORTED_MESSAGE = "This method is not supported by frozen RealmResults.";
 
     final BaseRealm realm;
     Class<E> classSpec;   // Return type
@@ -89,6 +92,16 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
     // clear it.
     private boolean viewUpdated = false;
 
+    // Only set for frozen results. Frozen results only hold the row indices of their elements which are resolved
+    // against the frozen Realm of the calling thread.
+    private final FrozenSnapshot frozenSnapshot;
+    // null if the frozen results contain all rows of the table in order.
+    private final long[] frozenRowIndices;
+    private final int frozenSize;
+    // A sorted copy of frozenRowIndices for contains(), created on first use.
+    private volatile long[] sortedFrozenRowIndices;
+    private volatile boolean frozenReleased = false;
+
 
     static <E extends RealmModel> RealmResults<E> createFromTableQuery(BaseRealm realm, TableQuery query, Class<E> clazz) {
         return new RealmResults<E>(realm, query, clazz);
@@ -100,6 +113,15 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
         return realmResults;
     }
 
+    static <E extends RealmModel> RealmResults<E> createBacklinkResults(BaseRealm realm, Row row, Class<E> srcTableType, String srcFieldName) {
+        if (!row.isAttached()) {
+            throw new IllegalStateException("Row is no longer valid to operate on.");
+        }
+        Table srcTable = realm.schema.getTable(srcTableType);
+        TableView backlinks = row.getTable().getBacklinkView(row.getIndex(), srcTable, srcTable.getColumnIndex(srcFieldName));
+        return createFromTableOrView(realm, backlinks, srcTableType);
+    }
+
     static RealmResults<DynamicRealmObject> createFromDynamicClass(BaseRealm realm, TableQuery query, String className) {
         return new RealmResults<DynamicRealmObject>(realm, query, className);
     }
@@ -114,12 +136,18 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
         this.realm = realm;
         this.classSpec = clazz;
         this.query = query;
+        this.frozenSnapshot = null;
+        this.frozenRowIndices = null;
+        this.frozenSize = 0;
     }
 
     private RealmResults(BaseRealm realm, TableQuery query, String className) {
         this.realm = realm;
         this.query = query;
         this.className = className;
+        this.frozenSnapshot = null;
+        this.frozenRowIndices = null;
+        this.frozenSize = 0;
     }
 
     private RealmResults(BaseRealm realm, TableOrView table, Class<E> classSpec) {
@@ -130,6 +158,9 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
         this.pendingQuery = null;
         this.query = null;
         this.currentTableViewVersion = table.syncIfNeeded();
+        this.frozenSnapshot = null;
+        this.frozenRowIndices = null;
+        this.frozenSize = 0;
     }
 
     private RealmResults(BaseRealm realm, String className) {
@@ -138,6 +169,21 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
 
         pendingQuery = null;
         query = null;
+        this.frozenSnapshot = null;
+        this.frozenRowIndices = null;
+        this.frozenSize = 0;
+    }
+
+    private RealmResults(FrozenSnapshot snapshot, Class<E> classSpec, String className, long[] rowIndices,
+                         int size) {
+        this.realm = snapshot.getRealm();
+        this.classSpec = classSpec;
+        this.className = className;
+        this.query = null;
+        this.pendingQuery = null;
+        this.frozenSnapshot = snapshot;
+        this.frozenRowIndices = rowIndices;
+        this.frozenSize = size;
     }
 
     private RealmResults(BaseRealm realm, TableOrView table, String className) {
@@ -158,9 +204,92 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
      * {@inheritDoc}
      */
     public boolean isValid() {
+        if (frozenSnapshot != null) {
+            return !frozenReleased && !frozenSnapshot.isReleased();
+        }
         return !realm.isClosed();
     }
 
+    /**
+     * Returns a frozen snapshot of these results.
+     * <p>
+     * Frozen results are pinned at the current version of the Realm. They never change, cannot be modified and can
+     * be read from any thread without calling {@link Realm#refresh()}, which makes them suitable for handing query
+     * results to a pool of worker threads without copying them out of the Realm. All objects returned from frozen
+     * results are frozen as well.
+     * <p>
+     * The version stays pinned until the last frozen {@link RealmResults} or object of that version has been released
+     * with {@link #release()} or {@link RealmObject#release(RealmModel)}, so holding on to frozen data for a long time
+     * will prevent the Realm file from reclaiming space. Frozen data which is never released only lets go of the
+     * version once it has been garbage collected.
+     * <p>
+     * Frozen results only support reading their elements. Querying, sorting, aggregates, deletes and change
+     * listeners are not supported. {@link RealmList} fields of frozen objects are still confined to the thread that
+     * first read them.
+     *
+     * @return frozen results containing the same elements, or this instance if it is already frozen.
+     * @throws IllegalStateException if the Realm is closed, called from an incorrect thread, called inside a write
+     * transaction or if the results of an async query could not be loaded.
+     * @see #release()
+     * @see RealmObject#freeze(RealmModel)
+     */
+    public RealmResults<E> freeze() {
+        if (frozenSnapshot != null) {
+            return this;
+        }
+        realm.checkIfValid();
+        if (!load()) {
+            throw new IllegalStateException("The results of the async query could not be loaded.");
+        }
+        TableOrView tableOrView = getTableOrView();
+        long[] rowIndices = null;
+        if (tableOrView instanceof TableView) {
+            rowIndices = ((TableView) tableOrView).getSourceRowIndices();
+        }
+        int size = size();
+        FrozenSnapshot snapshot = realm.acquireFrozenSnapshot();
+        return new RealmResults<E>(snapshot, classSpec, className, rowIndices, size);
+    }
+
+    /**
+     * Releases frozen results. They cannot be read any more afterwards, neither can the objects returned by
+     * {@link #get(int)}. Objects reached through the fields of those objects stay readable until all frozen results
+     * and objects of that version have been released. The version of the Realm is released once every thread which
+     * read from it has noticed the release, which happens on its next access of frozen data of that version.
+     * Calling this method more than once has no effect.
+     *
+     * @throws IllegalStateException if the results are not frozen.
+     * @see #freeze()
+     */
+    public void release() {
+        if (frozenSnapshot == null) {
+            throw new IllegalStateException("Only frozen results can be released.");
+        }
+        synchronized (this) {
+            if (frozenReleased) {
+                return;
+            }
+            frozenReleased = true;
+        }
+        frozenSnapshot.release();
+    }
+
+    /**
+     * Checks if these results are frozen.
+     *
+     * @return {@code true} if the results are frozen, {@code false} otherwise.
+     * @see #freeze()
+     */
+    public boolean isFrozen() {
+        return frozenSnapshot != null;
+    }
+
+    private void checkNotFrozen() {
+        if (frozenSnapshot != null) {
+            throw new IllegalStateException(FROZEN_NOT_SUPPORTED_MESSAGE);
+        }
+    }
+
     /**
      * A {@link RealmResults} is always a managed collection.
      *
@@ -176,6 +305,7 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
      */
     @Override
     public RealmQuery<E> where() {
+        checkNotFrozen();
         realm.checkIfValid();
         return RealmQuery.createQueryFromResult(this);
     }
@@ -190,6 +320,9 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
     @Override
     public boolean contains(Object object) {
         boolean contains = false;
+        if (frozenSnapshot != null) {
+            return frozenContains(object);
+        }
         if (isLoaded() && object instanceof RealmObjectProxy) {
             RealmObjectProxy proxy = (RealmObjectProxy) object;
             if (realm.getPath().equals(proxy.realmGet$proxyState().getRealm$realm().getPath()) && proxy.realmGet$proxyState().getRow$realm() != InvalidRow.INSTANCE) {
@@ -199,6 +332,27 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
         return contains;
     }
 
+    private boolean frozenContains(Object object) {
+        if (!(object instanceof RealmObjectProxy)) {
+            return false;
+        }
+        ProxyState proxyState = ((RealmObjectProxy) object).realmGet$proxyState();
+        if (proxyState.getFrozenSnapshot$realm() != frozenSnapshot) {
+            return false;
+        }
+        long rowIndex = proxyState.getFrozenRowIndex$realm();
+        if (frozenRowIndices == null) {
+            return rowIndex < frozenSize;
+        }
+        long[] sorted = sortedFrozenRowIndices;
+        if (sorted == null) {
+            sorted = frozenRowIndices.clone();
+            Arrays.sort(sorted);
+            sortedFrozenRowIndices = sorted;
+        }
+        return Arrays.binarySearch(sorted, rowIndex) >= 0;
+    }
+
     /**
      * Returns the element at the specified location in this list.
      *
@@ -208,6 +362,19 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
      */
     @Override
     public E get(int location) {
+        if (frozenSnapshot != null) {
+            // A released snapshot throws itself, after closing the frozen Realm of this thread.
+            if (frozenReleased && !frozenSnapshot.isReleased()) {
+                throw new IllegalStateException(FrozenSnapshot.RELEASED_MESSAGE);
+            }
+            if (location < 0 || location >= frozenSize) {
+                throw new IndexOutOfBoundsException("Index " + location + " is out of bounds for size " + frozenSize);
+            }
+            long rowIndex = (frozenRowIndices != null) ? frozenRowIndices[location] : location;
+            E frozen = frozenSnapshot.get(classSpec, className, rowIndex);
+            ((RealmObjectProxy) frozen).realmGet$proxyState().setFrozenResults$realm(this);
+            return frozen;
+        }
         E obj;
         realm.checkIfValid();
         TableOrView table = getTableOrView();
@@ -282,6 +449,7 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
      */
     @Override
     public void deleteFromRealm(int location) {
+        checkNotFrozen();
         realm.checkIfValid();
         TableOrView table = getTableOrView();
         table.remove(location);
@@ -292,6 +460,7 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
      */
     @Override
     public boolean deleteAllFromRealm() {
+        checkNotFrozen();
         realm.checkIfValid();
         if (size() > 0) {
             TableOrView table = getTableOrView();
@@ -410,6 +579,9 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
      */
     @Override
     public int size() {
+        if (frozenSnapshot != null) {
+            return frozenSize;
+        }
         if (!isLoaded()) {
             return 0;
         } else {
@@ -422,6 +594,7 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
      * {@inheritDoc}
      */
     public Number min(String fieldName) {
+        checkNotFrozen();
         realm.checkIfValid();
         long columnIndex = getColumnIndexForSort(fieldName);
         switch (table.getColumnType(columnIndex)) {
@@ -440,6 +613,7 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
      * {@inheritDoc}
      */
     public Date minDate(String fieldName) {
+        checkNotFrozen();
         realm.checkIfValid();
         long columnIndex = getColumnIndexForSort(fieldName);
         if (table.getColumnType(columnIndex) == RealmFieldType.DATE) {
@@ -454,6 +628,7 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
      * {@inheritDoc}
      */
     public Number max(String fieldName) {
+        checkNotFrozen();
         realm.checkIfValid();
         long columnIndex = getColumnIndexForSort(fieldName);
         switch (table.getColumnType(columnIndex)) {
@@ -479,6 +654,7 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
      * @throws java.lang.IllegalArgumentException if fieldName is not a Date field.
      */
     public Date maxDate(String fieldName) {
+        checkNotFrozen();
         realm.checkIfValid();
         long columnIndex = getColumnIndexForSort(fieldName);
         if (table.getColumnType(columnIndex) == RealmFieldType.DATE) {
@@ -494,6 +670,7 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
      * {@inheritDoc}
      */
     public Number sum(String fieldName) {
+        checkNotFrozen();
         realm.checkIfValid();
         long columnIndex = getColumnIndexForSort(fieldName);
         switch (table.getColumnType(columnIndex)) {
@@ -512,6 +689,7 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
      * {@inheritDoc}
      */
     public double average(String fieldName) {
+        checkNotFrozen();
         realm.checkIfValid();
         long columnIndex = getColumnIndexForSort(fieldName);
         switch (table.getColumnType(columnIndex)) {
@@ -537,6 +715,7 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
      * is not indexed, or points to linked fields.
      */
     public RealmResults<E> distinct(String fieldName) {
+        checkNotFrozen();
         realm.checkIfValid();
         long columnIndex = RealmQuery.getAndValidateDistinctColumnIndex(fieldName, this.table.getTable());
 
@@ -647,6 +826,7 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
      */
     @Override
     public boolean deleteLastFromRealm() {
+        checkNotFrozen();
         realm.checkIfValid();
         if (size() > 0) {
             TableOrView table = getTableOrView();
@@ -678,6 +858,7 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
      */
     @Override
     public boolean deleteFirstFromRealm() {
+        checkNotFrozen();
         if (size() > 0) {
             TableOrView table = getTableOrView();
             table.removeFirst();
@@ -782,6 +963,10 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
         }
 
         protected void checkRealmIsStable() {
+            if (frozenSnapshot != null) {
+                // Frozen results never change.
+                return;
+            }
             long version = table.getVersion();
             // Any change within a write transaction will immediately update the table version. This means that we
             // cannot depend on the tableVersion heuristic in that case.
@@ -965,6 +1150,7 @@ public final class RealmResults<E extends RealmModel> extends AbstractList<E> im
         if (listener == null) {
             throw new IllegalArgumentException("Listener should not be null");
         }
+        checkNotFrozen();
         realm.checkIfValid();
         if (!realm.handlerController.isAutoRefreshEnabled()) {
             throw new IllegalStateException("You can't register a listener from a non-Looper thread or IntentService thread. ");
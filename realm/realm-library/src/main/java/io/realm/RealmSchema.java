@@ -22,8 +22,11 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
+import io.realm.internal.CaseInsensitiveIndex;
 import io.realm.internal.ColumnIndices;
 import io.realm.internal.ColumnInfo;
+import io.realm.internal.ColumnMetadata;
+import io.realm.internal.FullTextIndex;
 import io.realm.internal.Table;
 import io.realm.internal.Util;
 
@@ -49,6 +52,14 @@ public final class RealmSchema {
     // Caches Class Strings to their Schema object
     private final Map<String, RealmObjectSchema> dynamicClassToSchema = new HashMap<String, RealmObjectSchema>();
 
+    // Caches the columns of tables accessed through DynamicRealmObjects, keyed by native table pointer. The cache is
+    // dropped whenever the Realm moves to another version, as the schema might have been changed by then.
+    private final Map<Long, ColumnMetadata> tableToColumnMetadata = new HashMap<Long, ColumnMetadata>();
+    private ColumnMetadata lastColumnMetadata;
+    private long columnMetadataVersionCounter = -1;
+    // Increased every time the cached column metadata is dropped.
+    private long columnMetadataGeneration = 0;
+
     private final BaseRealm realm;
     private long nativePtr;
     ColumnIndices columnIndices; // Cached field look up
@@ -195,7 +206,11 @@ public final class RealmSchema {
         if (table.hasPrimaryKey()) {
             table.setPrimaryKey(null);
         }
+        // The tables of full-text and case-insensitive indexes link to the class.
+        FullTextIndex.removeAll(table);
+        CaseInsensitiveIndex.removeAll(table);
         realm.sharedRealm.removeTable(internalTableName);
+        invalidateColumnMetadata();
     }
 
     /**
@@ -225,6 +240,9 @@ public final class RealmSchema {
         }
 
         realm.sharedRealm.renameTable(oldInternalName, newInternalName);
+        FullTextIndex.renameClass(realm.sharedRealm, oldClassName, newClassName);
+        CaseInsensitiveIndex.renameClass(realm.sharedRealm, oldClassName, newClassName);
+        invalidateColumnMetadata();
         Table table = realm.sharedRealm.getTable(newInternalName);
 
         // Set the primary key for the new class if necessary
@@ -345,6 +363,67 @@ public final class RealmSchema {
         return dynamicSchema;
     }
 
+    /**
+     * Returns the cached column metadata of the given table. Looking up columns through it only calls into native code
+     * the first time a column is accessed at the current version of the Realm.
+     */
+    ColumnMetadata getColumnMetadata(Table table) {
+        getColumnMetadataGeneration();
+
+        long tablePtr = table.getNativeTablePointer();
+        // Objects are usually read one class at a time, so avoid boxing the key for repeated look ups.
+        if (lastColumnMetadata != null && lastColumnMetadata.getNativeTablePointer() == tablePtr) {
+            return lastColumnMetadata;
+        }
+        ColumnMetadata metadata = tableToColumnMetadata.get(tablePtr);
+        if (metadata == null) {
+            metadata = new ColumnMetadata(table);
+            tableToColumnMetadata.put(tablePtr, metadata);
+        }
+        lastColumnMetadata = metadata;
+        return metadata;
+    }
+
+    /**
+     * Returns the generation of the cached column metadata. Columns resolved in an older generation might be stale.
+     */
+    long getColumnMetadataGeneration() {
+        long versionCounter = realm.sharedRealm.getVersionCounter();
+        if (versionCounter != columnMetadataVersionCounter) {
+            tableToColumnMetadata.clear();
+            lastColumnMetadata = null;
+            columnMetadataVersionCounter = versionCounter;
+            columnMetadataGeneration++;
+        }
+        return columnMetadataGeneration;
+    }
+
+    /**
+     * Drops all cached column metadata. Must be called whenever the schema is modified through this Realm.
+     */
+    void invalidateColumnMetadata() {
+        columnMetadataVersionCounter = -1;
+    }
+
+    /**
+     * Returns the link a linking objects field of the given table is the inverse of, or {@code null} if there is no
+     * such field. Linking objects fields are only known for model classes, so this always returns {@code null} for
+     * dynamic Realms.
+     */
+    ColumnInfo.Backlink getBacklink(Table table, String fieldName) {
+        if (columnIndices == null) {
+            return null;
+        }
+        String tableName = table.getName();
+        for (Class<? extends RealmModel> clazz : realm.configuration.getRealmObjectClasses()) {
+            if (realm.configuration.getSchemaMediator().getTableName(clazz).equals(tableName)) {
+                ColumnInfo columnInfo = columnIndices.getColumnInfo(clazz);
+                return (columnInfo == null) ? null : columnInfo.getBacklinksMap().get(fieldName);
+            }
+        }
+        return null;
+    }
+
     static String getSchemaForTable(Table table) {
         return table.getName().substring(Table.TABLE_PREFIX.length());
     }
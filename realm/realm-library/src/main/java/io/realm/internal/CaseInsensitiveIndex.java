@@ -0,0 +1,286 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.realm.RealmFieldType;
+
+/**
+ * Case-insensitive indexes of String columns, see {@link io.realm.annotations.CaseInsensitiveIndex}.
+ * <p>
+ * Each index is stored in a keys table which is not a model table, so it isn't part of the schema. The keys table
+ * links to each indexed object and has the lower-cased value of it in a column with a search index. Like full-text
+ * indexes, the indexes are listed in a meta table together with the class and field they belong to.
+ * <p>
+ * The indexes are not updated by each write, but when the write transaction is committed, see
+ * {@link #update(SharedRealm, Map)}. When {@link TableQuery} runs in a write transaction, it checks the values of the
+ * objects changed by the transaction and only looks up the others in the index.
+ */
+public final class CaseInsensitiveIndex {
+
+    private static final String METADATA_TABLE_NAME = "casefold";
+    private static final String METADATA_CLASS_COLUMN_NAME = "ci_table";
+    private static final long METADATA_CLASS_COLUMN_INDEX = 0;
+    private static final String METADATA_FIELD_COLUMN_NAME = "ci_property";
+    private static final long METADATA_FIELD_COLUMN_INDEX = 1;
+    private static final String METADATA_KEYS_COLUMN_NAME = "ci_keys";
+    private static final long METADATA_KEYS_COLUMN_INDEX = 2;
+
+    private static final String KEYS_TABLE_PREFIX = "casefold_keys_";
+
+    private CaseInsensitiveIndex() {
+    }
+
+    /**
+     * Checks if the column has a case-insensitive index.
+     *
+     * @param table the table of a model class.
+     * @param columnIndex the column to check.
+     * @return {@code true} if the column has a case-insensitive index, {@code false} otherwise.
+     */
+    public static boolean has(Table table, long columnIndex) {
+        return findMetadataRow(table, table.getColumnName(columnIndex)) != Table.NO_MATCH;
+    }
+
+    /**
+     * Returns the keys table of the case-insensitive index of a column.
+     *
+     * @param table the table of a model class.
+     * @param columnIndex the indexed column.
+     * @return the keys table or {@code null} if the column doesn't have a case-insensitive index.
+     */
+    public static Table getKeysTable(Table table, long columnIndex) {
+        long row = findMetadataRow(table, table.getColumnName(columnIndex));
+        if (row == Table.NO_MATCH) {
+            return null;
+        }
+        SharedRealm sharedRealm = table.getSharedRealm();
+        return sharedRealm.getTable(sharedRealm.getTable(METADATA_TABLE_NAME)
+                .getString(METADATA_KEYS_COLUMN_INDEX, row));
+    }
+
+    /**
+     * Adds a case-insensitive index to a String column and indexes the existing values. Must be called in a write
+     * transaction.
+     *
+     * @param table the table of a model class.
+     * @param columnIndex the column to index.
+     * @throws IllegalArgumentException if the column isn't a String column.
+     * @throws IllegalStateException if the column already has a case-insensitive index or the Realm is synchronized.
+     */
+    public static void add(Table table, long columnIndex) {
+        table.checkImmutable();
+        String fieldName = table.getColumnName(columnIndex);
+        if (table.getColumnType(columnIndex) != RealmFieldType.STRING) {
+            throw new IllegalArgumentException("Only String fields can have a case-insensitive index: " + fieldName);
+        }
+        if (has(table, columnIndex)) {
+            throw new IllegalStateException(fieldName + " already has a case-insensitive index.");
+        }
+        SharedRealm sharedRealm = table.getSharedRealm();
+        // Changes downloaded from the server would not update the index.
+        if (sharedRealm.isSyncRealm()) {
+            throw new IllegalStateException("Case-insensitive indexes are not supported by synchronized Realms: " +
+                    fieldName);
+        }
+
+        int id = 0;
+        while (sharedRealm.hasTable(KEYS_TABLE_PREFIX + id)) {
+            id++;
+        }
+        Table keys = sharedRealm.getTable(KEYS_TABLE_PREFIX + id);
+        keys.addColumnLink(RealmFieldType.OBJECT, "object", table);
+        keys.addColumn(RealmFieldType.INTEGER, "hash", Table.NOT_NULLABLE);
+        long keyColumnIndex = keys.addColumn(RealmFieldType.STRING, "key", Table.NULLABLE);
+        keys.addSearchIndex(keyColumnIndex);
+
+        Table metadata = getMetadataTable(sharedRealm);
+        long row = metadata.addEmptyRow();
+        metadata.setString(METADATA_CLASS_COLUMN_INDEX, row, Table.tableNameToClassName(table.getName()), false);
+        metadata.setString(METADATA_FIELD_COLUMN_INDEX, row, fieldName, false);
+        metadata.setString(METADATA_KEYS_COLUMN_INDEX, row, keys.getName(), false);
+
+        nativeUpdateAll(table.nativePtr, columnIndex, keys.nativePtr);
+    }
+
+    /**
+     * Removes the case-insensitive index of a column if it has one. Must be called in a write transaction.
+     *
+     * @param table the table of a model class.
+     * @param columnIndex the indexed column.
+     * @return {@code true} if an index was removed, {@code false} if the column didn't have one.
+     */
+    public static boolean remove(Table table, long columnIndex) {
+        table.checkImmutable();
+        long row = findMetadataRow(table, table.getColumnName(columnIndex));
+        if (row == Table.NO_MATCH) {
+            return false;
+        }
+        removeMetadataRow(table.getSharedRealm(), row);
+        return true;
+    }
+
+    /**
+     * Removes all case-insensitive indexes of a table, e.g. before the table itself is removed. Must be called in a
+     * write transaction.
+     *
+     * @param table the table of a model class.
+     */
+    public static void removeAll(Table table) {
+        table.checkImmutable();
+        SharedRealm sharedRealm = table.getSharedRealm();
+        if (!sharedRealm.hasTable(METADATA_TABLE_NAME)) {
+            return;
+        }
+        Table metadata = sharedRealm.getTable(METADATA_TABLE_NAME);
+        String className = Table.tableNameToClassName(table.getName());
+        long row;
+        while ((row = metadata.findFirstString(METADATA_CLASS_COLUMN_INDEX, className)) != Table.NO_MATCH) {
+            removeMetadataRow(sharedRealm, row);
+        }
+    }
+
+    /**
+     * Updates the meta table after a field has been renamed.
+     *
+     * @param table the table of a model class.
+     * @param oldFieldName the previous name of the field.
+     * @param newFieldName the new name of the field.
+     */
+    public static void renameField(Table table, String oldFieldName, String newFieldName) {
+        long row = findMetadataRow(table, oldFieldName);
+        if (row != Table.NO_MATCH) {
+            table.getSharedRealm().getTable(METADATA_TABLE_NAME)
+                    .setString(METADATA_FIELD_COLUMN_INDEX, row, newFieldName, false);
+        }
+    }
+
+    /**
+     * Updates the meta table after a class has been renamed.
+     *
+     * @param sharedRealm the Realm of the class.
+     * @param oldClassName the previous name of the class.
+     * @param newClassName the new name of the class.
+     */
+    public static void renameClass(SharedRealm sharedRealm, String oldClassName, String newClassName) {
+        if (!sharedRealm.hasTable(METADATA_TABLE_NAME)) {
+            return;
+        }
+        Table metadata = sharedRealm.getTable(METADATA_TABLE_NAME);
+        long row;
+        while ((row = metadata.findFirstString(METADATA_CLASS_COLUMN_INDEX, oldClassName)) != Table.NO_MATCH) {
+            metadata.setString(METADATA_CLASS_COLUMN_INDEX, row, newClassName, false);
+        }
+    }
+
+    /**
+     * Returns the version counters of all classes with a case-insensitive index. They are taken when a write
+     * transaction begins, so {@link #update(SharedRealm, Map)} can skip the classes which weren't changed.
+     *
+     * @param sharedRealm the Realm to check.
+     * @return the version counter of each class with a case-insensitive index by class name.
+     */
+    public static Map<String, Long> getClassVersions(SharedRealm sharedRealm) {
+        Map<String, Long> versions = new HashMap<String, Long>();
+        if (!sharedRealm.hasTable(METADATA_TABLE_NAME)) {
+            return versions;
+        }
+        Table metadata = sharedRealm.getTable(METADATA_TABLE_NAME);
+        long size = metadata.size();
+        for (long row = 0; row < size; row++) {
+            String className = metadata.getString(METADATA_CLASS_COLUMN_INDEX, row);
+            if (!versions.containsKey(className)) {
+                versions.put(className, sharedRealm.getTable(Table.TABLE_PREFIX + className).getVersion());
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * Brings the case-insensitive indexes up to date with the current write transaction. Indexes of classes which
+     * were not changed since {@code versionsAtBegin} are skipped, the others only fold the values which were changed
+     * according to the transaction log.
+     *
+     * @param sharedRealm the Realm to update, must be in a write transaction.
+     * @param versionsAtBegin the versions returned by {@link #getClassVersions(SharedRealm)} when the transaction
+     * began or {@code null} to update all indexes.
+     */
+    public static void update(SharedRealm sharedRealm, Map<String, Long> versionsAtBegin) {
+        if (!sharedRealm.hasTable(METADATA_TABLE_NAME)) {
+            return;
+        }
+        Table metadata = sharedRealm.getTable(METADATA_TABLE_NAME);
+        long size = metadata.size();
+        for (long row = 0; row < size; row++) {
+            String className = metadata.getString(METADATA_CLASS_COLUMN_INDEX, row);
+            Table table = sharedRealm.getTable(Table.TABLE_PREFIX + className);
+            Long versionAtBegin = (versionsAtBegin != null) ? versionsAtBegin.get(className) : null;
+            if (versionAtBegin != null && versionAtBegin == table.getVersion()) {
+                continue;
+            }
+            long columnIndex = table.getColumnIndex(metadata.getString(METADATA_FIELD_COLUMN_INDEX, row));
+            Table keys = sharedRealm.getTable(metadata.getString(METADATA_KEYS_COLUMN_INDEX, row));
+            if (versionsAtBegin != null) {
+                nativeUpdate(sharedRealm.getNativePtr(), table.nativePtr, columnIndex, keys.nativePtr);
+            } else {
+                nativeUpdateAll(table.nativePtr, columnIndex, keys.nativePtr);
+            }
+        }
+    }
+
+    private static Table getMetadataTable(SharedRealm sharedRealm) {
+        Table metadata = sharedRealm.getTable(METADATA_TABLE_NAME);
+        if (metadata.getColumnCount() == 0) {
+            long columnIndex = metadata.addColumn(RealmFieldType.STRING, METADATA_CLASS_COLUMN_NAME);
+            metadata.addSearchIndex(columnIndex);
+            metadata.addColumn(RealmFieldType.STRING, METADATA_FIELD_COLUMN_NAME);
+            metadata.addColumn(RealmFieldType.STRING, METADATA_KEYS_COLUMN_NAME);
+        }
+        return metadata;
+    }
+
+    private static long findMetadataRow(Table table, String fieldName) {
+        SharedRealm sharedRealm = table.getSharedRealm();
+        if (sharedRealm == null || !sharedRealm.hasTable(METADATA_TABLE_NAME)) {
+            return Table.NO_MATCH;
+        }
+        Table metadata = sharedRealm.getTable(METADATA_TABLE_NAME);
+        String className = Table.tableNameToClassName(table.getName());
+        long size = metadata.size();
+        for (long row = 0; row < size; row++) {
+            if (className.equals(metadata.getString(METADATA_CLASS_COLUMN_INDEX, row)) &&
+                    fieldName.equals(metadata.getString(METADATA_FIELD_COLUMN_INDEX, row))) {
+                return row;
+            }
+        }
+        return Table.NO_MATCH;
+    }
+
+    private static void removeMetadataRow(SharedRealm sharedRealm, long row) {
+        Table metadata = sharedRealm.getTable(METADATA_TABLE_NAME);
+        // The table only links to the class table, so nothing else refers to it.
+        sharedRealm.removeTable(metadata.getString(METADATA_KEYS_COLUMN_INDEX, row));
+        metadata.moveLastOver(row);
+    }
+
+    private static native void nativeUpdate(long nativeSharedRealmPtr, long nativeTablePtr, long columnIndex,
+                                            long nativeKeysTablePtr);
+
+    private static native void nativeUpdateAll(long nativeTablePtr, long columnIndex, long nativeKeysTablePtr);
+}
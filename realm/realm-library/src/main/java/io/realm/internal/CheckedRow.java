@@ -16,6 +16,8 @@
 
 package io.realm.internal;
 
+import java.nio.ByteBuffer;
+
 import io.realm.RealmFieldType;
 
 /**
@@ -122,8 +124,12 @@ public class CheckedRow extends UncheckedRow {
     protected native double nativeGetDouble(long nativeRowPtr, long columnIndex);
     protected native long nativeGetTimestamp(long nativeRowPtr, long columnIndex);
     protected native String nativeGetString(long nativePtr, long columnIndex);
+    protected native String nativeGetInternedString(long nativePtr, long columnIndex, long nativeCachePtr);
     protected native boolean nativeIsNullLink(long nativeRowPtr, long columnIndex);
     protected native byte[] nativeGetByteArray(long nativePtr, long columnIndex);
+    protected native ByteBuffer nativeGetByteBuffer(long nativePtr, long columnIndex);
+    protected native long nativeGetBinarySize(long nativePtr, long columnIndex);
+    protected native int nativeReadBinary(long nativePtr, long columnIndex, long position, byte[] buffer, int offset, int length);
     protected native long nativeGetLinkView(long nativePtr, long columnIndex);
     protected native void nativeSetLong(long nativeRowPtr, long columnIndex, long value);
     protected native void nativeSetBoolean(long nativeRowPtr, long columnIndex, boolean value);
@@ -133,6 +139,7 @@ public class CheckedRow extends UncheckedRow {
     protected native void nativeSetTimestamp(long nativeRowPtr, long columnIndex, long dateTimeValue);
     protected native void nativeSetString(long nativeRowPtr, long columnIndex, String value);
     protected native void nativeSetByteArray(long nativePtr, long columnIndex, byte[] data);
+    protected native void nativeSetByteBuffer(long nativePtr, long columnIndex, ByteBuffer data, int position, int length);
     protected native void nativeSetLink(long nativeRowPtr, long columnIndex, long value);
     protected native void nativeNullifyLink(long nativeRowPtr, long columnIndex);
 }
@@ -16,12 +16,38 @@
 
 package io.realm.internal;
 
+import java.util.Collections;
 import java.util.Map;
 
+import io.realm.RealmModel;
 import io.realm.exceptions.RealmMigrationNeededException;
 
 public abstract class ColumnInfo implements Cloneable {
+
+    /**
+     * Describes a field annotated with {@link io.realm.annotations.LinkingObjects}: the class and the field of the
+     * objects linking to the object.
+     */
+    public static final class Backlink {
+        private final Class<? extends RealmModel> sourceClass;
+        private final String sourceFieldName;
+
+        public Backlink(Class<? extends RealmModel> sourceClass, String sourceFieldName) {
+            this.sourceClass = sourceClass;
+            this.sourceFieldName = sourceFieldName;
+        }
+
+        public Class<? extends RealmModel> getSourceClass() {
+            return sourceClass;
+        }
+
+        public String getSourceFieldName() {
+            return sourceFieldName;
+        }
+    }
+
     private Map<String, Long> indicesMap;
+    private Map<String, Backlink> backlinksMap = Collections.emptyMap();
 
     protected final long getValidColumnIndex(String realmPath, Table table,
                                              String className, String columnName) {
@@ -47,6 +73,20 @@ public abstract class ColumnInfo implements Cloneable {
         this.indicesMap = indicesMap;
     }
 
+    /**
+     * Returns a map from the name of a linking objects field to the link it is the inverse of.
+     *
+     * @return a map from field name to {@link Backlink}. Do not modify returned map because it may be shared among
+     * other {@link ColumnInfo} instances.
+     */
+    public Map<String, Backlink> getBacklinksMap() {
+        return backlinksMap;
+    }
+
+    protected final void setBacklinksMap(Map<String, Backlink> backlinksMap) {
+        this.backlinksMap = backlinksMap;
+    }
+
     /**
      * Copies the column index value from other {@link ColumnInfo} object.
      *
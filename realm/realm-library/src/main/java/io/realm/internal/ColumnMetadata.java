@@ -0,0 +1,90 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.realm.RealmFieldType;
+
+/**
+ * Lazily populated cache of the columns of a {@link Table}, so dynamic access to fields only needs to look up the
+ * column index, type and nullability once.
+ * <p>
+ * The cache doesn't track schema changes. It must be dropped whenever {@link SharedRealm#getVersionCounter()}
+ * changes.
+ */
+public final class ColumnMetadata {
+
+    public static final class Column {
+        public final String name;
+        public final long index;
+        public final RealmFieldType type;
+        public final boolean nullable;
+        public final boolean primaryKey;
+
+        Column(String name, long index, RealmFieldType type, boolean nullable, boolean primaryKey) {
+            this.name = name;
+            this.index = index;
+            this.type = type;
+            this.nullable = nullable;
+            this.primaryKey = primaryKey;
+        }
+    }
+
+    private final Table table;
+    private final Map<String, Column> columns = new HashMap<String, Column>();
+    private long primaryKeyIndex = Table.NO_MATCH;
+    private boolean primaryKeyResolved = false;
+
+    public ColumnMetadata(Table table) {
+        this.table = table;
+    }
+
+    public Table getTable() {
+        return table;
+    }
+
+    public long getNativeTablePointer() {
+        return table.getNativeTablePointer();
+    }
+
+    /**
+     * Returns the column for the given field name.
+     *
+     * @param fieldName the name of the field.
+     * @return the column or {@code null} if the table has no such column.
+     * @throws IllegalArgumentException if {@code fieldName} is {@code null}.
+     */
+    public Column getColumn(String fieldName) {
+        Column column = columns.get(fieldName);
+        if (column == null) {
+            long columnIndex = table.getColumnIndex(fieldName);
+            if (columnIndex == Table.NO_MATCH) {
+                return null;
+            }
+            if (!primaryKeyResolved) {
+                primaryKeyIndex = table.getPrimaryKey();
+                primaryKeyResolved = true;
+            }
+            column = new Column(fieldName, columnIndex, table.getColumnType(columnIndex),
+                    table.isColumnNullable(columnIndex), columnIndex == primaryKeyIndex);
+            columns.put(fieldName, column);
+        }
+        return column;
+    }
+}
@@ -16,6 +16,7 @@
 
 package io.realm.internal;
 
+import java.nio.ByteBuffer;
 import java.util.Date;
 
 import io.realm.RealmFieldType;
@@ -88,11 +89,31 @@ public enum InvalidRow implements Row {
         throw getStubException();
     }
 
+    @Override
+    public String getInternedString(long columnIndex, StringInternCache cache) {
+        throw getStubException();
+    }
+
     @Override
     public byte[] getBinaryByteArray(long columnIndex) {
         throw getStubException();
     }
 
+    @Override
+    public ByteBuffer getBinaryByteBuffer(long columnIndex) {
+        throw getStubException();
+    }
+
+    @Override
+    public long getBinarySize(long columnIndex) {
+        throw getStubException();
+    }
+
+    @Override
+    public int readBinary(long columnIndex, long position, byte[] buffer, int offset, int length) {
+        throw getStubException();
+    }
+
     @Override
     public long getLink(long columnIndex) {
         throw getStubException();
@@ -143,6 +164,11 @@ public enum InvalidRow implements Row {
         throw getStubException();
     }
 
+    @Override
+    public void setBinaryByteBuffer(long columnIndex, ByteBuffer data) {
+        throw getStubException();
+    }
+
     @Override
     public void setLink(long columnIndex, long value) {
         throw getStubException();
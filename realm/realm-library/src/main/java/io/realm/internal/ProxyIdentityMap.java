@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps the rows of a Realm instance to the proxy objects created for them, so reading the same row twice returns the
+ * same object. The objects are only weakly referenced and are dropped once the application doesn't use them any more.
+ * <p>
+ * Entries are keyed by table and row index. Row accessors follow their row when it is moved by a deletion, so an entry
+ * is only returned if its row is still attached at the index it is looked up with. Otherwise it is replaced.
+ * <p>
+ * The map is not thread safe, it must only be used by the thread of its Realm instance.
+ */
+public final class ProxyIdentityMap {
+
+    private final Map<Long, Map<Long, ProxyReference>> tables = new HashMap<Long, Map<Long, ProxyReference>>();
+    private final ReferenceQueue<RealmObjectProxy> queue = new ReferenceQueue<RealmObjectProxy>();
+
+    /**
+     * Returns the proxy of the given row if there is one.
+     *
+     * @param table the table of the row.
+     * @param rowIndex the index of the row.
+     * @param clazz the class the proxy must be an instance of.
+     * @return the proxy or {@code null} if there is no proxy of the given class for the row.
+     */
+    public <E> E get(Table table, long rowIndex, Class<E> clazz) {
+        expungeStaleEntries();
+        Map<Long, ProxyReference> rows = tables.get(table.getNativeTablePointer());
+        if (rows == null) {
+            return null;
+        }
+        ProxyReference reference = rows.get(rowIndex);
+        RealmObjectProxy proxy = (reference != null) ? reference.get() : null;
+        if (proxy == null || !clazz.isInstance(proxy)) {
+            return null;
+        }
+        Row row = proxy.realmGet$proxyState().getRow$realm();
+        if (!row.isAttached() || row.getIndex() != rowIndex) {
+            rows.remove(rowIndex);
+            return null;
+        }
+        return clazz.cast(proxy);
+    }
+
+    /**
+     * Adds a proxy, replacing the proxy previously added for the same row.
+     *
+     * @param table the table of the row.
+     * @param rowIndex the index of the row.
+     * @param proxy the proxy of the row.
+     */
+    public void put(Table table, long rowIndex, RealmObjectProxy proxy) {
+        expungeStaleEntries();
+        Long tablePtr = table.getNativeTablePointer();
+        Map<Long, ProxyReference> rows = tables.get(tablePtr);
+        if (rows == null) {
+            rows = new HashMap<Long, ProxyReference>();
+            tables.put(tablePtr, rows);
+        }
+        rows.put(rowIndex, new ProxyReference(proxy, queue, tablePtr, rowIndex));
+    }
+
+    /**
+     * Removes all proxies.
+     */
+    public void clear() {
+        tables.clear();
+        while (queue.poll() != null) {
+            // Drains the queue, the entries are gone already.
+        }
+    }
+
+    // Removes the entries of collected proxies, unless a new proxy has been added for the row in the meantime.
+    private void expungeStaleEntries() {
+        ProxyReference reference;
+        while ((reference = (ProxyReference) queue.poll()) != null) {
+            Map<Long, ProxyReference> rows = tables.get(reference.tablePtr);
+            if (rows != null && rows.get(reference.rowIndex) == reference) {
+                rows.remove(reference.rowIndex);
+                if (rows.isEmpty()) {
+                    tables.remove(reference.tablePtr);
+                }
+            }
+        }
+    }
+
+    private static final class ProxyReference extends WeakReference<RealmObjectProxy> {
+        private final long tablePtr;
+        private final long rowIndex;
+
+        ProxyReference(RealmObjectProxy proxy, ReferenceQueue<RealmObjectProxy> queue, long tablePtr, long rowIndex) {
+            super(proxy, queue);
+            this.tablePtr = tablePtr;
+            this.rowIndex = rowIndex;
+        }
+    }
+}
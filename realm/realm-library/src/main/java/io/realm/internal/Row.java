@@ -16,6 +16,7 @@
 
 package io.realm.internal;
 
+import java.nio.ByteBuffer;
 import java.util.Date;
 
 import io.realm.RealmFieldType;
@@ -67,8 +68,46 @@ public interface Row {
 
     String getString(long columnIndex);
 
+    /**
+     * Returns the value of a String column through the given cache, so repeated values return the same instance.
+     *
+     * @param columnIndex 0 based index value of the String column.
+     * @param cache the cache of the column.
+     * @return the value of the column.
+     */
+    String getInternedString(long columnIndex, StringInternCache cache);
+
     byte[] getBinaryByteArray(long columnIndex);
 
+    /**
+     * Returns a read-only direct {@link ByteBuffer} over the binary data without copying it. The buffer is only valid
+     * until the Realm is refreshed, written to or closed.
+     *
+     * @param columnIndex 0 based index value of the binary column.
+     * @return the buffer or {@code null} if the value is {@code null}.
+     */
+    ByteBuffer getBinaryByteBuffer(long columnIndex);
+
+    /**
+     * Returns the size of the binary data in bytes.
+     *
+     * @param columnIndex 0 based index value of the binary column.
+     * @return the size of the data or {@code -1} if the value is {@code null}.
+     */
+    long getBinarySize(long columnIndex);
+
+    /**
+     * Copies a range of the binary data into the given array.
+     *
+     * @param columnIndex 0 based index value of the binary column.
+     * @param position the position in the binary data to start reading from.
+     * @param buffer the array to copy the data to.
+     * @param offset the offset in {@code buffer} to start writing to.
+     * @param length the maximum number of bytes to copy.
+     * @return the number of bytes copied or {@code -1} if {@code position} is at the end of the data.
+     */
+    int readBinary(long columnIndex, long position, byte[] buffer, int offset, int length);
+
     long getLink(long columnIndex);
 
     boolean isNullLink(long columnIndex);
@@ -89,6 +128,15 @@ public interface Row {
 
     void setBinaryByteArray(long columnIndex, byte[] data);
 
+    /**
+     * Sets the binary value from the remaining bytes of a direct {@link ByteBuffer} without copying them to the Java
+     * heap.
+     *
+     * @param columnIndex 0 based index value of the binary column.
+     * @param data a direct buffer or {@code null}.
+     */
+    void setBinaryByteBuffer(long columnIndex, ByteBuffer data);
+
     void setLink(long columnIndex, long value);
 
     void nullifyLink(long columnIndex);
@@ -176,11 +224,31 @@ public interface Row {
             throw new IllegalStateException(UNLOADED_ROW_MESSAGE);
         }
 
+        @Override
+        public String getInternedString(long columnIndex, StringInternCache cache) {
+            throw new IllegalStateException(UNLOADED_ROW_MESSAGE);
+        }
+
         @Override
         public byte[] getBinaryByteArray(long columnIndex) {
             throw new IllegalStateException(UNLOADED_ROW_MESSAGE);
         }
 
+        @Override
+        public ByteBuffer getBinaryByteBuffer(long columnIndex) {
+            throw new IllegalStateException(UNLOADED_ROW_MESSAGE);
+        }
+
+        @Override
+        public long getBinarySize(long columnIndex) {
+            throw new IllegalStateException(UNLOADED_ROW_MESSAGE);
+        }
+
+        @Override
+        public int readBinary(long columnIndex, long position, byte[] buffer, int offset, int length) {
+            throw new IllegalStateException(UNLOADED_ROW_MESSAGE);
+        }
+
         @Override
         public long getLink(long columnIndex) {
             throw new IllegalStateException(UNLOADED_ROW_MESSAGE);
@@ -241,6 +309,11 @@ public interface Row {
             throw new IllegalStateException(UNLOADED_ROW_MESSAGE);
         }
 
+        @Override
+        public void setBinaryByteBuffer(long columnIndex, ByteBuffer data) {
+            throw new IllegalStateException(UNLOADED_ROW_MESSAGE);
+        }
+
         @Override
         public void setLink(long columnIndex, long value) {
             throw new IllegalStateException(UNLOADED_ROW_MESSAGE);
@@ -163,14 +163,19 @@ public final class SharedRealm implements Closeable {
 
     private long nativePtr;
     private RealmConfiguration configuration;
+    private final boolean syncRealm;
     final Context context;
     private long lastSchemaVersion;
     private final SchemaVersionListener schemaChangeListener;
+    // Increased every time the Realm moves to another version or its schema is updated. Java side caches of the
+    // schema, e.g. the column metadata used by dynamic objects, are only valid as long as this doesn't change.
+    private long versionCounter = 0;
 
-    private SharedRealm(long nativePtr, RealmConfiguration configuration, RealmNotifier notifier,
+    private SharedRealm(long nativePtr, RealmConfiguration configuration, boolean syncRealm, RealmNotifier notifier,
                         SchemaVersionListener schemaVersionListener) {
         this.nativePtr = nativePtr;
         this.configuration = configuration;
+        this.syncRealm = syncRealm;
         this.realmNotifier = notifier;
         this.schemaChangeListener = schemaVersionListener;
         context = new Context();
@@ -204,6 +209,7 @@ public final class SharedRealm implements Closeable {
             return new SharedRealm(
                     nativeGetSharedRealm(nativeConfigPtr, realmNotifier),
                     config,
+                    rosServerUrl != null,
                     realmNotifier,
                     schemaVersionListener);
         } finally {
@@ -217,15 +223,25 @@ public final class SharedRealm implements Closeable {
 
     public void beginTransaction() {
         nativeBeginTransaction(nativePtr);
+        versionCounter++;
         invokeSchemaChangeListenerIfSchemaChanged();
     }
 
     public void commitTransaction() {
         nativeCommitTransaction(nativePtr);
+        versionCounter++;
     }
 
     public void cancelTransaction() {
         nativeCancelTransaction(nativePtr);
+        versionCounter++;
+    }
+
+    /**
+     * Returns a counter which changes whenever the Realm moves to another version or its schema is updated.
+     */
+    public long getVersionCounter() {
+        return versionCounter;
     }
 
     public boolean isInTransaction() {
@@ -273,12 +289,23 @@ public final class SharedRealm implements Closeable {
         return configuration.getPath();
     }
 
+    /**
+     * Checks if the Realm is synchronized with the Realm Object Server. Changes downloaded from the server don't go
+     * through the Java commit path, so indexes which are updated on commit can't be used by such Realms.
+     *
+     * @return {@code true} if the Realm is synchronized, {@code false} otherwise.
+     */
+    public boolean isSyncRealm() {
+        return syncRealm;
+    }
+
     public boolean isEmpty() {
         return nativeIsEmpty(nativePtr);
     }
 
     public void refresh() {
         nativeRefresh(nativePtr);
+        versionCounter++;
         invokeSchemaChangeListenerIfSchemaChanged();
     }
 
@@ -288,6 +315,21 @@ public final class SharedRealm implements Closeable {
         // or transact log observer involved. Before we use notification & fine grained notification from OS, it is not
         // a problem.
         nativeRefresh(nativePtr, version.version, version.index);
+        versionCounter++;
+        invokeSchemaChangeListenerIfSchemaChanged();
+    }
+
+    /**
+     * Ends the current read transaction and starts a new one at the given version. Unlike
+     * {@link #refresh(VersionID)}, this can also move to an older version as long as that version is still being held
+     * by another reader.
+     *
+     * @param version the version to read at.
+     * @throws BadVersionException if the version is no longer available.
+     */
+    public void beginReadAt(SharedRealm.VersionID version) throws BadVersionException {
+        nativeBeginReadAt(nativePtr, version.version, version.index);
+        versionCounter++;
         invokeSchemaChangeListenerIfSchemaChanged();
     }
 
@@ -323,8 +365,18 @@ public final class SharedRealm implements Closeable {
         return nativeCompact(nativePtr);
     }
 
+    /**
+     * Returns the size of the Realm file and how much of it is used by data, as of the latest commit.
+     *
+     * @return an array containing the total number of bytes and the number of used bytes.
+     */
+    public long[] getFileSpace() {
+        return nativeGetFileSpace(nativePtr);
+    }
+
     public void updateSchema(RealmSchema schema, long version) {
         nativeUpdateSchema(nativePtr, schema.getNativePtr(), version);
+        versionCounter++;
     }
 
     @Override
@@ -387,6 +439,8 @@ public final class SharedRealm implements Closeable {
     private static native boolean nativeIsEmpty(long nativeSharedRealmPtr);
     private static native void nativeRefresh(long nativeSharedRealmPtr);
     private static native void nativeRefresh(long nativeSharedRealmPtr, long version, long index);
+    private static native void nativeBeginReadAt(long nativeSharedRealmPtr, long version, long index)
+            throws BadVersionException;
     private static native long[]  nativeGetVersionID(long nativeSharedRealmPtr);
     private static native long nativeGetTable(long nativeSharedRealmPtr, String tableName);
     private static native String nativeGetTableName(long nativeSharedRealmPtr, int index);
@@ -398,5 +452,6 @@ public final class SharedRealm implements Closeable {
     private static native boolean nativeWaitForChange(long nativeSharedRealmPtr);
     private static native void nativeStopWaitForChange(long nativeSharedRealmPtr);
     private static native boolean nativeCompact(long nativeSharedRealmPtr);
+    private static native long[] nativeGetFileSpace(long nativeSharedRealmPtr);
     private static native void nativeUpdateSchema(long nativePtr, long nativeSchemaPtr, long version);
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+/**
+ * A bounded cache of decoded values of a String column, used for fields annotated with
+ * {@link io.realm.annotations.Interned}. Reading a cached value returns the same {@link String} instance without
+ * decoding it from UTF-8 again. The least recently used values are evicted first.
+ * <p>
+ * The cache is thread safe, so it can be shared by all Realm instances of a file.
+ */
+public final class StringInternCache {
+
+    private final int maxSize;
+    private long nativePtr;
+
+    public StringInternCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The size of the cache must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.nativePtr = nativeCreate(maxSize);
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    long getNativePtr() {
+        return nativePtr;
+    }
+
+    @Override
+    protected void finalize() throws Throwable {
+        synchronized (this) {
+            if (nativePtr != 0) {
+                nativeClose(nativePtr);
+                nativePtr = 0;
+            }
+        }
+        super.finalize();
+    }
+
+    private static native long nativeCreate(int maxSize);
+    private static native void nativeClose(long nativeCachePtr);
+}
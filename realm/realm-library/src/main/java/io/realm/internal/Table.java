@@ -83,6 +83,10 @@ public class Table implements TableOrView, TableSchema {
         return nativePtr;
     }
 
+    SharedRealm getSharedRealm() {
+        return sharedRealm;
+    }
+
     @Override
     protected void finalize() throws Throwable {
         synchronized (context) {
@@ -843,6 +847,167 @@ public class Table implements TableOrView, TableSchema {
         nativeSetNull(nativePtr, columnIndex, rowIndex, isDefault);
     }
 
+    //
+    // Bulk column access
+    //
+
+    /**
+     * Reads the values of an integer column for {@code count} consecutive rows starting at {@code startRow}. For null
+     * values {@code 0} is read and the corresponding entry of {@code nulls} is set to {@code true}.
+     *
+     * @param columnIndex 0 based index of an integer column.
+     * @param startRow 0 based index of the first row to read.
+     * @param values the array to read the values into.
+     * @param nulls the array to read the null flags into.
+     * @param count the number of rows to read.
+     */
+    public void getLongValues(long columnIndex, long startRow, long[] values, boolean[] nulls, int count) {
+        checkBulkRange(startRow, count, values.length, nulls.length);
+        nativeGetLongValues(nativePtr, columnIndex, startRow, values, nulls, count);
+    }
+
+    /**
+     * Writes the values of an integer column for {@code count} consecutive rows starting at {@code startRow}. Rows
+     * for which the entry of {@code nulls} is {@code true} are left unchanged.
+     *
+     * @throws IllegalArgumentException if the column is the primary key.
+     * @see #getLongValues(long, long, long[], boolean[], int)
+     */
+    public void setLongValues(long columnIndex, long startRow, long[] values, boolean[] nulls, int count) {
+        checkImmutable();
+        checkNotPrimaryKeyForBulkWrite(columnIndex);
+        checkBulkRange(startRow, count, values.length, nulls.length);
+        nativeSetLongValues(nativePtr, columnIndex, startRow, values, nulls, count);
+    }
+
+    /**
+     * Reads the values of a float or double column for {@code count} consecutive rows starting at {@code startRow}.
+     *
+     * @see #getLongValues(long, long, long[], boolean[], int)
+     */
+    public void getDoubleValues(long columnIndex, long startRow, double[] values, boolean[] nulls, int count) {
+        checkBulkRange(startRow, count, values.length, nulls.length);
+        nativeGetDoubleValues(nativePtr, columnIndex, startRow, values, nulls, count);
+    }
+
+    /**
+     * Writes the values of a float or double column for {@code count} consecutive rows starting at
+     * {@code startRow}. Values written to a float column are narrowed to {@code float}.
+     *
+     * @see #setLongValues(long, long, long[], boolean[], int)
+     */
+    public void setDoubleValues(long columnIndex, long startRow, double[] values, boolean[] nulls, int count) {
+        checkImmutable();
+        checkBulkRange(startRow, count, values.length, nulls.length);
+        nativeSetDoubleValues(nativePtr, columnIndex, startRow, values, nulls, count);
+    }
+
+    /**
+     * Sets the given value in all rows of a column.
+     *
+     * @param columnIndex 0 based index of the column.
+     * @param value the value to set. Must be compatible with the column type or {@code null} for nullable columns.
+     * @throws IllegalArgumentException if the value doesn't match the column type or the column is the primary key.
+     */
+    public void fillColumn(long columnIndex, Object value) {
+        checkImmutable();
+        checkNotPrimaryKeyForBulkWrite(columnIndex);
+        RealmFieldType columnType = getColumnType(columnIndex);
+        if (value == null) {
+            if (!isColumnNullable(columnIndex)) {
+                throw new IllegalArgumentException("Field '" + getColumnName(columnIndex) + "' is not nullable.");
+            }
+            nativeFillNull(nativePtr, columnIndex);
+            return;
+        }
+
+        switch (columnType) {
+            case INTEGER:
+                if (value instanceof Long || value instanceof Integer || value instanceof Short ||
+                        value instanceof Byte) {
+                    nativeFillLong(nativePtr, columnIndex, ((Number) value).longValue());
+                    return;
+                }
+                break;
+            case BOOLEAN:
+                if (value instanceof Boolean) {
+                    nativeFillBoolean(nativePtr, columnIndex, (Boolean) value);
+                    return;
+                }
+                break;
+            case FLOAT:
+                if (value instanceof Float) {
+                    nativeFillFloat(nativePtr, columnIndex, (Float) value);
+                    return;
+                }
+                break;
+            case DOUBLE:
+                if (value instanceof Double || value instanceof Float) {
+                    nativeFillDouble(nativePtr, columnIndex, ((Number) value).doubleValue());
+                    return;
+                }
+                break;
+            case STRING:
+                if (value instanceof String) {
+                    nativeFillString(nativePtr, columnIndex, (String) value);
+                    return;
+                }
+                break;
+            case DATE:
+                if (value instanceof Date) {
+                    nativeFillTimestamp(nativePtr, columnIndex, ((Date) value).getTime());
+                    return;
+                }
+                break;
+            case BINARY:
+                if (value instanceof byte[]) {
+                    nativeFillByteArray(nativePtr, columnIndex, (byte[]) value);
+                    return;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Fields of type " + columnType + " cannot be filled.");
+        }
+        throw new IllegalArgumentException("Expected a value compatible with column type " + columnType +
+                ", but got " + value.getClass() + ".");
+    }
+
+    /**
+     * Copies the values of one column to another column of the same type in all rows.
+     *
+     * @param sourceColumnIndex 0 based index of the column to copy from.
+     * @param targetColumnIndex 0 based index of the column to copy to.
+     * @throws IllegalArgumentException if the column types differ, the target column is the primary key or the source
+     * column contains {@code null} values which the target column doesn't allow.
+     */
+    public void copyColumn(long sourceColumnIndex, long targetColumnIndex) {
+        checkImmutable();
+        checkNotPrimaryKeyForBulkWrite(targetColumnIndex);
+        if (sourceColumnIndex == targetColumnIndex) {
+            return;
+        }
+        nativeCopyColumn(nativePtr, sourceColumnIndex, targetColumnIndex);
+    }
+
+    // Bulk writes bypass the per-row uniqueness checks, so the primary key column must not be written this way.
+    private void checkNotPrimaryKeyForBulkWrite(long columnIndex) {
+        if (isPrimaryKey(columnIndex)) {
+            throw new IllegalArgumentException("Field '" + getColumnName(columnIndex) +
+                    "' is the primary key and cannot be written in bulk.");
+        }
+    }
+
+    // The native bulk methods don't validate row indices in release builds.
+    private void checkBulkRange(long startRow, int count, int valuesLength, int nullsLength) {
+        if (startRow < 0 || count < 0 || startRow + count > size()) {
+            throw new IndexOutOfBoundsException(String.format("Rows [%d, %d) are out of range. Table size: %d.",
+                    startRow, startRow + count, size()));
+        }
+        if (count > valuesLength || count > nullsLength) {
+            throw new IllegalArgumentException("The arrays must hold at least " + count + " values.");
+        }
+    }
+
     public void addSearchIndex(long columnIndex) {
         checkImmutable();
         nativeAddSearchIndex(nativePtr, columnIndex);
@@ -1230,6 +1395,26 @@ public class Table implements TableOrView, TableSchema {
         }
     }
 
+    /**
+     * Returns a view of the rows in {@code srcTable} which link to the given row through the given column.
+     *
+     * @param rowIndex the index of the row the links point to.
+     * @param srcTable the table containing the links.
+     * @param srcColumnIndex the index of the link or link list column in {@code srcTable}.
+     * @return a view of {@code srcTable} which is updated when the links change.
+     */
+    public TableView getBacklinkView(long rowIndex, Table srcTable, long srcColumnIndex) {
+        // Execute the disposal of abandoned realm objects each time a new realm object is created
+        this.context.executeDelayedDisposal();
+        long nativeViewPtr = nativeGetBacklinkView(nativePtr, rowIndex, srcTable.nativePtr, srcColumnIndex);
+        try {
+            return new TableView(this.context, srcTable, nativeViewPtr);
+        } catch (RuntimeException e) {
+            TableView.nativeClose(nativeViewPtr);
+            throw e;
+        }
+    }
+
     /**
      * Returns the table name as it is in the associated group.
      *
@@ -1370,6 +1555,19 @@ public class Table implements TableOrView, TableSchema {
     public static native void nativeSetNullUnique(long nativeTablePtr, long columnIndex, long rowIndex);
     public static native void nativeSetByteArray(long nativePtr, long columnIndex, long rowIndex, byte[] data, boolean isDefault);
     public static native void nativeSetLink(long nativeTablePtr, long columnIndex, long rowIndex, long value, boolean isDefault);
+    private static native void nativeGetLongValues(long nativeTablePtr, long columnIndex, long startRow, long[] values, boolean[] nulls, int count);
+    private static native void nativeSetLongValues(long nativeTablePtr, long columnIndex, long startRow, long[] values, boolean[] nulls, int count);
+    private static native void nativeGetDoubleValues(long nativeTablePtr, long columnIndex, long startRow, double[] values, boolean[] nulls, int count);
+    private static native void nativeSetDoubleValues(long nativeTablePtr, long columnIndex, long startRow, double[] values, boolean[] nulls, int count);
+    private static native void nativeFillLong(long nativeTablePtr, long columnIndex, long value);
+    private static native void nativeFillBoolean(long nativeTablePtr, long columnIndex, boolean value);
+    private static native void nativeFillFloat(long nativeTablePtr, long columnIndex, float value);
+    private static native void nativeFillDouble(long nativeTablePtr, long columnIndex, double value);
+    private static native void nativeFillString(long nativeTablePtr, long columnIndex, String value);
+    private static native void nativeFillTimestamp(long nativeTablePtr, long columnIndex, long dateTimeValue);
+    private static native void nativeFillByteArray(long nativeTablePtr, long columnIndex, byte[] data);
+    private static native void nativeFillNull(long nativeTablePtr, long columnIndex);
+    private static native void nativeCopyColumn(long nativeTablePtr, long sourceColumnIndex, long targetColumnIndex);
     private native long nativeSetPrimaryKey(long privateKeyTableNativePtr, long nativePtr, String columnName);
     private static native boolean nativeMigratePrimaryKeyTableIfNeeded(long groupNativePtr, long primaryKeyTableNativePtr);
     private static native boolean nativePrimaryKeyTableNeedsMigration(long primaryKeyTableNativePtr);
@@ -1415,6 +1613,7 @@ public class Table implements TableOrView, TableSchema {
     private native long nativeUpperBoundInt(long nativePtr, long columnIndex, long value);
     private native void nativePivot(long nativeTablePtr, long stringCol, long intCol, int pivotType, long resultPtr);
     private native long nativeGetDistinctView(long nativePtr, long columnIndex);
+    private native long nativeGetBacklinkView(long nativePtr, long rowIndex, long nativeSrcTablePtr, long srcColumnIndex);
     private native String nativeGetName(long nativeTablePtr);
     private native String nativeToJson(long nativeTablePtr);
     private native boolean nativeHasSameSchema(long thisTable, long otherTable);
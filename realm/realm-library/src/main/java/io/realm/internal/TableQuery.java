@@ -17,6 +17,7 @@
 package io.realm.internal;
 
 import java.io.Closeable;
+import java.util.Arrays;
 import java.util.Date;
 
 import io.realm.Case;
@@ -39,6 +40,26 @@ public class TableQuery implements Closeable {
     // the first action to validate the syntax of the query.
     private boolean queryValidated = true;
 
+    // Aggregates of the objects in a list. In the column indices of a condition, a marker follows the index of the list
+    // column: "list.@count" ends with the count marker, the others are followed by the column of the listed objects,
+    // e.g. "list.@sum.price". The markers are far below the complemented column indices of linking objects fields.
+    public static final long LIST_AGGREGATE_COUNT = Long.MIN_VALUE;
+    public static final long LIST_AGGREGATE_SUM = Long.MIN_VALUE + 1;
+    public static final long LIST_AGGREGATE_MIN = Long.MIN_VALUE + 2;
+    public static final long LIST_AGGREGATE_MAX = Long.MIN_VALUE + 3;
+    public static final long LIST_AGGREGATE_AVERAGE = Long.MIN_VALUE + 4;
+
+    // Quantifiers of listMatches(), must match the native code.
+    private static final int LIST_MATCH_ANY = 0;
+    private static final int LIST_MATCH_ALL = 1;
+    private static final int LIST_MATCH_NONE = 2;
+
+    // Ranking of async queries, see setHandoverRanking().
+    private Table handoverRankPostingsTable;
+    private String handoverRankTerms;
+    private long handoverRankOffset;
+    private long handoverRankLimit;
+
     // TODO: Can we protect this?
     public TableQuery(Context context, Table table, long nativeQueryPtr) {
         if (DEBUG) {
@@ -349,7 +370,13 @@ public class TableQuery implements Closeable {
 
     // Equal
     public TableQuery equalTo(long[] columnIndexes, String value, Case caseSensitive) {
-        nativeEqual(nativePtr, columnIndexes, value, caseSensitive.getValue());
+        Table keysTable = getCaseInsensitiveIndex(columnIndexes, value, caseSensitive);
+        if (keysTable != null) {
+            nativeCaseInsensitiveIndexLookup(table.getSharedRealm().getNativePtr(), nativePtr, columnIndexes[0],
+                    keysTable.nativePtr, value, false);
+        } else {
+            nativeEqual(nativePtr, columnIndexes, value, caseSensitive.getValue());
+        }
         queryValidated = false;
         return this;
     }
@@ -373,7 +400,13 @@ public class TableQuery implements Closeable {
     }
 
     public TableQuery beginsWith(long columnIndices[], String value, Case caseSensitive) {
-        nativeBeginsWith(nativePtr, columnIndices, value, caseSensitive.getValue());
+        Table keysTable = getCaseInsensitiveIndex(columnIndices, value, caseSensitive);
+        if (keysTable != null) {
+            nativeCaseInsensitiveIndexLookup(table.getSharedRealm().getNativePtr(), nativePtr, columnIndices[0],
+                    keysTable.nativePtr, value, true);
+        } else {
+            nativeBeginsWith(nativePtr, columnIndices, value, caseSensitive.getValue());
+        }
         queryValidated = false;
         return this;
     }
@@ -418,6 +451,38 @@ public class TableQuery implements Closeable {
         return not().isEmpty(columnIndices);
     }
 
+    // Conditions on the objects in a list.
+
+    /**
+     * Matches rows where at least one object in the list matches {@code subquery}. The list is given by the last of
+     * {@code columnIndices}, which may be preceded by the links leading to it.
+     */
+    public TableQuery anyMatch(long[] columnIndices, TableQuery subquery) {
+        return listMatches(columnIndices, subquery, LIST_MATCH_ANY);
+    }
+
+    /**
+     * Matches rows where all objects in the list match {@code subquery}, including rows with an empty list.
+     */
+    public TableQuery allMatch(long[] columnIndices, TableQuery subquery) {
+        return listMatches(columnIndices, subquery, LIST_MATCH_ALL);
+    }
+
+    /**
+     * Matches rows where no object in the list matches {@code subquery}, including rows with an empty list.
+     */
+    public TableQuery noneMatch(long[] columnIndices, TableQuery subquery) {
+        return listMatches(columnIndices, subquery, LIST_MATCH_NONE);
+    }
+
+    private TableQuery listMatches(long[] columnIndices, TableQuery subquery, int quantifier) {
+        // The conditions are copied, so they must be complete by now.
+        subquery.validateQuery();
+        nativeListMatches(nativePtr, columnIndices, subquery.nativePtr, quantifier);
+        queryValidated = false;
+        return this;
+    }
+
     // Searching methods.
 
     @Deprecated // Doesn't seem to be used
@@ -474,6 +539,90 @@ public class TableQuery implements Closeable {
         }
     }
 
+    /**
+     * Finds the matching rows from {@code offset} up to {@code offset + limit}, optionally sorted. Unsorted queries
+     * stop searching once enough rows have been found, and sorted queries only keep the rows up to the limit while
+     * searching. The limit is part of the query of the returned view, so it is applied again whenever the view is
+     * synced.
+     *
+     * @param offset the number of matching rows to skip.
+     * @param limit the maximum number of rows to return or {@link Table#INFINITE}.
+     * @param sortColumnIndices the columns to sort by. Can be empty.
+     * @param sortOrders the sort order for each column.
+     * @return the {@link TableView} with the rows found.
+     */
+    public TableView findAllLimited(long offset, long limit, long[] sortColumnIndices, Sort[] sortOrders) {
+        validateQuery();
+
+        // Execute the disposal of abandoned realm objects each time a new realm object is created
+        context.executeDelayedDisposal();
+        boolean[] ascendings = getNativeSortOrderValues(sortOrders);
+        long nativeViewPtr = nativeFindAllLimited(nativePtr, offset, limit, sortColumnIndices, ascendings);
+        try {
+            return new TableView(this.context, this.table, nativeViewPtr, this);
+        } catch (RuntimeException e) {
+            TableView.nativeClose(nativeViewPtr);
+            throw e;
+        }
+    }
+
+    /**
+     * Finds all matching rows and orders them by relevance for a full-text search, the most relevant first. Offset
+     * and limit are applied after ranking. The ranking is applied again whenever the returned view is synced.
+     *
+     * @param postingsTable the postings table of the full-text index, see
+     * {@link FullTextIndex#getPostingsTable(Table, long)}.
+     * @param terms the words to rank by.
+     * @param offset the number of ranked rows to skip.
+     * @param limit the maximum number of rows to return or {@link Table#INFINITE}.
+     * @return the {@link TableView} with the rows found.
+     */
+    public TableView findAllRanked(Table postingsTable, String terms, long offset, long limit) {
+        validateQuery();
+
+        // Execute the disposal of abandoned realm objects each time a new realm object is created
+        context.executeDelayedDisposal();
+        long nativeViewPtr = nativeFindAllRanked(nativePtr, postingsTable.nativePtr, terms, offset, limit);
+        try {
+            TableView view = new TableView(this.context, this.table, nativeViewPtr, this);
+            view.setRanking(postingsTable, terms, offset, limit);
+            return view;
+        } catch (RuntimeException e) {
+            TableView.nativeClose(nativeViewPtr);
+            throw e;
+        }
+    }
+
+    /**
+     * Finds all rows matching the query and sorts them, with the table partitioned across several native worker
+     * threads. Each worker opens a Realm of its own at the version the caller is reading, imports the query through a
+     * handover, and searches and sorts its partition. The caller waits for them and merges the sorted partitions into
+     * one {@link TableView}. The result is identical to {@link #findAll()} followed by sorting the view. Tables too
+     * small to benefit from it, tables which don't belong to a Realm and queries inside a write transaction, whose
+     * changes the workers can't see, are queried on the caller thread.
+     *
+     * @param workers the maximum number of worker threads.
+     * @param columnIndices the columns to sort by. Can be empty.
+     * @param sortOrders the sort order for each column.
+     * @return the sorted {@link TableView}.
+     */
+    public TableView findAllParallel(int workers, long[] columnIndices, Sort[] sortOrders) {
+        validateQuery();
+
+        // Execute the disposal of abandoned realm objects each time a new realm object is created
+        context.executeDelayedDisposal();
+        boolean[] ascendings = getNativeSortOrderValues(sortOrders);
+        SharedRealm sharedRealm = table.getSharedRealm();
+        long sharedRealmPtr = (sharedRealm != null && !sharedRealm.isInTransaction()) ? sharedRealm.getNativePtr() : 0;
+        long nativeViewPtr = nativeFindAllParallel(sharedRealmPtr, nativePtr, workers, columnIndices, ascendings);
+        try {
+            return new TableView(this.context, this.table, nativeViewPtr, this);
+        } catch (RuntimeException e) {
+            TableView.nativeClose(nativeViewPtr);
+            throw e;
+        }
+    }
+
     // handover find* methods
     // this will use a background SharedGroup to import the query (using the handover object)
     // run the query, and return the table view to the caller SharedGroup using the handover object.
@@ -494,11 +643,45 @@ public class TableQuery implements Closeable {
         return nativeFindAllMultiSortedWithHandover(sharedRealm.getNativePtr(), ptrQuery, 0, Table.INFINITE, Table.INFINITE, columnIndices, ascendings);
     }
 
+    public static long findAllLimitedWithHandover(SharedRealm sharedRealm, long ptrQuery, long offset, long limit,
+                                                  long[] sortColumnIndices, Sort[] sortOrders)
+            throws BadVersionException {
+        boolean[] ascendings = getNativeSortOrderValues(sortOrders);
+        return nativeFindAllLimitedWithHandover(sharedRealm.getNativePtr(), ptrQuery, offset, limit,
+                sortColumnIndices, ascendings);
+    }
+
+    /**
+     * Finds all matching rows on a worker thread and ranks them for a full-text search before they are handed over,
+     * see {@link #findAllRanked(Table, String, long, long)}. The postings table is looked up by name, as the table of
+     * the caller thread can't be used by the worker.
+     */
+    public static long findAllRankedWithHandover(SharedRealm sharedRealm, long ptrQuery, String postingsTableName,
+                                                 String terms, long offset, long limit) throws BadVersionException {
+        return nativeFindAllRankedWithHandover(sharedRealm.getNativePtr(), ptrQuery, postingsTableName, terms, offset,
+                limit);
+    }
+
+    /**
+     * Sets the full-text search which results of async queries are ranked for. The worker thread ranks the views
+     * before they are handed over, views imported by {@link #importHandoverTableView(long, SharedRealm)} only rank
+     * their rows again when they are synced.
+     *
+     * @see #findAllRanked(Table, String, long, long)
+     */
+    public void setHandoverRanking(Table postingsTable, String terms, long offset, long limit) {
+        this.handoverRankPostingsTable = postingsTable;
+        this.handoverRankTerms = terms;
+        this.handoverRankOffset = offset;
+        this.handoverRankLimit = limit;
+    }
+
     public static long[] batchUpdateQueries(SharedRealm sharedRealm, long[] handoverQueries, long[][] parameters,
-                                            long[][] queriesParameters, boolean[][] multiSortOrder)
+                                            long[][] queriesParameters, boolean[][] multiSortOrder,
+                                            String[][] rankParameters)
             throws BadVersionException {
         return nativeBatchUpdateQueries(sharedRealm.getNativePtr(), handoverQueries, parameters, queriesParameters,
-                multiSortOrder);
+                multiSortOrder, rankParameters);
     }
     /**
      * Imports a TableView from a worker thread to the caller thread.
@@ -511,7 +694,11 @@ public class TableQuery implements Closeable {
     public TableView importHandoverTableView(long handoverPtr, SharedRealm sharedRealm) throws BadVersionException {
         long nativeTvPtr = nativeImportHandoverTableViewIntoSharedGroup(handoverPtr, sharedRealm.getNativePtr());
         try {
-            return new TableView(this.context, this.table, nativeTvPtr);
+            TableView view = new TableView(this.context, this.table, nativeTvPtr);
+            if (handoverRankPostingsTable != null) {
+                view.setRanking(handoverRankPostingsTable, handoverRankTerms, handoverRankOffset, handoverRankLimit);
+            }
+            return view;
         } catch (RuntimeException e) {
             if (nativeTvPtr != 0) {
                 TableView.nativeClose(nativeTvPtr);
@@ -695,6 +882,68 @@ public class TableQuery implements Closeable {
         return null;
     }
 
+    // In. The values are put into a hash set natively, so each row is only looked up once no matter how many values
+    // are given. A null element matches null values.
+
+    public TableQuery in(long columnIndex, Long[] values) {
+        long[] longValues = new long[values.length];
+        int count = 0;
+        boolean matchNull = false;
+        for (Long value : values) {
+            if (value == null) {
+                matchNull = true;
+            } else {
+                longValues[count++] = value;
+            }
+        }
+        nativeInLong(nativePtr, columnIndex, Arrays.copyOf(longValues, count), matchNull);
+        queryValidated = false;
+        return this;
+    }
+
+    public TableQuery in(long columnIndex, Date[] values) {
+        long[] timestamps = new long[values.length];
+        int count = 0;
+        boolean matchNull = false;
+        for (Date value : values) {
+            if (value == null) {
+                matchNull = true;
+            } else {
+                timestamps[count++] = value.getTime();
+            }
+        }
+        nativeInTimestamp(nativePtr, columnIndex, Arrays.copyOf(timestamps, count), matchNull);
+        queryValidated = false;
+        return this;
+    }
+
+    public TableQuery in(long columnIndex, String[] values) {
+        nativeInString(nativePtr, columnIndex, values);
+        queryValidated = false;
+        return this;
+    }
+
+    // Matches. Rows are looked up in the postings of the full-text index instead of scanning the column.
+
+    public TableQuery matches(long columnIndex, Table postingsTable, String terms) {
+        nativeMatches(nativePtr, columnIndex, postingsTable.nativePtr, terms);
+        queryValidated = false;
+        return this;
+    }
+
+    // Case-insensitive predicates on a column with a case-insensitive index look up the folded value in the keys
+    // table instead of scanning the column. The index only includes the changes of a write transaction once it is
+    // committed, so whenever the query runs in a write transaction the changed objects are checked by their values.
+    private Table getCaseInsensitiveIndex(long[] columnIndices, String value, Case caseSensitive) {
+        if (caseSensitive != Case.INSENSITIVE || columnIndices.length != 1 || value == null) {
+            return null;
+        }
+        if (table.getSharedRealm() == null) {
+            return null;
+        }
+        return CaseInsensitiveIndex.getKeysTable(table, columnIndices[0]);
+    }
+
     // isNull and isNotNull
     public TableQuery isNull(long columnIndices[]) {
         nativeIsNull(nativePtr, columnIndices);
@@ -772,6 +1021,14 @@ public class TableQuery implements Closeable {
     private native void nativeBetween(long nativeQueryPtr, long columnIndex[], double value1, double value2);
     private native void nativeEqual(long nativeQueryPtr, long columnIndex[], boolean value);
     private native void nativeEqualTimestamp(long nativeQueryPtr, long columnIndex[], long value);
+    private native void nativeInLong(long nativeQueryPtr, long columnIndex, long[] values, boolean matchNull);
+    private native void nativeInTimestamp(long nativeQueryPtr, long columnIndex, long[] values, boolean matchNull);
+    private native void nativeInString(long nativeQueryPtr, long columnIndex, String[] values);
+    private native void nativeMatches(long nativeQueryPtr, long columnIndex, long nativePostingsTablePtr,
+                                      String terms);
+    private native void nativeCaseInsensitiveIndexLookup(long nativeSharedRealmPtr, long nativeQueryPtr,
+                                                         long columnIndex, long nativeKeysTablePtr, String value,
+                                                         boolean prefix);
     private native void nativeNotEqualTimestamp(long nativeQueryPtr, long columnIndex[], long value);
     private native void nativeGreaterTimestamp(long nativeQueryPtr, long columnIndex[], long value);
     private native void nativeGreaterEqualTimestamp(long nativeQueryPtr, long columnIndex[], long value);
@@ -786,8 +1043,11 @@ public class TableQuery implements Closeable {
     private native void nativeEndsWith(long nativeQueryPtr, long columnIndices[], String value, boolean caseSensitive);
     private native void nativeContains(long nativeQueryPtr, long columnIndices[], String value, boolean caseSensitive);
     private native void nativeIsEmpty(long nativePtr, long[] columnIndices);
+    private native void nativeListMatches(long nativeQueryPtr, long[] columnIndices, long nativeSubqueryPtr, int quantifier);
     private native long nativeFind(long nativeQueryPtr, long fromTableRow);
     private native long nativeFindAll(long nativeQueryPtr, long start, long end, long limit);
+    private native long nativeFindAllParallel(long sharedRealmPtr, long nativeQueryPtr, int workers,
+                                              long[] columnIndices, boolean[] ascendings);
     private native long nativeSumInt(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
     private native Long nativeMaximumInt(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
     private native Long nativeMinimumInt(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
@@ -809,11 +1069,18 @@ public class TableQuery implements Closeable {
     private native long nativeImportHandoverTableViewIntoSharedGroup(long handoverTableViewPtr, long callerSharedRealmPtr) throws BadVersionException;
     private native long nativeHandoverQuery(long callerSharedRealmPtr, long nativeQueryPtr);
     private static native long nativeFindAllSortedWithHandover(long bgSharedRealmPtr, long nativeQueryPtr, long start, long end, long limit, long columnIndex, boolean ascending) throws BadVersionException;
+    private native long nativeFindAllLimited(long nativeQueryPtr, long offset, long limit, long[] sortColumnIndices, boolean[] ascendings);
+    private native long nativeFindAllRanked(long nativeQueryPtr, long nativePostingsTablePtr, String terms,
+                                            long offset, long limit);
+    private static native long nativeFindAllRankedWithHandover(long bgSharedRealmPtr, long nativeQueryPtr,
+                                                               String postingsTableName, String terms, long offset,
+                                                               long limit) throws BadVersionException;
+    private static native long nativeFindAllLimitedWithHandover(long bgSharedRealmPtr, long nativeQueryPtr, long offset, long limit, long[] sortColumnIndices, boolean[] ascendings) throws BadVersionException;
     private static native long nativeFindAllWithHandover(long bgSharedRealmPtr, long nativeQueryPtr, long start, long end, long limit) throws BadVersionException;
     private  static native long nativeGetDistinctViewWithHandover(long bgSharedRealmPtr, long nativeQueryPtr, long columnIndex) throws BadVersionException;
     private static native long nativeFindWithHandover(long bgSharedRealmPtr, long nativeQueryPtr, long fromTableRow);
     private static native long nativeFindAllMultiSortedWithHandover(long bgSharedRealmPtr, long nativeQueryPtr, long start, long end, long limit, long[] columnIndices, boolean[] ascending) throws BadVersionException;
     private static native long nativeImportHandoverRowIntoSharedGroup(long handoverRowPtr, long callerSharedRealmPtr);
     public static native void nativeCloseQueryHandover(long nativePtr);
-    private static native long[] nativeBatchUpdateQueries(long bgSharedRealmPtr, long[] handoverQueries, long[][] parameters, long[][] queriesParameters, boolean[][] multiSortOrder) throws BadVersionException;
+    private static native long[] nativeBatchUpdateQueries(long bgSharedRealmPtr, long[] handoverQueries, long[][] parameters, long[][] queriesParameters, boolean[][] multiSortOrder, String[][] rankParameters) throws BadVersionException;
 }
@@ -36,6 +36,12 @@ public class TableView implements TableOrView {
     private final TableQuery query; // the query which created this TableView
     private long version; // Last seen version number. Call refresh() to update this.
 
+    // Set if the rows are ordered by relevance for a full-text search, see TableQuery#findAllRanked().
+    private Table rankPostingsTable;
+    private String rankTerms;
+    private long rankOffset;
+    private long rankLimit;
+
     /**
      * Creates a TableView. This constructor is used if the TableView is created from a table.
      *
@@ -111,6 +117,16 @@ public class TableView implements TableOrView {
         return nativeGetSourceRowIndex(nativePtr, rowIndex);
     }
 
+    /**
+     * Returns the indices of all rows in the source table, in the order of this view. Detached rows are reported as
+     * {@link #NO_MATCH}.
+     *
+     * @return the translated row numbers in the source table.
+     */
+    public long[] getSourceRowIndices() {
+        return nativeGetSourceRowIndices(nativePtr);
+    }
+
     /**
      * Returns the number of columns in the table.
      *
@@ -661,8 +677,20 @@ public class TableView implements TableOrView {
         for (int i = 0; i < columnIndices.size(); i++) {
             indices[i] = columnIndices.get(i);
         }
+        sort(indices, sortOrders);
+    }
+
+    /**
+     * Sorts the view by one or more sort keys. A key can be a field of a linked object, which is given by the link
+     * column indices followed by the column index in the linked table, like in the column indices of a query. Each key
+     * ends at the first column which isn't a link.
+     *
+     * @param columnIndices the column indices of all sort keys.
+     * @param sortOrders the sort order for each key.
+     */
+    public void sort(long[] columnIndices, Sort[] sortOrders) {
         boolean nativeSortOrder[] = TableQuery.getNativeSortOrderValues(sortOrders);
-        nativeSortMulti(nativePtr, indices, nativeSortOrder);
+        nativeSortMulti(nativePtr, columnIndices, nativeSortOrder);
     }
 
     @Override
@@ -783,13 +811,36 @@ public class TableView implements TableOrView {
 
     @Override
     public long syncIfNeeded() {
-        version = nativeSyncIfNeeded(nativePtr);
+        if (rankPostingsTable != null) {
+            version = nativeSyncIfNeededRanked(nativePtr, rankPostingsTable.nativePtr, rankTerms, rankOffset,
+                    rankLimit);
+        } else {
+            version = nativeSyncIfNeeded(nativePtr);
+        }
         return version;
     }
 
+    /**
+     * Remembers the full-text search the rows of this view are ranked for, so the ranking can be applied again when
+     * the view is synced. Offset and limit are applied after ranking. The ranking itself must already have been applied
+     * natively.
+     *
+     * @param postingsTable the postings table of the full-text index.
+     * @param terms the words searched for.
+     * @param offset the number of ranked rows to skip.
+     * @param limit the maximum number of rows kept or {@link Table#INFINITE}.
+     */
+    void setRanking(Table postingsTable, String terms, long offset, long limit) {
+        this.rankPostingsTable = postingsTable;
+        this.rankTerms = terms;
+        this.rankOffset = offset;
+        this.rankLimit = limit;
+    }
+
     static native void nativeClose(long nativeViewPtr);
     private native long nativeSize(long nativeViewPtr);
     private native long nativeGetSourceRowIndex(long nativeViewPtr, long rowIndex);
+    private native long[] nativeGetSourceRowIndices(long nativeViewPtr);
     private native long nativeGetColumnCount(long nativeViewPtr);
     private native String nativeGetColumnName(long nativeViewPtr, long columnIndex);
     private native long nativeGetColumnIndex(long nativeViewPtr, String columnName);
@@ -850,6 +901,8 @@ public class TableView implements TableOrView {
     private native void nativePivot(long nativeTablePtr, long stringCol, long intCol, int pivotType, long result);
     private native void nativeDistinct(long nativeViewPtr, long columnIndex);
     private native long nativeSyncIfNeeded(long nativeTablePtr);
+    private native long nativeSyncIfNeededRanked(long nativeTablePtr, long nativePostingsTablePtr, String terms,
+                                                 long offset, long limit);
     private native void nativeDistinctMulti(long nativeViewPtr, long[] columnIndexes);
     private native long nativeSync(long nativeTablePtr);
 }
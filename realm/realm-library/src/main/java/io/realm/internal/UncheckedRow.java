@@ -16,6 +16,7 @@
 
 package io.realm.internal;
 
+import java.nio.ByteBuffer;
 import java.util.Date;
 
 import io.realm.RealmFieldType;
@@ -153,11 +154,35 @@ public class UncheckedRow extends NativeObject implements Row {
         return nativeGetString(nativePointer, columnIndex);
     }
 
+    @Override
+    public String getInternedString(long columnIndex, StringInternCache cache) {
+        return nativeGetInternedString(nativePointer, columnIndex, cache.getNativePtr());
+    }
+
     @Override
     public byte[] getBinaryByteArray(long columnIndex) {
         return nativeGetByteArray(nativePointer, columnIndex);
     }
 
+    @Override
+    public ByteBuffer getBinaryByteBuffer(long columnIndex) {
+        ByteBuffer buffer = nativeGetByteBuffer(nativePointer, columnIndex);
+        return (buffer == null) ? null : buffer.asReadOnlyBuffer();
+    }
+
+    @Override
+    public long getBinarySize(long columnIndex) {
+        return nativeGetBinarySize(nativePointer, columnIndex);
+    }
+
+    @Override
+    public int readBinary(long columnIndex, long position, byte[] buffer, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > buffer.length) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length);
+        }
+        return nativeReadBinary(nativePointer, columnIndex, position, buffer, offset, length);
+    }
+
     @Override
     public long getLink(long columnIndex) {
         return nativeGetLink(nativePointer, columnIndex);
@@ -235,6 +260,19 @@ public class UncheckedRow extends NativeObject implements Row {
         nativeSetByteArray(nativePointer, columnIndex, data);
     }
 
+    @Override
+    public void setBinaryByteBuffer(long columnIndex, ByteBuffer data) {
+        parent.checkImmutable();
+        if (data == null) {
+            nativeSetByteArray(nativePointer, columnIndex, null);
+            return;
+        }
+        if (!data.isDirect()) {
+            throw new IllegalArgumentException("Only direct ByteBuffers are supported.");
+        }
+        nativeSetByteBuffer(nativePointer, columnIndex, data, data.position(), data.remaining());
+    }
+
     @Override
     public void setLink(long columnIndex, long value) {
         parent.checkImmutable();
@@ -294,8 +332,12 @@ public class UncheckedRow extends NativeObject implements Row {
     protected native double nativeGetDouble(long nativeRowPtr, long columnIndex);
     protected native long nativeGetTimestamp(long nativeRowPtr, long columnIndex);
     protected native String nativeGetString(long nativePtr, long columnIndex);
+    protected native String nativeGetInternedString(long nativePtr, long columnIndex, long nativeCachePtr);
     protected native boolean nativeIsNullLink(long nativeRowPtr, long columnIndex);
     protected native byte[] nativeGetByteArray(long nativePtr, long columnIndex);
+    protected native ByteBuffer nativeGetByteBuffer(long nativePtr, long columnIndex);
+    protected native long nativeGetBinarySize(long nativePtr, long columnIndex);
+    protected native int nativeReadBinary(long nativePtr, long columnIndex, long position, byte[] buffer, int offset, int length);
     protected native long nativeGetLinkView(long nativePtr, long columnIndex);
     protected native void nativeSetLong(long nativeRowPtr, long columnIndex, long value);
     protected native void nativeSetBoolean(long nativeRowPtr, long columnIndex, boolean value);
@@ -305,6 +347,7 @@ public class UncheckedRow extends NativeObject implements Row {
     protected native void nativeSetTimestamp(long nativeRowPtr, long columnIndex, long dateTimeValue);
     protected native void nativeSetString(long nativeRowPtr, long columnIndex, String value);
     protected native void nativeSetByteArray(long nativePtr, long columnIndex, byte[] data);
+    protected native void nativeSetByteBuffer(long nativePtr, long columnIndex, ByteBuffer data, int position, int length);
     protected native void nativeSetLink(long nativeRowPtr, long columnIndex, long value);
     protected native void nativeNullifyLink(long nativeRowPtr, long columnIndex);
     static native void nativeClose(long nativeRowPtr);
@@ -16,8 +16,17 @@
 
 package io.realm.internal.android;
 
+import android.annotation.TargetApi;
+import android.os.Build;
 import android.util.Base64;
+import android.util.JsonReader;
+import android.util.JsonToken;
 
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
 import java.text.ParseException;
 import java.text.ParsePosition;
 import java.util.Date;
@@ -79,4 +88,67 @@ public class JsonUtils {
         if (str == null || str.length() == 0) return new byte[0];
         return Base64.decode(str, Base64.DEFAULT);
     }
+
+    /**
+     * Reads the next JSON object from a stream into a {@link JSONObject}. Only this object is held in memory, so large
+     * arrays can be processed one element at a time. Numbers are read as {@code Long} if they are integral and fit,
+     * as {@code Double} otherwise.
+     *
+     * @param reader the reader positioned before the object.
+     * @return the object read.
+     * @throws IOException if the stream couldn't be read or isn't valid JSON.
+     * @throws JSONException if there is no object at the current position or it contains invalid values.
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    public static JSONObject readJsonObject(JsonReader reader) throws IOException, JSONException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            throw new JSONException("Expected a JSON object but was " + reader.peek());
+        }
+        JSONObject object = new JSONObject();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            object.put(name, readJsonValue(reader));
+        }
+        reader.endObject();
+        return object;
+    }
+
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    private static Object readJsonValue(JsonReader reader) throws IOException, JSONException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                return readJsonObject(reader);
+            case BEGIN_ARRAY:
+                JSONArray array = new JSONArray();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    array.put(readJsonValue(reader));
+                }
+                reader.endArray();
+                return array;
+            case STRING:
+                return reader.nextString();
+            case NUMBER:
+                return parseNumber(reader.nextString());
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NULL:
+                reader.nextNull();
+                return JSONObject.NULL;
+            default:
+                throw new IOException("Unexpected JSON token: " + reader.peek());
+        }
+    }
+
+    private static Number parseNumber(String number) {
+        if (number.indexOf('.') == -1 && number.indexOf('e') == -1 && number.indexOf('E') == -1) {
+            try {
+                return Long.parseLong(number);
+            } catch (NumberFormatException ignored) {
+                // Too large for a long.
+            }
+        }
+        return Double.parseDouble(number);
+    }
 }
@@ -27,12 +27,18 @@ public class ArgumentsHolder {
     public final static int TYPE_FIND_ALL_MULTI_SORTED = 2;
     public final static int TYPE_FIND_FIRST = 3;
     public final static int TYPE_DISTINCT = 4;
+    public final static int TYPE_FIND_ALL_LIMITED = 5;
+    public final static int TYPE_FIND_ALL_RANKED = 6;
 
     public final int type;
     public long columnIndex;
     public Sort sortOrder;
     public long[] columnIndices;
     public Sort[] sortOrders;
+    public long offset;
+    public long limit;
+    public String rankTableName;
+    public String rankTerms;
 
     public ArgumentsHolder(int type) {
         this.type = type;
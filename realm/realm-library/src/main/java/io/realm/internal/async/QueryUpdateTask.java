@@ -22,6 +22,7 @@ import java.util.IdentityHashMap;
 import java.util.List;
 
 import io.realm.RealmConfiguration;
+import io.realm.RealmMetricsListener;
 import io.realm.RealmModel;
 import io.realm.RealmResults;
 import io.realm.internal.RealmNotifier;
@@ -83,12 +84,20 @@ public class QueryUpdateTask implements Runnable {
             boolean updateSuccessful;
             if (updateMode == MODE_UPDATE_REALM_RESULTS) {
                 result = Result.newRealmResultsResponse();
+                RealmMetricsListener metricsListener = realmConfiguration.getMetricsListener();
+                long startNanos = (metricsListener != null) ? System.nanoTime() : 0;
                 AlignedQueriesParameters alignedParameters = prepareQueriesParameters();
                 long[] handoverTableViewPointer = TableQuery.batchUpdateQueries(sharedRealm,
                         alignedParameters.handoverQueries,
                         alignedParameters.queriesParameters,
                         alignedParameters.multiSortColumnIndices,
-                        alignedParameters.multiSortOrder);
+                        alignedParameters.multiSortOrder,
+                        alignedParameters.rankParameters);
+                if (metricsListener != null) {
+                    long durationNanos = System.nanoTime() - startNanos;
+                    metricsListener.onAsyncQueriesUpdated(realmConfiguration.getPath(),
+                            handoverTableViewPointer.length, durationNanos);
+                }
                 swapPointers(result, handoverTableViewPointer);
                 updateSuccessful = true;
                 result.versionID = sharedRealm.getVersionID();
@@ -140,6 +149,7 @@ public class QueryUpdateTask implements Runnable {
         long[][] queriesParameters = new long[realmResultsEntries.size()][6];
         long[][] multiSortColumnIndices = new long[realmResultsEntries.size()][];
         boolean[][] multiSortOrder = new boolean[realmResultsEntries.size()][];
+        String[][] rankParameters = new String[realmResultsEntries.size()][];
 
         int i = 0;
         for (Builder.QueryEntry  queryEntry : realmResultsEntries) {
@@ -177,6 +187,22 @@ public class QueryUpdateTask implements Runnable {
                     multiSortColumnIndices[i] = queryEntry.queryArguments.columnIndices;
                     multiSortOrder[i] = TableQuery.getNativeSortOrderValues(queryEntry.queryArguments.sortOrders);
                     break;
+                case ArgumentsHolder.TYPE_FIND_ALL_LIMITED:
+                    handoverQueries[i] = queryEntry.handoverQueryPointer;
+                    queriesParameters[i][0] = ArgumentsHolder.TYPE_FIND_ALL_LIMITED;
+                    queriesParameters[i][1] = queryEntry.queryArguments.offset;
+                    queriesParameters[i][2] = queryEntry.queryArguments.limit;
+                    multiSortColumnIndices[i] = queryEntry.queryArguments.columnIndices;
+                    multiSortOrder[i] = TableQuery.getNativeSortOrderValues(queryEntry.queryArguments.sortOrders);
+                    break;
+                case ArgumentsHolder.TYPE_FIND_ALL_RANKED:
+                    handoverQueries[i] = queryEntry.handoverQueryPointer;
+                    queriesParameters[i][0] = ArgumentsHolder.TYPE_FIND_ALL_RANKED;
+                    queriesParameters[i][1] = queryEntry.queryArguments.offset;
+                    queriesParameters[i][2] = queryEntry.queryArguments.limit;
+                    rankParameters[i] = new String[] {queryEntry.queryArguments.rankTableName,
+                            queryEntry.queryArguments.rankTerms};
+                    break;
                 default:
                     throw new IllegalArgumentException("Query mode " + queryEntry.queryArguments.type + " not supported");
             }
@@ -188,6 +214,7 @@ public class QueryUpdateTask implements Runnable {
         alignedParameters.multiSortColumnIndices = multiSortColumnIndices;
         alignedParameters.multiSortOrder = multiSortOrder;
         alignedParameters.queriesParameters = queriesParameters;
+        alignedParameters.rankParameters = rankParameters;
 
         return alignedParameters;
     }
@@ -246,6 +273,7 @@ public class QueryUpdateTask implements Runnable {
         long[][] queriesParameters;
         long[][] multiSortColumnIndices;
         boolean[][] multiSortOrder;
+        String[][] rankParameters;
     }
     /*
       This uses the step builder pattern to guide the caller throughout the creation of the instance
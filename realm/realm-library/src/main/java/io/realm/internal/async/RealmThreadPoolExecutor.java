@@ -102,6 +102,26 @@ public class RealmThreadPoolExecutor extends ThreadPoolExecutor {
         return super.submit(new BgPriorityRunnable(task));
     }
 
+    /**
+     * Submits a runnable for compacting a Realm file.
+     *
+     * @param task the task to submit
+     * @return a future representing pending completion of the task
+     */
+    public Future<?> submitCompaction(Runnable task) {
+        return super.submit(new BgPriorityRunnable(task));
+    }
+
+    /**
+     * Submits a runnable for preparing a Realm file, e.g. copying its asset file.
+     *
+     * @param task the task to submit
+     * @return a future representing pending completion of the task
+     */
+    public Future<?> submitPreparation(Runnable task) {
+        return super.submit(new BgPriorityRunnable(task));
+    }
+
     /**
      * Method invoked prior to executing the given Runnable to pause execution of the thread.
      *
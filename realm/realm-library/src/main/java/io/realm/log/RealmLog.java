@@ -19,17 +19,34 @@ package io.realm.log;
 import android.util.Log;
 
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Global logger used by all Realm components.
- * Custom loggers can be added by registering classes implementing {@link RealmLogger}.
+ * Custom loggers can be added by registering classes implementing {@link RealmLogger} or
+ * {@link RealmStructuredLogger}.
+ * <p>
+ * Events below the current {@link LogLevel} are dropped before the message is formatted. Use the overloads taking one
+ * or two arguments on hot paths, they don't allocate anything if the level is disabled.
  */
 public final class RealmLog {
 
     @SuppressWarnings("FieldCanBeLocal")
     private static String REALM_JAVA_TAG = "REALM_JAVA";
 
+    private static final Object[] NO_ARGS = new Object[0];
+    private static final int LEVEL_UNKNOWN = 0;
+
+    // Mirrors the level of the native logger, so disabled events can be dropped without calling into JNI. The native
+    // level is only changed through setLevel().
+    private static volatile int cachedLevel = LEVEL_UNKNOWN;
+    // False after clear() removed the native loggers, so messages are only formatted for the structured loggers.
+    private static volatile boolean hasNativeLoggers = true;
+    private static final List<RealmStructuredLogger> structuredLoggers =
+            new CopyOnWriteArrayList<RealmStructuredLogger>();
+
     /**
      * To convert the old {@link Logger} to the new {@link RealmLogger}.
      */
@@ -90,6 +107,24 @@ public final class RealmLog {
             throw new IllegalArgumentException("A non-null logger has to be provided");
         }
         nativeAddLogger(logger);
+        hasNativeLoggers = true;
+    }
+
+    /**
+     * Adds a structured logger implementation that will be notified on log events from the Java components of Realm.
+     * Adding the same logger twice has no effect.
+     *
+     * @param logger the reference to a {@link RealmStructuredLogger} implementation.
+     */
+    public static void add(RealmStructuredLogger logger) {
+        if (logger == null) {
+            throw new IllegalArgumentException("A non-null logger has to be provided");
+        }
+        synchronized (structuredLoggers) {
+            if (!structuredLoggers.contains(logger)) {
+                structuredLoggers.add(logger);
+            }
+        }
     }
 
     /**
@@ -110,7 +145,10 @@ public final class RealmLog {
      * @param level see {@link LogLevel}.
      */
     public static void setLevel(int level) {
-        nativeSetLogLevel(level);
+        synchronized (RealmLog.class) {
+            nativeSetLogLevel(level);
+            cachedLevel = level;
+        }
     }
 
     /**
@@ -119,7 +157,28 @@ public final class RealmLog {
      * @return the current {@link LogLevel}.
      */
     public static int getLevel() {
-        return nativeGetLogLevel();
+        int level = cachedLevel;
+        if (level == LEVEL_UNKNOWN) {
+            synchronized (RealmLog.class) {
+                level = cachedLevel;
+                if (level == LEVEL_UNKNOWN) {
+                    level = nativeGetLogLevel();
+                    cachedLevel = level;
+                }
+            }
+        }
+        return level;
+    }
+
+    /**
+     * Checks if events of the given level are logged with the current {@link LogLevel}. This can be used to avoid
+     * building expensive log messages that would be dropped anyway.
+     *
+     * @param level see {@link LogLevel}.
+     * @return {@code true} if events of the given level are logged, {@code false} otherwise.
+     */
+    public static boolean isLoggable(int level) {
+        return level >= getLevel();
     }
 
     /**
@@ -135,6 +194,18 @@ public final class RealmLog {
         return true;
     }
 
+    /**
+     * Removes the given structured logger if it is currently added.
+     *
+     * @return {@code true} if the logger was removed, {@code false} otherwise.
+     */
+    public static boolean remove(RealmStructuredLogger logger) {
+        if (logger == null) {
+            throw new IllegalArgumentException("A non-null logger has to be provided");
+        }
+        return structuredLoggers.remove(logger);
+    }
+
     /**
      * Removes the given logger if it is currently added.
      *
@@ -155,14 +226,16 @@ public final class RealmLog {
     }
 
     /**
-     * Removes all loggers. The default native logger will be removed as well. Use {@link #registerDefaultLogger()} to
-     * add it back.
+     * Removes all loggers, including structured loggers. The default native logger will be removed as well. Use
+     * {@link #registerDefaultLogger()} to add it back.
      */
     public static void clear() {
         synchronized (LoggerAdapter.class) {
             nativeClearLoggers();
             LoggerAdapter.clear();
+            hasNativeLoggers = false;
         }
+        structuredLoggers.clear();
     }
 
     /**
@@ -171,6 +244,7 @@ public final class RealmLog {
      */
     public static void registerDefaultLogger() {
         nativeRegisterDefaultLogger();
+        hasNativeLoggers = true;
     }
 
     /**
@@ -179,7 +253,45 @@ public final class RealmLog {
      * @param throwable exception to log.
      */
     public static void trace(Throwable throwable) {
-        trace(throwable, null);
+        if (isLoggable(LogLevel.TRACE)) {
+            log(LogLevel.TRACE, throwable, null, NO_ARGS);
+        }
+    }
+
+    /**
+     * Logs a {@link LogLevel#TRACE} event.
+     *
+     * @param message message to log.
+     */
+    public static void trace(String message) {
+        if (isLoggable(LogLevel.TRACE)) {
+            log(LogLevel.TRACE, null, message, NO_ARGS);
+        }
+    }
+
+    /**
+     * Logs a {@link LogLevel#TRACE} event. The message is only formatted if the level is enabled.
+     *
+     * @param message message to log.
+     * @param arg argument used to format the message using {@link String#format(String, Object...)}.
+     */
+    public static void trace(String message, Object arg) {
+        if (isLoggable(LogLevel.TRACE)) {
+            log(LogLevel.TRACE, null, message, new Object[] {arg});
+        }
+    }
+
+    /**
+     * Logs a {@link LogLevel#TRACE} event. The message is only formatted if the level is enabled.
+     *
+     * @param message message to log.
+     * @param arg1 first argument used to format the message using {@link String#format(String, Object...)}.
+     * @param arg2 second argument used to format the message using {@link String#format(String, Object...)}.
+     */
+    public static void trace(String message, Object arg1, Object arg2) {
+        if (isLoggable(LogLevel.TRACE)) {
+            log(LogLevel.TRACE, null, message, new Object[] {arg1, arg2});
+        }
     }
 
     /**
@@ -200,7 +312,9 @@ public final class RealmLog {
      * @param args optional args used to format the message using {@link String#format(String, Object...)}.
      */
     public static void trace(Throwable throwable, String message, Object... args) {
-        log(LogLevel.TRACE, throwable, message, args);
+        if (isLoggable(LogLevel.TRACE)) {
+            log(LogLevel.TRACE, throwable, message, args);
+        }
     }
 
     /**
@@ -209,7 +323,45 @@ public final class RealmLog {
      * @param throwable exception to log.
      */
     public static void debug(Throwable throwable) {
-        debug(throwable, null);
+        if (isLoggable(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, throwable, null, NO_ARGS);
+        }
+    }
+
+    /**
+     * Logs a {@link LogLevel#DEBUG} event.
+     *
+     * @param message message to log.
+     */
+    public static void debug(String message) {
+        if (isLoggable(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, null, message, NO_ARGS);
+        }
+    }
+
+    /**
+     * Logs a {@link LogLevel#DEBUG} event. The message is only formatted if the level is enabled.
+     *
+     * @param message message to log.
+     * @param arg argument used to format the message using {@link String#format(String, Object...)}.
+     */
+    public static void debug(String message, Object arg) {
+        if (isLoggable(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, null, message, new Object[] {arg});
+        }
+    }
+
+    /**
+     * Logs a {@link LogLevel#DEBUG} event. The message is only formatted if the level is enabled.
+     *
+     * @param message message to log.
+     * @param arg1 first argument used to format the message using {@link String#format(String, Object...)}.
+     * @param arg2 second argument used to format the message using {@link String#format(String, Object...)}.
+     */
+    public static void debug(String message, Object arg1, Object arg2) {
+        if (isLoggable(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, null, message, new Object[] {arg1, arg2});
+        }
     }
 
     /**
@@ -230,7 +382,9 @@ public final class RealmLog {
      * @param args optional args used to format the message using {@link String#format(String, Object...)}.
      */
     public static void debug(Throwable throwable, String message, Object... args) {
-        log(LogLevel.DEBUG, throwable, message, args);
+        if (isLoggable(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, throwable, message, args);
+        }
     }
 
     /**
@@ -239,7 +393,45 @@ public final class RealmLog {
      * @param throwable exception to log.
      */
     public static void info(Throwable throwable) {
-        info(throwable, null);
+        if (isLoggable(LogLevel.INFO)) {
+            log(LogLevel.INFO, throwable, null, NO_ARGS);
+        }
+    }
+
+    /**
+     * Logs an {@link LogLevel#INFO} event.
+     *
+     * @param message message to log.
+     */
+    public static void info(String message) {
+        if (isLoggable(LogLevel.INFO)) {
+            log(LogLevel.INFO, null, message, NO_ARGS);
+        }
+    }
+
+    /**
+     * Logs an {@link LogLevel#INFO} event. The message is only formatted if the level is enabled.
+     *
+     * @param message message to log.
+     * @param arg argument used to format the message using {@link String#format(String, Object...)}.
+     */
+    public static void info(String message, Object arg) {
+        if (isLoggable(LogLevel.INFO)) {
+            log(LogLevel.INFO, null, message, new Object[] {arg});
+        }
+    }
+
+    /**
+     * Logs an {@link LogLevel#INFO} event. The message is only formatted if the level is enabled.
+     *
+     * @param message message to log.
+     * @param arg1 first argument used to format the message using {@link String#format(String, Object...)}.
+     * @param arg2 second argument used to format the message using {@link String#format(String, Object...)}.
+     */
+    public static void info(String message, Object arg1, Object arg2) {
+        if (isLoggable(LogLevel.INFO)) {
+            log(LogLevel.INFO, null, message, new Object[] {arg1, arg2});
+        }
     }
 
     /**
@@ -260,7 +452,9 @@ public final class RealmLog {
      * @param args optional args used to format the message using {@link String#format(String, Object...)}.
      */
     public static void info(Throwable throwable, String message, Object... args) {
-        log(LogLevel.INFO, throwable, message, args);
+        if (isLoggable(LogLevel.INFO)) {
+            log(LogLevel.INFO, throwable, message, args);
+        }
     }
 
     /**
@@ -269,7 +463,45 @@ public final class RealmLog {
      * @param throwable exception to log.
      */
     public static void warn(Throwable throwable) {
-        warn(throwable, null);
+        if (isLoggable(LogLevel.WARN)) {
+            log(LogLevel.WARN, throwable, null, NO_ARGS);
+        }
+    }
+
+    /**
+     * Logs a {@link LogLevel#WARN} event.
+     *
+     * @param message message to log.
+     */
+    public static void warn(String message) {
+        if (isLoggable(LogLevel.WARN)) {
+            log(LogLevel.WARN, null, message, NO_ARGS);
+        }
+    }
+
+    /**
+     * Logs a {@link LogLevel#WARN} event. The message is only formatted if the level is enabled.
+     *
+     * @param message message to log.
+     * @param arg argument used to format the message using {@link String#format(String, Object...)}.
+     */
+    public static void warn(String message, Object arg) {
+        if (isLoggable(LogLevel.WARN)) {
+            log(LogLevel.WARN, null, message, new Object[] {arg});
+        }
+    }
+
+    /**
+     * Logs a {@link LogLevel#WARN} event. The message is only formatted if the level is enabled.
+     *
+     * @param message message to log.
+     * @param arg1 first argument used to format the message using {@link String#format(String, Object...)}.
+     * @param arg2 second argument used to format the message using {@link String#format(String, Object...)}.
+     */
+    public static void warn(String message, Object arg1, Object arg2) {
+        if (isLoggable(LogLevel.WARN)) {
+            log(LogLevel.WARN, null, message, new Object[] {arg1, arg2});
+        }
     }
 
     /**
@@ -290,7 +522,9 @@ public final class RealmLog {
      * @param args optional args used to format the message using {@link String#format(String, Object...)}.
      */
     public static void warn(Throwable throwable, String message, Object... args) {
-        log(LogLevel.WARN, throwable, message, args);
+        if (isLoggable(LogLevel.WARN)) {
+            log(LogLevel.WARN, throwable, message, args);
+        }
     }
 
     /**
@@ -299,7 +533,45 @@ public final class RealmLog {
      * @param throwable exception to log.
      */
     public static void error(Throwable throwable) {
-        error(throwable, null);
+        if (isLoggable(LogLevel.ERROR)) {
+            log(LogLevel.ERROR, throwable, null, NO_ARGS);
+        }
+    }
+
+    /**
+     * Logs an {@link LogLevel#ERROR} event.
+     *
+     * @param message message to log.
+     */
+    public static void error(String message) {
+        if (isLoggable(LogLevel.ERROR)) {
+            log(LogLevel.ERROR, null, message, NO_ARGS);
+        }
+    }
+
+    /**
+     * Logs an {@link LogLevel#ERROR} event. The message is only formatted if the level is enabled.
+     *
+     * @param message message to log.
+     * @param arg argument used to format the message using {@link String#format(String, Object...)}.
+     */
+    public static void error(String message, Object arg) {
+        if (isLoggable(LogLevel.ERROR)) {
+            log(LogLevel.ERROR, null, message, new Object[] {arg});
+        }
+    }
+
+    /**
+     * Logs an {@link LogLevel#ERROR} event. The message is only formatted if the level is enabled.
+     *
+     * @param message message to log.
+     * @param arg1 first argument used to format the message using {@link String#format(String, Object...)}.
+     * @param arg2 second argument used to format the message using {@link String#format(String, Object...)}.
+     */
+    public static void error(String message, Object arg1, Object arg2) {
+        if (isLoggable(LogLevel.ERROR)) {
+            log(LogLevel.ERROR, null, message, new Object[] {arg1, arg2});
+        }
     }
 
     /**
@@ -320,7 +592,9 @@ public final class RealmLog {
      * @param args optional args used to format the message using {@link String#format(String, Object...)}.
      */
     public static void error(Throwable throwable, String message, Object... args) {
-        log(LogLevel.ERROR, throwable, message, args);
+        if (isLoggable(LogLevel.ERROR)) {
+            log(LogLevel.ERROR, throwable, message, args);
+        }
     }
 
     /**
@@ -329,7 +603,45 @@ public final class RealmLog {
      * @param throwable exception to log.
      */
     public static void fatal(Throwable throwable) {
-        fatal(throwable, null);
+        if (isLoggable(LogLevel.FATAL)) {
+            log(LogLevel.FATAL, throwable, null, NO_ARGS);
+        }
+    }
+
+    /**
+     * Logs a {@link LogLevel#FATAL} event.
+     *
+     * @param message message to log.
+     */
+    public static void fatal(String message) {
+        if (isLoggable(LogLevel.FATAL)) {
+            log(LogLevel.FATAL, null, message, NO_ARGS);
+        }
+    }
+
+    /**
+     * Logs a {@link LogLevel#FATAL} event. The message is only formatted if the level is enabled.
+     *
+     * @param message message to log.
+     * @param arg argument used to format the message using {@link String#format(String, Object...)}.
+     */
+    public static void fatal(String message, Object arg) {
+        if (isLoggable(LogLevel.FATAL)) {
+            log(LogLevel.FATAL, null, message, new Object[] {arg});
+        }
+    }
+
+    /**
+     * Logs a {@link LogLevel#FATAL} event. The message is only formatted if the level is enabled.
+     *
+     * @param message message to log.
+     * @param arg1 first argument used to format the message using {@link String#format(String, Object...)}.
+     * @param arg2 second argument used to format the message using {@link String#format(String, Object...)}.
+     */
+    public static void fatal(String message, Object arg1, Object arg2) {
+        if (isLoggable(LogLevel.FATAL)) {
+            log(LogLevel.FATAL, null, message, new Object[] {arg1, arg2});
+        }
     }
 
     /**
@@ -350,13 +662,26 @@ public final class RealmLog {
      * @param args optional args used to format the message using {@link String#format(String, Object...)}.
      */
     public static void fatal(Throwable throwable, String message, Object... args) {
-        log(LogLevel.FATAL, throwable, message, args);
+        if (isLoggable(LogLevel.FATAL)) {
+            log(LogLevel.FATAL, throwable, message, args);
+        }
     }
 
-    // Format the message, parse the stacktrace of given throwable and pass them to nativeLog.
-    private static void log(int level, Throwable throwable, String message, Object... args) {
+    // Pass the unformatted event to the structured loggers, then format the message, parse the stacktrace of given
+    // throwable and pass them to nativeLog. Callers must check isLoggable() first.
+    private static void log(int level, Throwable throwable, String message, Object[] args) {
+        if (args == null) {
+            args = NO_ARGS;
+        }
+        for (RealmStructuredLogger logger : structuredLoggers) {
+            logger.log(level, REALM_JAVA_TAG, throwable, message, args);
+        }
+        if (!hasNativeLoggers) {
+            return;
+        }
+
         StringBuilder stringBuilder = new StringBuilder();
-        if (args != null && args.length > 0) {
+        if (args.length > 0) {
             message = String.format(message, args);
         }
         if (throwable != null) {
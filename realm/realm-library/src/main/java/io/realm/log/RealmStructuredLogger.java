@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.log;
+
+/**
+ * Interface for loggers that receive log events before they are formatted. They can be registered at
+ * {@link RealmLog#add(RealmStructuredLogger)}.
+ * <p>
+ * Unlike {@link RealmLogger}, the message is passed as a {@link String#format(String, Object...)} template together
+ * with its arguments, so implementations can decide whether and when to format it, e.g. batch events and format
+ * them on a background thread. Events are only delivered if their level is enabled by {@link RealmLog#setLevel(int)}.
+ * <p>
+ * Structured loggers only receive events logged by the Java components of Realm. Events from the native components
+ * are only delivered to {@link RealmLogger}s.
+ */
+public interface RealmStructuredLogger {
+
+    /**
+     * Handles a log event. This is called on the thread that logged the event and should return quickly.
+     *
+     * @param level for this log event. It can only be a value between {@link LogLevel#TRACE} and
+     * {@link LogLevel#FATAL}
+     * @param tag for this log event.
+     * @param throwable optional exception to log.
+     * @param template optional message or {@link String#format(String, Object...)} template.
+     * @param args arguments for the template. This is an empty array if there are none. Arguments are not copied, so
+     * mutable arguments should be converted to strings before the event is handed to another thread.
+     */
+    void log(int level, String tag, Throwable throwable, String template, Object[] args);
+}
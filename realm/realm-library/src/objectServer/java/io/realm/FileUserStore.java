@@ -0,0 +1,408 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.realm.annotations.Beta;
+import io.realm.internal.objectserver.ObjectServerUser;
+import io.realm.internal.objectserver.Token;
+import io.realm.log.RealmLog;
+
+/**
+ * @Beta
+ * A User Store backed by a compact binary log file.
+ * <p>
+ * All users are read once when the store is created and kept in memory, so lookups never touch the disk and return
+ * the same {@link SyncUser} instance every time. Changes are appended to the file as small records: saving a user
+ * again only writes the access tokens that changed since it was last saved, instead of serializing the user and all
+ * its Realms. The file is rewritten when it contains too many outdated records, or if the last record was only
+ * partially written, e.g. because the process was killed.
+ */
+@Beta
+public class FileUserStore implements UserStore {
+
+    private static final int MAGIC = 0x524c5553; // "RLUS"
+    private static final int VERSION = 1;
+
+    private static final byte RECORD_USER = 1;
+    private static final byte RECORD_REALM = 2;
+    private static final byte RECORD_REMOVE = 3;
+
+    // The log is compacted if it contains more than twice the needed records plus this number.
+    private static final int COMPACT_SLACK = 64;
+
+    private final File file;
+    // All stored users in the order they were first saved. Guarded by this.
+    private final Map<String, StoredUser> users = new LinkedHashMap<String, StoredUser>();
+    private DataOutputStream log;
+    private int logRecords;
+
+    // A user together with a copy of the state last written to the file. Users are mutable, so it isn't enough to
+    // keep a reference to the user to find out what has changed.
+    private static class StoredUser {
+        final SyncUser user;
+        final String authUrl;
+        final Token userToken;
+        final Map<URI, ObjectServerUser.AccessDescription> realms;
+
+        StoredUser(SyncUser user, String authUrl, Token userToken,
+                   Map<URI, ObjectServerUser.AccessDescription> realms) {
+            this.user = user;
+            this.authUrl = authUrl;
+            this.userToken = userToken;
+            this.realms = realms;
+        }
+
+        int getRecordCount() {
+            return 1 + realms.size();
+        }
+    }
+
+    /**
+     * Creates a User Store backed by the given file. Existing users are loaded right away.
+     *
+     * @param file the file to store the users in. It will be created if it doesn't exist.
+     */
+    public FileUserStore(File file) {
+        if (file == null) {
+            throw new IllegalArgumentException("Non-null 'file' required.");
+        }
+        this.file = file;
+        boolean needsCompaction = !load();
+        if (needsCompaction || logRecords > getCompactionThreshold()) {
+            compact();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized SyncUser put(String key, SyncUser user) {
+        ObjectServerUser syncUser = user.getSyncUser();
+        Token userToken = syncUser.getUserToken();
+        if (userToken == null) {
+            throw new IllegalArgumentException("Cannot save a user without a refresh token: " + user.getIdentity());
+        }
+        String authUrl = syncUser.getAuthenticationUrl().toString();
+        Map<URI, ObjectServerUser.AccessDescription> realms = copyRealms(syncUser);
+
+        StoredUser previous = users.put(key, new StoredUser(user, authUrl, userToken, realms));
+        try {
+            DataOutputStream out = openLog();
+            if (previous == null || previous.user != user || !previous.authUrl.equals(authUrl) ||
+                    !previous.userToken.equals(userToken) || !realms.keySet().containsAll(previous.realms.keySet())) {
+                writeUser(out, key, authUrl, userToken);
+                for (Map.Entry<URI, ObjectServerUser.AccessDescription> entry : realms.entrySet()) {
+                    writeRealm(out, key, entry.getKey(), entry.getValue());
+                }
+            } else {
+                // Same user with the same refresh token, only write the access tokens which changed.
+                for (Map.Entry<URI, ObjectServerUser.AccessDescription> entry : realms.entrySet()) {
+                    if (!entry.getValue().equals(previous.realms.get(entry.getKey()))) {
+                        writeRealm(out, key, entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            // The user is still kept in memory. If it isn't saved it isn't dangerous, it will just have to log in again.
+            RealmLog.error(e, "Could not save user in %s.", file);
+            // The last record might only be partially written. Rewrite the file from memory instead of appending to it.
+            compact();
+        }
+        compactIfNeeded();
+
+        return (previous != null) ? previous.user : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized SyncUser get(String key) {
+        StoredUser stored = users.get(key);
+        return (stored != null) ? stored.user : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized SyncUser remove(String key) {
+        StoredUser previous = users.remove(key);
+        if (previous == null) {
+            return null;
+        }
+        try {
+            DataOutputStream out = openLog();
+            out.writeByte(RECORD_REMOVE);
+            out.writeUTF(key);
+            logRecords++;
+            out.flush();
+        } catch (IOException e) {
+            RealmLog.error(e, "Could not remove user from %s.", file);
+            compact();
+        }
+        compactIfNeeded();
+        return previous.user;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized Collection<SyncUser> allUsers() {
+        List<SyncUser> result = new ArrayList<SyncUser>(users.size());
+        for (StoredUser stored : users.values()) {
+            result.add(stored.user);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void clear() {
+        users.clear();
+        compact();
+    }
+
+    // Replays the log into memory. Returns false if the file was damaged and must be rewritten.
+    private boolean load() {
+        if (!file.exists()) {
+            return false;
+        }
+        Map<String, ObjectServerUser> loaded = new LinkedHashMap<String, ObjectServerUser>();
+        boolean intact = true;
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                RealmLog.warn("Ignoring users in %s, as the file format is not supported.", file);
+                return false;
+            }
+            while (true) {
+                int type = in.read();
+                if (type == -1) {
+                    break;
+                }
+                String key = in.readUTF();
+                switch (type) {
+                    case RECORD_USER:
+                        URL authUrl = new URL(in.readUTF());
+                        loaded.put(key, new ObjectServerUser(readToken(in), authUrl));
+                        break;
+                    case RECORD_REALM:
+                        URI uri = new URI(in.readUTF());
+                        ObjectServerUser.AccessDescription description = readAccessDescription(in);
+                        ObjectServerUser user = loaded.get(key);
+                        if (user != null) {
+                            user.addRealm(uri, description);
+                        }
+                        break;
+                    case RECORD_REMOVE:
+                        loaded.remove(key);
+                        break;
+                    default:
+                        throw new IOException("Unknown record type: " + type);
+                }
+                logRecords++;
+            }
+        } catch (EOFException e) {
+            // The last record was only partially written. Everything before it is still valid.
+            RealmLog.warn("The last user record in %s is incomplete and has been skipped.", file);
+            intact = false;
+        } catch (IOException e) {
+            RealmLog.error(e, "Could not read all users from %s.", file);
+            intact = false;
+        } catch (URISyntaxException e) {
+            RealmLog.error(e, "Could not read all users from %s.", file);
+            intact = false;
+        } finally {
+            closeQuietly(in);
+        }
+
+        for (Map.Entry<String, ObjectServerUser> entry : loaded.entrySet()) {
+            ObjectServerUser syncUser = entry.getValue();
+            users.put(entry.getKey(), new StoredUser(new SyncUser(syncUser),
+                    syncUser.getAuthenticationUrl().toString(), syncUser.getUserToken(), copyRealms(syncUser)));
+        }
+        return intact;
+    }
+
+    private void compactIfNeeded() {
+        if (logRecords > getCompactionThreshold()) {
+            compact();
+        }
+    }
+
+    private int getCompactionThreshold() {
+        int liveRecords = 0;
+        for (StoredUser stored : users.values()) {
+            liveRecords += stored.getRecordCount();
+        }
+        return 2 * liveRecords + COMPACT_SLACK;
+    }
+
+    // Writes all users to a new file, which then atomically replaces the log.
+    private void compact() {
+        closeLog();
+        File tmpFile = new File(file.getPath() + ".tmp");
+        DataOutputStream out = null;
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            logRecords = 0;
+            for (Map.Entry<String, StoredUser> entry : users.entrySet()) {
+                StoredUser stored = entry.getValue();
+                writeUser(out, entry.getKey(), stored.authUrl, stored.userToken);
+                for (Map.Entry<URI, ObjectServerUser.AccessDescription> realm : stored.realms.entrySet()) {
+                    writeRealm(out, entry.getKey(), realm.getKey(), realm.getValue());
+                }
+            }
+            out.close();
+            out = null;
+            if (!tmpFile.renameTo(file)) {
+                throw new IOException("Could not rename " + tmpFile + " to " + file);
+            }
+        } catch (IOException e) {
+            RealmLog.error(e, "Could not compact %s.", file);
+        } finally {
+            closeQuietly(out);
+            if (tmpFile.exists() && !tmpFile.delete()) {
+                RealmLog.warn("Could not delete %s.", tmpFile);
+            }
+        }
+    }
+
+    private DataOutputStream openLog() throws FileNotFoundException {
+        if (log == null) {
+            log = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+        }
+        return log;
+    }
+
+    private void closeLog() {
+        closeQuietly(log);
+        log = null;
+    }
+
+    private void writeUser(DataOutputStream out, String key, String authUrl, Token userToken) throws IOException {
+        out.writeByte(RECORD_USER);
+        out.writeUTF(key);
+        out.writeUTF(authUrl);
+        writeToken(out, userToken);
+        logRecords++;
+    }
+
+    private void writeRealm(DataOutputStream out, String key, URI uri, ObjectServerUser.AccessDescription description)
+            throws IOException {
+        out.writeByte(RECORD_REALM);
+        out.writeUTF(key);
+        out.writeUTF(uri.toString());
+        writeToken(out, description.accessToken);
+        out.writeUTF(description.localPath);
+        out.writeBoolean(description.deleteOnLogout);
+        logRecords++;
+    }
+
+    private static ObjectServerUser.AccessDescription readAccessDescription(DataInputStream in) throws IOException {
+        Token token = readToken(in);
+        String localPath = in.readUTF();
+        boolean deleteOnLogout = in.readBoolean();
+        return new ObjectServerUser.AccessDescription(token, localPath, deleteOnLogout);
+    }
+
+    private static void writeToken(DataOutputStream out, Token token) throws IOException {
+        out.writeUTF(token.value());
+        writeNullableString(out, token.identity());
+        writeNullableString(out, token.path());
+        out.writeLong(token.expiresSec());
+        Token.Permission[] permissions = token.permissions();
+        out.writeByte(permissions.length);
+        for (Token.Permission permission : permissions) {
+            out.writeByte(permission.ordinal());
+        }
+    }
+
+    private static Token readToken(DataInputStream in) throws IOException {
+        String value = in.readUTF();
+        String identity = readNullableString(in);
+        String path = readNullableString(in);
+        long expiresSec = in.readLong();
+        Token.Permission[] allPermissions = Token.Permission.values();
+        Token.Permission[] permissions = new Token.Permission[in.readUnsignedByte()];
+        for (int i = 0; i < permissions.length; i++) {
+            int ordinal = in.readUnsignedByte();
+            permissions[i] = (ordinal < allPermissions.length) ? allPermissions[ordinal] : Token.Permission.UNKNOWN;
+        }
+        return new Token(value, identity, path, expiresSec, permissions);
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static Map<URI, ObjectServerUser.AccessDescription> copyRealms(ObjectServerUser user) {
+        Map<URI, ObjectServerUser.AccessDescription> copy = new HashMap<URI, ObjectServerUser.AccessDescription>();
+        for (Map.Entry<URI, ObjectServerUser.AccessDescription> entry : user.getAccessDescriptions().entrySet()) {
+            ObjectServerUser.AccessDescription description = entry.getValue();
+            copy.put(entry.getKey(), new ObjectServerUser.AccessDescription(description.accessToken,
+                    description.localPath, description.deleteOnLogout));
+        }
+        return copy;
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException ignore) {
+            }
+        }
+    }
+}
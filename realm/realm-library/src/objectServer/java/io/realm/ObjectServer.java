@@ -17,11 +17,15 @@
 package io.realm;
 
 import android.content.Context;
+import android.content.SharedPreferences;
 import android.content.pm.PackageInfo;
 
-import io.realm.android.SharedPrefsUserStore;
+import java.io.File;
+import java.util.Map;
+
 import io.realm.annotations.Beta;
 import io.realm.internal.Keep;
+import io.realm.log.RealmLog;
 
 /**
  * @Beta
@@ -33,6 +37,10 @@ import io.realm.internal.Keep;
 @Beta
 class ObjectServer {
 
+    private static final String USER_STORE_FILE = "realm_object_server_users.bin";
+    // Name of the SharedPreferences file used by earlier versions to store users.
+    private static final String LEGACY_USER_STORE_PREFS = "realm_object_server_users";
+
     public static void init(Context context) {
         // Setup AppID
         String appId = "unknown";
@@ -43,8 +51,33 @@ class ObjectServer {
         }
 
         // Configure default UserStore
-        UserStore userStore = new SharedPrefsUserStore(context);
+        File userStoreFile = new File(context.getFilesDir(), USER_STORE_FILE);
+        boolean isNewStore = !userStoreFile.exists();
+        UserStore userStore = new FileUserStore(userStoreFile);
+        if (isNewStore) {
+            migrateLegacyUsers(context, userStore);
+        }
 
         SyncManager.init(appId, userStore);
     }
+
+    // Moves users saved as JSON in SharedPreferences by earlier versions to the given store.
+    private static void migrateLegacyUsers(Context context, UserStore userStore) {
+        SharedPreferences sp = context.getSharedPreferences(LEGACY_USER_STORE_PREFS, Context.MODE_PRIVATE);
+        Map<String, ?> legacyUsers = sp.getAll();
+        if (legacyUsers.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<String, ?> entry : legacyUsers.entrySet()) {
+            if (!(entry.getValue() instanceof String)) {
+                continue;
+            }
+            try {
+                userStore.put(entry.getKey(), SyncUser.fromJson((String) entry.getValue()));
+            } catch (IllegalArgumentException e) {
+                RealmLog.warn(e, "Could not migrate user '%s'.", entry.getKey());
+            }
+        }
+        sp.edit().clear().apply();
+    }
 }
@@ -26,6 +26,8 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -100,6 +102,11 @@ public final class SyncConfiguration extends RealmConfiguration {
                                 RealmProxyMediator schemaMediator,
                                 RxObservableFactory rxFactory,
                                 Realm.Transaction initialDataTransaction,
+                                CompactOnLaunchCallback compactOnLaunch,
+                                RealmMetricsListener metricsListener,
+                                long notificationIntervalMillis,
+                                Set<Class<? extends RealmModel>> observedClasses,
+                                boolean identityMapEnabled,
                                 SyncUser user,
                                 URI serverUrl,
                                 SyncPolicy syncPolicy,
@@ -117,7 +124,13 @@ public final class SyncConfiguration extends RealmConfiguration {
                 durability,
                 schemaMediator,
                 rxFactory,
-                initialDataTransaction
+                initialDataTransaction,
+                compactOnLaunch,
+                metricsListener,
+                notificationIntervalMillis,
+                observedClasses,
+                false,
+                identityMapEnabled
         );
 
         this.user = user;
@@ -239,6 +252,11 @@ public final class SyncConfiguration extends RealmConfiguration {
         private HashSet<Class<? extends RealmModel>> debugSchema = new HashSet<Class<? extends RealmModel>>();
         private RxObservableFactory rxFactory;
         private Realm.Transaction initialDataTransaction;
+        private CompactOnLaunchCallback compactOnLaunch;
+        private RealmMetricsListener metricsListener;
+        private long notificationIntervalMillis;
+        private HashSet<Class<? extends RealmModel>> observedClasses = new HashSet<Class<? extends RealmModel>>();
+        private boolean identityMapEnabled;
         private URI serverUrl;
         private SyncUser user = null;
         private SyncPolicy syncPolicy = new AutomaticSyncPolicy();
@@ -469,6 +487,102 @@ public final class SyncConfiguration extends RealmConfiguration {
             return this;
         }
 
+        /**
+         * Compacts the Realm file when it is opened for the first time and {@link DefaultCompactOnLaunchCallback}
+         * decides it is worth it.
+         *
+         * @see RealmConfiguration.Builder#compactOnLaunch()
+         */
+        public Builder compactOnLaunch() {
+            return compactOnLaunch(new DefaultCompactOnLaunchCallback());
+        }
+
+        /**
+         * Sets a callback which decides if the Realm file should be compacted before it is opened for the first time
+         * in this process.
+         *
+         * @param compactOnLaunch the callback which decides if the file should be compacted.
+         * @throws IllegalArgumentException if {@code compactOnLaunch} is {@code null}.
+         * @see RealmConfiguration.Builder#compactOnLaunch(CompactOnLaunchCallback)
+         */
+        public Builder compactOnLaunch(CompactOnLaunchCallback compactOnLaunch) {
+            if (compactOnLaunch == null) {
+                throw new IllegalArgumentException("A non-null compactOnLaunch must be provided");
+            }
+            this.compactOnLaunch = compactOnLaunch;
+            return this;
+        }
+
+        /**
+         * Sets a listener which receives timing and size metrics of the operations on this Realm.
+         *
+         * @param listener the listener receiving the metrics.
+         * @throws IllegalArgumentException if {@code listener} is {@code null}.
+         * @see RealmConfiguration.Builder#metricsListener(RealmMetricsListener)
+         */
+        public Builder metricsListener(RealmMetricsListener listener) {
+            if (listener == null) {
+                throw new IllegalArgumentException("A non-null metrics listener must be provided");
+            }
+            this.metricsListener = listener;
+            return this;
+        }
+
+        /**
+         * Sets the minimum time between two notifications about changes made by other threads or processes.
+         *
+         * @param interval the minimum interval, {@code 0} to deliver changes right away.
+         * @param unit the unit of {@code interval}.
+         * @throws IllegalArgumentException if {@code interval} is negative or {@code unit} is {@code null}.
+         * @see RealmConfiguration.Builder#notificationInterval(long, TimeUnit)
+         */
+        public Builder notificationInterval(long interval, TimeUnit unit) {
+            if (interval < 0) {
+                throw new IllegalArgumentException("The notification interval cannot be negative: " + interval);
+            }
+            if (unit == null) {
+                throw new IllegalArgumentException("A non-null unit must be provided");
+            }
+            this.notificationIntervalMillis = unit.toMillis(interval);
+            return this;
+        }
+
+        /**
+         * Restricts change notifications to the given model classes.
+         *
+         * @param firstClass a class to observe.
+         * @param additionalClasses further classes to observe.
+         * @throws IllegalArgumentException if a class is {@code null}.
+         * @see RealmConfiguration.Builder#observedClasses(Class, Class[])
+         */
+        public Builder observedClasses(Class<? extends RealmModel> firstClass,
+                                       Class<? extends RealmModel>... additionalClasses) {
+            if (firstClass == null) {
+                throw new IllegalArgumentException("A non-null class must be provided");
+            }
+            observedClasses.clear();
+            observedClasses.add(firstClass);
+            if (additionalClasses != null) {
+                for (Class<? extends RealmModel> clazz : additionalClasses) {
+                    if (clazz == null) {
+                        throw new IllegalArgumentException("A non-null class must be provided");
+                    }
+                    observedClasses.add(clazz);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Makes Realm instances return the same object each time the same row is read.
+         *
+         * @see RealmConfiguration.Builder#identityMap()
+         */
+        public Builder identityMap() {
+            this.identityMapEnabled = true;
+            return this;
+        }
+
         /**
          * Setting this will create an in-memory Realm instead of saving it to disk. In-memory Realms might still use
          * disk space if memory is running low, but all files created by an in-memory Realm will be deleted when the
@@ -606,6 +720,7 @@ public final class SyncConfiguration extends RealmConfiguration {
                 throw new IllegalStateException("Could not create directory for saving the Realm: " + realmFileDirectory);
             }
 
+            RealmProxyMediator schemaMediator = createSchemaMediator(modules, debugSchema);
             return new SyncConfiguration(
                     // Realm Configuration options
                     realmFileDirectory,
@@ -617,9 +732,14 @@ public final class SyncConfiguration extends RealmConfiguration {
                     null, // Custom migrations not supported
                     false, // MigrationNeededException is never thrown
                     durability,
-                    createSchemaMediator(modules, debugSchema),
+                    schemaMediator,
                     rxFactory,
                     initialDataTransaction,
+                    compactOnLaunch,
+                    metricsListener,
+                    notificationIntervalMillis,
+                    checkObservedClasses(schemaMediator, observedClasses),
+                    identityMapEnabled,
 
                     // Sync Configuration specific
                     user,
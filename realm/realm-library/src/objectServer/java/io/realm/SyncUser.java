@@ -62,8 +62,26 @@ public class SyncUser {
 
     private final ObjectServerUser syncUser;
 
-    private SyncUser(ObjectServerUser user) {
+    SyncUser(ObjectServerUser user) {
         this.syncUser = user;
+        // Save refreshed tokens, so sessions can bind right away after a restart instead of authenticating again.
+        user.setTokenListener(new ObjectServerUser.TokenListener() {
+            @Override
+            public void onTokensChanged(ObjectServerUser user) {
+                saveIfCurrentUser();
+            }
+        });
+    }
+
+    private void saveIfCurrentUser() {
+        UserStore userStore = SyncManager.getUserStore();
+        if (userStore == null || !syncUser.isLoggedIn() || syncUser.getUserToken() == null) {
+            return;
+        }
+        SyncUser currentUser = userStore.get(UserStore.CURRENT_USER_KEY);
+        if (currentUser != null && currentUser.getIdentity().equals(getIdentity())) {
+            userStore.put(UserStore.CURRENT_USER_KEY, this);
+        }
     }
 
     /**
@@ -280,8 +298,7 @@ public class SyncUser {
 
             // Finally revoke server token. The local user is logged out in any case.
             final AuthenticationServer server = SyncManager.getAuthServer();
-            ThreadPoolExecutor networkPoolExecutor = SyncManager.NETWORK_POOL_EXECUTOR;
-            networkPoolExecutor.submit(new ExponentialBackoffTask<LogoutResponse>() {
+            new ExponentialBackoffTask<LogoutResponse>() {
 
                 @Override
                 protected LogoutResponse execute() {
@@ -297,7 +314,7 @@ public class SyncUser {
                 protected void onError(LogoutResponse response) {
                     RealmLog.error("Failed to log user out.\n" + response.getError().toString());
                 }
-            });
+            }.start(SyncManager.NETWORK_POOL_EXECUTOR);
         }
     }
 
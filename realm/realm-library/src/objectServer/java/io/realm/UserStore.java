@@ -29,6 +29,7 @@ import io.realm.annotations.Beta;
  * be called on the Main Thread. All implementations of this interface should be thread safe.
  *
  * @see SyncManager#setUserStore(UserStore)
+ * @see FileUserStore
  * @see SharedPrefsUserStore
  */
 @Beta
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal.network;
+
+/**
+ * Abstracts the concept of running an network task with incremental backoff, where the response of every attempt is
+ * delivered through a callback. No thread is blocked while an attempt is waiting for its response.
+ *
+ * @see ExponentialBackoffTask
+ */
+public abstract class AsyncExponentialBackoffTask<T extends AuthServerResponse> extends BackoffTask<T> {
+
+    // Task to perform, the callback may be called on any thread once the response has been received.
+    protected abstract void execute(ResponseCallback<T> callback);
+
+    @Override
+    final void performAttempt(ResponseCallback<T> callback) {
+        execute(callback);
+    }
+}
@@ -18,6 +18,8 @@ package io.realm.internal.network;
 
 import java.net.URI;
 import java.net.URL;
+import java.util.Collection;
+import java.util.Map;
 
 import io.realm.SyncCredentials;
 import io.realm.SyncUser;
@@ -43,6 +45,24 @@ public interface AuthenticationServer {
      */
     AuthenticateResponse loginToRealm(Token userToken, URI serverUrl,  URL authenticationUrl);
 
+    /**
+     * Requests access to multiple Realms for the same user at once without blocking the calling thread.
+     * Implementations are free to run the requests concurrently, but should reuse connections to the Authentication
+     * Server.
+     *
+     * @param callback called exactly once with the response for each of the given Realm URLs. It may be called on
+     * any thread, including the calling one.
+     * @see #loginToRealm(Token, URI, URL)
+     */
+    void loginToRealms(Token userToken, Collection<URI> serverUrls, URL authenticationUrl, LoginCallback callback);
+
+    /**
+     * Receives the responses of {@link #loginToRealms(Token, Collection, URL, LoginCallback)}.
+     */
+    interface LoginCallback {
+        void onResponses(Map<URI, AuthenticateResponse> responses);
+    }
+
     /**
      * When the Object Server returns the user token, it also sends a timestamp for when the token expires.
      * Before it expires, the client should try to refresh the token, effectively keeping the user logged in on the
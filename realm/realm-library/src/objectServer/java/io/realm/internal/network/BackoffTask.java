@@ -0,0 +1,174 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal.network;
+
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import io.realm.ErrorCode;
+import io.realm.RealmAsyncTask;
+
+/**
+ * Runs a network task with incremental backoff until it succeeds, fails permanently or is cancelled. Subclasses only
+ * define how a single attempt is performed, see {@link ExponentialBackoffTask} and
+ * {@link AsyncExponentialBackoffTask}.
+ * <p>
+ * Retries are scheduled with {@link NetworkScheduler} instead of sleeping, so no thread is blocked while waiting for
+ * the next attempt. A random jitter is added to each delay, so tasks failing at the same time (e.g. due to a lost
+ * network connection) don't retry all at once.
+ */
+public abstract class BackoffTask<T extends AuthServerResponse> implements Runnable {
+
+    /**
+     * Receives the response of an attempt.
+     */
+    public interface ResponseCallback<T> {
+        void onResponse(T response);
+    }
+
+    private static final long MAX_DELAY_MS = TimeUnit.MINUTES.toMillis(5);
+    private static final Random JITTER = new Random();
+
+    private Executor executor;
+    private volatile boolean cancelled = false;
+    private volatile Future<?> pendingAttempt;
+    private volatile int attempt = 0;
+
+    // Performs a single attempt, the callback must be called exactly once with its response.
+    abstract void performAttempt(ResponseCallback<T> callback);
+
+    // Check if the task was successful
+    protected boolean isSuccess(T result) {
+        return result.isValid();
+    }
+
+    // Return true if based on the task result that this task will never complete
+    protected boolean shouldAbortTask(T response) {
+        // Only retry in case of IO exceptions, since that might be network timeouts etc.
+        // All other errors indicate a bigger problem, so just stop the task.
+        if (!response.isValid()) {
+            return response.getError().getErrorCode() != ErrorCode.IO_EXCEPTION;
+        } else {
+            return false;
+        }
+    }
+
+    // Callback when task is have succeeded
+    protected abstract void onSuccess(T response);
+
+    // Callback when task has failed
+    protected abstract void onError(T response);
+
+    /**
+     * Starts the task. The first attempt is run right away, later attempts are handed over to the given executor once
+     * their delay has passed.
+     *
+     * @param executor the executor to run the attempts on.
+     * @return a {@link RealmAsyncTask} which can be used to stop any further attempts.
+     */
+    public RealmAsyncTask start(Executor executor) {
+        if (this.executor != null) {
+            throw new IllegalStateException("The task has already been started.");
+        }
+        this.executor = executor;
+        executor.execute(this);
+        return new RealmAsyncTask() {
+            @Override
+            public void cancel() {
+                cancelled = true;
+                Future<?> attempt = pendingAttempt;
+                if (attempt != null) {
+                    NetworkScheduler.cancel(attempt);
+                }
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return cancelled;
+            }
+        };
+    }
+
+    /**
+     * Runs a single attempt. The next one is scheduled once its response has been received, if it failed and can be
+     * retried.
+     */
+    @Override
+    public void run() {
+        if (executor == null) {
+            throw new IllegalStateException("The task must be started using start().");
+        }
+        if (cancelled) {
+            return;
+        }
+        attempt++;
+        performAttempt(new ResponseCallback<T>() {
+            @Override
+            public void onResponse(T response) {
+                handleResponse(response);
+            }
+        });
+    }
+
+    private void handleResponse(T response) {
+        if (cancelled) {
+            return;
+        }
+        if (isSuccess(response)) {
+            onSuccess(response);
+        } else if (shouldAbortTask(response)) {
+            onError(response);
+        } else {
+            long delay = addJitter(calculateExponentialDelay(attempt, MAX_DELAY_MS));
+            pendingAttempt = NetworkScheduler.schedule(this, delay, TimeUnit.MILLISECONDS, executor);
+        }
+    }
+
+    // Returns a random delay between 50% and 100% of the given delay.
+    private static long addJitter(long delayInMs) {
+        long half = delayInMs / 2;
+        return half + (long) (JITTER.nextDouble() * (delayInMs - half));
+    }
+
+    private static long calculateExponentialDelay(int failedAttempts, long maxDelayInMs) {
+        // https://en.wikipedia.org/wiki/Exponential_backoff
+        //Attempt = FailedAttempts + 1
+        //Attempt 1     0s     0s
+        //Attempt 2     2s     2s
+        //Attempt 3     4s     4s
+        //Attempt 4     8s     8s
+        //Attempt 5     16s    16s
+        //Attempt 6     32s    32s
+        //Attempt 7     64s    1m 4s
+        //Attempt 8     128s   2m 8s
+        //Attempt 9     256s   4m 16s
+        //Attempt 10    512    8m 32s
+        //Attempt 11    1024   17m 4s
+        //Attempt 12    2048   34m 8s
+        //Attempt 13    4096   1h 8m 16s
+        //Attempt 14    8192   2h 16m 32s
+        //Attempt 15    16384  4h 33m 4s
+        double SCALE = 1.0D; // Scale the exponential backoff
+        double delayInMs = ((Math.pow(2.0D, failedAttempts) - 1d) / 2.0D) * 1000 * SCALE;
+
+        // Just use maximum back-off value. We are not afraid of many threads using this value
+        // to trigger at once.
+        return maxDelayInMs < delayInMs ? maxDelayInMs : (long) delayInMs;
+    }
+}
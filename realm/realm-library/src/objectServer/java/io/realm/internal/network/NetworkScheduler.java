@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal.network;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import io.realm.log.RealmLog;
+
+/**
+ * Runs network tasks, like retries and token refreshes, after a delay.
+ * <p>
+ * The delays are kept by a single timer thread of its own, which only hands a task over to the executor running it
+ * once it is due. This way waiting tasks neither occupy a thread nor a slot in the bounded queue of
+ * {@link io.realm.SyncManager#NETWORK_POOL_EXECUTOR}.
+ */
+public final class NetworkScheduler {
+
+    // Delay before handing a task over again if the executor was full.
+    private static final long REJECTED_RETRY_DELAY_MS = TimeUnit.SECONDS.toMillis(1);
+
+    private static final ScheduledThreadPoolExecutor TIMER = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "RealmNetworkScheduler");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private NetworkScheduler() {
+    }
+
+    /**
+     * Runs a task on the given executor once the delay has passed.
+     *
+     * @param task the task to run.
+     * @param delay the delay.
+     * @param unit the unit of the delay.
+     * @param executor the executor to run the task on.
+     * @return a {@link Future} which can be passed to {@link #cancel(Future)} until the task has been handed over to
+     * the executor.
+     */
+    public static Future<?> schedule(final Runnable task, long delay, TimeUnit unit, final Executor executor) {
+        return TIMER.schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (executor instanceof ExecutorService && ((ExecutorService) executor).isShutdown()) {
+                    return;
+                }
+                try {
+                    executor.execute(task);
+                } catch (RejectedExecutionException e) {
+                    RealmLog.warn("Network executor is full, trying again in %d ms.", REJECTED_RETRY_DELAY_MS);
+                    TIMER.schedule(this, REJECTED_RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+                }
+            }
+        }, delay, unit);
+    }
+
+    /**
+     * Cancels a task which hasn't been handed over to its executor yet. A task which has been handed over already
+     * still runs, so tasks have to check themselves if they were cancelled.
+     *
+     * @param scheduledTask the {@link Future} returned by {@link #schedule(Runnable, long, TimeUnit, Executor)}.
+     */
+    public static void cancel(Future<?> scheduledTask) {
+        if (scheduledTask.cancel(false)) {
+            // Cancelled tasks are only dropped by the timer once they are due otherwise.
+            TIMER.purge();
+        }
+    }
+}
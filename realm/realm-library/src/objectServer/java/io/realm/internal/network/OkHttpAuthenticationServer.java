@@ -16,9 +16,14 @@
 
 package io.realm.internal.network;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.realm.SyncCredentials;
 import io.realm.ErrorCode;
@@ -26,6 +31,8 @@ import io.realm.ObjectServerError;
 import io.realm.SyncUser;
 import io.realm.internal.objectserver.Token;
 import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -36,10 +43,13 @@ public class OkHttpAuthenticationServer implements AuthenticationServer {
 
     public static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
 
+    // Connections are kept alive, so all sessions of a user share a few connections to the Authentication Server
+    // instead of opening a new one for every request.
     private final OkHttpClient client = new OkHttpClient.Builder()
             .connectTimeout(10, TimeUnit.SECONDS)
             .writeTimeout(10, TimeUnit.SECONDS)
             .readTimeout(30, TimeUnit.SECONDS)
+            .connectionPool(new ConnectionPool(5, 5, TimeUnit.MINUTES))
             .build();
 
     /**
@@ -65,6 +75,54 @@ public class OkHttpAuthenticationServer implements AuthenticationServer {
         }
     }
 
+    /**
+     * Requests access to all the given Realms. The requests are sent concurrently using the asynchronous OkHttp API
+     * and share the pooled connections. The callback is called on an OkHttp thread once the slowest of them has
+     * completed.
+     */
+    @Override
+    public void loginToRealms(Token refreshToken, Collection<URI> serverUrls, URL authenticationUrl,
+                              final LoginCallback callback) {
+        final Map<URI, AuthenticateResponse> responses = new HashMap<URI, AuthenticateResponse>();
+        final AtomicInteger requestsLeft = new AtomicInteger(serverUrls.size());
+        if (serverUrls.isEmpty()) {
+            callback.onResponses(responses);
+            return;
+        }
+        for (final URI serverUrl : serverUrls) {
+            Callback requestCallback = new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    done(AuthenticateResponse.from(new ObjectServerError(ErrorCode.IO_EXCEPTION, e)));
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) throws IOException {
+                    done(AuthenticateResponse.from(response));
+                }
+
+                private void done(AuthenticateResponse response) {
+                    synchronized (responses) {
+                        responses.put(serverUrl, response);
+                    }
+                    if (requestsLeft.decrementAndGet() == 0) {
+                        Map<URI, AuthenticateResponse> allResponses;
+                        synchronized (responses) {
+                            allResponses = new HashMap<URI, AuthenticateResponse>(responses);
+                        }
+                        callback.onResponses(allResponses);
+                    }
+                }
+            };
+            try {
+                String requestBody = AuthenticateRequest.realmLogin(refreshToken, serverUrl).toJson();
+                client.newCall(newAuthenticateRequest(authenticationUrl, requestBody)).enqueue(requestCallback);
+            } catch (Exception e) {
+                requestCallback.onFailure(null, new IOException(e));
+            }
+        }
+    }
+
     @Override
     public AuthenticateResponse refreshUser(Token userToken, URL authenticationUrl) {
         try {
@@ -81,15 +139,17 @@ public class OkHttpAuthenticationServer implements AuthenticationServer {
     }
 
     private AuthenticateResponse authenticate(URL authenticationUrl, String requestBody) throws Exception {
-        Request request = new Request.Builder()
+        Call call = client.newCall(newAuthenticateRequest(authenticationUrl, requestBody));
+        Response response = call.execute();
+        return AuthenticateResponse.from(response);
+    }
+
+    private static Request newAuthenticateRequest(URL authenticationUrl, String requestBody) {
+        return new Request.Builder()
                 .url(authenticationUrl)
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
-                .addHeader("Connection", "close") //  See https://github.com/square/okhttp/issues/2363
                 .post(RequestBody.create(JSON, requestBody))
                 .build();
-        Call call = client.newCall(request);
-        Response response = call.execute();
-        return AuthenticateResponse.from(response);
     }
 }
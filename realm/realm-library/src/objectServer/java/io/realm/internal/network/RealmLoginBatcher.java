@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal.network;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.realm.ErrorCode;
+import io.realm.ObjectServerError;
+import io.realm.internal.objectserver.Token;
+
+/**
+ * Sends the requests for access to Realms through
+ * {@link AuthenticationServer#loginToRealms(Token, java.util.Collection, URL, AuthenticationServer.LoginCallback)}.
+ * <p>
+ * Every request is sent right away, without waiting for other requests in flight, so the requests of a user opening
+ * many synchronized Realms at once are only limited by the connections the {@link AuthenticationServer} can use.
+ * Requests for a Realm which is already being requested share the request in flight instead of sending another one.
+ * No thread waits for a response, each request gets its response through its callback.
+ */
+public class RealmLoginBatcher {
+
+    /**
+     * Receives the response of {@link #loginToRealm(AuthenticationServer, Token, URI, URL, Callback)}.
+     */
+    public interface Callback {
+        void onResponse(AuthenticateResponse response);
+    }
+
+    // Identifies requests which get the same response.
+    private static class LoginKey {
+        final AuthenticationServer authServer;
+        final Token userToken;
+        final URI serverUrl;
+        final URL authenticationUrl;
+
+        LoginKey(AuthenticationServer authServer, Token userToken, URI serverUrl, URL authenticationUrl) {
+            this.authServer = authServer;
+            this.userToken = userToken;
+            this.serverUrl = serverUrl;
+            this.authenticationUrl = authenticationUrl;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            LoginKey key = (LoginKey) o;
+
+            if (authServer != key.authServer) return false;
+            if (!userToken.value().equals(key.userToken.value())) return false;
+            if (!serverUrl.equals(key.serverUrl)) return false;
+            // URL.equals() resolves host names.
+            return authenticationUrl.toString().equals(key.authenticationUrl.toString());
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(authServer);
+            result = 31 * result + userToken.value().hashCode();
+            result = 31 * result + serverUrl.hashCode();
+            result = 31 * result + authenticationUrl.toString().hashCode();
+            return result;
+        }
+    }
+
+    // The callbacks waiting for each request in flight. Guarded by this.
+    private final Map<LoginKey, List<Callback>> inFlight = new HashMap<LoginKey, List<Callback>>();
+
+    /**
+     * Requests access to a Realm. Doesn't block, the callback is called once the response has been received, on any
+     * thread.
+     *
+     * @see AuthenticationServer#loginToRealm(Token, URI, URL)
+     */
+    public void loginToRealm(AuthenticationServer authServer, Token userToken, URI serverUrl, URL authenticationUrl,
+                             Callback callback) {
+        LoginKey key = new LoginKey(authServer, userToken, serverUrl, authenticationUrl);
+        synchronized (this) {
+            List<Callback> callbacks = inFlight.get(key);
+            if (callbacks != null) {
+                callbacks.add(callback);
+                return;
+            }
+            callbacks = new ArrayList<Callback>();
+            callbacks.add(callback);
+            inFlight.put(key, callbacks);
+        }
+        send(key);
+    }
+
+    private void send(final LoginKey key) {
+        // Callbacks must always be called exactly once, even if the server fails after calling back.
+        final AtomicBoolean delivered = new AtomicBoolean(false);
+        try {
+            key.authServer.loginToRealms(key.userToken, Collections.singletonList(key.serverUrl),
+                    key.authenticationUrl, new AuthenticationServer.LoginCallback() {
+                        @Override
+                        public void onResponses(Map<URI, AuthenticateResponse> responses) {
+                            if (delivered.compareAndSet(false, true)) {
+                                AuthenticateResponse response = responses.get(key.serverUrl);
+                                if (response == null) {
+                                    response = AuthenticateResponse.from(
+                                            new ObjectServerError(ErrorCode.UNKNOWN, "No response for " + key.serverUrl));
+                                }
+                                deliver(key, response);
+                            }
+                        }
+                    });
+        } catch (RuntimeException e) {
+            if (delivered.compareAndSet(false, true)) {
+                deliver(key, AuthenticateResponse.from(new ObjectServerError(ErrorCode.UNKNOWN, e)));
+            }
+        }
+    }
+
+    private void deliver(LoginKey key, AuthenticateResponse response) {
+        List<Callback> callbacks;
+        synchronized (this) {
+            callbacks = inFlight.remove(key);
+        }
+        for (Callback callback : callbacks) {
+            callback.onResponse(response);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2016 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal.objectserver;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import io.realm.SyncConfiguration;
+import io.realm.SyncManager;
+import io.realm.internal.network.AuthenticateResponse;
+import io.realm.internal.network.AuthenticationServer;
+import io.realm.internal.network.NetworkScheduler;
+import io.realm.log.RealmLog;
+
+/**
+ * Refreshes the access tokens of all bound sessions of a user shortly before they expire, so sessions don't have to
+ * be interrupted by a {@code TOKEN_EXPIRED} error and go through the AUTHENTICATING state again.
+ * <p>
+ * A single refresh is scheduled for the token expiring first. When it runs, all tokens expiring soon after are
+ * refreshed in the same batch, so sessions opened at the same time keep being refreshed together.
+ */
+class AccessTokenRefresher {
+
+    // How long before a token expires it is refreshed.
+    static final long REFRESH_MARGIN_MS = TimeUnit.MINUTES.toMillis(1);
+    // Tokens expiring within this window after the first one are refreshed in the same batch.
+    static final long BATCH_WINDOW_MS = TimeUnit.MINUTES.toMillis(1);
+    // Delay before trying again if a refresh failed. Tokens which do expire are handled by the AUTHENTICATING state.
+    static final long RETRY_DELAY_MS = TimeUnit.SECONDS.toMillis(15);
+    // Shortest delay before the next refresh. Tokens living shorter than REFRESH_MARGIN_MS are due again as soon as
+    // they have been refreshed, so without it they would be refreshed over and over.
+    static final long MIN_REFRESH_DELAY_MS = TimeUnit.SECONDS.toMillis(10);
+
+    private final ObjectServerUser user;
+    private final AuthenticationServer authServer; // null to use the one of SyncManager
+    private final long minRefreshDelayMs;
+
+    // All fields below are guarded by this.
+    private final Set<ObjectServerSession> sessions = new HashSet<ObjectServerSession>();
+    private Future<?> pendingRefresh;
+    private long pendingRefreshAt = Long.MAX_VALUE;
+
+    private final Runnable refreshTask = new Runnable() {
+        @Override
+        public void run() {
+            refreshDueTokens();
+        }
+    };
+
+    AccessTokenRefresher(ObjectServerUser user) {
+        this(user, null, MIN_REFRESH_DELAY_MS);
+    }
+
+    // Used by tests to refresh against a local server without waiting as long.
+    AccessTokenRefresher(ObjectServerUser user, AuthenticationServer authServer, long minRefreshDelayMs) {
+        this.user = user;
+        this.authServer = authServer;
+        this.minRefreshDelayMs = minRefreshDelayMs;
+    }
+
+    /**
+     * Starts refreshing the access token of a session. Called when the session has been bound.
+     */
+    synchronized void register(ObjectServerSession session) {
+        sessions.add(session);
+        schedule(getNextRefreshTime());
+    }
+
+    /**
+     * Stops refreshing the access token of a session. Called when the session is no longer bound.
+     */
+    synchronized void unregister(ObjectServerSession session) {
+        if (sessions.remove(session)) {
+            schedule(getNextRefreshTime());
+        }
+    }
+
+    // Returns when the token expiring first should be refreshed, or Long.MAX_VALUE if none of them expire.
+    private long getNextRefreshTime() {
+        long refreshAt = Long.MAX_VALUE;
+        for (ObjectServerSession session : sessions) {
+            Token token = user.getAccessToken(session.getServerUrl());
+            if (token != null && token.expiresMs() != Long.MAX_VALUE) {
+                refreshAt = Math.min(refreshAt, token.expiresMs() - REFRESH_MARGIN_MS);
+            }
+        }
+        return refreshAt;
+    }
+
+    private void schedule(long refreshAt) {
+        if (refreshAt == pendingRefreshAt) {
+            return;
+        }
+        if (pendingRefresh != null) {
+            NetworkScheduler.cancel(pendingRefresh);
+            pendingRefresh = null;
+        }
+        pendingRefreshAt = refreshAt;
+        if (refreshAt != Long.MAX_VALUE) {
+            long delay = Math.max(minRefreshDelayMs, refreshAt - System.currentTimeMillis());
+            pendingRefresh = NetworkScheduler.schedule(refreshTask, delay, TimeUnit.MILLISECONDS,
+                    SyncManager.NETWORK_POOL_EXECUTOR);
+        }
+    }
+
+    private void refreshDueTokens() {
+        final List<ObjectServerSession> dueSessions = new ArrayList<ObjectServerSession>();
+        Set<URI> serverUrls = new LinkedHashSet<URI>();
+        synchronized (this) {
+            pendingRefresh = null;
+            pendingRefreshAt = Long.MAX_VALUE;
+            long refreshBefore = System.currentTimeMillis() + REFRESH_MARGIN_MS + BATCH_WINDOW_MS;
+            for (ObjectServerSession session : sessions) {
+                Token token = user.getAccessToken(session.getServerUrl());
+                if (token != null && token.expiresMs() <= refreshBefore) {
+                    dueSessions.add(session);
+                    serverUrls.add(session.getServerUrl());
+                }
+            }
+            if (dueSessions.isEmpty()) {
+                schedule(getNextRefreshTime());
+                return;
+            }
+        }
+
+        Token userToken = user.getUserToken();
+        if (userToken == null) {
+            return; // Logged out
+        }
+
+        RealmLog.debug("Refreshing %d access tokens for %s.", serverUrls.size(), user.getIdentity());
+        try {
+            AuthenticationServer server = (authServer != null) ? authServer : SyncManager.getAuthServer();
+            server.loginToRealms(userToken, serverUrls, user.getAuthenticationUrl(),
+                    new AuthenticationServer.LoginCallback() {
+                        @Override
+                        public void onResponses(Map<URI, AuthenticateResponse> responses) {
+                            onRefreshed(dueSessions, responses);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            RealmLog.error(e, "Could not refresh access tokens for %s.", user.getIdentity());
+            scheduleNextRefresh(true);
+        }
+    }
+
+    private void onRefreshed(List<ObjectServerSession> dueSessions, Map<URI, AuthenticateResponse> responses) {
+        boolean failed = false;
+        boolean refreshed = false;
+        try {
+            for (ObjectServerSession session : dueSessions) {
+                AuthenticateResponse response = responses.get(session.getServerUrl());
+                if (response != null && response.isValid()) {
+                    SyncConfiguration config = session.getConfiguration();
+                    user.addRealm(session.getServerUrl(), new ObjectServerUser.AccessDescription(
+                            response.getAccessToken(), config.getPath(), config.shouldDeleteRealmOnLogout()));
+                    session.refreshAccessToken(response.getAccessToken());
+                    refreshed = true;
+                } else {
+                    failed = true;
+                    RealmLog.debug("Could not refresh access token for %s: %s", session.getServerUrl(),
+                            (response != null) ? response.getError() : "no response");
+                }
+            }
+        } catch (RuntimeException e) {
+            failed = true;
+            RealmLog.error(e, "Could not refresh access tokens for %s.", user.getIdentity());
+        }
+        if (refreshed) {
+            // Saved once for the whole batch instead of once per token.
+            user.notifyTokensChanged();
+        }
+        scheduleNextRefresh(failed);
+    }
+
+    private synchronized void scheduleNextRefresh(boolean failed) {
+        long refreshAt = getNextRefreshTime();
+        if (failed) {
+            refreshAt = Math.max(refreshAt, System.currentTimeMillis() + RETRY_DELAY_MS);
+        }
+        schedule(refreshAt);
+    }
+}
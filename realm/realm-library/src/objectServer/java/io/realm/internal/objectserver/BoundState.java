@@ -28,13 +28,15 @@ class BoundState extends FsmState {
 
     @Override
     public void onEnterState() {
-        // Do nothing. If everything is setup correctly. We should now be synchronizing any changes
-        // between the local and remote Realm.
+        // If everything is setup correctly. We should now be synchronizing any changes
+        // between the local and remote Realm. Keep the access token fresh while bound.
+        session.startRefreshingAccessToken();
     }
 
     @Override
     public void onExitState() {
-        // Do nothing. Entry states will stop the session if needed.
+        // Entry states will stop the session if needed.
+        session.stopRefreshingAccessToken();
     }
 
     @Override
@@ -18,7 +18,6 @@ package io.realm.internal.objectserver;
 
 import java.net.URI;
 import java.util.HashMap;
-import java.util.concurrent.Future;
 
 import io.realm.ErrorCode;
 import io.realm.ObjectServerError;
@@ -29,11 +28,11 @@ import io.realm.SyncConfiguration;
 import io.realm.SyncManager;
 import io.realm.SyncUser;
 import io.realm.internal.KeepMember;
-import io.realm.internal.async.RealmAsyncTaskImpl;
+import io.realm.internal.network.AsyncExponentialBackoffTask;
 import io.realm.internal.network.AuthenticateResponse;
 import io.realm.internal.network.AuthenticationServer;
-import io.realm.internal.network.ExponentialBackoffTask;
 import io.realm.internal.network.NetworkStateReceiver;
+import io.realm.internal.network.RealmLoginBatcher;
 import io.realm.internal.syncpolicy.SyncPolicy;
 import io.realm.log.RealmLog;
 
@@ -251,19 +250,43 @@ public final class ObjectServerSession {
         nativeBind(nativeSessionPointer, configuration.getServerUrl().toString(), accessToken.value());
     }
 
+    // Replaces the access token of a bound session before the current one expires.
+    synchronized void refreshAccessToken(Token accessToken) {
+        if (isBound()) {
+            nativeRefresh(nativeSessionPointer, accessToken.value());
+        }
+    }
+
+    // Starts or stops refreshing the access token of this session ahead of time. Only bound sessions need it.
+    void startRefreshingAccessToken() {
+        user.getAccessTokenRefresher().register(this);
+    }
+
+    void stopRefreshingAccessToken() {
+        user.getAccessTokenRefresher().unregister(this);
+    }
+
     // Authenticate by getting access tokens for the specific Realm
     void authenticateRealm(final Runnable onSuccess, final SyncSession.ErrorHandler errorHandler) {
         if (networkRequest != null) {
             networkRequest.cancel();
         }
         // Authenticate in a background thread. This allows incremental backoff and retries in a safe manner.
-        Future<?> task = SyncManager.NETWORK_POOL_EXECUTOR.submit(new ExponentialBackoffTask<AuthenticateResponse>() {
+        networkRequest = new AsyncExponentialBackoffTask<AuthenticateResponse>() {
             @Override
-            protected AuthenticateResponse execute() {
-                return authServer.loginToRealm(
+            protected void execute(final ResponseCallback<AuthenticateResponse> callback) {
+                // Sessions of the same user authenticating at the same time share requests.
+                user.getRealmLoginBatcher().loginToRealm(
+                        authServer,
                         user.getUserToken(),
                         configuration.getServerUrl(),
-                        user.getAuthenticationUrl()
+                        user.getAuthenticationUrl(),
+                        new RealmLoginBatcher.Callback() {
+                            @Override
+                            public void onResponse(AuthenticateResponse response) {
+                                callback.onResponse(response);
+                            }
+                        }
                 );
             }
 
@@ -275,6 +298,7 @@ public final class ObjectServerSession {
                         configuration.shouldDeleteRealmOnLogout()
                 );
                 user.addRealm(configuration.getServerUrl(), desc);
+                user.notifyTokensChanged();
                 onSuccess.run();
             }
 
@@ -282,8 +306,7 @@ public final class ObjectServerSession {
             protected void onError(AuthenticateResponse response) {
                 errorHandler.onError(getUserSession(), response.getError());
             }
-        });
-        networkRequest = new RealmAsyncTaskImpl(task, SyncManager.NETWORK_POOL_EXECUTOR);
+        }.start(SyncManager.NETWORK_POOL_EXECUTOR);
     }
 
     /**
@@ -359,7 +382,7 @@ public final class ObjectServerSession {
     private native long nativeCreateSession(String localRealmPath);
     private native void nativeBind(long nativeSessionPointer, String remoteRealmUrl, String userToken);
     private native void nativeUnbind(long nativeSessionPointer);
-    private native void nativeRefresh(long nativeSessionPointer, String userToken);
+    private native void nativeRefresh(long nativeSessionPointer, String accessToken);
     private native void nativeNotifyCommitHappened(long sessionPointer, long version);
 }
 
@@ -24,12 +24,14 @@ import java.net.URI;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.realm.SyncSession;
 import io.realm.SyncConfiguration;
+import io.realm.internal.network.RealmLoginBatcher;
 
 /**
  * Internal representation of a user on the Realm Object Server.
@@ -37,12 +39,23 @@ import io.realm.SyncConfiguration;
  */
 public class ObjectServerUser {
 
+    /**
+     * Listener notified when the tokens of a user have changed and should be saved.
+     */
+    public interface TokenListener {
+        void onTokensChanged(ObjectServerUser user);
+    }
+
     private final String identity;
-    private Token refreshToken;
+    private volatile Token refreshToken;
     private URL authenticationUrl;
-    private Map<URI, AccessDescription> realms = new HashMap<URI, AccessDescription>();
+    // Access tokens are updated from network threads.
+    private Map<URI, AccessDescription> realms = new ConcurrentHashMap<URI, AccessDescription>();
     private List<SyncSession> sessions = new ArrayList<SyncSession>();
     private boolean loggedIn;
+    private final RealmLoginBatcher realmLoginBatcher = new RealmLoginBatcher();
+    private final AccessTokenRefresher accessTokenRefresher = new AccessTokenRefresher(this);
+    private volatile TokenListener tokenListener;
 
     /**
      * Create a new Realm Object Server User
@@ -55,7 +68,23 @@ public class ObjectServerUser {
     }
 
     public void setRefreshToken(final Token refreshToken) {
-        this.refreshToken = refreshToken; // Replace any existing token. TODO re-save the user with latest token.
+        this.refreshToken = refreshToken; // Replace any existing token.
+        notifyTokensChanged();
+    }
+
+    /**
+     * Sets the listener responsible for saving this user whenever a token has changed.
+     */
+    public void setTokenListener(TokenListener listener) {
+        this.tokenListener = listener;
+    }
+
+    // Called once new tokens have been added, so they are saved together.
+    void notifyTokensChanged() {
+        TokenListener listener = tokenListener;
+        if (listener != null) {
+            listener.onTokensChanged(this);
+        }
     }
 
     /**
@@ -127,6 +156,7 @@ public class ObjectServerUser {
         // correctly.
         Token token = new Token(accessToken, null, uri.toString(), Long.MAX_VALUE, Token.Permission.values());
         addRealm(uri, new AccessDescription(token, localPath, deleteOnLogout));
+        notifyTokensChanged();
     }
 
     public URL getAuthenticationUrl() {
@@ -137,6 +167,16 @@ public class ObjectServerUser {
         return refreshToken;
     }
 
+    // Used to send the requests for access tokens of all Realms owned by this user.
+    public RealmLoginBatcher getRealmLoginBatcher() {
+        return realmLoginBatcher;
+    }
+
+    // Refreshes the access tokens of all bound sessions of this user before they expire.
+    AccessTokenRefresher getAccessTokenRefresher() {
+        return accessTokenRefresher;
+    }
+
     public List<SyncSession> getSessions() {
         return sessions;
     }
@@ -183,6 +223,13 @@ public class ObjectServerUser {
         return realms.values();
     }
 
+    /**
+     * Returns a read-only view of the access descriptions of all Realms of this user, keyed by their server URL.
+     */
+    public Map<URI, AccessDescription> getAccessDescriptions() {
+        return Collections.unmodifiableMap(realms);
+    }
+
     // Wrapper for all Realm data needed by a User that might get serialized.
     public static class AccessDescription {
         public Token accessToken;
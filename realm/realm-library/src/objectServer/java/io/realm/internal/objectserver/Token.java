@@ -131,7 +131,7 @@ public class Token {
         if (expiresSec != token.expiresSec) return false;
         if (!value.equals(token.value)) return false;
         if (!Arrays.equals(permissions, token.permissions)) return false;
-        if (!identity.equals(token.identity)) return false;
+        if (identity != null ? !identity.equals(token.identity) : token.identity != null) return false;
         return path != null ? path.equals(token.path) : token.path == null;
     }
 
@@ -140,7 +140,7 @@ public class Token {
         int result = value.hashCode();
         result = 31 * result + (int) (expiresSec ^ (expiresSec >>> 32));
         result = 31 * result + Arrays.hashCode(permissions);
-        result = 31 * result + identity.hashCode();
+        result = 31 * result + (identity != null ? identity.hashCode() : 0);
         result = 31 * result + (path != null ? path.hashCode() : 0);
         return result;
     }